@@ -1,6 +1,7 @@
 package it.polimi.ingsw;
 import it.polimi.ingsw.client.cli.CLI;
 import it.polimi.ingsw.client.gui.GUI;
+import it.polimi.ingsw.load.LoadGenerator;
 import it.polimi.ingsw.server.Server;
 
 import java.util.Scanner;
@@ -10,7 +11,8 @@ import java.util.Scanner;
  */
 public class Eriantys {
     /**
-     * Method main lets the user select the different modes of operation: Client (CLI/GUI) or Server.
+     * Method main lets the user select the different modes of operation: Client (CLI/GUI), Server or
+     * load generator.
      *
      * @param args of type String[]
      */
@@ -20,6 +22,7 @@ public class Eriantys {
         System.out.println("0 - Server");
         System.out.println("1 - Client with CLI interface");
         System.out.println("2 - Client with GUI interface");
+        System.out.println("3 - Load generator");
 
         System.out.print(">");
         Scanner scanner = new Scanner(System.in);
@@ -31,9 +34,10 @@ public class Eriantys {
             System.exit(1);
         }
         switch (selection) {
-            case 0 -> Server.main(null);
+            case 0 -> Server.main(args);
             case 1 -> CLI.main(null);
             case 2 -> GUI.main(null);
+            case 3 -> LoadGenerator.main(args);
             default -> {
                 System.err.println("Wrong selection. Exiting...");
                 try {
@@ -13,9 +13,13 @@ import it.polimi.ingsw.constants.ErrorType;
 import it.polimi.ingsw.server.answers.GameError;
 import it.polimi.ingsw.server.answers.SerializedAnswer;
 
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import it.polimi.ingsw.network.Codec;
+import it.polimi.ingsw.network.Compression;
+import it.polimi.ingsw.network.FrameInflater;
+import it.polimi.ingsw.network.Frames;
+import it.polimi.ingsw.network.BinaryCodec;
+
+import java.io.*;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.UnknownHostException;
@@ -24,7 +28,11 @@ import java.util.logging.Logger;
 
 /**
  * ConnectionSocket class handles the connection between the client and the server.
+ * The connection speaks the framed protocol with the binary codec, both announced to the server by the preamble.
+ * The resume token issued by the server is kept, so setting the connection up again resumes the same session.
+ * The client asks the server to compress the answers, which are inflated by the listener if the server agrees.
  *
+ * @see Frames
  */
 public class ConnectionSocket {
 
@@ -32,7 +40,10 @@ public class ConnectionSocket {
     private final String serverAddress;
     private final int serverPort;
     SocketListener listener;
-    private ObjectOutputStream outputStream;
+    private DataOutputStream outputStream;
+    private final Codec codec = BinaryCodec.INSTANCE;
+    private String resumeToken;
+    private FrameInflater inflater;
 
     /**
      * Constructor ConnectionSocket creates a new ConnectionSocket instance.
@@ -71,14 +82,15 @@ public class ConnectionSocket {
             } catch (SocketException | UnknownHostException e) {
                 return false;
             }
-            outputStream = new ObjectOutputStream(socket.getOutputStream());
-            ObjectInputStream input = new ObjectInputStream(socket.getInputStream());
+            outputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            Frames.writePreamble(outputStream, codec);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
             while (true) {
                 if (readSetupInput(nickname, input)) {
                     break;
                 }
             }
-            listener = new SocketListener(socket, modelView, input, serverMessageHandler);
+            listener = new SocketListener(socket, this, modelView, input, codec, inflater, serverMessageHandler);
             Thread thread = new Thread(listener);
             thread.start();
 
@@ -96,25 +108,34 @@ public class ConnectionSocket {
      * Method readInput handles the input reading in order to reduce the setup complexity.
      *
      * @param nickname of type String - the chosen nickname.
-     * @param input    of type ObjectInputStream - the input socket stream.
+     * @param input    of type DataInputStream - the input socket stream.
      * @return boolean true if nickname is available and set, false otherwise.
      * @throws DuplicateNicknameException when the nickname has already been chosen.
      * @throws InvalidNicknameException   when the nickname contains illegal characters (like "-").
      */
-    private boolean readSetupInput(String nickname, ObjectInputStream input)
+    private boolean readSetupInput(String nickname, DataInputStream input)
             throws DuplicateNicknameException, InvalidNicknameException {
         try {
-            send(new LoginMessage(nickname));
-            if (nicknameChecker(input.readObject())) {
+            send(new LoginMessage(nickname, resumeToken, Compression.DEFLATE));
+            if (nicknameChecker(codec.decodeAnswer(Frames.readFrame(input)))) {
                 return true;
             }
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             System.err.println(e.getMessage());
             return false;
         }
         return true;
     }
 
+    /**
+     * Method getResumeToken returns the token issued by the server to resume the session.
+     *
+     * @return the resume token, null if the connection has never been set up.
+     */
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
     /**
      * Method send forwards a new message to the server, encapsulating the object in a SerializedMessage
      * type unpacked and read later by the server.
@@ -124,9 +145,7 @@ public class ConnectionSocket {
     public void send(Message message) {
         SerializedMessage output = new SerializedMessage(message);
         try {
-            outputStream.reset();
-            outputStream.writeObject(output);
-            outputStream.flush();
+            write(output);
         } catch (IOException e) {
             System.err.println("Error during send process.");
             System.err.println(e.getMessage());
@@ -142,15 +161,23 @@ public class ConnectionSocket {
     public void send(Action action) {
         SerializedMessage output = new SerializedMessage(action);
         try {
-            outputStream.reset();
-            outputStream.writeObject(output);
-            outputStream.flush();
+            write(output);
         } catch (IOException e) {
             System.err.println("Error during send process.");
             logger.log(Level.SEVERE, e.getMessage(), e);
         }
     }
 
+    /**
+     * Method write encodes a message and writes it on the socket as a single frame.
+     *
+     * @param output of type SerializedMessage - the message to be written.
+     * @throws IOException when the socket is closed.
+     */
+    private synchronized void write(SerializedMessage output) throws IOException {
+        Frames.writeFrame(outputStream, codec.encodeMessage(output));
+    }
+
     /**
      * Method nicknameChecker remotely checks if a name is invalid or already taken.
      *
@@ -162,6 +189,9 @@ public class ConnectionSocket {
     public boolean nicknameChecker(Object input) throws DuplicateNicknameException, InvalidNicknameException {
         SerializedAnswer answer = (SerializedAnswer) input;
         if (answer.getServerAnswer() instanceof ConnectionMessage && ((ConnectionMessage) answer.getServerAnswer()).isValid()) {
+            ConnectionMessage connection = (ConnectionMessage) answer.getServerAnswer();
+            resumeToken = connection.getResumeToken();
+            inflater = connection.getCompression() == Compression.DEFLATE ? new FrameInflater(codec) : null;
             return true;
         } else if (answer.getServerAnswer() instanceof GameError) {
             if (((GameError) answer.getServerAnswer()).getError().equals(ErrorType.DUPLICATE_NICKNAME)) {
@@ -79,6 +79,7 @@ public class InputToMessage implements PropertyChangeListener {
                 case "MOVEMOTHER" -> actionToSend = messageBuilder.moveMother(in);
                 case "STUDENTISLAND" -> actionToSend = messageBuilder.moveStudentIsland(in);
                 case "STUDENTHALL" -> actionToSend = messageBuilder.moveStudentHall(in);
+                case "STUDENTS" -> messageToSend = messageBuilder.moveStudents(in);
                 case "ACTIVATE" -> actionToSend = messageBuilder.activateCard(in);
                 case "DEACTIVATE" -> actionToSend = messageBuilder.deactivateCard(in);
                 case "SETUP" -> messageToSend = messageBuilder.setupMessage(in);
@@ -13,7 +13,9 @@ import it.polimi.ingsw.model.cards.AssistantCard;
 import it.polimi.ingsw.model.cards.characters.ReducedCharacterCard;
 import it.polimi.ingsw.model.Cloud;
 import it.polimi.ingsw.model.islands.IslandContainer;
+import it.polimi.ingsw.model.islands.IslandDelta;
 import it.polimi.ingsw.model.School;
+import it.polimi.ingsw.model.SchoolDelta;
 import it.polimi.ingsw.server.answers.Answer;
 
 /**
@@ -47,6 +49,8 @@ public class ModelView implements Serializable {
     private boolean expert = false;
 
     private boolean isInputActive = true;
+    private boolean resyncPending = false;
+    private boolean outOfSync = false;
 
     /**
      * Constructor ModelView creates a new ModelView instance.
@@ -182,6 +186,7 @@ public class ModelView implements Serializable {
      */
     public void setPlayerSchool(String player, School school) {
         this.playerMapSchool.put(player, school);
+        outOfSync = false;
     }
 
     /**
@@ -214,6 +219,59 @@ public class ModelView implements Serializable {
      */
     public void setIslandContainer(IslandContainer islandContainer) {
         this.islandContainer = islandContainer;
+        outOfSync = false;
+    }
+
+    /**
+     * Method applyIslandDelta applies a change of the islands to the current IslandContainer.
+     * If some previous changes have been missed, the whole model is requested to the server.
+     *
+     * @param delta the change of the islands.
+     * @return true if the islands are up-to-date, false otherwise.
+     */
+    public boolean applyIslandDelta(IslandDelta delta) {
+        if (islandContainer == null || !islandContainer.apply(delta)) {
+            requestResync();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Method applySchoolDelta applies a change of a school to the current school of the player.
+     * If some previous changes have been missed, the whole model is requested to the server.
+     *
+     * @param player the owner of the school.
+     * @param delta  the change of the school.
+     * @return true if the school is up-to-date, false otherwise.
+     */
+    public boolean applySchoolDelta(String player, SchoolDelta delta) {
+        School school = playerMapSchool.get(player);
+        if (school == null || !school.apply(delta)) {
+            requestResync();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Method requestResync marks the model as diverged from the server one, unless a request is already pending.
+     */
+    private void requestResync() {
+        if (!outOfSync) {
+            outOfSync = true;
+            resyncPending = true;
+        }
+    }
+
+    /**
+     * Method takeResyncRequest returns true, only once, after the model has diverged from the server one.
+     * The request is pending until the whole islands or schools are received.
+     */
+    public boolean takeResyncRequest() {
+        boolean pending = resyncPending;
+        resyncPending = false;
+        return pending;
     }
 
     /**
@@ -7,6 +7,7 @@ import it.polimi.ingsw.server.answers.*;
 import it.polimi.ingsw.server.answers.model.*;
 
 import java.beans.PropertyChangeSupport;
+import java.util.List;
 
 /**
  * ServerMessageHandler class handles the answers from the server notifying the correct part of the GUI or
@@ -87,6 +88,8 @@ public class ServerMessageHandler {
             view.firePropertyChange(GENERERIC_MODEL_UPDATE_LISTENER, null, answer);
         } else if (answer instanceof GameError) {
             view.firePropertyChange(GAME_ERROR_LISTENER, null, answer);
+        } else if (answer instanceof ActionResultsMessage results && !results.isApplied()) {
+            view.firePropertyChange(GAME_ERROR_LISTENER, null, new GameError(refusedMove(results)));
         } else if (answer instanceof CustomMessage) {
             view.firePropertyChange(CUSTOM_MESSAGE_LISTENER, null, answer);
         } else if (answer instanceof WinMessage) {
@@ -96,6 +99,22 @@ public class ServerMessageHandler {
         }
     }
 
+    /**
+     * Method refusedMove describes the move which has made the server refuse a batch of moves.
+     *
+     * @param results the results of the moves of the batch.
+     * @return the position and the reason of the refused move.
+     */
+    private String refusedMove(ActionResultsMessage results) {
+        List<String> errors = results.getMessage();
+        for (int i = 0; i < errors.size(); i++) {
+            if (errors.get(i) != null && !ActionResultsMessage.NOT_PERFORMED.equals(errors.get(i))) {
+                return "Move " + (i + 1) + " refused, no move performed: " + errors.get(i);
+            }
+        }
+        return ActionResultsMessage.NOT_PERFORMED;
+    }
+
     /**
      * Method answerHandler handles the answer received from the server.
      * It calls the client's model update listeners passing values relying on the type of ModelMessage
@@ -114,6 +133,10 @@ public class ServerMessageHandler {
         } else if (answer instanceof IslandsMessage message) {
             modelView.setIslandContainer(message.getMessage());
             view.firePropertyChange(ISLAND_LISTENER, null, message.getMessage());
+        } else if (answer instanceof IslandDeltaMessage message) {
+            if (modelView.applyIslandDelta(message.getMessage())) {
+                view.firePropertyChange(ISLAND_LISTENER, null, modelView.getIslandContainer());
+            }
         } else if (answer instanceof MotherMessage message) {
             modelView.setMotherNature(message.getMessage());
             view.firePropertyChange(MOTHER_LISTENER, null, message.getMessage());
@@ -126,6 +149,10 @@ public class ServerMessageHandler {
         } else if (answer instanceof SchoolMessage message) {
             modelView.setPlayerSchool(message.getPlayer(), message.getMessage());
             view.firePropertyChange(SCHOOL_LISTENER, null, message.getMessage());
+        } else if (answer instanceof SchoolDeltaMessage message) {
+            if (modelView.applySchoolDelta(message.getPlayer(), message.getMessage())) {
+                view.firePropertyChange(SCHOOL_LISTENER, null, modelView.getPlayerMapSchool().get(message.getPlayer()));
+            }
         } else if (answer instanceof RoundOwnerMessage message) {
             String previousOwner = modelView.getRoundOwner();
             modelView.setRoundOwner(message.getMessage());
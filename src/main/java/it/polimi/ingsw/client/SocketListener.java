@@ -1,19 +1,26 @@
 package it.polimi.ingsw.client;
 
 import it.polimi.ingsw.client.gui.GUI;
+import it.polimi.ingsw.client.messages.ResyncMessage;
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.exceptions.DuplicateNicknameException;
 import it.polimi.ingsw.exceptions.InvalidNicknameException;
 import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.BatchMessage;
 import it.polimi.ingsw.server.answers.CustomMessage;
 import it.polimi.ingsw.server.answers.SerializedAnswer;
 import it.polimi.ingsw.server.answers.WinMessage;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeSupport;
+import it.polimi.ingsw.network.Codec;
+import it.polimi.ingsw.network.FrameInflater;
+import it.polimi.ingsw.network.Frames;
+
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.net.Socket;
 import java.util.Timer;
 import java.util.TimerTask;
@@ -28,10 +35,13 @@ import java.util.logging.Logger;
 public class SocketListener implements Runnable {
 
     private final Socket socket;
+    private final ConnectionSocket connectionSocket;
     private final ModelView modelView;
     private final ServerMessageHandler serverMessageHandler;
     private final Logger logger = Logger.getLogger(getClass().getName());
-    private final ObjectInputStream inputStream;
+    private final DataInputStream inputStream;
+    private final Codec codec;
+    private final FrameInflater inflater;
     private Timer pingWaitingTimer =  new Timer("PingWaitingTimer");
 
     public static final String CONNECTION_CLOSE_LISTENER = "connectionClosed";
@@ -41,29 +51,51 @@ public class SocketListener implements Runnable {
      * Constructor SocketListener creates a new SocketListener instance.
      *
      * @param socket               of type Socket - socket reference.
+     * @param connectionSocket     of type ConnectionSocket - the connection used for answering the server.
      * @param modelView            of type ModelView - modelView reference.
-     * @param inputStream          of type ObjectInputStream - the inputStream.
+     * @param inputStream          of type DataInputStream - the inputStream.
+     * @param codec                of type Codec - the codec negotiated with the server.
+     * @param inflater             of type FrameInflater - the inflater of the compressed frames, null if the
+     *                             server doesn't compress them.
      * @param serverMessageHandler of type ServerMessageHandler - ServerMessageHandler reference.
      */
     public SocketListener(
             Socket socket,
+            ConnectionSocket connectionSocket,
             ModelView modelView,
-            ObjectInputStream inputStream,
+            DataInputStream inputStream,
+            Codec codec,
+            FrameInflater inflater,
             ServerMessageHandler serverMessageHandler) {
         this.modelView = modelView;
         this.socket = socket;
+        this.connectionSocket = connectionSocket;
         this.inputStream = inputStream;
+        this.codec = codec;
+        this.inflater = inflater;
         this.serverMessageHandler = serverMessageHandler;
     }
 
     /**
      * Method process elaborates the SerializedAnswer received from the server, passing it to the answerHandler.
+     * The answers grouped in a BatchMessage are handled one by one, in order.
+     * If the model has missed some changes, the whole model is requested to the server.
      *
      * @param serverMessage of type SerializedAnswer - the serialized answer.
      */
     public void process(SerializedAnswer serverMessage) {
-        modelView.setServerAnswer(serverMessage.getServerAnswer());
-        serverMessageHandler.answerHandler();
+        if (serverMessage.getServerAnswer() instanceof BatchMessage batch) {
+            for (Answer answer : batch.getMessage()) {
+                modelView.setServerAnswer(answer);
+                serverMessageHandler.answerHandler();
+            }
+        } else {
+            modelView.setServerAnswer(serverMessage.getServerAnswer());
+            serverMessageHandler.answerHandler();
+        }
+        if (modelView.takeResyncRequest()) {
+            connectionSocket.send(new ResyncMessage());
+        }
         reStartPingWaitingTimer();
     }
 
@@ -115,14 +147,13 @@ public class SocketListener implements Runnable {
     public void run() {
         try {
             do {
-                SerializedAnswer message = (SerializedAnswer) inputStream.readObject();
+                byte[] payload = Frames.readFrame(inputStream);
+                SerializedAnswer message = codec.decodeAnswer(inflater != null ? inflater.inflate(payload) : payload);
                 process(message);
             } while (modelView.getCli() == null || modelView.getCli().isActiveGame());
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Connection closed by the server. Quitting...");
             close();
-        } catch (ClassNotFoundException e) {
-            System.err.println(e.getMessage());
         } finally {
             try {
                 inputStream.close();
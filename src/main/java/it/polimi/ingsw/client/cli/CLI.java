@@ -351,7 +351,7 @@ public class CLI implements UI {
                 case PLANNING_CHOOSE_CARD ->
                         System.out.println(CLIColors.ANSI_BLUE + "\t playcard " + modelView.getHand().stream().map(AssistantCard::getValue).toList() + CLIColors.RESET);
                 case ACTION_MOVE_STUDENTS ->
-                        System.out.println(CLIColors.ANSI_BLUE + "\t studentisland \n studentshall" + CLIColors.RESET);
+                        System.out.println(CLIColors.ANSI_BLUE + "\t studentisland \n studentshall \n students" + CLIColors.RESET);
                 case ACTION_MOVE_MOTHER ->
                         System.out.println(CLIColors.ANSI_BLUE + "\t movemother 1 - " + modelView.getPlayedCards().get(modelView.getPlayerName()).getMaxMoves() + CLIColors.RESET);
                 case ACTION_CHOOSE_CLOUD ->
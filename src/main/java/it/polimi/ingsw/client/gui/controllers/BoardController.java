@@ -449,7 +449,7 @@ public class BoardController extends GUIController implements PropertyChangeList
     private void updateClouds() {
         List<Cloud> clouds = gui.getModelView().getClouds();
         for (int j = 0; j < clouds.size(); j++) {
-            List<Color> students = Color.fromMapToList(clouds.get(j).getStudents());
+            List<Color> students = clouds.get(j).getStudents().toList();
             List<Pane> panes = cloudStudents.get(j);
 
             assert students.size() <= panes.size();
@@ -496,7 +496,7 @@ public class BoardController extends GUIController implements PropertyChangeList
         students.setAlignment(Pos.CENTER);
 
         for (Map.Entry<Color, Image> entry : studentImgs.entrySet()) {
-            if (island.getStudents().getOrDefault(entry.getKey(), 0) != 0) {
+            if (island.getStudents().get(entry.getKey()) != 0) {
                 HBox hBox = new HBox();
                 hBox.setAlignment(Pos.CENTER);
                 // student image
@@ -508,7 +508,7 @@ public class BoardController extends GUIController implements PropertyChangeList
                 Label label = new Label();
                 Font font = new Font("System Bold", 10);
                 label.setFont(font);
-                label.setText(" " + island.getStudents().getOrDefault(entry.getKey(), 0).toString());
+                label.setText(" " + island.getStudents().get(entry.getKey()));
                 hBox.getChildren().add(label);
                 students.getChildren().add(hBox);
             }
@@ -606,7 +606,7 @@ public class BoardController extends GUIController implements PropertyChangeList
                 pane -> pane.getChildren().clear()
         ));
 
-        Map<Color, Integer> hallStuds = school.getStudentsHall();
+        Map<Color, Integer> hallStuds = school.getStudentsHall().toMap();
         for (Map.Entry<Color, Integer> entry : hallStuds.entrySet()) {
             assert entry.getValue() <= colorToHallStudents.get(entry.getKey()).size();
             if (entry.getValue() > 0) {
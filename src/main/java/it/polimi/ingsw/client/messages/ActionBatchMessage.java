@@ -0,0 +1,22 @@
+package it.polimi.ingsw.client.messages;
+
+import java.util.List;
+
+/**
+ * Class ActionBatchMessage is a type of Message used by the client for sending several actions in a single frame.
+ * The server executes all of them, in order, or none of them, and answers with an ActionResultsMessage.
+ *
+ * @see it.polimi.ingsw.server.answers.ActionResultsMessage
+ */
+public class ActionBatchMessage implements Message {
+    public final List<Action> actions;
+
+    /**
+     * Constructor ActionBatchMessage creates a new ActionBatchMessage instance.
+     *
+     * @param actions the actions to be executed, in order.
+     */
+    public ActionBatchMessage(List<Action> actions) {
+        this.actions = List.copyOf(actions);
+    }
+}
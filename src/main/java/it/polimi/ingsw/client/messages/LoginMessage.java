@@ -1,11 +1,15 @@
 package it.polimi.ingsw.client.messages;
 
+import it.polimi.ingsw.network.Compression;
+
 /**
  * LoginMessage class is a type of Message sent by the Client when it joins a game lobby.
  */
 public class LoginMessage implements Message {
 
     private String nickname;
+    private String resumeToken;
+    private Compression compression;
 
     /**
      * Constructor LoginMessage creates a new LoginMessage instance.
@@ -13,7 +17,21 @@ public class LoginMessage implements Message {
      * @param nickname the player's selected name.
      */
     public LoginMessage(String nickname) {
+        this(nickname, null, Compression.NONE);
+    }
+
+    /**
+     * Constructor LoginMessage creates a new LoginMessage instance, presenting the token of a previous session and
+     * asking for the compression of the answers.
+     *
+     * @param nickname the player's selected name.
+     * @param resumeToken the token issued by the server in the last ConnectionMessage, null if there is none.
+     * @param compression the compression the client can inflate.
+     */
+    public LoginMessage(String nickname, String resumeToken, Compression compression) {
         this.nickname = nickname;
+        this.resumeToken = resumeToken;
+        this.compression = compression;
     }
 
     /**
@@ -24,4 +42,22 @@ public class LoginMessage implements Message {
     public String getNickname() {
         return nickname;
     }
+
+    /**
+     * Method getResumeToken returns the token of the session the client wants to get back.
+     *
+     * @return The resume token, null if the client is logging in for the first time.
+     */
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    /**
+     * Method getCompression returns the compression asked by the client.
+     *
+     * @return The requested compression, NONE if the client didn't ask for any.
+     */
+    public Compression getCompression() {
+        return compression != null ? compression : Compression.NONE;
+    }
 }
\ No newline at end of file
@@ -5,6 +5,9 @@ import it.polimi.ingsw.constants.*;
 import it.polimi.ingsw.constants.Color;
 import it.polimi.ingsw.constants.CLIColors;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * MessageBuilder class creates the Message or Action selected by the Client.
@@ -20,6 +23,7 @@ public class MessageBuilder {
     private final String CHOOSE_CLOUD_ERROR = "Wrong ChooseCloud syntax!\nValid syntax: cloud #index (ex: cloud 2)";
     private final String MOVE_STUDENT_ISLAND_ERROR = "Wrong MoveStudentToIsland syntax!\nValid syntax: studentisland color #island (e.g. studentisland red 3)";
     private final String MOVE_STUDENT_HALL_ERROR = "Wrong MoveStudentToHall syntax!\nValid syntax: studenthall color (e.g. studenthall blue)";
+    private final String MOVE_STUDENTS_ERROR = "Wrong MoveStudents syntax!\nValid syntax: students (color hall|color #island)... (e.g. students red hall blue 3)";
     private final String ACTIVATE_CARD_ERROR = "Wrong ActivateCard syntax!\nValid syntax: activate #card (e.g. activate 1)";
     private final String DEACTIVATE_CARD_ERROR = "Wrong DeactivateCard syntax!\nValid syntax: deactivate #card (e.g. deactivate 2)";
     private final String GRANDMA_ERROR = "Wrong GrandmaBlockIsland syntax!\nValid syntax: grandma #island (e.g. grandma 2)";
@@ -140,6 +144,32 @@ public class MessageBuilder {
         }
     }
 
+    /**
+     * Method moveStudents creates an ActionBatchMessage moving several students from the entry at once,
+     * each one to the hall or to an island.
+     *
+     * @param in is the user written action in the terminal.
+     * @return The created Message if successful, null otherwise.
+     */
+    public Message moveStudents(String[] in) {
+        try {
+            if (in.length < 3 || in.length % 2 == 0) {
+                throw new IllegalArgumentException();
+            }
+            List<Action> actions = new ArrayList<>();
+            for (int i = 1; i < in.length; i += 2) {
+                Color color = Color.parseColor(in[i]);
+                actions.add(in[i + 1].equalsIgnoreCase("hall")
+                        ? new Action(ActionType.MOVE_STUDENT_HALL, color)
+                        : new Action(ActionType.MOVE_STUDENT_ISLAND, color, Integer.parseInt(in[i + 1])));
+            }
+            return new ActionBatchMessage(actions);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.out.println(CLIColors.ANSI_RED + MOVE_STUDENTS_ERROR + CLIColors.RESET);
+            return null;
+        }
+    }
+
     /**
      * Method activateCard creates a ActivateCard type of Action.
      *
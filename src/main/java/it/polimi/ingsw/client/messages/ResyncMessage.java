@@ -0,0 +1,9 @@
+package it.polimi.ingsw.client.messages;
+
+/**
+ * Class ResyncMessage is a type of Message used by the client for asking the whole model again, after it has missed
+ * some of the model changes.
+ */
+public class ResyncMessage implements Message {
+
+}
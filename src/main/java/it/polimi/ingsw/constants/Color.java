@@ -34,16 +34,4 @@ public enum Color {
     public static Color randomColor() {
         return VALUES.get(RANDOM.nextInt(SIZE));
     }
-
-    /**
-     * Method fromMapToList converts a given Map to a Color List.
-     * @param map the Map to be converted to List.
-     */
-    public static List<Color> fromMapToList(Map<Color, Integer> map) {
-        ArrayList<Color> out = new ArrayList<>();
-        for (Map.Entry<Color, Integer> entry : map.entrySet()) {
-            out.addAll(Collections.nCopies(entry.getValue(), entry.getKey()));
-        }
-        return out;
-    }
 }
\ No newline at end of file
@@ -22,6 +22,8 @@ public class Constants {
     public static final int SCHOOL_LANE_SIZE = 10;
     public static final int DELAY_WINNING_TIMER = 120;
     public static final int PING_TIMEOUT_MS = 5000;
+    public static final int MAX_BATCH_ACTIONS = 8;
+    public static final String SLOW_DOWN = "Too many refused moves, slow down!";
 
     public static int port = 8080;
     public static String address;
@@ -5,6 +5,7 @@ import it.polimi.ingsw.model.islands.Island;
 import it.polimi.ingsw.model.islands.IslandContainer;
 import it.polimi.ingsw.model.islands.SuperIsland;
 import it.polimi.ingsw.model.School;
+import it.polimi.ingsw.model.StudentCounts;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -148,15 +149,15 @@ public class Printable {
      * @param n            the island index.
      * @return The formatted island.
      */
-    private static String[] islandFormat(boolean isMerged, boolean motherNature, String[] pIsland, Map<Color, Integer> map, int towers, String towerColor, int n) {
+    private static String[] islandFormat(boolean isMerged, boolean motherNature, String[] pIsland, StudentCounts map, int towers, String towerColor, int n) {
         String[] island = Arrays.copyOf(pIsland, pIsland.length);
         String s = "   ";
         if (isMerged) {
             Arrays.fill(island, emptyRow);
         } else {
-            island[1] = String.format(island[1], map.getOrDefault(Color.RED, 0), map.getOrDefault(Color.YELLOW, 0));
-            island[2] = String.format(island[2], map.getOrDefault(Color.BLUE, 0), map.getOrDefault(Color.GREEN, 0));
-            island[3] = String.format(island[3], map.getOrDefault(Color.PINK, 0));
+            island[1] = String.format(island[1], map.get(Color.RED), map.get(Color.YELLOW));
+            island[2] = String.format(island[2], map.get(Color.BLUE), map.get(Color.GREEN));
+            island[3] = String.format(island[3], map.get(Color.PINK));
             if (motherNature) {
                 island[5] = String.format(island[5], "█", towerColor);
                 island[6] = String.format(island[6], "███", towers, n);
@@ -177,7 +178,7 @@ public class Printable {
      * @param mn              motherNature's position.
      * @param map             represent the all the player's tower color.
      * @return a bi-dimensional Array of String that contains all the islands to be printed.
-     * @see Printable#islandFormat(boolean, boolean, String[], Map, int, String, int)
+     * @see Printable#islandFormat(boolean, boolean, String[], StudentCounts, int, String, int)
      */
     private static String[][] prepareIslands(String[] island, IslandContainer islandContainer, int mn, Map<String, TowerColor> map) {
         String[][] stringIslands = new String[12][];
@@ -251,7 +252,7 @@ public class Printable {
      *
      * @param clouds the game's reference to the cloud list.
      * @param cloud  the cloud String template.
-     * @see Printable#cloudFormat(boolean, String[], Map, int)
+     * @see Printable#cloudFormat(boolean, String[], StudentCounts, int)
      */
     private static String[][] prepareClouds(List<Cloud> clouds, String[] cloud) {
         String[][] preparedClouds = new String[3][];
@@ -281,14 +282,14 @@ public class Printable {
      * @param n        the cloud index.
      * @return The formatted cloud.
      */
-    private static String[] cloudFormat(boolean isHidden, String[] cloud, Map<Color, Integer> map, int n) {
+    private static String[] cloudFormat(boolean isHidden, String[] cloud, StudentCounts map, int n) {
         String[] formattedCloud = Arrays.copyOf(cloud, cloud.length);
         if (isHidden) {
             Arrays.fill(formattedCloud, emptyRow);
         } else {
-            formattedCloud[1] = String.format(formattedCloud[1], map.getOrDefault(Color.RED, 0), map.getOrDefault(Color.YELLOW, 0));
-            formattedCloud[2] = String.format(formattedCloud[2], map.getOrDefault(Color.BLUE, 0), map.getOrDefault(Color.GREEN, 0));
-            formattedCloud[3] = String.format(formattedCloud[3], map.getOrDefault(Color.PINK, 0), n);
+            formattedCloud[1] = String.format(formattedCloud[1], map.get(Color.RED), map.get(Color.YELLOW));
+            formattedCloud[2] = String.format(formattedCloud[2], map.get(Color.BLUE), map.get(Color.GREEN));
+            formattedCloud[3] = String.format(formattedCloud[3], map.get(Color.PINK), n);
         }
         return formattedCloud;
     }
@@ -323,13 +324,13 @@ public class Printable {
      * Method prepareSchool prepares the graphical school and then prepares it with its information.
      *
      * @param schoolTemplate the school String template.
-     * @param entry          the map to the school's students entry.
-     * @param hall           the map to the school's students hall.
+     * @param entry          the school's students entry.
+     * @param hall           the school's students hall.
      * @param towers         the number of towers remaining on the school.
      * @param tc             the towers' color.
      * @return the formatted School.
      */
-    private static String[] prepareSchool(String[] schoolTemplate, Map<Color, Integer> entry, Map<Color, Integer> hall, int towers, TowerColor tc) {
+    private static String[] prepareSchool(String[] schoolTemplate, StudentCounts entry, StudentCounts hall, int towers, TowerColor tc) {
         String[] school = Arrays.copyOf(schoolTemplate, schoolTemplate.length);
         Color color = Color.GREEN;
         String s;
@@ -338,15 +339,15 @@ public class Printable {
         } else {
             s = tc.toString();
         }
-        school[2] = String.format(school[2], entry.getOrDefault(color, 0), hall.getOrDefault(color, 0), towers);
+        school[2] = String.format(school[2], entry.get(color), hall.get(color), towers);
         color = Color.RED;
-        school[3] = String.format(school[3], entry.getOrDefault(color, 0), hall.getOrDefault(color, 0));
+        school[3] = String.format(school[3], entry.get(color), hall.get(color));
         color = Color.YELLOW;
-        school[4] = String.format(school[4], entry.getOrDefault(color, 0), hall.getOrDefault(color, 0));
+        school[4] = String.format(school[4], entry.get(color), hall.get(color));
         color = Color.PINK;
-        school[5] = String.format(school[5], entry.getOrDefault(color, 0), hall.getOrDefault(color, 0));
+        school[5] = String.format(school[5], entry.get(color), hall.get(color));
         color = Color.BLUE;
-        school[6] = String.format(school[6], entry.getOrDefault(color, 0), hall.getOrDefault(color, 0), s);
+        school[6] = String.format(school[6], entry.get(color), hall.get(color), s);
         return school;
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.controller.actions.Performable;
 import it.polimi.ingsw.controller.rules.Rules;
 import it.polimi.ingsw.exceptions.GameException;
+import it.polimi.ingsw.exceptions.InvalidBatchException;
 import it.polimi.ingsw.exceptions.InvalidPlayerException;
 import it.polimi.ingsw.exceptions.RoundOwnerException;
 import it.polimi.ingsw.model.*;
@@ -98,7 +99,7 @@ public class GameManager implements PropertyChangeListener {
 
     /**
      * Method initCharacters creates all 12 characters present in the Game,
-     * and then it randomly sets 3 of them to the current Game.
+     * and then it randomly sets 3 of them to the current Game, drawn with the game's random generator.
      *
      * @see Game#initCharacterCards(List)
      */
@@ -117,7 +118,11 @@ public class GameManager implements PropertyChangeListener {
         characters.add(new Monk(game.getBag()));
         characters.add(new Grandma());
 
-        Collections.shuffle(characters);
+        // partial Fisher-Yates shuffle: only the first 3 positions are drawn
+        SplittableRandom random = game.getRandom();
+        for (int i = 0; i < 3; i++) {
+            Collections.swap(characters, i, i + random.nextInt(characters.size() - i));
+        }
         List<CharacterCard> extractedCharacters = characters.subList(0, 3);
         extractedCharacters.forEach(CharacterCard::init);
         ArrayList<CharacterCard> gameCharacters = new ArrayList<>(characters.subList(0, 3));
@@ -127,14 +132,14 @@ public class GameManager implements PropertyChangeListener {
     /**
      * Method initSchool creates the basic instance of a School to each of the players present in the game.
      *
-     * @see School#School(int, TowerColor, Map)
+     * @see School#School(int, TowerColor, StudentCounts)
      */
     private void initSchools() {
         List<Player> players = game.getPlayers();
         for (int i = 0; i < players.size(); i++) {
             Player player = players.get(i);
             // create and fill the school
-            Map<Color, Integer> students = game.getBag().extract(Rules.getEntrySize(players.size()));
+            StudentCounts students = game.getBag().extract(Rules.getEntrySize(players.size()));
             TowerColor towerColor = TowerColor.values()[i];
             School school = new School(Rules.getTowersPerPlayer(players.size()), towerColor, students);
             player.setSchool(school);
@@ -172,13 +177,13 @@ public class GameManager implements PropertyChangeListener {
     }
 
     /**
-     * Method initMotherNature sets the MotherNature position. This is done with a random value between 0 and 11.
+     * Method initMotherNature sets the MotherNature position. This is done with a random value between 0 and 11,
+     * drawn with the game's random generator.
      *
      * @see Game#initMotherNature(MotherNature)
      */
     private void initMotherNature() {
-        Random rand = new Random();
-        int motherNaturePosition = rand.nextInt(0, Constants.MAX_ISLANDS);
+        int motherNaturePosition = game.getRandom().nextInt(Constants.MAX_ISLANDS);
         MotherNature motherNature = new MotherNature(motherNaturePosition);
         game.initMotherNature(motherNature);
     }
@@ -237,6 +242,17 @@ public class GameManager implements PropertyChangeListener {
         roundManager.performAction(action);
     }
 
+    /**
+     * Method performActions calls the underlying method on the RoundManager.
+     *
+     * @param actions the Performables to be executed on the Game Model, in order.
+     * @throws InvalidBatchException if an action is not valid, with its position in the batch.
+     * @see RoundManager#performActions(List)
+     */
+    public void performActions(List<Performable> actions) throws InvalidBatchException {
+        roundManager.performActions(actions);
+    }
+
     /**
      * Method propertyChange notifies the controller listeners.
      * @param evt A PropertyChangeEvent object describing the event source
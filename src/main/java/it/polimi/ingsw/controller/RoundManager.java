@@ -2,10 +2,13 @@ package it.polimi.ingsw.controller;
 
 import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.controller.actions.ChooseCloud;
+import it.polimi.ingsw.controller.actions.MoveStudentFromEntry;
 import it.polimi.ingsw.controller.actions.Performable;
 import it.polimi.ingsw.controller.actions.PlayCard;
+import it.polimi.ingsw.controller.rules.Rules;
 import it.polimi.ingsw.controller.rules.WinController;
 import it.polimi.ingsw.exceptions.GameException;
+import it.polimi.ingsw.exceptions.InvalidBatchException;
 import it.polimi.ingsw.exceptions.InvalidPlayerException;
 import it.polimi.ingsw.exceptions.RoundOwnerException;
 import it.polimi.ingsw.model.Game;
@@ -13,6 +16,8 @@ import it.polimi.ingsw.model.Player;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.IntStream;
 
@@ -67,6 +72,45 @@ public class RoundManager {
         checkWin();
     }
 
+    /**
+     * Method performActions executes a batch of Performable instances on the Game model, in order, either all of them
+     * or none of them. Since the model can't be rolled back, the whole batch is checked before the first action is
+     * executed: a batch holds either a single action of any kind or student movements only, which can be checked
+     * one after the other without changing the game.
+     *
+     * @param actions the Performables to be executed on the Game Model.
+     * @throws InvalidBatchException if an action is not valid, with its position in the batch.
+     * @see MoveStudentFromEntry#canPerformAll(Game, Rules, List)
+     */
+    public void performActions(List<Performable> actions) throws InvalidBatchException {
+        if (actions.size() == 1) {
+            performBatchAction(0, actions.get(0));
+            return;
+        }
+        List<MoveStudentFromEntry> moves = new ArrayList<>(actions.size());
+        for (int i = 0; i < actions.size(); i++) {
+            if (!(actions.get(i) instanceof MoveStudentFromEntry move)) {
+                throw new InvalidBatchException(i, "Only student movements can be sent together.");
+            }
+            moves.add(move);
+        }
+        MoveStudentFromEntry.canPerformAll(gameInstance, gameManager.getRules(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            performBatchAction(i, moves.get(i));
+        }
+    }
+
+    /**
+     * Method performBatchAction executes an action of a batch, reporting its position if it's refused.
+     */
+    private void performBatchAction(int index, Performable action) throws InvalidBatchException {
+        try {
+            performAction(action);
+        } catch (GameException | InvalidPlayerException | RoundOwnerException e) {
+            throw new InvalidBatchException(index, e.getMessage());
+        }
+    }
+
     /**
      * Method checkWin, send victory in case of victory
      */
@@ -4,11 +4,15 @@ import it.polimi.ingsw.controller.rules.Rules;
 import it.polimi.ingsw.constants.Color;
 import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.exceptions.GameException;
+import it.polimi.ingsw.exceptions.InvalidBatchException;
 import it.polimi.ingsw.exceptions.InvalidPlayerException;
 import it.polimi.ingsw.exceptions.RoundOwnerException;
 import it.polimi.ingsw.exceptions.WrongStateException;
 import it.polimi.ingsw.model.Game;
-import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.School;
+import it.polimi.ingsw.model.StudentCounts;
+
+import java.util.List;
 
 /**
  * MoveStudentFromEntry class is an abstract to be extended by the two types of movement possibile in the game.
@@ -46,23 +50,80 @@ public abstract class MoveStudentFromEntry extends Performable {
     protected void canPerform(Game game, Rules rules) throws InvalidPlayerException, RoundOwnerException, GameException {
         // Simple check that verifies that there is a player with the specified name, and that he/she is the roundOwner
         super.canPerform(game, rules);
-        Player player = getPlayer(game);
 
         if (!game.getGameState().equals(GameState.ACTION_MOVE_STUDENTS)) {
             throw new WrongStateException("action phase, when you move students.");
         }
 
+        School school = getPlayer(game).getSchool();
+        checkMove(game, school.getStudentsEntry(), school.getStudentsHall());
+    }
+
+    /**
+     * Method checkMove checks the movement against the given entry and hall of the player's school, which may be
+     * the ones left by the previous movements of a batch.
+     *
+     * @param game  represents the game Model.
+     * @param entry the students in the entry.
+     * @param hall  the students in the hall.
+     * @throws GameException if the movement is not allowed.
+     */
+    protected void checkMove(Game game, StudentCounts entry, StudentCounts hall) throws GameException {
+        int entryStudents = entry.sum();
         // Checks if the player has already moved the maximum allowed students
-        if (Rules.getEntrySize(game.numPlayers()) - player.getSchool().getEntryStudentsNum() >= Rules.getStudentsPerTurn(game.numPlayers())) {
+        if (Rules.getEntrySize(game.numPlayers()) - entryStudents >= Rules.getStudentsPerTurn(game.numPlayers())) {
             throw new GameException("You already moved " + Rules.getStudentsPerTurn(game.numPlayers()) + " students, the maximum allowed.");
         }
 
         // Checks if the player has not a student of Color color
-        if (player.getSchool().getStudentsEntry().getOrDefault(color, 0) == 0) {
+        if (!entry.contains(color)) {
             throw new GameException("You don't have any students of the selected color.");
         }
     }
 
+    /**
+     * Method hallAfter returns the given hall after the movement, as performMove changes the player's school.
+     * The student leaves the entry whatever the destination, so the hall is unchanged by default.
+     *
+     * @param hall the students in the hall.
+     */
+    protected StudentCounts hallAfter(StudentCounts hall) {
+        return hall;
+    }
+
+    /**
+     * Method canPerformAll checks a sequence of movements of the same player as if they were executed one after
+     * the other, without changing the game: each movement is checked against the school left by the previous ones.
+     *
+     * @param game  represents the game Model.
+     * @param rules represents the current game rules.
+     * @param moves the movements, in order.
+     * @throws InvalidBatchException if a movement is not allowed, with its position in the sequence.
+     */
+    public static void canPerformAll(Game game, Rules rules, List<? extends MoveStudentFromEntry> moves) throws InvalidBatchException {
+        StudentCounts entry = null;
+        StudentCounts hall = null;
+        for (int i = 0; i < moves.size(); i++) {
+            MoveStudentFromEntry move = moves.get(i);
+            try {
+                if (i == 0) {
+                    move.canPerform(game, rules);
+                    School school = move.getPlayer(game).getSchool();
+                    entry = school.getStudentsEntry();
+                    hall = school.getStudentsHall();
+                } else if (!move.player.equals(moves.get(0).player)) {
+                    throw new GameException("The moves of a batch must belong to the same player.");
+                } else {
+                    move.checkMove(game, entry, hall);
+                }
+            } catch (GameException | InvalidPlayerException | RoundOwnerException e) {
+                throw new InvalidBatchException(i, e.getMessage());
+            }
+            entry = entry.remove(move.color);
+            hall = move.hallAfter(hall);
+        }
+    }
+
     /**
      * Method nextState determines the next game state after a MoveStudentFromEntry type of action is executed.
      * Only when the current round owner has moved the allowed amount of students the game can proceed to the next state.
@@ -8,6 +8,8 @@ import it.polimi.ingsw.exceptions.InvalidPlayerException;
 import it.polimi.ingsw.exceptions.RoundOwnerException;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.StudentCounts;
+
 
 /**
  * MoveStudentFromEntryToHall represents the action where a student is moved from the student entry to the hall.
@@ -27,24 +29,32 @@ public class MoveStudentFromEntryToHall extends MoveStudentFromEntry {
     }
 
     /**
-     * Method canPerform extends the Performable MoveStudentFromEntry with the specific MoveStudentFromEntryToHall checks.
+     * Method checkMove extends the MoveStudentFromEntry checks with the capacity of the hall's lane.
      *
      * @param game  represents the game Model.
-     * @param rules represents the current game rules.
-     * @throws InvalidPlayerException if the player is not in the current game.
-     * @throws RoundOwnerException    if the player is not the current round owner.
-     * @throws GameException          for generic errors.
-     * @see MoveStudentFromEntry#canPerform(Game, Rules)
+     * @param entry the students in the entry.
+     * @param hall  the students in the hall.
+     * @throws GameException if the movement is not allowed.
+     * @see MoveStudentFromEntry#checkMove(Game, StudentCounts, StudentCounts)
      */
     @Override
-    protected void canPerform(Game game, Rules rules) throws GameException, InvalidPlayerException, RoundOwnerException {
-        super.canPerform(game, rules);
-        Player p = getPlayer(game);
-        if (p.getSchool().getStudentsHall().getOrDefault(color, 0) >= Constants.SCHOOL_LANE_SIZE) {
+    protected void checkMove(Game game, StudentCounts entry, StudentCounts hall) throws GameException {
+        super.checkMove(game, entry, hall);
+        if (hall.get(color) >= Constants.SCHOOL_LANE_SIZE) {
             throw new GameException("You already have the maximum amount (" + Constants.SCHOOL_LANE_SIZE + ") of " + color + " students in your school's hall!");
         }
     }
 
+    /**
+     * Method hallAfter adds the moved student to the given hall.
+     *
+     * @param hall the students in the hall.
+     */
+    @Override
+    protected StudentCounts hallAfter(StudentCounts hall) {
+        return hall.add(color);
+    }
+
     /**
      * Method performMove checks if an action is performable,
      * and only if successful it executes the MoveStudentFromEntryToHall action.
@@ -61,7 +71,7 @@ public class MoveStudentFromEntryToHall extends MoveStudentFromEntry {
         // model modification
         player.getSchool().moveStudentFromEntryToHall(color);
         // coin
-        int hallPosition = player.getSchool().getStudentsHall().getOrDefault(color, 0);
+        int hallPosition = player.getSchool().getStudentsHall().get(color);
         if (Rules.checkCoin(hallPosition)) {
             game.incrementPlayerBalance(player.getNickname());
         }
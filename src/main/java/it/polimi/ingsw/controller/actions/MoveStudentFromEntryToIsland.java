@@ -8,6 +8,8 @@ import it.polimi.ingsw.exceptions.InvalidPlayerException;
 import it.polimi.ingsw.exceptions.RoundOwnerException;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.StudentCounts;
+
 
 /**
  * MoveStudentFromEntryToIsland represents the action where a student is moved from the student entry to an island.
@@ -31,18 +33,17 @@ public class MoveStudentFromEntryToIsland extends MoveStudentFromEntry {
     }
 
     /**
-     * Method canPerform extends the Performable MoveStudentFromEntry with the specific MoveStudentFromEntryToIsland checks.
+     * Method checkMove extends the MoveStudentFromEntry checks with the index of the island.
      *
      * @param game  represents the game Model.
-     * @param rules represents the current game rules.
-     * @throws InvalidPlayerException if the player is not in the current game.
-     * @throws RoundOwnerException    if the player is not the current round owner.
-     * @throws GameException          for generic errors.
-     * @see MoveStudentFromEntry#canPerform(Game, Rules)
+     * @param entry the students in the entry.
+     * @param hall  the students in the hall.
+     * @throws GameException if the movement is not allowed.
+     * @see MoveStudentFromEntry#checkMove(Game, StudentCounts, StudentCounts)
      */
     @Override
-    protected void canPerform(Game game, Rules rules) throws InvalidPlayerException, RoundOwnerException, GameException {
-        super.canPerform(game, rules);
+    protected void checkMove(Game game, StudentCounts entry, StudentCounts hall) throws GameException {
+        super.checkMove(game, entry, hall);
         if (islandIndex < 0 || islandIndex >= game.getIslandContainer().size()) {
             throw new InvalidIndexException("island", 0, game.getIslandContainer().size() - 1, islandIndex);
         }
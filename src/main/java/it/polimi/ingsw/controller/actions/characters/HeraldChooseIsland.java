@@ -101,12 +101,12 @@ public class HeraldChooseIsland extends Performable {
         IslandContainer islandContainer = game.getIslandContainer();
         Island prevIsland = islandContainer.prevIsland(islandIndex);
         if (Island.checkJoin(prevIsland, island)) {
-            islandContainer.joinPrevIsland(islandIndex);
+            game.joinPrevIsland(islandIndex);
             game.moveMotherNature(-1);
         }
         Island nextIsland = islandContainer.nextIsland(islandIndex);
         if (Island.checkJoin(island, nextIsland)) {
-            islandContainer.joinNextIsland(islandIndex);
+            game.joinNextIsland(islandIndex);
         }
     }
 }
\ No newline at end of file
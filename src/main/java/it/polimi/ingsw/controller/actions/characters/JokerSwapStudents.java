@@ -79,11 +79,11 @@ public class JokerSwapStudents extends Performable {
         }
 
         // the card does not have that student
-        if (joker.getStudentsMap().getOrDefault(studentToPick, 0) <= 0) {
+        if (joker.getStudentCounts().get(studentToPick) <= 0) {
             throw new GameException("There isn't any student of the specified color (" + studentToPick.toString() + ") on the joker card.");
         }
         // the player does not have that student
-        if (player.getSchool().getStudentsEntry().getOrDefault(studentToPut, 0) <= 0) {
+        if (player.getSchool().getStudentsEntry().get(studentToPut) <= 0) {
             throw new GameException("There isn't any student of the specified color (" + studentToPick.toString() + ") in your school's entry.");
         }
     }
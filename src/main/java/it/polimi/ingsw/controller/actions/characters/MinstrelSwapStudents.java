@@ -74,16 +74,16 @@ public class MinstrelSwapStudents extends Performable {
         }
 
         // The entry doesn't have enough students
-        if (player.getSchool().getStudentsEntry().getOrDefault(studentFromEntry, 0) <= 0) {
+        if (player.getSchool().getStudentsEntry().get(studentFromEntry) <= 0) {
             throw new GameException("There isn't any student of the specified color (" + studentFromEntry.toString() + ") in your school's entry.");
         }
         // The hall doesn't have enough students
-        if (player.getSchool().getStudentsHall().getOrDefault(studentFromHall, 0) <= 0) {
+        if (player.getSchool().getStudentsHall().get(studentFromHall) <= 0) {
             throw new GameException("There isn't any student of the specified color (" + studentFromHall.toString() + ") in your school's hall.");
         }
 
         Player p = getPlayer(game);
-        if (p.getSchool().getStudentsHall().getOrDefault(studentFromEntry, 0) >= Constants.SCHOOL_LANE_SIZE) {
+        if (p.getSchool().getStudentsHall().get(studentFromEntry) >= Constants.SCHOOL_LANE_SIZE) {
             throw new GameException("You already have the maximum amount (" + Constants.SCHOOL_LANE_SIZE + ") of " + studentFromEntry + " students in your school's hall!");
         }
     }
@@ -111,7 +111,7 @@ public class MinstrelSwapStudents extends Performable {
         minstrel.incrementSwapped();
 
         // Coin logic
-        int hallPosition = player.getSchool().getStudentsHall().getOrDefault(studentFromEntry, 0);
+        int hallPosition = player.getSchool().getStudentsHall().get(studentFromEntry);
         if (Rules.checkCoin(hallPosition)) {
             game.incrementPlayerBalance(player.getNickname());
         }
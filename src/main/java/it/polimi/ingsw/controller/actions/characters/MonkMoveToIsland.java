@@ -81,7 +81,7 @@ public class MonkMoveToIsland extends Performable {
         Monk monk = (Monk) card.get();
 
         // Verify that the MONK card has a student of the specified COLOR
-        if (monk.getStudentsMap().getOrDefault(student, 0) <= 0) {
+        if (monk.getStudentCounts().get(student) <= 0) {
             throw new GameException("There isn't any student of the specified color (" + student.toString() + ") on the monk card.");
         }
     }
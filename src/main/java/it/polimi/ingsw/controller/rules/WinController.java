@@ -36,7 +36,7 @@ public class WinController {
             return winner(game);
         }
         //the last fpr the win is has finished the available student in the bag
-        if (game.getBag().getStudents().isEmpty() && game.getGameState() == GameState.NEW_ROUND) {
+        if (game.getBag().isEmpty() && game.getGameState() == GameState.NEW_ROUND) {
             return winner(game);
         }
         return null;
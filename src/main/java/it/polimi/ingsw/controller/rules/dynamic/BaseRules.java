@@ -6,6 +6,7 @@ import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.islands.Island;
 import it.polimi.ingsw.model.Player;
 import it.polimi.ingsw.model.School;
+import it.polimi.ingsw.model.StudentCounts;
 
 import java.util.*;
 import java.util.stream.Stream;
@@ -40,14 +41,14 @@ public class BaseRules implements DynamicRules {
 
             Player tempOwner = game.getRoundOwner();
             // if the current round owner has at least a student
-            if (tempOwner.getSchool().getStudentsHall().getOrDefault(prof, 0) > 0) {
+            if (tempOwner.getSchool().getStudentsHall().get(prof) > 0) {
                 // Compare against the influence comparator for current owner
                 String currentOwner = initialProfessorInfluence.get(prof);
                 if (currentOwner == null) {
                     outProfessorsInfluence.put(prof, tempOwner.getNickname());
                 } else {
                     School currentOwnerSchool = game.getPlayerByNickname(currentOwner).get().getSchool();
-                    if (influenceComparator(tempOwner.getSchool().getStudentsHall().getOrDefault(prof, 0), currentOwnerSchool.getStudentsHall().getOrDefault(prof, 0))) {
+                    if (influenceComparator(tempOwner.getSchool().getStudentsHall().get(prof), currentOwnerSchool.getStudentsHall().get(prof))) {
                         outProfessorsInfluence.put(prof, tempOwner.getNickname());
                     } else {
                         outProfessorsInfluence.put(prof, currentOwner);
@@ -84,9 +85,12 @@ public class BaseRules implements DynamicRules {
         Map<String, Integer> playerInfluence = new HashMap<>();
         Map<Color, String> professors = game.getProfessors();
 
-        for (Map.Entry<Color, Integer> islandStudentInflunce : island.getStudents().entrySet()) {
-            Color student = islandStudentInflunce.getKey();
-            int influence = influenceModifier(game, student, islandStudentInflunce.getValue()); // used to modify if character MushRoom is active
+        StudentCounts islandStudents = island.getStudents();
+        for (Color student : Color.values()) {
+            if (!islandStudents.contains(student)) {
+                continue;
+            }
+            int influence = influenceModifier(game, student, islandStudents.get(student)); // used to modify if character MushRoom is active
             // let's find which player has the professor of color student
             String player = professors.get(student);
             if (player != null) {
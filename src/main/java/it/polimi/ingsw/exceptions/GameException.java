@@ -2,6 +2,11 @@ package it.polimi.ingsw.exceptions;
 
 /**
  * Class GameException is thrown when a generic error is given by the execution of an error.
+ * A refused move is only reported back to the client, never logged, so this exception and its subclasses are
+ * created without a stack trace, as are InvalidPlayerException and RoundOwnerException.
+ *
+ * @see InvalidPlayerException
+ * @see RoundOwnerException
  */
 public class GameException extends Exception {
 
@@ -12,6 +17,7 @@ public class GameException extends Exception {
      * @param errorMessage the message to be set to the GameException.
      */
     public GameException(String errorMessage) {
+        super(errorMessage, null, false, false);
         this.errorMessage = errorMessage;
     }
 
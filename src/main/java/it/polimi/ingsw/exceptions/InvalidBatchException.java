@@ -0,0 +1,27 @@
+package it.polimi.ingsw.exceptions;
+
+/**
+ * Class InvalidBatchException is thrown when an action of a batch is refused, so that none of them is executed.
+ */
+public class InvalidBatchException extends GameException {
+
+    private final int index;
+
+    /**
+     * Constructor InvalidBatchException creates the InvalidBatchException, and sets its parameters.
+     *
+     * @param index        the position in the batch of the refused action.
+     * @param errorMessage the reason why the action has been refused.
+     */
+    public InvalidBatchException(int index, String errorMessage) {
+        super(errorMessage);
+        this.index = index;
+    }
+
+    /**
+     * Method getIndex returns the position in the batch of the refused action.
+     */
+    public int getIndex() {
+        return index;
+    }
+}
@@ -1,10 +1,17 @@
 package it.polimi.ingsw.exceptions;
 
 /**
- * Class GameException is thrown when an invalid player is given to an action.
+ * Class InvalidPlayerException is thrown when an invalid player is given to an action.
  */
 public class InvalidPlayerException extends Exception {
 
+    /**
+     * Constructor InvalidPlayerException creates the InvalidPlayerException instance, without a stack trace.
+     */
+    public InvalidPlayerException() {
+        super(null, null, false, false);
+    }
+
     /**
      * Method getMessage returns the custom InvalidPlayerException message.
      */
@@ -8,11 +8,12 @@ public class RoundOwnerException extends Exception {
     private String currentOwner;
 
     /**
-     * Constructor RoundOwnerException creates the RoundOwnerException, and sets its parameter.
+     * Constructor RoundOwnerException creates the RoundOwnerException without a stack trace, and sets its parameter.
      *
      * @param currentOwner the current round owner.
      */
     public RoundOwnerException(String currentOwner) {
+        super(null, null, false, false);
         this.currentOwner = currentOwner;
     }
 
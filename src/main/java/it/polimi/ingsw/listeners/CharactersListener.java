@@ -33,6 +33,6 @@ public class CharactersListener extends AbsListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         CharactersMessage message = new CharactersMessage((ArrayList<CharacterCard>) evt.getNewValue());
-        virtualClient.send(message);
+        virtualClient.sendShared(evt, message);
     }
 }
\ No newline at end of file
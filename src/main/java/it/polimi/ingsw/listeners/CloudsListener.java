@@ -33,6 +33,6 @@ public class CloudsListener extends AbsListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         CloudsMessage message = new CloudsMessage((List<Cloud>) evt.getNewValue());
-        virtualClient.send(message);
+        virtualClient.sendShared(evt, message);
     }
 }
\ No newline at end of file
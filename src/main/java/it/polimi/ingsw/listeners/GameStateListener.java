@@ -32,6 +32,6 @@ public class GameStateListener extends AbsListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         GameStateMessage message = new GameStateMessage((GameState) evt.getNewValue());
-        virtualClient.send(message);
+        virtualClient.sendShared(evt, message);
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package it.polimi.ingsw.listeners;
 
+import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.islands.IslandContainer;
+import it.polimi.ingsw.model.islands.IslandDelta;
+import it.polimi.ingsw.server.answers.model.IslandDeltaMessage;
 import it.polimi.ingsw.server.answers.model.IslandsMessage;
 import it.polimi.ingsw.server.VirtualClient;
 
@@ -24,14 +27,23 @@ public class IslandsListener extends AbsListener {
     }
 
     /**
-     * Method propertyChange notifies the client with an IslandsMessage.
+     * Method propertyChange notifies the client with an IslandDeltaMessage if the event carries a single change,
+     * or with an IslandsMessage containing all the islands otherwise. The legacy clients, which can't apply the
+     * deltas, always receive all the islands.
      *
      * @param evt of type PropertyChangeEvent - the event received.
      * @see AbsListener#propertyChange(PropertyChangeEvent)
      */
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
-        IslandsMessage message = new IslandsMessage((IslandContainer) evt.getNewValue());
-        virtualClient.send(message);
+        if (evt.getNewValue() instanceof IslandDelta delta) {
+            if (virtualClient.receivesDeltas()) {
+                virtualClient.sendShared(evt, new IslandDeltaMessage(delta));
+            } else {
+                virtualClient.send(new IslandsMessage(((Game) evt.getSource()).getIslandContainer()));
+            }
+        } else {
+            virtualClient.sendShared(evt, new IslandsMessage((IslandContainer) evt.getNewValue()));
+        }
     }
 }
\ No newline at end of file
@@ -33,6 +33,6 @@ public class MagicianListener extends AbsListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         MagicianMessage message = new MagicianMessage((Map<Magician, String>) evt.getNewValue());
-        virtualClient.send(message);
+        virtualClient.sendShared(evt, message);
     }
 }
\ No newline at end of file
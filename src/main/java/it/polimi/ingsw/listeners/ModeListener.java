@@ -31,6 +31,6 @@ public class ModeListener extends AbsListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         ModeMessage message = new ModeMessage((boolean) evt.getNewValue());
-        virtualClient.send(message);
+        virtualClient.sendShared(evt, message);
     }
 }
\ No newline at end of file
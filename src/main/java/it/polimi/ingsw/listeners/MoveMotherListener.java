@@ -31,6 +31,6 @@ public class MoveMotherListener extends AbsListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         MotherMessage message = new MotherMessage((int) evt.getNewValue());
-        virtualClient.send(message);
+        virtualClient.sendShared(evt, message);
     }
 }
\ No newline at end of file
@@ -34,6 +34,6 @@ public class PlayersStatusListener extends AbsListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         PlayersStatusMessage message = new PlayersStatusMessage((Map<String, List<String>>) evt.getNewValue());
-        virtualClient.send(message);
+        virtualClient.sendShared(evt, message);
     }
 }
\ No newline at end of file
@@ -33,6 +33,6 @@ public class ProfsListener extends AbsListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         ProfsMessage message = new ProfsMessage((EnumMap<Color, String>) evt.getNewValue());
-        virtualClient.send(message);
+        virtualClient.sendShared(evt, message);
     }
 }
\ No newline at end of file
@@ -31,6 +31,6 @@ public class RoundOwnerListener extends AbsListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         RoundOwnerMessage message = new RoundOwnerMessage((String) evt.getNewValue());
-        virtualClient.send(message);
+        virtualClient.sendShared(evt, message);
     }
 }
\ No newline at end of file
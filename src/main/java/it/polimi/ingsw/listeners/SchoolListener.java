@@ -1,6 +1,9 @@
 package it.polimi.ingsw.listeners;
 
+import it.polimi.ingsw.model.Player;
 import it.polimi.ingsw.model.School;
+import it.polimi.ingsw.model.SchoolDelta;
+import it.polimi.ingsw.server.answers.model.SchoolDeltaMessage;
 import it.polimi.ingsw.server.answers.model.SchoolMessage;
 import it.polimi.ingsw.server.VirtualClient;
 
@@ -24,14 +27,20 @@ public class SchoolListener extends AbsListener {
     }
 
     /**
-     * Method propertyChange notifies the client with a SchoolMessage.
+     * Method propertyChange notifies the clients with a SchoolDeltaMessage if the event carries a single change,
+     * or with a SchoolMessage containing the whole school otherwise. The legacy clients, which can't apply the
+     * deltas, always receive the whole school.
      *
      * @param evt of type PropertyChangeEvent - the event received.
      * @see AbsListener#propertyChange(PropertyChangeEvent)
      */
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
-        SchoolMessage message = new SchoolMessage(virtualClient.getNickname(), (School) evt.getNewValue());
-        virtualClient.sendAll(message);
+        if (evt.getNewValue() instanceof SchoolDelta delta) {
+            virtualClient.sendAll(new SchoolDeltaMessage(virtualClient.getNickname(), delta),
+                    new SchoolMessage(virtualClient.getNickname(), ((Player) evt.getSource()).getSchool()));
+        } else {
+            virtualClient.sendAll(new SchoolMessage(virtualClient.getNickname(), (School) evt.getNewValue()));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package it.polimi.ingsw.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram class counts latencies, in microseconds, in log-linear buckets: every power of two is split in
+ * 32 buckets, so a percentile is reported with an error below 3% whatever the latency, in a fixed amount of memory.
+ * The samples are recorded without locks, by any number of threads.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR = 64;
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = LINEAR + (Long.SIZE - SUB_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Method record adds a latency to the histogram.
+     *
+     * @param micros the latency in microseconds, negative values are counted as zero.
+     */
+    public void record(long micros) {
+        counts.incrementAndGet(index(Math.max(0, micros)));
+    }
+
+    /**
+     * Method count returns the number of recorded latencies.
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Method percentile returns the latency below which the given fraction of the recorded latencies lies.
+     *
+     * @param fraction the percentile, as a fraction between 0 and 1 (0.99 for the 99th percentile).
+     * @return the highest latency of the bucket holding the percentile, in microseconds, 0 if nothing was recorded.
+     */
+    public long percentile(double fraction) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return highest(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Method index returns the bucket of a latency: the small ones have a bucket each, the others share a bucket
+     * with the ones having the same 6 most significant bits.
+     */
+    static int index(long micros) {
+        if (micros < LINEAR) {
+            return (int) micros;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(micros) - SUB_BITS - 1;
+        return LINEAR + (shift - 1) * SUB_BUCKETS + (int) (micros >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Method highest returns the highest latency counted in a bucket.
+     */
+    static long highest(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int shift = (index - LINEAR) / SUB_BUCKETS + 1;
+        long sub = (index - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
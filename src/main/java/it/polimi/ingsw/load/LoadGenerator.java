@@ -0,0 +1,293 @@
+package it.polimi.ingsw.load;
+
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.network.Compression;
+import it.polimi.ingsw.server.Server;
+import it.polimi.ingsw.server.Transport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LoadGenerator class is the headless load tool of the server: it starts a server on the loopback interface, opens
+ * the requested number of simulated clients, which form lobbies and play legal moves, and reports every few
+ * seconds the accepted actions per second, the p50/p99/p999 action-to-update latency, the bytes per second
+ * received and sent by the clients and the resident memory of the server.
+ * By default the server runs in a child JVM, so that its memory is measured apart from the clients'; it can also
+ * run in the same JVM ("--server=in-process") or be an already running one ("--server=external", with
+ * "--server-pid=" for its memory). When the server runs in the same JVM, the report also shows the bytes
+ * allocated per second by the threads which aren't clients, to check the allocations of the outbound path.
+ * Arguments: --clients=100 --players=2 --duration=60 --interval=5 --ramp-ms=5 --port=0 --transport=blocking
+ * --compression=deflate --batch-moves=false --server=spawn|in-process|external --server-pid=.
+ * With "--batch-moves=true" the clients move the students of a turn with a single batch of actions.
+ *
+ * @see SimulatedClient
+ */
+public class LoadGenerator {
+
+    private static final long SERVER_START_TIMEOUT_MS = 15000;
+
+    private final Map<String, String> options;
+    private final LoadStats stats = new LoadStats();
+    private final List<SimulatedClient> clients = new ArrayList<>();
+    private Process serverProcess;
+    private long serverPid = -1;
+    private boolean inProcess;
+
+    /**
+     * Constructor LoadGenerator creates a new load run with the given options.
+     *
+     * @param args the command line arguments, in the "--name=value" format.
+     */
+    public LoadGenerator(String[] args) {
+        options = new HashMap<>();
+        if (args != null) {
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                if (arg.startsWith("--") && equals > 2) {
+                    options.put(arg.substring(2, equals), arg.substring(equals + 1));
+                }
+            }
+        }
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * Method run starts the server and the clients, reports the measures until the end of the run and prints the
+     * summary.
+     *
+     * @throws IOException          when the server can't be started.
+     * @throws InterruptedException when the run is interrupted.
+     */
+    public void run() throws IOException, InterruptedException {
+        int port = intOption("port", 0);
+        if (port == 0) {
+            try (ServerSocket free = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+                port = free.getLocalPort();
+            }
+        }
+        startServer(port);
+        try {
+            awaitServer(port);
+            int clientsNumber = intOption("clients", 100);
+            int playersNumber = intOption("players", Constants.MIN_PLAYERS);
+            Compression compression = Compression.valueOf(option("compression", "deflate").toUpperCase());
+            int rampMs = intOption("ramp-ms", 5);
+            boolean batchMoves = Boolean.parseBoolean(option("batch-moves", "false"));
+            System.out.println("Load run: " + clientsNumber + " clients, " + playersNumber + " players per game, port "
+                    + port + (serverPid > 0 ? ", server pid " + serverPid : ""));
+            long start = System.nanoTime();
+            for (int i = 0; i < clientsNumber; i++) {
+                SimulatedClient client = new SimulatedClient(i, port, playersNumber, compression, batchMoves, stats);
+                clients.add(client);
+                Thread thread = new Thread(null, client, "load-client-" + i, 256 * 1024);
+                thread.setDaemon(true);
+                thread.start();
+                if (rampMs > 0) {
+                    Thread.sleep(rampMs);
+                }
+            }
+            report(start, intOption("duration", 60) * 1000L, intOption("interval", 5) * 1000L);
+        } finally {
+            clients.forEach(SimulatedClient::stop);
+            stopServer();
+        }
+    }
+
+    /**
+     * Method report prints the measures of every interval until the end of the run, then the summary.
+     */
+    private void report(long start, long durationMs, long intervalMs) throws InterruptedException {
+        System.out.println(String.format("%6s %8s %10s %8s %9s %9s %9s %10s %10s %7s %9s %12s",
+                "time", "clients", "actions/s", "refused", "p50(ms)", "p99(ms)", "p999(ms)", "in(KB/s)", "out(KB/s)",
+                "games", "rss(MB)", "alloc(MB/s)"));
+        long actions = 0;
+        long allocated = serverAllocated();
+        long bytesIn = 0;
+        long bytesOut = 0;
+        long last = start;
+        long end = start + durationMs * 1_000_000;
+        while (System.nanoTime() < end) {
+            Thread.sleep(Math.min(intervalMs, Math.max(1, (end - System.nanoTime()) / 1_000_000)));
+            long now = System.nanoTime();
+            double seconds = (now - last) / 1e9;
+            LatencyHistogram latency = stats.getLatency();
+            long allocatedNow = serverAllocated();
+            String allocation = allocated < 0 || allocatedNow < allocated ? "n/a"
+                    : String.format("%.1f", (allocatedNow - allocated) / seconds / (1024 * 1024));
+            allocated = allocatedNow;
+            System.out.println(String.format("%6.0f %8d %10.0f %8d %9.2f %9.2f %9.2f %10.1f %10.1f %7d %9s %12s",
+                    (now - start) / 1e9, stats.getConnected(), (stats.getActions() - actions) / seconds,
+                    stats.getRefused(), latency.percentile(0.5) / 1000.0, latency.percentile(0.99) / 1000.0,
+                    latency.percentile(0.999) / 1000.0, (stats.getBytesIn() - bytesIn) / seconds / 1024,
+                    (stats.getBytesOut() - bytesOut) / seconds / 1024, stats.getGames(), serverRss(), allocation));
+            actions = stats.getActions();
+            bytesIn = stats.getBytesIn();
+            bytesOut = stats.getBytesOut();
+            last = now;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        LatencyHistogram latency = stats.getLatency();
+        System.out.println("Summary: " + stats.getActions() + " actions (" + String.format("%.0f", stats.getActions() / seconds)
+                + "/s), " + stats.getRefused() + " refused, " + stats.getGames() + " games ended, "
+                + stats.getFailures() + " failed sessions");
+        System.out.println(String.format("Latency: p50 %.2f ms, p99 %.2f ms, p999 %.2f ms over %d actions",
+                latency.percentile(0.5) / 1000.0, latency.percentile(0.99) / 1000.0,
+                latency.percentile(0.999) / 1000.0, latency.count()));
+        System.out.println(String.format("Traffic: in %.1f KB/s, out %.1f KB/s; server RSS %s MB",
+                stats.getBytesIn() / seconds / 1024, stats.getBytesOut() / seconds / 1024, serverRss()));
+    }
+
+    /**
+     * Method startServer starts the server listening on the given port, as chosen by the "--server" option.
+     */
+    private void startServer(int port) throws IOException {
+        String mode = option("server", "spawn");
+        Transport transport = Transport.fromArgs(new String[]{"--transport=" + option("transport", "blocking")});
+        switch (mode) {
+            case "spawn" -> {
+                String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+                serverProcess = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        Server.class.getName(), "--transport=" + transport.name().toLowerCase())
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.DISCARD)
+                        .start();
+                serverPid = serverProcess.pid();
+                OutputStream stdin = serverProcess.getOutputStream();
+                stdin.write((port + "\n").getBytes(StandardCharsets.US_ASCII));
+                stdin.flush();
+            }
+            case "in-process" -> {
+                Constants.setPort(port);
+                Server server = new Server(transport);
+                Thread thread = new Thread(server.getSocketServer(), "load-server");
+                thread.setDaemon(true);
+                thread.start();
+                serverPid = ProcessHandle.current().pid();
+                inProcess = true;
+            }
+            case "external" -> serverPid = Long.parseLong(option("server-pid", "-1"));
+            default -> throw new IllegalArgumentException("Unknown server mode " + mode);
+        }
+    }
+
+    /**
+     * Method awaitServer waits until the server accepts connections on the loopback interface.
+     */
+    private void awaitServer(int port) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + SERVER_START_TIMEOUT_MS;
+        while (true) {
+            try (Socket probe = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                return;
+            } catch (IOException e) {
+                if (System.currentTimeMillis() > deadline || (serverProcess != null && !serverProcess.isAlive())) {
+                    throw new IOException("The server is not listening on port " + port, e);
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    /**
+     * Method stopServer stops the child server, if the run has started one.
+     */
+    private void stopServer() throws InterruptedException {
+        if (serverProcess != null) {
+            try {
+                OutputStream stdin = serverProcess.getOutputStream();
+                stdin.write("QUIT\n".getBytes(StandardCharsets.US_ASCII));
+                stdin.flush();
+            } catch (IOException e) {
+                // the server has already stopped
+            }
+            if (!serverProcess.waitFor(5, java.util.concurrent.TimeUnit.SECONDS)) {
+                serverProcess.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Method serverRss returns the resident memory of the server process, read from /proc on Linux.
+     *
+     * @return the resident memory in MB, "n/a" if it can't be read.
+     */
+    private String serverRss() {
+        if (serverPid <= 0) {
+            return "n/a";
+        }
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(serverPid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    long kb = Long.parseLong(line.replaceAll("\\D", ""));
+                    return Long.toString(kb / 1024);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not on Linux, or the server has stopped
+        }
+        return "n/a";
+    }
+
+    /**
+     * Method serverAllocated returns the bytes allocated so far by the live threads of the JVM which aren't
+     * simulated clients, when the server runs in the same JVM.
+     *
+     * @return the allocated bytes, -1 if they can't be measured.
+     */
+    private long serverAllocated() {
+        if (!inProcess || !(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long allocated = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (!thread.getName().startsWith("load-client-") && thread != Thread.currentThread()) {
+                allocated += Math.max(0, threads.getThreadAllocatedBytes(thread.getId()));
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * Method getStats returns the measures of the run.
+     */
+    public LoadStats getStats() {
+        return stats;
+    }
+
+    /**
+     * The main method of the load tool.
+     *
+     * @param args of type String[] - the options of the run, see the class description.
+     */
+    public static void main(String[] args) {
+        try {
+            new LoadGenerator(args).run();
+        } catch (IOException e) {
+            System.err.println("Load run failed: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.exit(0);
+    }
+}
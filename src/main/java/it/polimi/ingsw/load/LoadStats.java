@@ -0,0 +1,130 @@
+package it.polimi.ingsw.load;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadStats class collects the measures of a load run, updated by all the simulated clients at the same time.
+ *
+ * @see SimulatedClient
+ */
+public class LoadStats {
+
+    private final LongAdder actions = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder games = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * Method actionAnswered records the answer to an action, with the time elapsed since it was sent.
+     *
+     * @param accepted true if the action changed the game, false if it was refused with a GameError.
+     * @param nanos    the time between the action and the first update answering it.
+     */
+    void actionAnswered(boolean accepted, long nanos) {
+        (accepted ? actions : refused).increment();
+        latency.record(nanos / 1000);
+    }
+
+    /**
+     * Method bytesRead records the bytes of a frame received by a client.
+     */
+    void bytesRead(int bytes) {
+        bytesIn.add(bytes);
+    }
+
+    /**
+     * Method bytesWritten records the bytes of a frame sent by a client.
+     */
+    void bytesWritten(int bytes) {
+        bytesOut.add(bytes);
+    }
+
+    /**
+     * Method gameEnded records a game played to the end.
+     */
+    void gameEnded() {
+        games.increment();
+    }
+
+    /**
+     * Method failed records a session lost because of an error or a stuck game.
+     */
+    void failed() {
+        failures.increment();
+    }
+
+    /**
+     * Method connected records a client which has connected to the server.
+     */
+    void connected() {
+        connected.incrementAndGet();
+    }
+
+    /**
+     * Method disconnected records a client which has left the server.
+     */
+    void disconnected() {
+        connected.decrementAndGet();
+    }
+
+    /**
+     * Method getActions returns the number of actions accepted by the server.
+     */
+    public long getActions() {
+        return actions.sum();
+    }
+
+    /**
+     * Method getRefused returns the number of actions refused by the server.
+     */
+    public long getRefused() {
+        return refused.sum();
+    }
+
+    /**
+     * Method getBytesIn returns the number of bytes received by the clients.
+     */
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    /**
+     * Method getBytesOut returns the number of bytes sent by the clients.
+     */
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    /**
+     * Method getGames returns the number of games the clients have played to the end.
+     */
+    public long getGames() {
+        return games.sum();
+    }
+
+    /**
+     * Method getFailures returns the number of sessions lost because of an error or a stuck game.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Method getConnected returns the number of clients connected at the moment.
+     */
+    public int getConnected() {
+        return connected.get();
+    }
+
+    /**
+     * Method getLatency returns the histogram of the action-to-update latencies.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+}
@@ -0,0 +1,374 @@
+package it.polimi.ingsw.load;
+
+import it.polimi.ingsw.client.messages.*;
+import it.polimi.ingsw.constants.ActionType;
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.constants.Color;
+import it.polimi.ingsw.constants.ErrorType;
+import it.polimi.ingsw.constants.GameState;
+import it.polimi.ingsw.controller.rules.Rules;
+import it.polimi.ingsw.model.School;
+import it.polimi.ingsw.model.StudentCounts;
+import it.polimi.ingsw.model.cards.AssistantCard;
+import it.polimi.ingsw.network.*;
+import it.polimi.ingsw.server.answers.*;
+import it.polimi.ingsw.server.answers.model.GameStateMessage;
+import it.polimi.ingsw.server.answers.model.HandMessage;
+import it.polimi.ingsw.server.answers.model.ModelMessage;
+import it.polimi.ingsw.server.answers.model.RoundOwnerMessage;
+import it.polimi.ingsw.server.answers.model.SchoolDeltaMessage;
+import it.polimi.ingsw.server.answers.model.SchoolMessage;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SimulatedClient class is a headless player: it speaks the framed protocol of ConnectionSocket, joins a lobby of
+ * the chosen size and plays legal moves whenever it's the round owner, until the load run is stopped. When its
+ * game ends, it logs in again with a new nickname and joins another lobby.
+ * The client knows only the state, the round owner, its own hand and its own school; when a move is
+ * refused, it tries the next candidate for the same state (the next card, color or cloud), so that it stays within
+ * the rate of refused actions allowed by the server. The time between an action and the first update
+ * answering it is recorded as its latency. With batched moves, the students of a turn are moved with a single
+ * ActionBatchMessage, falling back to single moves if the batch is refused.
+ *
+ * @see LoadGenerator
+ */
+public class SimulatedClient implements Runnable {
+
+    /**
+     * Number of refused moves after which the game is considered stuck and the client leaves it.
+     */
+    private static final int MAX_ATTEMPTS = 16;
+    /**
+     * Delay before connecting again after a lost connection, so that a stopped server isn't flooded.
+     */
+    private static final long RETRY_DELAY_MS = 200;
+
+    private final int id;
+    private final int port;
+    private final int playersNumber;
+    private final Compression compression;
+    private final boolean batchMoves;
+    private final LoadStats stats;
+    private final Codec codec = BinaryCodec.INSTANCE;
+    private volatile boolean running = true;
+    private volatile Socket socket;
+
+    private DataOutputStream output;
+    private FrameInflater inflater;
+    private String nickname;
+    private GameState state;
+    private String roundOwner;
+    private List<Integer> hand = new ArrayList<>();
+    private School school;
+    private int attempt;
+    private boolean pending;
+    private long sentAt;
+
+    /**
+     * Constructor SimulatedClient creates a new simulated player.
+     *
+     * @param id            the number of the client, used for its nicknames.
+     * @param port          the port of the server, on the loopback interface.
+     * @param playersNumber the number of players of the lobbies it joins.
+     * @param compression   the compression asked at login.
+     * @param batchMoves    true if the students of a turn are moved with a single batch.
+     * @param stats         the measures of the load run.
+     */
+    public SimulatedClient(int id, int port, int playersNumber, Compression compression, boolean batchMoves, LoadStats stats) {
+        this.id = id;
+        this.port = port;
+        this.playersNumber = playersNumber;
+        this.compression = compression;
+        this.batchMoves = batchMoves;
+        this.stats = stats;
+    }
+
+    /**
+     * Method stop stops the client, closing its connection.
+     */
+    public void stop() {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // the client is stopping anyway
+            }
+        }
+    }
+
+    /**
+     * Method run plays one game after the other until the client is stopped.
+     *
+     * @see Runnable#run()
+     */
+    @Override
+    public void run() {
+        int session = 0;
+        while (running) {
+            try {
+                play("bot" + id + "x" + session++);
+            } catch (IOException e) {
+                if (running) {
+                    stats.failed();
+                    retryDelay();
+                }
+            }
+        }
+    }
+
+    /**
+     * Method retryDelay waits before the next connection attempt, or before a move dropped by the throttle of the
+     * server is sent again.
+     */
+    private void retryDelay() {
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * Method play connects to the server with the given nickname and plays until the game ends.
+     *
+     * @throws IOException when the connection is lost.
+     */
+    private void play(String nickname) throws IOException {
+        this.nickname = nickname;
+        state = null;
+        roundOwner = null;
+        hand = new ArrayList<>();
+        school = null;
+        inflater = null;
+        pending = false;
+        attempt = 0;
+        try (Socket connection = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket = connection;
+            connection.setTcpNoDelay(true);
+            stats.connected();
+            try {
+                output = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+                Frames.writePreamble(output, codec);
+                DataInputStream input = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+                send(new LoginMessage(nickname, null, compression));
+                while (running) {
+                    byte[] payload = Frames.readFrame(input);
+                    stats.bytesRead(Frames.HEADER_SIZE + payload.length);
+                    Answer answer = codec.decodeAnswer(inflater != null ? inflater.inflate(payload) : payload).getServerAnswer();
+                    Outcome outcome = new Outcome();
+                    if (!handle(answer, outcome)) {
+                        return;
+                    }
+                    if (pending && outcome.throttled) {
+                        // the move has been dropped before reaching the game: it is sent again once the throttle
+                        // of the server has refilled, without counting it as a refused attempt
+                        pending = false;
+                        stats.actionAnswered(false, System.nanoTime() - sentAt);
+                        retryDelay();
+                    } else if (pending && (outcome.refused || outcome.updated)) {
+                        pending = false;
+                        stats.actionAnswered(!outcome.refused, System.nanoTime() - sentAt);
+                        attempt = outcome.refused ? attempt + 1 : 0;
+                    }
+                    if (!act()) {
+                        stats.failed();
+                        return;
+                    }
+                }
+            } finally {
+                stats.disconnected();
+            }
+        }
+    }
+
+    /**
+     * Outcome class tells how a frame has answered the pending action.
+     */
+    private static final class Outcome {
+        private boolean refused;
+        private boolean throttled;
+        private boolean updated;
+    }
+
+    /**
+     * Method handle updates the client with an answer of the server.
+     *
+     * @return false if the session is over, true otherwise.
+     */
+    private boolean handle(Answer answer, Outcome outcome) throws IOException {
+        if (answer instanceof BatchMessage batch) {
+            for (Answer part : batch.getMessage()) {
+                if (!handle(part, outcome)) {
+                    return false;
+                }
+            }
+        } else if (answer instanceof ConnectionMessage connection) {
+            if (connection.getCompression() == Compression.DEFLATE) {
+                inflater = new FrameInflater(codec);
+            }
+            return connection.isValid();
+        } else if (answer instanceof ReqPlayersMessage) {
+            send(new SetupMessage(playersNumber, false));
+        } else if (answer instanceof PingMessage) {
+            send(new PongMessage());
+        } else if (answer instanceof GameError error) {
+            if (error.getError() == ErrorType.DUPLICATE_NICKNAME || error.getError() == ErrorType.INVALID_NICKNAME) {
+                return false;
+            }
+            if (Constants.SLOW_DOWN.equals(error.getMessage())) {
+                outcome.throttled = true;
+            } else {
+                outcome.refused = true;
+            }
+        } else if (answer instanceof ActionResultsMessage results) {
+            outcome.refused = !results.isApplied();
+        } else if (answer instanceof WinMessage) {
+            stats.gameEnded();
+            return false;
+        } else if (answer instanceof ModelMessage) {
+            outcome.updated = true;
+            if (answer instanceof GameStateMessage message) {
+                if (message.getMessage() != state) {
+                    attempt = 0;
+                }
+                state = message.getMessage();
+            } else if (answer instanceof RoundOwnerMessage message) {
+                if (!message.getMessage().equals(roundOwner)) {
+                    attempt = 0;
+                }
+                roundOwner = message.getMessage();
+            } else if (answer instanceof HandMessage message) {
+                hand = message.getMessage().stream().map(AssistantCard::getValue).sorted().toList();
+            } else if (answer instanceof SchoolMessage message && nickname.equals(message.getPlayer())) {
+                school = message.getMessage();
+            } else if (answer instanceof SchoolDeltaMessage message && nickname.equals(message.getPlayer())
+                    && school != null && !school.apply(message.getMessage())) {
+                send(new ResyncMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method act sends the next move if the client is the round owner and its last move has been answered.
+     *
+     * @return false if the game is stuck, true otherwise.
+     */
+    private boolean act() throws IOException {
+        if (pending || !nickname.equals(roundOwner) || state == null) {
+            return true;
+        }
+        if (attempt >= MAX_ATTEMPTS) {
+            return false;
+        }
+        if (batchMoves && attempt == 0 && state == GameState.ACTION_MOVE_STUDENTS) {
+            List<Action> moves = moveStudents();
+            if (!moves.isEmpty()) {
+                pending = true;
+                sentAt = System.nanoTime();
+                send(new ActionBatchMessage(moves));
+            }
+            return true;
+        }
+        Action action = nextAction();
+        if (action != null) {
+            pending = true;
+            sentAt = System.nanoTime();
+            send(action);
+        }
+        return true;
+    }
+
+    /**
+     * Method nextAction returns the candidate move for the current state, given the moves already refused.
+     *
+     * @return the move to be sent, null if the client has nothing to do in the current state.
+     */
+    private Action nextAction() {
+        return switch (state) {
+            case SETUP_CHOOSE_MAGICIAN -> new Action(ActionType.CHOOSE_MAGICIAN, attempt);
+            case PLANNING_CHOOSE_CARD -> hand.isEmpty() ? null
+                    : new Action(ActionType.PLAY_CARD, hand.get(attempt % hand.size()));
+            case ACTION_MOVE_STUDENTS -> moveStudent();
+            case ACTION_MOVE_MOTHER -> new Action(ActionType.MOVE_MOTHER_NATURE, 1);
+            case ACTION_CHOOSE_CLOUD -> new Action(ActionType.CHOOSE_CLOUD, attempt);
+            default -> null;
+        };
+    }
+
+    /**
+     * Method moveStudent returns the candidate move of a student from the entry: to the hall first, then, if the
+     * hall refuses every color, to an island.
+     *
+     * @return the move to be sent, null if the school of the client is not known yet.
+     */
+    private Action moveStudent() {
+        if (school == null) {
+            return null;
+        }
+        List<Color> entry = school.getStudentsEntryList().stream().distinct().toList();
+        if (entry.isEmpty()) {
+            return null;
+        }
+        return attempt < entry.size()
+                ? new Action(ActionType.MOVE_STUDENT_HALL, entry.get(attempt))
+                : new Action(ActionType.MOVE_STUDENT_ISLAND, entry.get(attempt % entry.size()), 0);
+    }
+
+    /**
+     * Method moveStudents returns the moves of the students left to be moved in the turn: to the hall while its
+     * lane has room, to an island otherwise.
+     *
+     * @return the moves to be sent as a batch, empty if the school of the client is not known yet.
+     */
+    private List<Action> moveStudents() {
+        List<Action> moves = new ArrayList<>();
+        if (school == null) {
+            return moves;
+        }
+        int left = Rules.getStudentsPerTurn(playersNumber) - (Rules.getEntrySize(playersNumber) - school.getEntryStudentsNum());
+        StudentCounts hall = school.getStudentsHall();
+        List<Color> entry = school.getStudentsEntryList();
+        for (int i = 0; i < left && i < entry.size(); i++) {
+            Color color = entry.get(i);
+            hall = hall.add(color);
+            if (hall.get(color) <= Constants.SCHOOL_LANE_SIZE) {
+                moves.add(new Action(ActionType.MOVE_STUDENT_HALL, color));
+            } else {
+                moves.add(new Action(ActionType.MOVE_STUDENT_ISLAND, color, 0));
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Method send writes a message to the server as a single frame.
+     */
+    private void send(Message message) throws IOException {
+        write(new SerializedMessage(message));
+    }
+
+    /**
+     * Method send writes an action to the server as a single frame.
+     */
+    private void send(Action action) throws IOException {
+        write(new SerializedMessage(action));
+    }
+
+    /**
+     * Method write encodes a message and writes it as a single frame, counting its bytes.
+     */
+    private void write(SerializedMessage message) throws IOException {
+        byte[] payload = codec.encodeMessage(message);
+        Frames.writeFrame(output, payload);
+        stats.bytesWritten(Frames.HEADER_SIZE + payload.length);
+    }
+}
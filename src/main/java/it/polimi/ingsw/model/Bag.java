@@ -2,27 +2,41 @@ package it.polimi.ingsw.model;
 
 import it.polimi.ingsw.constants.Color;
 
-import java.util.ArrayList;
-import java.util.EnumMap;
-import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Bag class represents the game's random student extraction.
+ * The bag keeps the number of students left of each color, and a student is drawn with a probability proportional
+ * to the students left of its color, as if it was picked among all the students in the bag; so an extraction
+ * only walks the colors and allocates nothing. The same random generator is used for all the extractions.
  */
 public class Bag {
-    private final ArrayList<Color> students;
+    private static final Color[] COLORS = Color.values();
+
+    private final int[] students;
+    private final SplittableRandom random;
+    private int size;
 
     /**
-     * Constructor Bag fills the student list.
+     * Constructor Bag fills the bag with the same number of students of each color, as long as possible.
      *
      * @param size the number of the students to be added.
      */
     public Bag(int size) {
-        students = new ArrayList<>();
-        for (int i = 0; i < size; i++) {
-            students.add(Color.values()[i % Color.values().length]);
-        }
+        this(size, new SplittableRandom());
+    }
+
+    /**
+     * Constructor Bag fills the bag with the same number of students of each color, as long as possible,
+     * extracting them with the given random generator.
+     *
+     * @param size   the number of the students to be added.
+     * @param random the random generator of the extractions, which may be seeded to repeat them.
+     */
+    public Bag(int size, SplittableRandom random) {
+        students = new int[COLORS.length];
+        this.random = random;
+        extendBag(size);
     }
 
     /**
@@ -31,46 +45,64 @@ public class Bag {
      */
     public void extendBag(int extensionSize) {
         for (int i = 0; i < extensionSize; i++) {
-            students.add(Color.values()[i % Color.values().length]);
+            students[i % COLORS.length]++;
         }
+        size += extensionSize;
+    }
+
+    /**
+     * Method size returns the number of students in the bag.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method isEmpty checks if there are no students left in the bag.
+     */
+    public boolean isEmpty() {
+        return size == 0;
     }
 
     /**
-     * Method getStudents returns the reference to the students in the bag.
-     * @return The list of the students in the bag.
+     * Method count returns the number of students of a color in the bag.
+     *
+     * @param color the color of the students.
      */
-    public ArrayList<Color> getStudents() {
-        return students;
+    public int count(Color color) {
+        return students[color.ordinal()];
     }
 
     /**
      *  Method extract returns and removes random students from the bag.
      * @param numStudent the number of students to extract.
-     * @return The extracted student.
+     * @return The extracted students, fewer than asked if the bag runs out of students.
      */
-    public Map<Color, Integer> extract(int numStudent) {
-        Map<Color, Integer> out = new EnumMap<Color, Integer>(Color.class);
-        Random rand = new Random();
-        for (int i = 0; i < numStudent; i++) {
-            if(students.size() > 0) {
-                int randomIndex = rand.nextInt(students.size());
-                Color randomElement = students.get(randomIndex);
-                students.remove(randomIndex);
-                out.put(randomElement, out.getOrDefault(randomElement, 0) + 1);
-            }
+    public StudentCounts extract(int numStudent) {
+        // the counts of a single student are shared, and their packed values add up color by color as long as no
+        // color goes beyond Byte.MAX_VALUE students, far more than a single extraction takes
+        long out = 0;
+        for (int i = 0; i < numStudent && size > 0; i++) {
+            out += StudentCounts.of(extract()).packed();
         }
-        return out;
+        return StudentCounts.fromPacked(out);
     }
 
     /**
      *  Method extract returns and removes a random student from the bag.
      * @return The extracted student.
+     * @throws IllegalArgumentException if the bag is empty.
      */
     public Color extract() {
-        Random rand = new Random();
-        int randomIndex = rand.nextInt(students.size());
-        Color randomElement = students.get(randomIndex);
-        students.remove(randomIndex);
-        return randomElement;
+        int index = random.nextInt(size);
+        for (Color color : COLORS) {
+            index -= students[color.ordinal()];
+            if (index < 0) {
+                students[color.ordinal()]--;
+                size--;
+                return color;
+            }
+        }
+        throw new IllegalStateException("The bag has lost track of its students");
     }
-}
\ No newline at end of file
+}
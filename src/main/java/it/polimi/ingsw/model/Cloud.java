@@ -1,10 +1,6 @@
 package it.polimi.ingsw.model;
 
-import it.polimi.ingsw.constants.Color;
-
 import java.io.Serializable;
-import java.util.EnumMap;
-import java.util.Map;
 
 /**
  * Cloud class represent the clouds to be selected at the end of the turn to refill the player's school.
@@ -14,48 +10,46 @@ public class Cloud implements Serializable {
     /**
      * The students on the cloud
      */
-    private Map<Color, Integer> students;
+    private StudentCounts students;
 
     /**
-     * Constructor Cloud creates the map of the students on the cloud.
+     * Constructor Cloud creates an empty cloud.
      */
     public Cloud() {
-        students = new EnumMap<Color, Integer>(Color.class);
+        students = StudentCounts.EMPTY;
     }
 
     /**
-     * Method pickStudents replaces the students' map, effectively removing them.
-     * @return The map of the students on the cloud before removal.
+     * Method pickStudents empties the cloud, effectively removing the students.
+     * @return The students on the cloud before removal.
      */
-    public Map<Color, Integer> pickStudents() {
-        Map<Color, Integer> returnStudents = students;
-        students = new EnumMap<>(Color.class);
+    public StudentCounts pickStudents() {
+        StudentCounts returnStudents = students;
+        students = StudentCounts.EMPTY;
         return returnStudents;
     }
 
     /**
      * Method isEmpty checks the emptiness of a cloud.
-     * @return true if the map is new, false otherwise.
+     * @return true if there are no students on the cloud, false otherwise.
      */
     public boolean isEmpty() {
-        return students.size() == 0;
+        return students.isEmpty();
     }
 
     /**
      * Method addStudents adds the students to an empty cloud.
-     * @param addStudents the map to be added to the cloud's students.
+     * @param addStudents the students to be added to the cloud's students.
      */
-    public void addStudents(Map<Color, Integer> addStudents) {
-        for (Map.Entry<Color, Integer> entry : addStudents.entrySet()) {
-            students.put(entry.getKey(), entry.getValue() + students.getOrDefault(entry.getKey(), 0));
-        }
+    public void addStudents(StudentCounts addStudents) {
+        students = students.merge(addStudents);
     }
 
     /**
      * Method getStudents returns the students on the cloud.
-     * @return A copy of the student map.
+     * @return The students on the cloud.
      */
-    public Map<Color, Integer> getStudents() {
-        return new EnumMap<>(students);
+    public StudentCounts getStudents() {
+        return students;
     }
 }
@@ -10,10 +10,12 @@ import it.polimi.ingsw.constants.Magician;
 import it.polimi.ingsw.model.cards.characters.Grandma;
 import it.polimi.ingsw.model.islands.Island;
 import it.polimi.ingsw.model.islands.IslandContainer;
+import it.polimi.ingsw.model.islands.IslandDelta;
 import it.polimi.ingsw.server.answers.model.PlayersStatusMessage;
 import it.polimi.ingsw.server.VirtualClient;
 import it.polimi.ingsw.listeners.*;
 
+import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -43,6 +45,8 @@ public class Game {
     private final List<Player> players;
     private final Map<Magician, String> mapMagicianToPlayer;
     private final List<Cloud> clouds;
+    private final long seed;
+    private final SplittableRandom random;
     private final Bag bag;
     private int balance;
     /**
@@ -69,13 +73,32 @@ public class Game {
     private Player roundOwner;
     protected final PropertyChangeSupport listeners = new PropertyChangeSupport(this);
     private final HashMap<VirtualClient, List<AbsListener>> clientMapLister = new HashMap<VirtualClient, List<AbsListener>>();
+    /**
+     * Number of changes notified to the listeners, of the game and of its players.
+     */
+    private int stateVersion;
+    private final PropertyChangeListener stateCounter = evt -> stateVersion++;
 
     /**
-     * Constructor Game provides the basic game setup.
+     * Constructor Game provides the basic game setup, with a random seed.
      * Other setup is needed for the game to be playable.
      */
     public Game() {
-        this.bag = new Bag(Constants.INITIAL_BAG_SIZE);
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructor Game provides the basic game setup, drawing every random choice of the game (the students
+     * extracted from the bag, the position of mother nature, the characters) from a single generator created
+     * with the given seed; so two games with the same seed and the same actions play out the same way.
+     * Other setup is needed for the game to be playable.
+     *
+     * @param seed the seed of the game's random generator.
+     */
+    public Game(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.bag = new Bag(Constants.INITIAL_BAG_SIZE, random);
         players = new ArrayList<>();
         playersActionPhase = new ArrayList<>();
         playersPlanningPhase = new ArrayList<>();
@@ -85,6 +108,17 @@ public class Game {
         characterCards = new ArrayList<>();
         waitingPlayersReconnected = new ArrayList<>();
         initProfessors();
+        listeners.addPropertyChangeListener(stateCounter);
+    }
+
+    /**
+     * Method getStateVersion returns the version of the game state, which changes every time a change of the
+     * game or of one of its players is notified to the listeners.
+     *
+     * @return the version of the game state.
+     */
+    public int getStateVersion() {
+        return stateVersion;
     }
 
     /**
@@ -288,10 +322,27 @@ public class Game {
      */
     public void createPlayer(int playerID, String username) {
         Player p = new Player(playerID, username);
+        p.addStateListener(stateCounter);
         players.add(p);
         listeners.firePropertyChange(PLAYERS_LISTENER, null, buildMapPlayers());
     }
 
+    /**
+     * Method getPlayersStatus returns a map with all the players and only the connected players.
+     *
+     * @see PlayersStatusMessage
+     */
+    public Map<String, List<String>> getPlayersStatus() {
+        return buildMapPlayers();
+    }
+
+    /**
+     * Method getMagicians returns a copy of the map of the magicians chosen by the players.
+     */
+    public Map<Magician, String> getMagicians() {
+        return new EnumMap<>(mapMagicianToPlayer);
+    }
+
     /**
      * Method buildMapPlayers creates and returns a map with all the players and only the connected players.
      */
@@ -586,6 +637,20 @@ public class Game {
         return clouds;
     }
 
+    /**
+     * Method getSeed returns the seed of the game's random generator, to replay the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Method getRandom returns the game's random generator, the only source of the game's random choices.
+     */
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
     /**
      * Method getBag returns the reference to the game's bag.
      */
@@ -689,15 +754,15 @@ public class Game {
     }
 
     /**
-     * Method pickClouds lets a user select a cloud, empties the cloud and returns the Map of the students on the clouds.
+     * Method pickClouds lets a user select a cloud, empties the cloud and returns the students on the clouds.
      *
      * @param cloudIndex the specified cloud index.
-     * @return The map of the selected cloud's students.
+     * @return The selected cloud's students.
      * @throws IndexOutOfBoundsException if the index selected does not correspond to any cloud.
      */
-    public Map<Color, Integer> pickCloud(int cloudIndex) throws IndexOutOfBoundsException {
+    public StudentCounts pickCloud(int cloudIndex) throws IndexOutOfBoundsException {
         Cloud cloud = clouds.get(cloudIndex);
-        Map<Color, Integer> students = cloud.pickStudents();
+        StudentCounts students = cloud.pickStudents();
         listeners.firePropertyChange(CLOUDS_LISTENER, null, clouds);
         return students;
     }
@@ -709,8 +774,7 @@ public class Game {
      * @param student     the student to be added.
      */
     public void addIslandStudent(int islandIndex, Color student) {
-        islandContainer.addIslandStudent(islandIndex, student);
-        listeners.firePropertyChange(ISLANDS_LISTENER, null, islandContainer);
+        listeners.firePropertyChange(ISLANDS_LISTENER, null, islandContainer.addIslandStudent(islandIndex, student));
     }
 
     /**
@@ -720,8 +784,7 @@ public class Game {
      * @param owner  the owner to be set, identified by his username.
      */
     public void setIslandOwner(int island, String owner) {
-        islandContainer.setOwner(island, owner);
-        listeners.firePropertyChange(ISLANDS_LISTENER, null, islandContainer);
+        listeners.firePropertyChange(ISLANDS_LISTENER, null, islandContainer.setOwner(island, owner));
     }
 
     /**
@@ -732,8 +795,7 @@ public class Game {
      * @see it.polimi.ingsw.model.cards.characters.Grandma
      */
     public void setIslandBlock(int island, boolean isBlocked) {
-        islandContainer.setIslandBlocked(island, isBlocked);
-        listeners.firePropertyChange(ISLANDS_LISTENER, null, islandContainer);
+        listeners.firePropertyChange(ISLANDS_LISTENER, null, islandContainer.setIslandBlocked(island, isBlocked));
     }
 
     /**
@@ -743,8 +805,10 @@ public class Game {
      * @see IslandContainer
      */
     public void joinPrevIsland(int island) {
-        islandContainer.joinPrevIsland(island);
-        listeners.firePropertyChange(ISLANDS_LISTENER, null, islandContainer);
+        IslandDelta delta = islandContainer.joinPrevIsland(island);
+        if (delta != null) {
+            listeners.firePropertyChange(ISLANDS_LISTENER, null, delta);
+        }
     }
 
     /**
@@ -754,8 +818,10 @@ public class Game {
      * @see IslandContainer
      */
     public void joinNextIsland(int island) {
-        islandContainer.joinNextIsland(island);
-        listeners.firePropertyChange(ISLANDS_LISTENER, null, islandContainer);
+        IslandDelta delta = islandContainer.joinNextIsland(island);
+        if (delta != null) {
+            listeners.firePropertyChange(ISLANDS_LISTENER, null, delta);
+        }
     }
 
     /**
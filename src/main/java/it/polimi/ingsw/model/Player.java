@@ -73,6 +73,15 @@ public class Player implements PropertyChangeListener {
         clientMapLister.put(client, createdListeners);
     }
 
+    /**
+     * Method addStateListener adds a listener notified of every change of the Player, whatever its property.
+     *
+     * @param listener the listener to be added.
+     */
+    public void addStateListener(PropertyChangeListener listener) {
+        listeners.addPropertyChangeListener(listener);
+    }
+
     /**
      * Method removeListeners removes the client's listeners from the Model,
      * and then it removes the client from the Map.
@@ -285,10 +294,10 @@ public class Player implements PropertyChangeListener {
      * Method propertyChange forwards the School's updates to be sent to the Client.
      *
      * @param evt A PropertyChangeEvent object describing the event source
-     *            and the property that has changed.
+     *            and the property that has changed; its new value is the SchoolDelta of the change.
      */
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
-        listeners.firePropertyChange(SCHOOL_LISTENER, null, school);
+        listeners.firePropertyChange(SCHOOL_LISTENER, null, evt.getNewValue());
     }
 }
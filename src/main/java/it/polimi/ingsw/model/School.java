@@ -5,17 +5,19 @@ import it.polimi.ingsw.constants.TowerColor;
 
 import java.beans.PropertyChangeSupport;
 import java.io.Serializable;
-import java.util.*;
+import java.util.List;
 
 /**
  * School class represents the game's school boards, which contain the students' hall and entry and the player's towers.
+ * Every change of the school increases its version, and it's fired to the player as a SchoolDelta.
  */
 public class School implements Serializable {
 
     private int numTowers;
     private final TowerColor towerColor;
-    private Map<Color, Integer> studentsHall;
-    private Map<Color, Integer> studentsEntry;
+    private StudentCounts studentsHall;
+    private StudentCounts studentsEntry;
+    private int version;
     protected final PropertyChangeSupport listener = new PropertyChangeSupport(this);
 
     /**
@@ -25,11 +27,28 @@ public class School implements Serializable {
      * @param towerColor           the player's tower color.
      * @param initialStudentsEntry the initial students' entry.
      */
-    public School(int numTowers, TowerColor towerColor, Map<Color, Integer> initialStudentsEntry) {
+    public School(int numTowers, TowerColor towerColor, StudentCounts initialStudentsEntry) {
         this.numTowers = numTowers;
         this.towerColor = towerColor;
-        this.studentsEntry = new EnumMap<>(initialStudentsEntry);
-        studentsHall = new EnumMap<>(Color.class);
+        this.studentsEntry = initialStudentsEntry;
+        studentsHall = StudentCounts.EMPTY;
+    }
+
+    /**
+     * Constructor School creates a School instance with the given state.
+     * It's used when the school is decoded from the network.
+     *
+     * @param numTowers     the number of towers.
+     * @param towerColor    the player's tower color.
+     * @param studentsEntry the students in the entry.
+     * @param studentsHall  the students in the hall.
+     * @param version       the version of the school.
+     */
+    public School(int numTowers, TowerColor towerColor, StudentCounts studentsEntry,
+                  StudentCounts studentsHall, int version) {
+        this(numTowers, towerColor, studentsEntry);
+        this.studentsHall = studentsHall;
+        this.version = version;
     }
 
     /**
@@ -55,7 +74,7 @@ public class School implements Serializable {
      */
     public void decreaseTowers() {
         this.numTowers--;
-        listener.firePropertyChange("", null, null);
+        fireDelta(StudentCounts.EMPTY, StudentCounts.EMPTY, -1);
     }
 
     /**
@@ -64,7 +83,7 @@ public class School implements Serializable {
      */
     public void increaseTowers() {
         this.numTowers++;
-        listener.firePropertyChange("", null, null);
+        fireDelta(StudentCounts.EMPTY, StudentCounts.EMPTY, 1);
     }
 
     /**
@@ -75,32 +94,33 @@ public class School implements Serializable {
     }
 
     /**
-     * Method getStudentsEntry returns the students' entry map present on the school.
-     *
-     * @return The copy of the entry map.
+     * Method getVersion returns the number of changes applied to the school.
      */
-    public Map<Color, Integer> getStudentsEntry() {
-        return new EnumMap<>(studentsEntry);
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Method getStudentsEntry returns the students present in the school's entry.
+     */
+    public StudentCounts getStudentsEntry() {
+        return studentsEntry;
     }
 
     /**
      * Method getStudentsEntryList returns the students' entry list present on the school.
      *
-     * @return A list of students created from the map.
+     * @return A list of students created from the counts.
      */
     public List<Color> getStudentsEntryList() {
-        ArrayList<Color> out = new ArrayList<>();
-        for (Map.Entry<Color, Integer> entry : studentsEntry.entrySet()) {
-            out.addAll(Collections.nCopies(entry.getValue(), entry.getKey()));
-        }
-        return out;
+        return studentsEntry.toList();
     }
 
     /**
      * Method getEntryStudentsNum returns the number of students presents in the entry.
      */
     public int getEntryStudentsNum() {
-        return studentsEntry.values().stream().reduce(0, Integer::sum);
+        return studentsEntry.sum();
     }
 
     /**
@@ -109,29 +129,25 @@ public class School implements Serializable {
      * @param color the specified student's color.
      */
     public void addStudentEntry(Color color) {
-        studentsEntry.put(color, studentsEntry.getOrDefault(color, 0) + 1);
-        listener.firePropertyChange("", null, null);
+        studentsEntry = studentsEntry.add(color);
+        fireDelta(StudentCounts.of(color), StudentCounts.EMPTY, 0);
     }
 
     /**
-     * Method addStudentEntry adds a map of students to the entry student map.
+     * Method addStudentEntry adds the given students to the entry.
      *
-     * @param addStudents the map of students to be added to the entry.
+     * @param addStudents the students to be added to the entry.
      */
-    public void addStudentsEntry(Map<Color, Integer> addStudents) {
-        for (Map.Entry<Color, Integer> entry : addStudents.entrySet()) {
-            studentsEntry.put(entry.getKey(), entry.getValue() + studentsEntry.getOrDefault(entry.getKey(), 0));
-        }
-        listener.firePropertyChange("", null, null);
+    public void addStudentsEntry(StudentCounts addStudents) {
+        studentsEntry = studentsEntry.merge(addStudents);
+        fireDelta(addStudents, StudentCounts.EMPTY, 0);
     }
 
     /**
-     * Method getStudentsHall returns the map of the school's hall.
-     *
-     * @return the copy of the school's hall.
+     * Method getStudentsHall returns the students present in the school's hall.
      */
-    public Map<Color, Integer> getStudentsHall() {
-        return new EnumMap<Color, Integer>(studentsHall);
+    public StudentCounts getStudentsHall() {
+        return studentsHall;
     }
 
     /**
@@ -140,33 +156,27 @@ public class School implements Serializable {
      * @return the list of the school's hall.
      */
     public List<Color> getStudentsHallList() {
-        ArrayList<Color> out = new ArrayList<>();
-        for (Map.Entry<Color, Integer> entry : studentsHall.entrySet()) {
-            out.addAll(Collections.nCopies(entry.getValue(), entry.getKey()));
-        }
-        return out;
+        return studentsHall.toList();
     }
 
     /**
      * Method addStudentHall adds a single student to the school's hall.
      *
-     * @param color the student to be added to the hall map.
+     * @param color the student to be added to the hall.
      */
     public void addStudentHall(Color color) {
-        studentsHall.put(color, studentsHall.getOrDefault(color, 0) + 1);
-        listener.firePropertyChange("", null, null);
+        studentsHall = studentsHall.add(color);
+        fireDelta(StudentCounts.EMPTY, StudentCounts.of(color), 0);
     }
 
     /**
-     * Method addStudentHall adds a map of students to the school's hall.
+     * Method addStudentHall adds the given students to the school's hall.
      *
-     * @param addStudents the student map to be added.
+     * @param addStudents the students to be added.
      */
-    public void addStudentsHall(Map<Color, Integer> addStudents) {
-        for (Map.Entry<Color, Integer> entry : addStudents.entrySet()) {
-            studentsHall.put(entry.getKey(), entry.getValue() + studentsHall.getOrDefault(entry.getKey(), 0));
-        }
-        listener.firePropertyChange("", null, null);
+    public void addStudentsHall(StudentCounts addStudents) {
+        studentsHall = studentsHall.merge(addStudents);
+        fireDelta(StudentCounts.EMPTY, addStudents, 0);
     }
 
     /**
@@ -176,12 +186,13 @@ public class School implements Serializable {
      * @see it.polimi.ingsw.controller.actions.MoveStudentFromEntryToHall
      */
     public void moveStudentFromEntryToHall(Color student) {
-        if (studentsEntry.get(student) > 0) {
-            studentsEntry.put(student, studentsEntry.get(student) - 1);
-            studentsEntry.get(student);
-            studentsHall.put(student, studentsHall.getOrDefault(student, 0) + 1);
+        if (studentsEntry.contains(student)) {
+            studentsEntry = studentsEntry.remove(student);
+            studentsHall = studentsHall.add(student);
+            fireDelta(StudentCounts.of(student, -1), StudentCounts.of(student), 0);
+        } else {
+            fireDelta(StudentCounts.EMPTY, StudentCounts.EMPTY, 0);
         }
-        listener.firePropertyChange("", null, null);
     }
 
     /**
@@ -191,11 +202,13 @@ public class School implements Serializable {
      * @see School#swapStudents(Color, Color)
      */
     public void moveStudentFromHallToEntry(Color student) {
-        if (studentsHall.get(student) > 0) {
-            studentsHall.put(student, studentsHall.get(student) - 1);
-            studentsEntry.put(student, studentsEntry.getOrDefault(student, 0) + 1);
+        if (studentsHall.contains(student)) {
+            studentsHall = studentsHall.remove(student);
+            studentsEntry = studentsEntry.add(student);
+            fireDelta(StudentCounts.of(student), StudentCounts.of(student, -1), 0);
+        } else {
+            fireDelta(StudentCounts.EMPTY, StudentCounts.EMPTY, 0);
         }
-        listener.firePropertyChange("", null, null);
     }
 
     /**
@@ -204,11 +217,12 @@ public class School implements Serializable {
      * @param student the student to be removed.
      */
     public void removeStudentFromEntry(Color student) {
-        Integer numStudents = studentsEntry.get(student);
-        if (numStudents != null && numStudents > 0) {
-            studentsEntry.put(student, studentsEntry.get(student) - 1);
+        if (studentsEntry.contains(student)) {
+            studentsEntry = studentsEntry.remove(student);
+            fireDelta(StudentCounts.of(student, -1), StudentCounts.EMPTY, 0);
+        } else {
+            fireDelta(StudentCounts.EMPTY, StudentCounts.EMPTY, 0);
         }
-        listener.firePropertyChange("", null, null);
     }
 
     /**
@@ -217,13 +231,13 @@ public class School implements Serializable {
      * @param student the student to be removed.
      */
     public void removeStudentFromHall(Color student) {
-        Integer numStudents = studentsHall.get(student);
-        if (numStudents != null && numStudents > 1) {
-            studentsHall.put(student, studentsHall.get(student) - 1);
+        int numStudents = studentsHall.get(student);
+        if (numStudents > 0) {
+            studentsHall = studentsHall.remove(student);
+            fireDelta(StudentCounts.EMPTY, StudentCounts.of(student, -1), 0);
         } else {
-            studentsHall.put(student, 0);
+            fireDelta(StudentCounts.EMPTY, StudentCounts.EMPTY, 0);
         }
-        listener.firePropertyChange("", null, null);
     }
 
     /**
@@ -238,4 +252,37 @@ public class School implements Serializable {
         moveStudentFromEntryToHall(studentFromEntry);
         moveStudentFromHallToEntry(studentFromHall);
     }
+
+    /**
+     * Method fireDelta increases the version of the school and fires the change to the player.
+     *
+     * @param entry  the difference of the students in the entry.
+     * @param hall   the difference of the students in the hall.
+     * @param towers the difference of the number of towers.
+     */
+    private void fireDelta(StudentCounts entry, StudentCounts hall, int towers) {
+        version++;
+        listener.firePropertyChange("", null, new SchoolDelta(version, entry, hall, towers));
+    }
+
+    /**
+     * Method apply adds a change made on the server's school to this copy.
+     * The deltas already included in this school are ignored.
+     *
+     * @param delta the change to be applied.
+     * @return false if some previous changes are missing and the delta can't be applied, true otherwise.
+     */
+    public boolean apply(SchoolDelta delta) {
+        if (delta.getVersion() <= version) {
+            return true;
+        }
+        if (delta.getVersion() != version + 1) {
+            return false;
+        }
+        studentsEntry = studentsEntry.merge(delta.getEntry());
+        studentsHall = studentsHall.merge(delta.getHall());
+        numTowers += delta.getTowers();
+        version = delta.getVersion();
+        return true;
+    }
 }
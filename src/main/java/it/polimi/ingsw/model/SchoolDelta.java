@@ -0,0 +1,61 @@
+package it.polimi.ingsw.model;
+
+import java.io.Serializable;
+
+/**
+ * SchoolDelta class describes a single change of a School as the difference of each lane (entry, hall and towers),
+ * so that the clients can update their copy instead of receiving the whole school again.
+ * Every change increases the version of the school by one.
+ *
+ * @see School#apply(SchoolDelta)
+ */
+public class SchoolDelta implements Serializable {
+
+    private final int version;
+    private final StudentCounts entry;
+    private final StudentCounts hall;
+    private final int towers;
+
+    /**
+     * Constructor SchoolDelta creates a new SchoolDelta instance.
+     *
+     * @param version the version of the school after the change.
+     * @param entry   the difference of the students in the entry, for each changed color.
+     * @param hall    the difference of the students in the hall, for each changed color.
+     * @param towers  the difference of the number of towers.
+     */
+    public SchoolDelta(int version, StudentCounts entry, StudentCounts hall, int towers) {
+        this.version = version;
+        this.entry = entry;
+        this.hall = hall;
+        this.towers = towers;
+    }
+
+    /**
+     * Method getVersion returns the version of the school after the change.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Method getEntry returns the difference of the students in the entry.
+     */
+    public StudentCounts getEntry() {
+        return entry;
+    }
+
+    /**
+     * Method getHall returns the difference of the students in the hall.
+     */
+    public StudentCounts getHall() {
+        return hall;
+    }
+
+    /**
+     * Method getTowers returns the difference of the number of towers.
+     */
+    public int getTowers() {
+        return towers;
+    }
+}
@@ -0,0 +1,259 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.constants.Color;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * StudentCounts class is the number of students of each color held by a part of the board (a school's entry or
+ * hall, a cloud, an island, a character card), or the difference between two of them.
+ * The counts are packed in a single long, a signed byte for each color, so a StudentCounts is immutable and can be
+ * shared by the model, its getters and the messages without being copied. Reading a count, the sum or the
+ * emptiness never allocates. A change doesn't box any count, but it does allocate: it returns a new StudentCounts,
+ * unless the result is empty or a single student (or a single student less), whose counts are shared.
+ * Each count ranges from Byte.MIN_VALUE to Byte.MAX_VALUE, well beyond the students of a color in the game.
+ */
+public final class StudentCounts implements Serializable {
+
+    /**
+     * The counts without any student.
+     */
+    public static final StudentCounts EMPTY = new StudentCounts(0);
+
+    private static final Color[] COLORS = Color.values();
+    private static final int BITS = Byte.SIZE;
+    private static final long MASK = 0xFF;
+    private static final StudentCounts[] SINGLE = new StudentCounts[COLORS.length];
+    private static final StudentCounts[] SINGLE_LESS = new StudentCounts[COLORS.length];
+
+    static {
+        for (Color color : COLORS) {
+            SINGLE[color.ordinal()] = new StudentCounts(set(0, color, 1));
+            SINGLE_LESS[color.ordinal()] = new StudentCounts(set(0, color, -1));
+        }
+    }
+
+    private final long packed;
+
+    private StudentCounts(long packed) {
+        this.packed = packed;
+    }
+
+    /**
+     * Method of returns the counts holding a single student.
+     *
+     * @param color the color of the student.
+     */
+    public static StudentCounts of(Color color) {
+        return SINGLE[color.ordinal()];
+    }
+
+    /**
+     * Method of returns the counts holding the given number of students of a color.
+     *
+     * @param color the color of the students.
+     * @param count the number of students.
+     */
+    public static StudentCounts of(Color color, int count) {
+        return EMPTY.add(color, count);
+    }
+
+    /**
+     * Method of returns the counts of a map of students.
+     *
+     * @param students the number of students of each color, the missing colors count as zero.
+     */
+    public static StudentCounts of(Map<Color, Integer> students) {
+        long packed = 0;
+        for (Map.Entry<Color, Integer> entry : students.entrySet()) {
+            packed = set(packed, entry.getKey(), entry.getValue());
+        }
+        return valueOf(packed);
+    }
+
+    /**
+     * Method fromPacked returns the counts packed in a long by packed.
+     *
+     * @param packed the packed counts.
+     */
+    public static StudentCounts fromPacked(long packed) {
+        return valueOf(packed);
+    }
+
+    private static StudentCounts valueOf(long packed) {
+        if (packed == 0) {
+            return EMPTY;
+        }
+        // the lowest count other than zero, and the ones above it
+        int lowest = Long.numberOfTrailingZeros(packed) / BITS;
+        long counts = packed >>> lowest * BITS;
+        if (counts == 1) {
+            return SINGLE[lowest];
+        } else if (counts == MASK) {
+            return SINGLE_LESS[lowest];
+        }
+        return new StudentCounts(packed);
+    }
+
+    private static int shift(Color color) {
+        return color.ordinal() * BITS;
+    }
+
+    private static long set(long packed, Color color, int count) {
+        if (count < Byte.MIN_VALUE || count > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many " + color + " students: " + count);
+        }
+        return packed & ~(MASK << shift(color)) | (count & MASK) << shift(color);
+    }
+
+    /**
+     * Method packed returns the counts packed in a long, a byte for each color.
+     */
+    public long packed() {
+        return packed;
+    }
+
+    /**
+     * Method get returns the number of students of a color.
+     *
+     * @param color the color of the students.
+     */
+    public int get(Color color) {
+        return (byte) (packed >>> shift(color));
+    }
+
+    /**
+     * Method contains checks if there is at least one student of a color.
+     *
+     * @param color the color of the students.
+     */
+    public boolean contains(Color color) {
+        return get(color) > 0;
+    }
+
+    /**
+     * Method sum returns the total number of students.
+     */
+    public int sum() {
+        int sum = 0;
+        for (Color color : COLORS) {
+            sum += get(color);
+        }
+        return sum;
+    }
+
+    /**
+     * Method isEmpty checks if every count is zero.
+     */
+    public boolean isEmpty() {
+        return packed == 0;
+    }
+
+    /**
+     * Method with returns these counts with the number of students of a color replaced.
+     *
+     * @param color the color of the students.
+     * @param count the new number of students.
+     */
+    public StudentCounts with(Color color, int count) {
+        return valueOf(set(packed, color, count));
+    }
+
+    /**
+     * Method add returns these counts with one more student of a color.
+     *
+     * @param color the color of the student.
+     */
+    public StudentCounts add(Color color) {
+        return add(color, 1);
+    }
+
+    /**
+     * Method add returns these counts with the given number of students of a color added, or removed if the
+     * number is negative.
+     *
+     * @param color the color of the students.
+     * @param count the number of students to be added.
+     */
+    public StudentCounts add(Color color, int count) {
+        return with(color, get(color) + count);
+    }
+
+    /**
+     * Method remove returns these counts with one student of a color less, if there is one.
+     *
+     * @param color the color of the student.
+     */
+    public StudentCounts remove(Color color) {
+        return contains(color) ? add(color, -1) : this;
+    }
+
+    /**
+     * Method merge returns the sum of these counts and the given ones, color by color.
+     *
+     * @param other the counts to be added, which may be negative.
+     */
+    public StudentCounts merge(StudentCounts other) {
+        long merged = packed;
+        for (Color color : COLORS) {
+            merged = set(merged, color, get(color) + other.get(color));
+        }
+        return valueOf(merged);
+    }
+
+    /**
+     * Method forEach calls the action for every color with a count other than zero, in the order of the colors.
+     *
+     * @param action the action receiving the color and its count.
+     */
+    public void forEach(ObjIntConsumer<Color> action) {
+        for (Color color : COLORS) {
+            int count = get(color);
+            if (count != 0) {
+                action.accept(color, count);
+            }
+        }
+    }
+
+    /**
+     * Method toList returns a student for each positive count, grouped by color.
+     */
+    public List<Color> toList() {
+        List<Color> students = new ArrayList<>();
+        for (Color color : COLORS) {
+            for (int i = get(color); i > 0; i--) {
+                students.add(color);
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Method toMap returns the counts other than zero as a map, for the views.
+     */
+    public Map<Color, Integer> toMap() {
+        Map<Color, Integer> students = new EnumMap<>(Color.class);
+        forEach(students::put);
+        return students;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof StudentCounts other && other.packed == packed;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(packed);
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
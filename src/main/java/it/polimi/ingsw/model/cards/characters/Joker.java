@@ -6,10 +6,9 @@ import it.polimi.ingsw.model.Bag;
 import it.polimi.ingsw.constants.Color;
 import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.StudentCounts;
 
-import java.util.EnumMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Joker class is model representation of the Joker character card.
@@ -18,7 +17,7 @@ import java.util.Map;
  */
 public class Joker extends CharacterCard {
 
-    private Map<Color, Integer> students;
+    private StudentCounts students;
     private GameState previousState;
     private int swappedStudents;
     private Bag bag;
@@ -32,20 +31,18 @@ public class Joker extends CharacterCard {
         price = 1;
         swappedStudents = 0;
         this.bag = bag;
-        // students map
-        this.students = new EnumMap<>(Color.class);
+        this.students = StudentCounts.EMPTY;
         character = Character.JOKER;
     }
 
     /**
      * Method init overrides the default init behaviour of the CharacterCard abstract with the Joker logic.
-     * The method fills the Joker student list with extracted students from the Bag.
+     * The method fills the Joker students with extracted students from the Bag.
      */
     @Override
     public void init() {
         for (int i = 0; i < 6; i++) {
-            Color student = bag.extract();
-            this.students.put(student, this.students.getOrDefault(student, 0) + 1);
+            students = students.add(bag.extract());
         }
     }
 
@@ -78,14 +75,13 @@ public class Joker extends CharacterCard {
     }
 
     /**
-     * Method swapStudents swaps students from the card's student map.
+     * Method swapStudents swaps students from the card's students.
      *
      * @param studentToPick the student you pick from the card
      * @param studentToPut  the student you put on the card
      */
     public void swapStudents(Color studentToPick, Color studentToPut) throws IllegalArgumentException {
-        students.put(studentToPut, students.getOrDefault(studentToPut, 0) + 1);
-        students.put(studentToPut, students.get(studentToPick) - 1);
+        students = students.remove(studentToPick).add(studentToPut);
         swappedStudents++;
     }
 
@@ -97,19 +93,19 @@ public class Joker extends CharacterCard {
     }
 
     /**
-     * Method getStudentsMap returns the map of the card's students.
+     * Method getStudentCounts returns the counts of the card's students.
      */
-    public Map<Color, Integer> getStudentsMap() {
+    public StudentCounts getStudentCounts() {
         return students;
     }
 
     /**
      * Method getStudents overrides the default behaviour of the CharacterCard abstract.
      *
-     * @return A student list built from the card's student map.
+     * @return A student list built from the card's students.
      */
     @Override
     public List<Color> getStudents() {
-        return Color.fromMapToList(students);
+        return students.toList();
     }
 }
\ No newline at end of file
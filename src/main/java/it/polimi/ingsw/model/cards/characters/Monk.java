@@ -6,10 +6,9 @@ import it.polimi.ingsw.model.Bag;
 import it.polimi.ingsw.constants.Color;
 import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.StudentCounts;
 
-import java.util.EnumMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Monk class is model representation of the Monk character card.
@@ -18,7 +17,7 @@ import java.util.Map;
  */
 public class Monk extends CharacterCard {
 
-    private Map<Color, Integer> students;
+    private StudentCounts students;
     private GameState previousState;
     private Bag bag;
 
@@ -29,19 +28,18 @@ public class Monk extends CharacterCard {
         super();
         price = 1;
         this.bag = bag;
-        students = new EnumMap<>(Color.class);
+        students = StudentCounts.EMPTY;
         character = Character.MONK;
     }
 
     /**
      * Method init overrides the default init behaviour of the CharacterCard abstract with the Monk logic.
-     * The method fills the Monk student map with extracted students from the Bag.
+     * The method fills the Monk students with extracted students from the Bag.
      */
     @Override
     public void init() {
         for (int i = 0; i < 4; i++) {
-            Color student = bag.extract();
-            this.students.put(student, this.students.getOrDefault(student, 0) + 1);
+            students = students.add(bag.extract());
         }
     }
 
@@ -79,28 +77,26 @@ public class Monk extends CharacterCard {
      * @param student the selected student from the card.
      */
     public void moveStudent(Color student) {
-        if (students.get(student) != null) {
-            students.put(student, students.get(student) - 1);
+        if (students.contains(student)) {
             // Refill the card after the use
-            Color refill = bag.extract();
-            students.put(refill, this.students.getOrDefault(student, 0) + 1);
+            students = students.remove(student).add(bag.extract());
         }
     }
 
     /**
-     * Method getStudentsMap returns the card's student map.
+     * Method getStudentCounts returns the counts of the card's students.
      */
-    public Map<Color, Integer> getStudentsMap() {
+    public StudentCounts getStudentCounts() {
         return students;
     }
 
     /**
-     * Method getStudentsMap returns the card's students.
+     * Method getStudents returns the card's students.
      *
      * @return A list of students present on the card.
      */
     @Override
     public List<Color> getStudents() {
-        return Color.fromMapToList(students);
+        return students.toList();
     }
 }
\ No newline at end of file
@@ -7,10 +7,9 @@ import it.polimi.ingsw.model.Bag;
 import it.polimi.ingsw.constants.Color;
 import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.StudentCounts;
 
-import java.util.EnumMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Princess class is model representation of the Princess character card.
@@ -19,7 +18,7 @@ import java.util.Map;
  */
 public class Princess extends CharacterCard {
 
-    private Map<Color, Integer> students;
+    private StudentCounts students;
     private GameState previousState;
     private Bag bag;
 
@@ -32,19 +31,18 @@ public class Princess extends CharacterCard {
         super();
         price = 2;
         this.bag = bag;
-        students = new EnumMap<>(Color.class);
+        students = StudentCounts.EMPTY;
         character = Character.PRINCESS;
     }
 
     /**
      * Method init overrides the default init behaviour of the CharacterCard abstract with the Princess logic.
-     * The method fills the Monk student map with extracted students from the Bag.
+     * The method fills the Princess students with extracted students from the Bag.
      */
     @Override
     public void init() {
         for (int i = 0; i < 4; i++) {
-            Color student = bag.extract();
-            this.students.put(student, this.students.getOrDefault(student, 0) + 1);
+            students = students.add(bag.extract());
         }
     }
 
@@ -77,31 +75,29 @@ public class Princess extends CharacterCard {
     }
 
     /**
-     * Method moveStudent removes a student from the card's student map and returns it
+     * Method moveStudent removes a student from the card's students and returns it
      * (to be added to the player's hall).
      *
      * @param student the selected student's color.
      */
     public void moveStudent(Color student) {
-        if (students.get(student) != null) {
-            students.put(student, students.get(student) - 1);
-            Color refill = bag.extract();
-            students.put(refill, this.students.getOrDefault(refill, 0) + 1);
+        if (students.contains(student)) {
+            students = students.remove(student).add(bag.extract());
         }
     }
 
     /**
-     * Method getStudentsMap returns the reference to the card's students map
+     * Method getStudentCounts returns the counts of the card's students.
      */
-    public Map<Color, Integer> getStudentsMap() {
+    public StudentCounts getStudentCounts() {
         return students;
     }
 
     /**
-     * Method getStudents returns the list of the card's students map.
+     * Method getStudents returns the list of the card's students.
      */
     @Override
     public List<Color> getStudents() {
-        return Color.fromMapToList(students);
+        return students.toList();
     }
 }
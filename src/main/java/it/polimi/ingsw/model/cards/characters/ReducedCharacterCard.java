@@ -33,4 +33,24 @@ public class ReducedCharacterCard implements Serializable {
         this.blockingCards = characterCard.getBlockingCards();
         this.activatedOnce = characterCard.alreadyActivatedOnce();
     }
-}
\ No newline at end of file
+
+    /**
+     * Constructor ReducedCharacterCard creates an RCC instance from its single fields.
+     * It's used when the card is decoded from the network.
+     *
+     * @param isActive      true if the card is active.
+     * @param type          the character of the card.
+     * @param price         the current price of the card.
+     * @param students      the students on the card.
+     * @param blockingCards the blocking cards on the card.
+     * @param activatedOnce true if the card has already been activated once.
+     */
+    public ReducedCharacterCard(boolean isActive, Character type, int price, List<Color> students, int blockingCards, boolean activatedOnce) {
+        this.isActive = isActive;
+        this.type = type;
+        this.price = price;
+        this.students = students;
+        this.blockingCards = blockingCards;
+        this.activatedOnce = activatedOnce;
+    }
+}
@@ -1,25 +1,38 @@
 package it.polimi.ingsw.model.islands;
 
 import it.polimi.ingsw.constants.Color;
-
-import java.util.EnumMap;
-import java.util.Map;
+import it.polimi.ingsw.model.StudentCounts;
 
 /**
- * BaseIsland class represent the normal game island. It contains a map of students.
+ * BaseIsland class represent the normal game island. It contains the counts of its students.
  */
 public class BaseIsland extends Island {
 
-    private Map<Color, Integer> students;
+    private StudentCounts students;
 
     /**
-     * Constructor BaseIsland extends the underlying Island abstract by initializing the student map.
+     * Constructor BaseIsland extends the underlying Island abstract without any student.
      *
      * @see Island
      */
     public BaseIsland() {
         super();
-        students = new EnumMap<Color, Integer>(Color.class);
+        students = StudentCounts.EMPTY;
+    }
+
+    /**
+     * Constructor BaseIsland creates a BaseIsland with the given state.
+     * It's used when the island is decoded from the network.
+     *
+     * @param students  the students on the island.
+     * @param owner     the owner of the island, null if there is none.
+     * @param isBlocked true if the island is blocked.
+     */
+    public BaseIsland(StudentCounts students, String owner, boolean isBlocked) {
+        super();
+        this.students = students;
+        this.owner = owner;
+        this.isBlocked = isBlocked;
     }
 
     /**
@@ -36,11 +49,11 @@ public class BaseIsland extends Island {
     }
 
     /**
-     * Method getStudents returns the copy of the BaseIsland student map.
+     * Method getStudents returns the students on the BaseIsland.
      */
     @Override
-    public Map<Color, Integer> getStudents() {
-        return new EnumMap<>(students);
+    public StudentCounts getStudents() {
+        return students;
     }
 
     /**
@@ -60,6 +73,6 @@ public class BaseIsland extends Island {
      */
     @Override
     public void addStudent(Color student) {
-        students.put(student, students.getOrDefault(student, 0) + 1);
+        students = students.add(student);
     }
 }
\ No newline at end of file
@@ -1,9 +1,9 @@
 package it.polimi.ingsw.model.islands;
 
 import it.polimi.ingsw.constants.Color;
+import it.polimi.ingsw.model.StudentCounts;
 
 import java.io.Serializable;
-import java.util.Map;
 
 /**
  * Island class is an abstract specification to be extended either with a BaseIsland or a SuperIsland.
@@ -23,7 +23,7 @@ public abstract class Island implements Serializable {
     /**
      * Method getStudents is the abstract of the getter method for the island's students.
      */
-    public abstract Map<Color, Integer> getStudents();
+    public abstract StudentCounts getStudents();
 
     /**
      * Method getOwner returns the current owner of an island.
@@ -3,22 +3,28 @@ package it.polimi.ingsw.model.islands;
 import it.polimi.ingsw.constants.Color;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * IslandContainer class is the container of the game board, represented by the starting 12 islands.
+ * The islands are kept in a ring, an array in the order of the board: joining two islands replaces the first one
+ * with the joined group and closes the gap left by the second one, so the islands never move to another array and
+ * reading an island or its neighbours is a plain array access.
+ * Every change of the islands increases the container version, and it's described by the returned IslandDelta.
  */
 public class IslandContainer implements Serializable {
 
-    private final LinkedList<Island> islands;
+    private final Island[] islands;
+    private int size;
+    private int version;
 
     /**
      * Constructor IslandContainer creates an instance with an empty island list.
      */
     public IslandContainer() {
-        this.islands = new LinkedList<>();
+        this.islands = new Island[0];
     }
 
     /**
@@ -26,8 +32,28 @@ public class IslandContainer implements Serializable {
      *
      * @param islands the list of the islands to be set to the container.
      */
-    public IslandContainer(LinkedList<Island> islands) {
-        this.islands = islands;
+    public IslandContainer(List<Island> islands) {
+        this.islands = islands.toArray(new Island[0]);
+        this.size = this.islands.length;
+    }
+
+    /**
+     * Constructor IslandContainer creates an instance with the specified islands and version.
+     * It's used when the container is decoded from the network.
+     *
+     * @param islands the list of the islands to be set to the container.
+     * @param version the version of the container.
+     */
+    public IslandContainer(List<Island> islands, int version) {
+        this(islands);
+        this.version = version;
+    }
+
+    /**
+     * Method getVersion returns the number of changes applied to the islands.
+     */
+    public int getVersion() {
+        return version;
     }
 
     /**
@@ -36,7 +62,7 @@ public class IslandContainer implements Serializable {
      * @param currIslandIndex the current island index.
      */
     public int prevIslandIndex(int currIslandIndex) {
-        return (currIslandIndex + islands.size() - 1) % islands.size();
+        return (currIslandIndex + size - 1) % size;
     }
 
     /**
@@ -45,7 +71,7 @@ public class IslandContainer implements Serializable {
      * @param currIslandIndex the current island index.
      */
     public int nextIslandIndex(int currIslandIndex) {
-        return (currIslandIndex + islands.size() + 1) % islands.size();
+        return (currIslandIndex + 1) % size;
     }
 
     /**
@@ -56,7 +82,7 @@ public class IslandContainer implements Serializable {
      * @param currentPosition the current motherNature position.
      */
     public int correctIndex(int delta, int currentPosition) {
-        return (currentPosition + islands.size() + delta) % islands.size();
+        return Math.floorMod(currentPosition + delta, size);
     }
 
     /**
@@ -64,9 +90,11 @@ public class IslandContainer implements Serializable {
      *
      * @param islandIndex the index to put the student on.
      * @param student     the color of the selected student.
+     * @return the description of the change.
      */
-    public void addIslandStudent(int islandIndex, Color student) {
-        islands.get(islandIndex).addStudent(student);
+    public IslandDelta addIslandStudent(int islandIndex, Color student) {
+        islands[Objects.checkIndex(islandIndex, size)].addStudent(student);
+        return new IslandDelta(++version, IslandDelta.Type.STUDENT, islandIndex, student, null, false);
     }
 
     /**
@@ -75,7 +103,7 @@ public class IslandContainer implements Serializable {
      * @param currIslandIndex the current island index.
      */
     public Island prevIsland(int currIslandIndex) {
-        return islands.get(prevIslandIndex(currIslandIndex));
+        return islands[prevIslandIndex(currIslandIndex)];
     }
 
     /**
@@ -84,41 +112,61 @@ public class IslandContainer implements Serializable {
      * @param currIslandIndex the current island index.
      */
     public Island nextIsland(int currIslandIndex) {
-        return islands.get(nextIslandIndex(currIslandIndex));
+        return islands[nextIslandIndex(currIslandIndex)];
     }
 
     /**
      * Method joinPrevIsland joins the island determined by the current island index with the previous one.
      *
      * @param currIslandIndex the current island index.
+     * @return the description of the change, null if the index is not valid.
      * @see SuperIsland
      */
-    public void joinPrevIsland(int currIslandIndex) {
-        if (currIslandIndex >= 0 && currIslandIndex < islands.size()) {
-            Island currIsland = islands.get(currIslandIndex);
-            Island prevIsland = prevIsland(currIslandIndex);
-            Island superIsland = new SuperIsland(List.of(prevIsland, currIsland));
-            islands.add(prevIslandIndex(currIslandIndex), superIsland);
-            islands.remove(currIsland);
-            islands.remove(prevIsland);
+    public IslandDelta joinPrevIsland(int currIslandIndex) {
+        if (isFeasibleIndex(currIslandIndex)) {
+            join(prevIslandIndex(currIslandIndex));
+            return new IslandDelta(++version, IslandDelta.Type.JOIN_PREV, currIslandIndex, null, null, false);
         }
+        return null;
     }
 
     /**
      * Method joinNextIsland joins the island determined by the current island index with the next one.
      *
      * @param currIslandIndex the current island index.
+     * @return the description of the change, null if the index is not valid.
      * @see SuperIsland
      */
-    public void joinNextIsland(int currIslandIndex) {
-        if (currIslandIndex >= 0 && currIslandIndex < islands.size()) {
-            Island currIsland = islands.get(currIslandIndex);
-            Island nextIsland = nextIsland(currIslandIndex);
-            Island superIsland = new SuperIsland(List.of(currIsland, nextIsland));
-            islands.add(currIslandIndex, superIsland);
-            islands.remove(currIsland);
-            islands.remove(nextIsland);
+    public IslandDelta joinNextIsland(int currIslandIndex) {
+        if (isFeasibleIndex(currIslandIndex)) {
+            join(currIslandIndex);
+            return new IslandDelta(++version, IslandDelta.Type.JOIN_NEXT, currIslandIndex, null, null, false);
         }
+        return null;
+    }
+
+    /**
+     * Method join joins an island with the next one. The joined group takes the place of the first island, and the
+     * following islands move back by one; when the first island is the last one, the group becomes the last island
+     * and the board starts from the island after it.
+     * A group which is already a SuperIsland is extended in place, otherwise a new SuperIsland is created; the new
+     * group is never blocked.
+     *
+     * @param first the index of the first island, in the order of the board.
+     */
+    private void join(int first) {
+        int second = nextIslandIndex(first);
+        SuperIsland group;
+        if (islands[first] instanceof SuperIsland superIsland) {
+            group = superIsland;
+            group.join(islands[second]);
+            group.setBlocked(false);
+        } else {
+            group = new SuperIsland(List.of(islands[first], islands[second]));
+        }
+        islands[first] = group;
+        System.arraycopy(islands, second + 1, islands, second, size - second - 1);
+        islands[--size] = null;
     }
 
     /**
@@ -128,14 +176,14 @@ public class IslandContainer implements Serializable {
      * @return true if the index is present in the island list, false otherwise.
      */
     public boolean isFeasibleIndex(int index) {
-        return index >= 0 && index < islands.size();
+        return index >= 0 && index < size;
     }
 
     /**
      * Method size returns the number of islands in the IslandContainer.
      */
     public int size() {
-        return islands.size();
+        return size;
     }
 
     /**
@@ -143,9 +191,11 @@ public class IslandContainer implements Serializable {
      *
      * @param island the island index on which the ownership is going to be changed.
      * @param owner  the nickname of the owner to be set.
+     * @return the description of the change.
      */
-    public void setOwner(int island, String owner) {
-        islands.get(island).setOwner(owner);
+    public IslandDelta setOwner(int island, String owner) {
+        islands[Objects.checkIndex(island, size)].setOwner(owner);
+        return new IslandDelta(++version, IslandDelta.Type.OWNER, island, null, owner, false);
     }
 
     /**
@@ -154,32 +204,55 @@ public class IslandContainer implements Serializable {
      *
      * @param island    the selected island index to be blocked.
      * @param isBlocked the blocking flag.
+     * @return the description of the change.
      * @see it.polimi.ingsw.model.cards.characters.Grandma
      * @see it.polimi.ingsw.controller.actions.characters.GrandmaBlockIsland
      */
-    public void setIslandBlocked(int island, Boolean isBlocked) {
-        islands.get(island).setBlocked(isBlocked);
+    public IslandDelta setIslandBlocked(int island, Boolean isBlocked) {
+        islands[Objects.checkIndex(island, size)].setBlocked(isBlocked);
+        return new IslandDelta(++version, IslandDelta.Type.BLOCK, island, null, null, isBlocked);
     }
 
     /**
-     * Method get returns the copy of the wanted BaseIsland or SuperIsland.
+     * Method apply replays a change made on the server's container.
+     * The deltas already included in this container are ignored.
      *
-     * @param index the index of the island to be copied.
+     * @param delta the change to be applied.
+     * @return false if some previous changes are missing and the delta can't be applied, true otherwise.
      */
-    public Island get(int index) {
-        if (islands.get(index) instanceof BaseIsland) {
-            return new BaseIsland((BaseIsland) islands.get(index));
-        } else if (islands.get(index) instanceof SuperIsland) {
-            return new SuperIsland((SuperIsland) islands.get(index));
-        } else {
-            throw new RuntimeException("The island is neither a BaseIsland nor a SuperIsland");
+    public boolean apply(IslandDelta delta) {
+        if (delta.getVersion() <= version) {
+            return true;
+        }
+        if (delta.getVersion() != version + 1) {
+            return false;
+        }
+        switch (delta.getType()) {
+            case STUDENT -> addIslandStudent(delta.getIsland(), delta.getStudent());
+            case OWNER -> setOwner(delta.getIsland(), delta.getOwner());
+            case BLOCK -> setIslandBlocked(delta.getIsland(), delta.isBlocked());
+            case JOIN_PREV -> joinPrevIsland(delta.getIsland());
+            case JOIN_NEXT -> joinNextIsland(delta.getIsland());
         }
+        version = delta.getVersion();
+        return true;
+    }
+
+    /**
+     * Method get returns the wanted BaseIsland or SuperIsland. The island must only be changed through the
+     * container, so that the change is described by a delta.
+     *
+     * @param index the index of the island.
+     * @throws IndexOutOfBoundsException if the index is not valid.
+     */
+    public Island get(int index) {
+        return islands[Objects.checkIndex(index, size)];
     }
 
     /**
      * Method getIslands returns the copy of the islands list.
      */
     public List<Island> getIslands() {
-        return new ArrayList<>(islands);
+        return Arrays.asList(Arrays.copyOf(islands, size));
     }
 }
\ No newline at end of file
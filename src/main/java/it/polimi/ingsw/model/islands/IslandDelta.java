@@ -0,0 +1,91 @@
+package it.polimi.ingsw.model.islands;
+
+import it.polimi.ingsw.constants.Color;
+
+import java.io.Serializable;
+
+/**
+ * IslandDelta class describes a single change of the IslandContainer, so that the clients can replay it on their
+ * copy instead of receiving all the islands again.
+ * Every change increases the version of the container by one: a delta can only be applied to the container it
+ * was generated from, that is the one whose version is the previous one.
+ *
+ * @see IslandContainer#apply(IslandDelta)
+ */
+public class IslandDelta implements Serializable {
+
+    /**
+     * Type enum lists the possible changes of the islands.
+     */
+    public enum Type {
+        STUDENT, OWNER, BLOCK, JOIN_PREV, JOIN_NEXT
+    }
+
+    private final int version;
+    private final Type type;
+    private final int island;
+    private final Color student;
+    private final String owner;
+    private final boolean blocked;
+
+    /**
+     * Constructor IslandDelta creates a new IslandDelta instance.
+     *
+     * @param version the version of the container after the change.
+     * @param type    the type of the change.
+     * @param island  the index of the changed island.
+     * @param student the student added to the island, for a STUDENT change.
+     * @param owner   the new owner of the island, for an OWNER change.
+     * @param blocked the new blocked flag of the island, for a BLOCK change.
+     */
+    public IslandDelta(int version, Type type, int island, Color student, String owner, boolean blocked) {
+        this.version = version;
+        this.type = type;
+        this.island = island;
+        this.student = student;
+        this.owner = owner;
+        this.blocked = blocked;
+    }
+
+    /**
+     * Method getVersion returns the version of the container after the change.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Method getType returns the type of the change.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Method getIsland returns the index of the changed island.
+     */
+    public int getIsland() {
+        return island;
+    }
+
+    /**
+     * Method getStudent returns the student added to the island.
+     */
+    public Color getStudent() {
+        return student;
+    }
+
+    /**
+     * Method getOwner returns the new owner of the island.
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Method isBlocked returns the new blocked flag of the island.
+     */
+    public boolean isBlocked() {
+        return blocked;
+    }
+}
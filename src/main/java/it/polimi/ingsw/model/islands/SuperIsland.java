@@ -1,17 +1,21 @@
 package it.polimi.ingsw.model.islands;
 
 import it.polimi.ingsw.constants.Color;
+import it.polimi.ingsw.model.StudentCounts;
 
 import java.util.ArrayList;
-import java.util.EnumMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * SuperIsland class is the representation of multiple island that have been merged, as required by the game's rules.
+ * The SuperIsland keeps the total of the students and of the towers of its islands, updated by every change made
+ * through it, so reading them doesn't walk the merged islands; the merged islands must only be changed through
+ * their SuperIsland.
  */
 public class SuperIsland extends Island {
     List<BaseIsland> islands;
+    private StudentCounts students;
+    private int numTowers;
 
     /**
      * Constructor SuperIsland creates and adds the merged islands to the SuperIslands islands list.
@@ -21,15 +25,10 @@ public class SuperIsland extends Island {
     public SuperIsland(List<Island> islands) {
         super();
         this.islands = new ArrayList<>();
+        students = StudentCounts.EMPTY;
         for (Island island : islands) {
-            if (island instanceof SuperIsland) {
-                this.islands.addAll(((SuperIsland) island).islands);
-            } else if (island instanceof BaseIsland) {
-                this.islands.add((BaseIsland) island);
-            }
-            owner = owner == null ? island.getOwner() : owner;
+            join(island);
         }
-
     }
 
     /**
@@ -39,11 +38,30 @@ public class SuperIsland extends Island {
      */
     public SuperIsland(SuperIsland island) {
         super();
-        islands = island.islands;
+        islands = new ArrayList<>(island.islands);
+        students = island.students;
+        numTowers = island.numTowers;
         owner = island.owner;
         isBlocked = island.isBlocked;
     }
 
+    /**
+     * Method join adds the islands of another island, or group of islands, after the ones of this SuperIsland.
+     * The SuperIsland keeps its owner, or takes the one of the joined island if it has none.
+     *
+     * @param island the island to be joined.
+     */
+    void join(Island island) {
+        if (island instanceof SuperIsland superIsland) {
+            islands.addAll(superIsland.islands);
+        } else if (island instanceof BaseIsland baseIsland) {
+            islands.add(baseIsland);
+        }
+        students = students.merge(island.getStudents());
+        numTowers += island.getNumTower();
+        owner = owner == null ? island.getOwner() : owner;
+    }
+
     /**
      * Method getBaseIslands returns list of the merged islands that the SuperIsland is composed of.
      */
@@ -52,17 +70,10 @@ public class SuperIsland extends Island {
     }
 
     /**
-     * Method getStudents returns the students present on a SuperIsland,
-     * by making the sum of all the merged island's students.
+     * Method getStudents returns the students present on a SuperIsland, the sum of all the merged island's students.
      */
     @Override
-    public Map<Color, Integer> getStudents() {
-        Map<Color, Integer> students = new EnumMap<>(Color.class);
-        for (Island i : islands) {
-            for (Map.Entry<Color, Integer> entry : i.getStudents().entrySet()) {
-                students.put(entry.getKey(), entry.getValue() + students.getOrDefault(entry.getKey(), 0));
-            }
-        }
+    public StudentCounts getStudents() {
         return students;
     }
 
@@ -71,7 +82,7 @@ public class SuperIsland extends Island {
      */
     @Override
     public int getNumTower() {
-        return islands.stream().reduce(0, (numTowers, island) -> numTowers + island.getNumTower(), Integer::sum);
+        return numTowers;
     }
 
     /**
@@ -86,6 +97,7 @@ public class SuperIsland extends Island {
         for (BaseIsland island : islands) {
             island.setOwner(owner);
         }
+        numTowers = owner != null ? islands.size() : 0;
     }
 
     /**
@@ -96,6 +108,7 @@ public class SuperIsland extends Island {
     public void addStudent(Color student) {
         // we decided to add the student to the first island of the super island group
         islands.get(0).addStudent(student);
+        students = students.add(student);
     }
 
     /**
@@ -0,0 +1,752 @@
+package it.polimi.ingsw.network;
+
+import it.polimi.ingsw.client.messages.*;
+import it.polimi.ingsw.constants.*;
+import it.polimi.ingsw.constants.Character;
+import it.polimi.ingsw.model.Cloud;
+import it.polimi.ingsw.model.School;
+import it.polimi.ingsw.model.SchoolDelta;
+import it.polimi.ingsw.model.StudentCounts;
+import it.polimi.ingsw.model.cards.AssistantCard;
+import it.polimi.ingsw.model.cards.characters.ReducedCharacterCard;
+import it.polimi.ingsw.model.islands.BaseIsland;
+import it.polimi.ingsw.model.islands.Island;
+import it.polimi.ingsw.model.islands.IslandContainer;
+import it.polimi.ingsw.model.islands.IslandDelta;
+import it.polimi.ingsw.model.islands.SuperIsland;
+import it.polimi.ingsw.server.answers.*;
+import it.polimi.ingsw.server.answers.model.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * BinaryCodec class encodes every frame with a hand-written compact format: each answer and message starts
+ * with its one-byte type ID, enums are written as ordinals, numbers and sizes as variable length integers,
+ * and student counts as a bitmask of the colors followed by their counts.
+ *
+ * @see Codec
+ * @see TypeRegistry
+ */
+public class BinaryCodec implements Codec {
+
+    public static final byte ID = 1;
+    public static final BinaryCodec INSTANCE = new BinaryCodec();
+
+    private static final byte MESSAGE = 0;
+    private static final byte ACTION = 1;
+    private static final int INT0 = 1;
+    private static final int COLOR0 = 2;
+    private static final int COLOR1 = 4;
+
+    private static final Color[] COLORS = Color.values();
+    private static final TowerColor[] TOWER_COLORS = TowerColor.values();
+    private static final Magician[] MAGICIANS = Magician.values();
+    private static final Character[] CHARACTERS = Character.values();
+    private static final GameState[] GAME_STATES = GameState.values();
+    private static final ErrorType[] ERROR_TYPES = ErrorType.values();
+    private static final ActionType[] ACTION_TYPES = ActionType.values();
+    private static final IslandDelta.Type[] ISLAND_DELTA_TYPES = IslandDelta.Type.values();
+    private static final Compression[] COMPRESSIONS = Compression.values();
+
+    private static final TypeRegistry<Answer> ANSWERS = new TypeRegistry<Answer>()
+            .register(ConnectionMessage.class,
+                    (out, m) -> {
+                        writeString(out, m.getMessage());
+                        out.writeBoolean(m.isValid());
+                        writeString(out, m.getResumeToken());
+                        writeEnum(out, m.getCompression());
+                    },
+                    in -> new ConnectionMessage(readString(in), in.readBoolean(), readString(in),
+                            readEnum(in, COMPRESSIONS)))
+            .register(CustomMessage.class,
+                    (out, m) -> writeString(out, m.getMessage()),
+                    in -> new CustomMessage(readString(in)))
+            .register(GameError.class,
+                    (out, m) -> {
+                        writeEnum(out, m.getError());
+                        writeString(out, m.getMessage());
+                    },
+                    in -> new GameError(readEnum(in, ERROR_TYPES), readString(in)))
+            .register(PingMessage.class,
+                    (out, m) -> {
+                    },
+                    in -> new PingMessage())
+            .register(ReqMagicianMessage.class,
+                    (out, m) -> {
+                    },
+                    in -> new ReqMagicianMessage())
+            .register(ReqPlayersMessage.class,
+                    (out, m) -> writeString(out, m.getMessage()),
+                    in -> new ReqPlayersMessage(readString(in)))
+            .register(WinMessage.class,
+                    (out, m) -> writeString(out, m.getMessage()),
+                    in -> new WinMessage(readString(in)))
+            .register(BalanceMessage.class,
+                    (out, m) -> writeSignedVarInt(out, m.getMessage()),
+                    in -> new BalanceMessage(readSignedVarInt(in)))
+            .register(CharactersMessage.class,
+                    (out, m) -> {
+                        writeVarInt(out, m.getMessage().size());
+                        for (ReducedCharacterCard card : m.getMessage()) {
+                            writeCharacter(out, card);
+                        }
+                    },
+                    in -> {
+                        ReducedCharacterCard[] cards = new ReducedCharacterCard[readVarInt(in)];
+                        for (int i = 0; i < cards.length; i++) {
+                            cards[i] = readCharacter(in);
+                        }
+                        return new CharactersMessage(cards);
+                    })
+            .register(CloudsMessage.class,
+                    (out, m) -> {
+                        writeVarInt(out, m.getMessage().size());
+                        for (Cloud cloud : m.getMessage()) {
+                            writeCounts(out, cloud.getStudents());
+                        }
+                    },
+                    in -> {
+                        int size = readVarInt(in);
+                        List<Cloud> clouds = new ArrayList<>(size);
+                        for (int i = 0; i < size; i++) {
+                            Cloud cloud = new Cloud();
+                            cloud.addStudents(readCounts(in));
+                            clouds.add(cloud);
+                        }
+                        return new CloudsMessage(clouds);
+                    })
+            .register(GameStateMessage.class,
+                    (out, m) -> writeEnum(out, m.getMessage()),
+                    in -> new GameStateMessage(readEnum(in, GAME_STATES)))
+            .register(HandMessage.class,
+                    (out, m) -> {
+                        writeVarInt(out, m.getMessage().size());
+                        for (AssistantCard card : m.getMessage()) {
+                            writeVarInt(out, card.getValue());
+                        }
+                    },
+                    in -> {
+                        int size = readVarInt(in);
+                        List<AssistantCard> cards = new ArrayList<>(size);
+                        for (int i = 0; i < size; i++) {
+                            cards.add(new AssistantCard(readVarInt(in)));
+                        }
+                        return new HandMessage(cards);
+                    })
+            .register(IslandsMessage.class,
+                    (out, m) -> writeIslands(out, m.getMessage()),
+                    in -> new IslandsMessage(readIslands(in)))
+            .register(MagicianMessage.class,
+                    (out, m) -> {
+                        writeVarInt(out, m.getMessage().size());
+                        for (Map.Entry<Magician, String> entry : m.getMessage().entrySet()) {
+                            writeEnum(out, entry.getKey());
+                            writeString(out, entry.getValue());
+                        }
+                    },
+                    in -> {
+                        int size = readVarInt(in);
+                        Map<Magician, String> magicians = new EnumMap<>(Magician.class);
+                        for (int i = 0; i < size; i++) {
+                            magicians.put(readEnum(in, MAGICIANS), readString(in));
+                        }
+                        return new MagicianMessage(magicians);
+                    })
+            .register(ModeMessage.class,
+                    (out, m) -> out.writeByte(m.getMessage() == null ? 0 : m.getMessage() ? 2 : 1),
+                    in -> {
+                        int mode = in.readUnsignedByte();
+                        return new ModeMessage(mode == 0 ? null : mode == 2);
+                    })
+            .register(MotherMessage.class,
+                    (out, m) -> writeSignedVarInt(out, m.getMessage()),
+                    in -> new MotherMessage(readSignedVarInt(in)))
+            .register(PlayedCardMessage.class,
+                    (out, m) -> {
+                        writeString(out, m.getPlayer());
+                        writeVarInt(out, m.getMessage() == null ? 0 : m.getMessage().getValue());
+                    },
+                    in -> {
+                        String player = readString(in);
+                        int value = readVarInt(in);
+                        return new PlayedCardMessage(player, value == 0 ? null : new AssistantCard(value));
+                    })
+            .register(PlayersStatusMessage.class,
+                    (out, m) -> {
+                        writeStrings(out, m.getPlayers());
+                        writeStrings(out, m.getActivePlayers());
+                        writeStrings(out, m.getRejoiningPlayers());
+                    },
+                    in -> {
+                        Map<String, List<String>> players = new HashMap<>();
+                        players.put(PlayersStatusMessage.PLAYERS, readStrings(in));
+                        players.put(PlayersStatusMessage.ACTIVE_PLAYERS, readStrings(in));
+                        players.put(PlayersStatusMessage.REJOINING_PLAYERS, readStrings(in));
+                        return new PlayersStatusMessage(players);
+                    })
+            .register(ProfsMessage.class,
+                    (out, m) -> {
+                        writeVarInt(out, m.getMessage().size());
+                        for (Map.Entry<Color, String> entry : m.getMessage().entrySet()) {
+                            writeEnum(out, entry.getKey());
+                            writeString(out, entry.getValue());
+                        }
+                    },
+                    in -> {
+                        int size = readVarInt(in);
+                        EnumMap<Color, String> profs = new EnumMap<>(Color.class);
+                        for (int i = 0; i < size; i++) {
+                            profs.put(readEnum(in, COLORS), readString(in));
+                        }
+                        return new ProfsMessage(profs);
+                    })
+            .register(RoundOwnerMessage.class,
+                    (out, m) -> writeString(out, m.getMessage()),
+                    in -> new RoundOwnerMessage(readString(in)))
+            .register(SchoolMessage.class,
+                    (out, m) -> {
+                        writeString(out, m.getPlayer());
+                        writeSchool(out, m.getMessage());
+                    },
+                    in -> new SchoolMessage(readString(in), readSchool(in)))
+            .register(BatchMessage.class,
+                    (out, m) -> {
+                        writeVarInt(out, m.getMessage().size());
+                        for (Answer answer : m.getMessage()) {
+                            BinaryCodec.ANSWERS.write(out, answer);
+                        }
+                    },
+                    in -> {
+                        int size = readVarInt(in);
+                        List<Answer> answers = new ArrayList<>(size);
+                        for (int i = 0; i < size; i++) {
+                            answers.add(BinaryCodec.ANSWERS.read(in));
+                        }
+                        return new BatchMessage(answers);
+                    })
+            .register(IslandDeltaMessage.class,
+                    (out, m) -> writeIslandDelta(out, m.getMessage()),
+                    in -> new IslandDeltaMessage(readIslandDelta(in)))
+            .register(SchoolDeltaMessage.class,
+                    (out, m) -> {
+                        writeString(out, m.getPlayer());
+                        writeVarInt(out, m.getMessage().getVersion());
+                        writeCountChanges(out, m.getMessage().getEntry());
+                        writeCountChanges(out, m.getMessage().getHall());
+                        writeSignedVarInt(out, m.getMessage().getTowers());
+                    },
+                    in -> new SchoolDeltaMessage(readString(in), new SchoolDelta(readVarInt(in),
+                            readCountChanges(in), readCountChanges(in), readSignedVarInt(in))))
+            .register(ActionResultsMessage.class,
+                    (out, m) -> writeStrings(out, m.getMessage()),
+                    in -> new ActionResultsMessage(readStrings(in)));
+
+    private static final TypeRegistry<Message> MESSAGES = new TypeRegistry<Message>()
+            .register(LoginMessage.class,
+                    (out, m) -> {
+                        writeString(out, m.getNickname());
+                        writeString(out, m.getResumeToken());
+                        writeEnum(out, m.getCompression());
+                    },
+                    in -> new LoginMessage(readString(in), readString(in), readEnum(in, COMPRESSIONS)))
+            .register(PongMessage.class,
+                    (out, m) -> {
+                    },
+                    in -> new PongMessage())
+            .register(SetupMessage.class,
+                    (out, m) -> {
+                        writeSignedVarInt(out, m.playersNumber);
+                        out.writeBoolean(m.expertMode);
+                    },
+                    in -> new SetupMessage(readSignedVarInt(in), in.readBoolean()))
+            .register(Disconnect.class,
+                    (out, m) -> {
+                    },
+                    in -> new Disconnect())
+            .register(ResyncMessage.class,
+                    (out, m) -> {
+                    },
+                    in -> new ResyncMessage())
+            .register(ActionBatchMessage.class,
+                    (out, m) -> {
+                        writeVarInt(out, m.actions.size());
+                        for (Action action : m.actions) {
+                            writeAction(out, action);
+                        }
+                    },
+                    in -> {
+                        int size = readVarInt(in);
+                        List<Action> actions = new ArrayList<>();
+                        for (int i = 0; i < size; i++) {
+                            actions.add(readAction(in));
+                        }
+                        return new ActionBatchMessage(actions);
+                    });
+
+    /**
+     * Method getId returns the binary codec ID.
+     */
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] encodeAnswer(SerializedAnswer answer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        ANSWERS.write(out, answer.getServerAnswer());
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Method encodeBatch writes the BatchMessage header followed by the already encoded payloads of its
+     * answers, so that an answer shared by many batches is encoded only once.
+     */
+    @Override
+    public byte[] encodeBatch(List<EncodedAnswer> answers) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(ANSWERS.idOf(BatchMessage.class));
+        writeVarInt(out, answers.size());
+        for (EncodedAnswer answer : answers) {
+            byte[] frame = answer.frame(this);
+            out.write(frame, Frames.HEADER_SIZE, frame.length - Frames.HEADER_SIZE);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public SerializedAnswer decodeAnswer(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        SerializedAnswer answer = new SerializedAnswer();
+        answer.setServerAnswer(ANSWERS.read(in));
+        return answer;
+    }
+
+    @Override
+    public byte[] encodeMessage(SerializedMessage message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        if (message.action != null) {
+            out.writeByte(ACTION);
+            writeAction(out, message.action);
+        } else {
+            out.writeByte(MESSAGE);
+            MESSAGES.write(out, message.message);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public SerializedMessage decodeMessage(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        return switch (in.readByte()) {
+            case MESSAGE -> new SerializedMessage(MESSAGES.read(in));
+            case ACTION -> new SerializedMessage(readAction(in));
+            default -> throw new StreamCorruptedException("Unknown message kind");
+        };
+    }
+
+    /**
+     * Method writeAction writes the action type followed by the parameters of the action.
+     */
+    private static void writeAction(DataOutputStream out, Action action) throws IOException {
+        writeEnum(out, action.actionType);
+        int flags = (action.int0 != null ? INT0 : 0) | (action.color0 != null ? COLOR0 : 0) | (action.color1 != null ? COLOR1 : 0);
+        out.writeByte(flags);
+        if (action.int0 != null) {
+            writeSignedVarInt(out, action.int0);
+        }
+        if (action.color0 != null) {
+            writeEnum(out, action.color0);
+        }
+        if (action.color1 != null) {
+            writeEnum(out, action.color1);
+        }
+    }
+
+    /**
+     * Method readAction reads an action, rebuilding it with the constructor matching its parameters.
+     */
+    private static Action readAction(DataInputStream in) throws IOException {
+        ActionType type = readEnum(in, ACTION_TYPES);
+        int flags = in.readUnsignedByte();
+        Integer int0 = (flags & INT0) != 0 ? readSignedVarInt(in) : null;
+        Color color0 = (flags & COLOR0) != 0 ? readEnum(in, COLORS) : null;
+        Color color1 = (flags & COLOR1) != 0 ? readEnum(in, COLORS) : null;
+        return switch (flags) {
+            case 0 -> new Action(type);
+            case INT0 -> new Action(type, int0);
+            case COLOR0 -> new Action(type, color0);
+            case COLOR0 | COLOR1 -> new Action(type, color0, color1);
+            case COLOR0 | INT0 -> new Action(type, color0, int0);
+            default -> throw new StreamCorruptedException("Invalid action parameters " + flags);
+        };
+    }
+
+    /**
+     * Method writeCharacter writes a reduced character card.
+     */
+    private static void writeCharacter(DataOutputStream out, ReducedCharacterCard card) throws IOException {
+        writeEnum(out, card.type);
+        out.writeBoolean(card.isActive);
+        out.writeBoolean(card.activatedOnce);
+        writeVarInt(out, card.price);
+        writeVarInt(out, card.blockingCards);
+        writeColors(out, card.students);
+    }
+
+    /**
+     * Method readCharacter reads a reduced character card.
+     */
+    private static ReducedCharacterCard readCharacter(DataInputStream in) throws IOException {
+        Character type = readEnum(in, CHARACTERS);
+        boolean isActive = in.readBoolean();
+        boolean activatedOnce = in.readBoolean();
+        int price = readVarInt(in);
+        int blockingCards = readVarInt(in);
+        return new ReducedCharacterCard(isActive, type, price, readColors(in), blockingCards, activatedOnce);
+    }
+
+    /**
+     * Method writeSchool writes the towers and the students of a school.
+     */
+    private static void writeSchool(DataOutputStream out, School school) throws IOException {
+        writeVarInt(out, school.getNumTowers());
+        writeEnum(out, school.getTowerColor());
+        writeCounts(out, school.getStudentsEntry());
+        writeCounts(out, school.getStudentsHall());
+        writeVarInt(out, school.getVersion());
+    }
+
+    /**
+     * Method readSchool reads a school.
+     */
+    private static School readSchool(DataInputStream in) throws IOException {
+        int numTowers = readVarInt(in);
+        TowerColor towerColor = readEnum(in, TOWER_COLORS);
+        return new School(numTowers, towerColor, readCounts(in), readCounts(in), readVarInt(in));
+    }
+
+    /**
+     * Method writeIslands writes every island of the container; a super island is written as the list
+     * of its base islands.
+     */
+    private static void writeIslands(DataOutputStream out, IslandContainer container) throws IOException {
+        writeVarInt(out, container.getVersion());
+        writeVarInt(out, container.size());
+        for (int i = 0; i < container.size(); i++) {
+            Island island = container.get(i);
+            if (island instanceof SuperIsland superIsland) {
+                writeVarInt(out, superIsland.size());
+                writeString(out, superIsland.getOwner());
+                out.writeBoolean(superIsland.isBlocked());
+                for (BaseIsland baseIsland : superIsland.getBaseIslands()) {
+                    writeBaseIsland(out, baseIsland);
+                }
+            } else {
+                writeVarInt(out, 1);
+                writeBaseIsland(out, (BaseIsland) island);
+            }
+        }
+    }
+
+    /**
+     * Method readIslands reads an island container.
+     */
+    private static IslandContainer readIslands(DataInputStream in) throws IOException {
+        int version = readVarInt(in);
+        int size = readVarInt(in);
+        LinkedList<Island> islands = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            int baseIslands = readVarInt(in);
+            if (baseIslands == 1) {
+                islands.add(readBaseIsland(in));
+            } else {
+                String owner = readString(in);
+                boolean isBlocked = in.readBoolean();
+                List<Island> group = new ArrayList<>(baseIslands);
+                for (int j = 0; j < baseIslands; j++) {
+                    group.add(readBaseIsland(in));
+                }
+                SuperIsland superIsland = new SuperIsland(group);
+                superIsland.setOwner(owner);
+                superIsland.setBlocked(isBlocked);
+                islands.add(superIsland);
+            }
+        }
+        return new IslandContainer(islands, version);
+    }
+
+    /**
+     * Method writeIslandDelta writes the type of the change followed by its parameters.
+     */
+    private static void writeIslandDelta(DataOutputStream out, IslandDelta delta) throws IOException {
+        writeVarInt(out, delta.getVersion());
+        writeEnum(out, delta.getType());
+        writeVarInt(out, delta.getIsland());
+        switch (delta.getType()) {
+            case STUDENT -> writeEnum(out, delta.getStudent());
+            case OWNER -> writeString(out, delta.getOwner());
+            case BLOCK -> out.writeBoolean(delta.isBlocked());
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Method readIslandDelta reads a change of the islands.
+     */
+    private static IslandDelta readIslandDelta(DataInputStream in) throws IOException {
+        int version = readVarInt(in);
+        IslandDelta.Type type = readEnum(in, ISLAND_DELTA_TYPES);
+        if (type == null) {
+            throw new StreamCorruptedException("Missing island change type");
+        }
+        int island = readVarInt(in);
+        return switch (type) {
+            case STUDENT -> new IslandDelta(version, type, island, readEnum(in, COLORS), null, false);
+            case OWNER -> new IslandDelta(version, type, island, null, readString(in), false);
+            case BLOCK -> new IslandDelta(version, type, island, null, null, in.readBoolean());
+            default -> new IslandDelta(version, type, island, null, null, false);
+        };
+    }
+
+    private static void writeBaseIsland(DataOutputStream out, BaseIsland island) throws IOException {
+        writeCounts(out, island.getStudents());
+        writeString(out, island.getOwner());
+        out.writeBoolean(island.isBlocked());
+    }
+
+    private static BaseIsland readBaseIsland(DataInputStream in) throws IOException {
+        return new BaseIsland(readCounts(in), readString(in), in.readBoolean());
+    }
+
+    /**
+     * Method writeCounts writes the student counts as the bitmask of the present colors, followed by
+     * the count of each of them.
+     *
+     * @param out      the output stream.
+     * @param students the student counts.
+     * @throws IOException when the stream is closed.
+     */
+    static void writeCounts(DataOutputStream out, StudentCounts students) throws IOException {
+        out.writeByte(countsMask(students));
+        for (Color color : COLORS) {
+            if (students.get(color) != 0) {
+                writeVarInt(out, students.get(color));
+            }
+        }
+    }
+
+    /**
+     * Method readCounts reads the student counts written by writeCounts.
+     *
+     * @param in the input stream.
+     * @return the student counts.
+     * @throws IOException when the stream is closed or corrupted.
+     */
+    static StudentCounts readCounts(DataInputStream in) throws IOException {
+        int mask = in.readUnsignedByte();
+        StudentCounts students = StudentCounts.EMPTY;
+        for (Color color : COLORS) {
+            if ((mask & 1 << color.ordinal()) != 0) {
+                students = students.with(color, count(readVarInt(in)));
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Method writeCountChanges writes the differences of student counts, which may be negative, like
+     * writeCounts.
+     */
+    static void writeCountChanges(DataOutputStream out, StudentCounts changes) throws IOException {
+        out.writeByte(countsMask(changes));
+        for (Color color : COLORS) {
+            if (changes.get(color) != 0) {
+                writeSignedVarInt(out, changes.get(color));
+            }
+        }
+    }
+
+    /**
+     * Method readCountChanges reads the differences of student counts written by writeCountChanges.
+     */
+    static StudentCounts readCountChanges(DataInputStream in) throws IOException {
+        int mask = in.readUnsignedByte();
+        StudentCounts students = StudentCounts.EMPTY;
+        for (Color color : COLORS) {
+            if ((mask & 1 << color.ordinal()) != 0) {
+                students = students.with(color, count(readSignedVarInt(in)));
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Method countsMask returns the bitmask of the colors whose count isn't zero.
+     */
+    private static int countsMask(StudentCounts students) {
+        int mask = 0;
+        for (Color color : COLORS) {
+            if (students.get(color) != 0) {
+                mask |= 1 << color.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Method count checks that a decoded count fits a StudentCounts.
+     *
+     * @throws StreamCorruptedException if the count is out of range.
+     */
+    private static int count(int count) throws StreamCorruptedException {
+        if (count < Byte.MIN_VALUE || count > Byte.MAX_VALUE) {
+            throw new StreamCorruptedException("Invalid student count " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Method writeColors writes a list of colors as their ordinals.
+     */
+    static void writeColors(DataOutputStream out, List<Color> colors) throws IOException {
+        writeVarInt(out, colors.size());
+        for (Color color : colors) {
+            out.writeByte(color.ordinal());
+        }
+    }
+
+    /**
+     * Method readColors reads a list of colors written by writeColors.
+     */
+    static List<Color> readColors(DataInputStream in) throws IOException {
+        int size = readVarInt(in);
+        List<Color> colors = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            colors.add(ordinal(in.readUnsignedByte(), COLORS));
+        }
+        return colors;
+    }
+
+    /**
+     * Method writeStrings writes a list of strings.
+     */
+    static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        writeVarInt(out, strings.size());
+        for (String string : strings) {
+            writeString(out, string);
+        }
+    }
+
+    /**
+     * Method readStrings reads a list of strings written by writeStrings.
+     */
+    static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = readVarInt(in);
+        List<String> strings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            strings.add(readString(in));
+        }
+        return strings;
+    }
+
+    /**
+     * Method writeString writes a nullable string as its UTF-8 length plus one (zero meaning null),
+     * followed by its bytes.
+     */
+    static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    /**
+     * Method readString reads a nullable string written by writeString.
+     */
+    static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        Frames.checkLength(length);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method writeEnum writes a nullable enum constant as its ordinal plus one (zero meaning null).
+     */
+    static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? 0 : value.ordinal() + 1);
+    }
+
+    /**
+     * Method readEnum reads a nullable enum constant written by writeEnum.
+     *
+     * @param in     the input stream.
+     * @param values the constants of the enum.
+     */
+    static <E extends Enum<E>> E readEnum(DataInputStream in, E[] values) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        return ordinal == 0 ? null : ordinal(ordinal - 1, values);
+    }
+
+    private static <E> E ordinal(int ordinal, E[] values) throws StreamCorruptedException {
+        if (ordinal >= values.length) {
+            throw new StreamCorruptedException("Invalid ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    /**
+     * Method writeVarInt writes a non-negative integer in 7-bit groups, so that small values take one byte.
+     */
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Method readVarInt reads an integer written by writeVarInt.
+     */
+    static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Variable length integer too long");
+    }
+
+    /**
+     * Method writeSignedVarInt writes an integer which may be negative, zigzag encoding it first.
+     */
+    static void writeSignedVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Method readSignedVarInt reads an integer written by writeSignedVarInt.
+     */
+    static int readSignedVarInt(DataInputStream in) throws IOException {
+        int value = readVarInt(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,117 @@
+package it.polimi.ingsw.network;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BufferPool class keeps the direct buffers holding the frames built for a single connection, such as the
+ * compressed ones, so that writing a frame doesn't allocate a new buffer every time. The buffers are direct, so
+ * the channels write them without copying them first.
+ * Only the requests fitting the pooled buffer size are pooled; bigger frames, which are rare, get a heap buffer
+ * of their own, which is left to the garbage collector when released.
+ */
+public final class BufferPool {
+
+    /**
+     * Size of the pooled buffers, enough for almost every answer frame.
+     */
+    public static final int BUFFER_SIZE = 16 * 1024;
+    /**
+     * Maximum number of free buffers kept by the shared pool.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final BufferPool SHARED = new BufferPool(BUFFER_SIZE, DEFAULT_CAPACITY);
+
+    private final int bufferSize;
+    private final int capacity;
+    private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+    private final LongAdder allocated = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder oversized = new LongAdder();
+
+    /**
+     * Constructor BufferPool creates an empty pool.
+     *
+     * @param bufferSize the size of the pooled buffers.
+     * @param capacity   the maximum number of free buffers kept by the pool.
+     */
+    public BufferPool(int bufferSize, int capacity) {
+        this.bufferSize = bufferSize;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Method shared returns the pool shared by all the connections of the server.
+     */
+    public static BufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Method acquire returns an empty buffer of at least the given size, ready to be filled.
+     *
+     * @param size the number of bytes needed.
+     * @return a pooled direct buffer, or a heap buffer of its own if the size doesn't fit the pooled ones.
+     */
+    public ByteBuffer acquire(int size) {
+        if (size > bufferSize) {
+            oversized.increment();
+            return ByteBuffer.allocate(size);
+        }
+        ByteBuffer buffer;
+        synchronized (free) {
+            buffer = free.poll();
+        }
+        if (buffer == null) {
+            allocated.increment();
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        reused.increment();
+        return buffer.clear();
+    }
+
+    /**
+     * Method release gives a buffer back to the pool once it has been written; the buffer must not be used
+     * anymore by the caller. The buffers which don't come from the pool are ignored.
+     *
+     * @param buffer the buffer returned by acquire, may be null.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.isReadOnly() || buffer.capacity() != bufferSize) {
+            return;
+        }
+        synchronized (free) {
+            if (free.size() < capacity) {
+                free.push(buffer);
+            }
+        }
+    }
+
+    /**
+     * Method report returns the pool usage, for the server statistics.
+     */
+    public String report() {
+        int idle;
+        synchronized (free) {
+            idle = free.size();
+        }
+        return "Buffers: " + allocated.sum() + " direct buffers allocated, " + reused.sum() + " reused, "
+                + oversized.sum() + " oversized, " + idle + " idle";
+    }
+
+    /**
+     * Method getAllocated returns the number of direct buffers the pool has allocated.
+     */
+    public long getAllocated() {
+        return allocated.sum();
+    }
+
+    /**
+     * Method getReused returns the number of requests served with a pooled buffer.
+     */
+    public long getReused() {
+        return reused.sum();
+    }
+}
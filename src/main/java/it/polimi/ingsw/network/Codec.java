@@ -0,0 +1,88 @@
+package it.polimi.ingsw.network;
+
+import it.polimi.ingsw.client.messages.SerializedMessage;
+import it.polimi.ingsw.server.answers.BatchMessage;
+import it.polimi.ingsw.server.answers.SerializedAnswer;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.List;
+
+/**
+ * Codec interface defines how the client messages and the server answers are turned into frame payloads.
+ * The codec is chosen by the client in the connection preamble and used for the whole connection.
+ *
+ * @see Frames
+ */
+public interface Codec {
+
+    /**
+     * Method getId returns the ID of the codec, as written in the connection preamble.
+     */
+    byte getId();
+
+    /**
+     * Method encodeAnswer encodes a server answer into a frame payload.
+     *
+     * @param answer the answer to be encoded.
+     * @return the frame payload.
+     * @throws IOException if the answer can't be encoded.
+     */
+    byte[] encodeAnswer(SerializedAnswer answer) throws IOException;
+
+    /**
+     * Method decodeAnswer decodes a frame payload into a server answer.
+     *
+     * @param payload the frame payload.
+     * @return the decoded answer.
+     * @throws IOException if the payload is not valid.
+     */
+    SerializedAnswer decodeAnswer(byte[] payload) throws IOException;
+
+    /**
+     * Method encodeBatch encodes a batch of answers into the payload of a single BatchMessage.
+     * By default the BatchMessage is encoded as any other answer.
+     *
+     * @param answers the answers of the batch, in order.
+     * @return the frame payload.
+     * @throws IOException if an answer can't be encoded.
+     */
+    default byte[] encodeBatch(List<EncodedAnswer> answers) throws IOException {
+        SerializedAnswer batch = new SerializedAnswer();
+        batch.setServerAnswer(new BatchMessage(answers.stream()
+                .map(answer -> answer.getSerializedAnswer().getServerAnswer()).toList()));
+        return encodeAnswer(batch);
+    }
+
+    /**
+     * Method encodeMessage encodes a client message into a frame payload.
+     *
+     * @param message the message to be encoded.
+     * @return the frame payload.
+     * @throws IOException if the message can't be encoded.
+     */
+    byte[] encodeMessage(SerializedMessage message) throws IOException;
+
+    /**
+     * Method decodeMessage decodes a frame payload into a client message.
+     *
+     * @param payload the frame payload.
+     * @return the decoded message.
+     * @throws IOException if the payload is not valid.
+     */
+    SerializedMessage decodeMessage(byte[] payload) throws IOException;
+
+    /**
+     * Method of returns the codec identified by the given ID.
+     *
+     * @param id the codec ID read from the preamble.
+     * @throws StreamCorruptedException if there is no codec with the given ID.
+     */
+    static Codec of(byte id) throws StreamCorruptedException {
+        return switch (id) {
+            case JavaCodec.ID -> JavaCodec.INSTANCE;
+            case BinaryCodec.ID -> BinaryCodec.INSTANCE;
+            default -> throw new StreamCorruptedException("Unknown codec " + id);
+        };
+    }
+}
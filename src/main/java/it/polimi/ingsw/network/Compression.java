@@ -0,0 +1,43 @@
+package it.polimi.ingsw.network;
+
+/**
+ * Compression enumeration lists the compressions of the answer frames a client and the server can agree on.
+ * The client asks for one in the LoginMessage and the server grants it, or NONE, in the ConnectionMessage:
+ * every frame written after the ConnectionMessage is then compressed as agreed.
+ * DEFLATE compresses the frames bigger than a threshold with a per-connection deflate stream, primed with the
+ * dictionary of the connection's codec, so a frame is compressed against all the previous ones.
+ *
+ * @see FrameDeflater
+ * @see FrameInflater
+ */
+public enum Compression {
+    NONE, DEFLATE;
+
+    /**
+     * Method negotiate returns the compression granted to a client, given the one allowed by the server.
+     *
+     * @param requested the compression asked by the client, may be null.
+     * @return the requested compression if it's the allowed one, NONE otherwise.
+     */
+    public Compression negotiate(Compression requested) {
+        return requested == this ? this : NONE;
+    }
+
+    /**
+     * Method fromArgs parses the compression allowed by the server from the command line arguments, in the
+     * "--compression=none" format.
+     *
+     * @param args the command line arguments, may be null.
+     * @return the allowed compression, DEFLATE if not specified.
+     */
+    public static Compression fromArgs(String[] args) {
+        if (args != null) {
+            for (String arg : args) {
+                if (arg.startsWith("--compression=")) {
+                    return valueOf(arg.substring("--compression=".length()).toUpperCase());
+                }
+            }
+        }
+        return DEFLATE;
+    }
+}
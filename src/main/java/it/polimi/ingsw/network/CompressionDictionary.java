@@ -0,0 +1,141 @@
+package it.polimi.ingsw.network;
+
+import it.polimi.ingsw.constants.Color;
+import it.polimi.ingsw.constants.GameState;
+import it.polimi.ingsw.constants.Magician;
+import it.polimi.ingsw.constants.TowerColor;
+import it.polimi.ingsw.model.Cloud;
+import it.polimi.ingsw.model.School;
+import it.polimi.ingsw.model.StudentCounts;
+import it.polimi.ingsw.model.cards.AssistantCard;
+import it.polimi.ingsw.model.cards.characters.*;
+import it.polimi.ingsw.model.islands.BaseIsland;
+import it.polimi.ingsw.model.islands.Island;
+import it.polimi.ingsw.model.islands.IslandContainer;
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.SerializedAnswer;
+import it.polimi.ingsw.server.answers.model.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CompressionDictionary class builds the preset dictionary of the deflate streams, one for each codec.
+ * The dictionary is made of the payloads of a fixed sample of model answers, as encoded by the codec, so it holds
+ * the byte patterns which every game repeats: the class descriptors of the Java codec and the layout of the
+ * islands, schools, clouds and character cards of both codecs. The most frequent answers are placed last, as
+ * deflate references the closest bytes more cheaply.
+ * The sample is fixed, so the client and the server build the same dictionary without exchanging it.
+ *
+ * @see Compression#DEFLATE
+ */
+final class CompressionDictionary {
+
+    /**
+     * Maximum size of a dictionary, that is the deflate window.
+     */
+    static final int MAX_SIZE = 32 * 1024;
+
+    private static final String PLAYER = "player";
+    private static final byte[][] DICTIONARIES = new byte[2][];
+
+    private CompressionDictionary() {
+    }
+
+    /**
+     * Method of returns the dictionary of the given codec, building it on the first request.
+     *
+     * @param codec the codec of the connection.
+     * @return the dictionary bytes, shared and not to be modified.
+     */
+    static synchronized byte[] of(Codec codec) {
+        int id = codec.getId();
+        if (DICTIONARIES[id] == null) {
+            DICTIONARIES[id] = build(codec);
+        }
+        return DICTIONARIES[id];
+    }
+
+    /**
+     * Method build encodes the sample answers with the given codec and joins their payloads.
+     */
+    private static byte[] build(Codec codec) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            for (Answer answer : sample()) {
+                SerializedAnswer serialized = new SerializedAnswer();
+                serialized.setServerAnswer(answer);
+                out.write(codec.encodeAnswer(serialized));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] dictionary = out.toByteArray();
+        return dictionary.length > MAX_SIZE
+                ? Arrays.copyOfRange(dictionary, dictionary.length - MAX_SIZE, dictionary.length)
+                : dictionary;
+    }
+
+    /**
+     * Method sample returns the answers the dictionary is made of, from the least to the most frequent.
+     */
+    private static List<Answer> sample() {
+        List<Answer> sample = new ArrayList<>();
+        for (GameState state : GameState.values()) {
+            sample.add(new GameStateMessage(state));
+        }
+        sample.add(new ModeMessage(true));
+        Map<Magician, String> magicians = new EnumMap<>(Magician.class);
+        for (Magician magician : Magician.values()) {
+            magicians.put(magician, PLAYER);
+        }
+        sample.add(new MagicianMessage(magicians));
+        List<AssistantCard> hand = new ArrayList<>();
+        for (int value = 1; value <= 10; value++) {
+            hand.add(new AssistantCard(value));
+        }
+        sample.add(new HandMessage(hand));
+        sample.add(new CharactersMessage(List.of(new Centaur(), new Farmer(), new Grandma(), new Herald(),
+                new Knight(), new Minstrel(), new Mushroom(), new Postman(), new Thief())));
+        EnumMap<Color, String> profs = new EnumMap<>(Color.class);
+        for (Color color : Color.values()) {
+            profs.put(color, PLAYER);
+        }
+        sample.add(new ProfsMessage(profs));
+        sample.add(new RoundOwnerMessage(PLAYER));
+        sample.add(new PlayedCardMessage(PLAYER, new AssistantCard(5)));
+        sample.add(new MotherMessage(0));
+        List<Cloud> clouds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Cloud cloud = new Cloud();
+            cloud.addStudents(students(1));
+            clouds.add(cloud);
+        }
+        sample.add(new CloudsMessage(clouds));
+        sample.add(new SchoolMessage(PLAYER, new School(8, TowerColor.WHITE, students(1))));
+        LinkedList<Island> islands = new LinkedList<>();
+        for (int i = 0; i < 12; i++) {
+            islands.add(new BaseIsland(students(i % 2), i % 3 == 0 ? PLAYER : null, false));
+        }
+        sample.add(new IslandsMessage(new IslandContainer(islands)));
+        return sample;
+    }
+
+    /**
+     * Method students returns a map with the given number of students of every color.
+     */
+    private static StudentCounts students(int count) {
+        StudentCounts students = StudentCounts.EMPTY;
+        for (Color color : Color.values()) {
+            students = students.with(color, count);
+        }
+        return students;
+    }
+}
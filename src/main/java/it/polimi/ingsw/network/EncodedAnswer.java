@@ -0,0 +1,166 @@
+package it.polimi.ingsw.network;
+
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.BatchMessage;
+import it.polimi.ingsw.server.answers.SerializedAnswer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * EncodedAnswer class wraps an answer which may be sent to many clients, encoding it at most once for each
+ * codec. The encoded frames are never modified after their creation, so the same bytes are written on
+ * every connection using that codec.
+ * A batch of answers is encoded as a single BatchMessage frame, reusing the encodings of its parts when the
+ * codec allows it.
+ * The answers may refer to the live model objects, so they are sealed by the thread which builds them, before
+ * they are queued: the writer tasks then only write bytes, or copies, that the game can't change anymore.
+ *
+ * @see Codec
+ */
+public final class EncodedAnswer {
+    private final SerializedAnswer answer;
+    private final List<EncodedAnswer> parts;
+    private byte[][] frames = new byte[2][];
+    private SerializedAnswer copy; // the answer as it was when sealed, for the connections which don't use frames
+
+    /**
+     * Constructor EncodedAnswer wraps the given answer.
+     *
+     * @param answer the answer to be sent.
+     */
+    public EncodedAnswer(Answer answer) {
+        this.answer = new SerializedAnswer();
+        this.answer.setServerAnswer(answer);
+        parts = null;
+    }
+
+    /**
+     * Constructor EncodedAnswer wraps the given serialized answer.
+     *
+     * @param answer the serialized answer to be sent.
+     */
+    public EncodedAnswer(SerializedAnswer answer) {
+        this.answer = answer;
+        parts = null;
+    }
+
+    /**
+     * Constructor EncodedAnswer wraps a batch of answers.
+     *
+     * @param batch the BatchMessage grouping the answers.
+     * @param parts the single answers of the batch.
+     */
+    private EncodedAnswer(BatchMessage batch, List<EncodedAnswer> parts) {
+        this.answer = new SerializedAnswer();
+        this.answer.setServerAnswer(batch);
+        this.parts = parts;
+    }
+
+    /**
+     * Method batch groups the given answers in a single answer, to be sent in one frame.
+     *
+     * @param parts the answers to be grouped, in order.
+     * @return the batch answer.
+     */
+    public static EncodedAnswer batch(List<EncodedAnswer> parts) {
+        List<EncodedAnswer> copy = List.copyOf(parts);
+        return new EncodedAnswer(new BatchMessage(copy.stream().map(part -> part.answer.getServerAnswer()).toList()), copy);
+    }
+
+    /**
+     * Method getParts returns the single answers of a batch, or this answer if it's not a batch.
+     * It's used by the connections which can't receive a BatchMessage.
+     */
+    public List<EncodedAnswer> getParts() {
+        return parts != null ? parts : List.of(this);
+    }
+
+    /**
+     * Method isBatch checks if the answer groups other answers.
+     *
+     * @return true if the answer is a batch, false otherwise.
+     */
+    public boolean isBatch() {
+        return parts != null;
+    }
+
+    /**
+     * Method getSerializedAnswer returns the wrapped answer, for the connections which don't use frames and for the
+     * codecs which encode a batch from the answers of its parts: the copy taken when the answer was sealed for
+     * them, if it has been.
+     */
+    public synchronized SerializedAnswer getSerializedAnswer() {
+        return copy != null ? copy : answer;
+    }
+
+    /**
+     * Method seal encodes the answer with the given codec, so that the changes made to the model after this call
+     * don't reach the frame written later. The answer is also copied for the connections which don't use frames
+     * and for the Java serialization, whose batches are encoded again from the answers of their parts.
+     *
+     * @param codec the codec of the connection, null if the connection doesn't use frames.
+     * @throws IOException if the answer can't be encoded.
+     */
+    public void seal(Codec codec) throws IOException {
+        if (parts != null) {
+            for (EncodedAnswer part : parts) {
+                part.seal(codec);
+            }
+        } else if (codec == null || codec.getId() == JavaCodec.ID) {
+            synchronized (this) {
+                if (copy == null) {
+                    copy = JavaCodec.INSTANCE.decodeAnswer(JavaCodec.INSTANCE.encodeAnswer(answer));
+                }
+            }
+        }
+        if (codec != null) {
+            frame(codec);
+        }
+    }
+
+    /**
+     * Method sealAll seals the answer for every codec and for the connections which don't use frames, for an
+     * answer kept to be sent later.
+     *
+     * @throws IOException if the answer can't be encoded.
+     */
+    public void sealAll() throws IOException {
+        seal(JavaCodec.INSTANCE);
+        seal(BinaryCodec.INSTANCE);
+        seal(null);
+    }
+
+    /**
+     * Method frame returns the whole frame (length and payload) of the answer encoded with the given codec,
+     * encoding it on the first request. The returned array is shared and must not be modified.
+     *
+     * @param codec the codec of the connection.
+     * @return the encoded frame.
+     * @throws IOException if the answer can't be encoded.
+     */
+    public synchronized byte[] frame(Codec codec) throws IOException {
+        int id = codec.getId();
+        if (id >= frames.length) {
+            frames = Arrays.copyOf(frames, id + 1);
+        }
+        if (frames[id] == null) {
+            SerializedAnswer single = copy != null ? copy : answer;
+            frames[id] = Frames.frame(parts != null ? codec.encodeBatch(parts) : codec.encodeAnswer(single));
+        }
+        return frames[id];
+    }
+
+    /**
+     * Method buffer returns a read-only buffer over the shared frame, with its own position.
+     *
+     * @param codec the codec of the connection.
+     * @return a new read-only buffer over the encoded frame.
+     * @throws IOException if the answer can't be encoded.
+     */
+    public ByteBuffer buffer(Codec codec) throws IOException {
+        return ByteBuffer.wrap(frame(codec)).asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,135 @@
+package it.polimi.ingsw.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+/**
+ * FrameDeflater class compresses the answer frames of a connection which agreed on the DEFLATE compression.
+ * Every frame payload is prefixed by a flag: the payloads smaller than the threshold are sent as they are, the
+ * others go through a deflate stream which lives as long as the connection and is flushed at the end of every
+ * frame, so each frame is compressed against the dictionary and all the previous frames.
+ * The frames must be compressed in the order they are written, as the peer inflates them in that order.
+ *
+ * @see FrameInflater
+ * @see Compression#DEFLATE
+ */
+public final class FrameDeflater {
+
+    static final byte RAW = 0;
+    static final byte DEFLATED = 1;
+
+    /**
+     * Default size of the smallest payload to be compressed, smaller ones don't repay the deflate overhead.
+     */
+    public static final int DEFAULT_THRESHOLD = 128;
+
+    private static volatile int defaultThreshold = DEFAULT_THRESHOLD;
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final int threshold;
+    private boolean ended;
+
+    /**
+     * Constructor FrameDeflater creates a new deflate stream for a connection, with the configured threshold.
+     *
+     * @param codec the codec of the connection, which selects the dictionary.
+     */
+    public FrameDeflater(Codec codec) {
+        this(codec, defaultThreshold);
+    }
+
+    /**
+     * Constructor FrameDeflater creates a new deflate stream for a connection.
+     *
+     * @param codec     the codec of the connection, which selects the dictionary.
+     * @param threshold the size of the smallest payload to be compressed.
+     */
+    public FrameDeflater(Codec codec, int threshold) {
+        this.threshold = threshold;
+        deflater.setDictionary(CompressionDictionary.of(codec));
+    }
+
+    /**
+     * Method configure sets the threshold of the deflate streams created from now on, parsing the
+     * "--compression-threshold=128" argument.
+     *
+     * @param args the command line arguments, may be null.
+     */
+    public static void configure(String[] args) {
+        if (args != null) {
+            for (String arg : args) {
+                if (arg.startsWith("--compression-threshold=")) {
+                    defaultThreshold = Math.max(0, Integer.parseInt(arg.substring("--compression-threshold=".length())));
+                }
+            }
+        }
+    }
+
+    /**
+     * Method deflate turns a whole frame (length and payload) into the frame to be written on the connection.
+     *
+     * @param frame the frame encoded by the codec, which is not modified.
+     * @return the new frame, with the flagged and possibly compressed payload.
+     * @throws IOException if the stream has been ended or the frame gets too big.
+     */
+    public byte[] deflate(byte[] frame) throws IOException {
+        BufferPool pool = BufferPool.shared();
+        ByteBuffer buffer = deflate(frame, pool);
+        byte[] deflated = new byte[buffer.remaining()];
+        buffer.get(deflated);
+        pool.release(buffer);
+        return deflated;
+    }
+
+    /**
+     * Method deflate turns a whole frame (length and payload) into the frame to be written on the connection,
+     * building it in a buffer of the given pool: the compressed bytes are written straight into it.
+     *
+     * @param frame the frame encoded by the codec, which is not modified.
+     * @param pool  the pool providing the buffer.
+     * @return the new frame, ready to be written; the caller releases the buffer to the pool once it's written.
+     * @throws IOException if the stream has been ended or the frame gets too big.
+     */
+    public synchronized ByteBuffer deflate(byte[] frame, BufferPool pool) throws IOException {
+        if (ended) {
+            throw new IOException("Deflate stream closed");
+        }
+        int length = frame.length - Frames.HEADER_SIZE;
+        // a deflated payload is rarely bigger than the raw one, the buffer grows if it happens
+        ByteBuffer out = pool.acquire(Frames.HEADER_SIZE + 1 + length + (length >> 8) + 16);
+        out.position(Frames.HEADER_SIZE);
+        if (length < threshold) {
+            out.put(RAW);
+            out.put(frame, Frames.HEADER_SIZE, length);
+        } else {
+            out.put(DEFLATED);
+            deflater.setInput(frame, Frames.HEADER_SIZE, length);
+            deflater.deflate(out, Deflater.SYNC_FLUSH);
+            while (!out.hasRemaining()) {
+                // a full buffer may hide more output
+                ByteBuffer bigger = pool.acquire(out.capacity() * 2);
+                bigger.put(out.flip());
+                pool.release(out);
+                out = bigger;
+                deflater.deflate(out, Deflater.SYNC_FLUSH);
+            }
+        }
+        int payload = out.position() - Frames.HEADER_SIZE;
+        try {
+            Frames.checkLength(payload);
+        } catch (IOException e) {
+            pool.release(out);
+            throw e;
+        }
+        return out.putInt(0, payload).flip();
+    }
+
+    /**
+     * Method end releases the deflate stream, the frames can't be compressed anymore.
+     */
+    public synchronized void end() {
+        ended = true;
+        deflater.end();
+    }
+}
@@ -0,0 +1,67 @@
+package it.polimi.ingsw.network;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * FrameInflater class restores the frame payloads written by a FrameDeflater, in the order they are received.
+ * Its inflate stream lives as long as the connection, as each frame may refer to the previous ones.
+ *
+ * @see FrameDeflater
+ * @see Compression#DEFLATE
+ */
+public final class FrameInflater {
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final Inflater inflater = new Inflater(true);
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * Constructor FrameInflater creates a new inflate stream for a connection.
+     *
+     * @param codec the codec of the connection, which selects the dictionary.
+     */
+    public FrameInflater(Codec codec) {
+        inflater.setDictionary(CompressionDictionary.of(codec));
+    }
+
+    /**
+     * Method inflate restores the payload encoded by the codec from a received frame payload.
+     *
+     * @param payload the received frame payload, flag included.
+     * @return the payload to be decoded by the codec.
+     * @throws StreamCorruptedException if the payload is not valid or too big once inflated.
+     */
+    public byte[] inflate(byte[] payload) throws StreamCorruptedException {
+        if (payload.length == 0) {
+            throw new StreamCorruptedException("Missing compression flag");
+        }
+        if (payload[0] == FrameDeflater.RAW) {
+            return Arrays.copyOfRange(payload, 1, payload.length);
+        }
+        if (payload[0] != FrameDeflater.DEFLATED) {
+            throw new StreamCorruptedException("Unknown compression flag " + payload[0]);
+        }
+        inflater.setInput(payload, 1, payload.length - 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length * 4);
+        try {
+            while (true) {
+                int read = inflater.inflate(buffer);
+                if (read > 0) {
+                    out.write(buffer, 0, read);
+                    Frames.checkLength(out.size());
+                } else if (inflater.needsInput()) {
+                    return out.toByteArray();
+                } else {
+                    throw new StreamCorruptedException("Invalid compressed frame");
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new StreamCorruptedException(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package it.polimi.ingsw.network;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+
+/**
+ * Frames class defines the framed wire protocol shared by the client and the server.
+ * A framed connection starts with a preamble (the protocol magic number followed by the codec ID),
+ * then every message travels as a frame made of a 4-byte length followed by the codec-encoded payload.
+ * Connections not starting with the magic number are handled as legacy ObjectOutputStream streams.
+ */
+public final class Frames {
+
+    /**
+     * The protocol magic number ("ERTY"), it can't be confused with the Java serialization stream header.
+     */
+    public static final int MAGIC = 0x45525459;
+    public static final int PREAMBLE_SIZE = 5;
+    public static final int HEADER_SIZE = 4;
+    public static final int MAX_FRAME_SIZE = 1 << 20;
+
+    private Frames() {
+    }
+
+    /**
+     * Method writePreamble writes the framed protocol preamble on the stream.
+     *
+     * @param out   the connection output stream.
+     * @param codec the codec used for the whole connection.
+     * @throws IOException when the stream is closed.
+     */
+    public static void writePreamble(DataOutputStream out, Codec codec) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(codec.getId());
+        out.flush();
+    }
+
+    /**
+     * Method writeFrame writes a length-prefixed frame on the stream and flushes it.
+     *
+     * @param out     the connection output stream.
+     * @param payload the encoded frame payload.
+     * @throws IOException when the stream is closed.
+     */
+    public static void writeFrame(DataOutputStream out, byte[] payload) throws IOException {
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.flush();
+    }
+
+    /**
+     * Method frame builds a whole frame, length followed by the payload, ready to be written as it is.
+     *
+     * @param payload the encoded frame payload.
+     * @return the frame bytes.
+     * @throws StreamCorruptedException if the payload is bigger than the maximum frame size.
+     */
+    public static byte[] frame(byte[] payload) throws StreamCorruptedException {
+        checkLength(payload.length);
+        return ByteBuffer.allocate(HEADER_SIZE + payload.length).putInt(payload.length).put(payload).array();
+    }
+
+    /**
+     * Method readFrame reads a whole length-prefixed frame from the stream.
+     *
+     * @param in the connection input stream.
+     * @return the frame payload.
+     * @throws IOException when the stream is closed or the frame length is not valid.
+     */
+    public static byte[] readFrame(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        checkLength(length);
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return payload;
+    }
+
+    /**
+     * Method checkLength validates a frame length read from the network.
+     *
+     * @param length the declared frame length.
+     * @throws StreamCorruptedException if the length is negative or bigger than the maximum frame size.
+     */
+    public static void checkLength(int length) throws StreamCorruptedException {
+        if (length < 0 || length > MAX_FRAME_SIZE) {
+            throw new StreamCorruptedException("Invalid frame length " + length);
+        }
+    }
+
+    /**
+     * Method readCodec reads the codec ID following the magic number of a preamble.
+     *
+     * @param in the connection input stream, positioned after the magic number.
+     * @return the codec selected by the peer.
+     * @throws IOException when the stream is closed or the codec is unknown.
+     */
+    public static Codec readCodec(DataInputStream in) throws IOException {
+        int id = in.read();
+        if (id < 0) {
+            throw new EOFException();
+        }
+        return Codec.of((byte) id);
+    }
+}
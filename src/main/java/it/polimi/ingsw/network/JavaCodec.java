@@ -0,0 +1,77 @@
+package it.polimi.ingsw.network;
+
+import it.polimi.ingsw.client.messages.SerializedMessage;
+import it.polimi.ingsw.server.answers.SerializedAnswer;
+
+import java.io.*;
+
+/**
+ * JavaCodec class encodes every frame with the Java serialization, exactly like the legacy
+ * ObjectOutputStream protocol does after each reset.
+ *
+ * @see Codec
+ */
+public class JavaCodec implements Codec {
+
+    public static final byte ID = 0;
+    public static final JavaCodec INSTANCE = new JavaCodec();
+
+    /**
+     * Method getId returns the Java serialization codec ID.
+     */
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] encodeAnswer(SerializedAnswer answer) throws IOException {
+        return serialize(answer);
+    }
+
+    @Override
+    public SerializedAnswer decodeAnswer(byte[] payload) throws IOException {
+        return deserialize(payload, SerializedAnswer.class);
+    }
+
+    @Override
+    public byte[] encodeMessage(SerializedMessage message) throws IOException {
+        return serialize(message);
+    }
+
+    @Override
+    public SerializedMessage decodeMessage(byte[] payload) throws IOException {
+        return deserialize(payload, SerializedMessage.class);
+    }
+
+    /**
+     * Method serialize writes an object graph in a standalone serialization stream.
+     *
+     * @param object the object to be serialized.
+     * @return the serialized bytes.
+     * @throws IOException if the object is not serializable.
+     */
+    private static byte[] serialize(Serializable object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Method deserialize reads an object graph from a standalone serialization stream.
+     *
+     * @param payload the serialized bytes.
+     * @param type    the expected type of the serialized object.
+     * @return the deserialized object.
+     * @throws IOException if the payload is not a valid serialization stream of the expected type.
+     */
+    private static <T> T deserialize(byte[] payload, Class<T> type) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return type.cast(in.readObject());
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new InvalidObjectException(e.getMessage());
+        }
+    }
+}
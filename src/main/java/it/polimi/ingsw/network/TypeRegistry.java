@@ -0,0 +1,93 @@
+package it.polimi.ingsw.network;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TypeRegistry class maps every concrete type of a family (answers, messages) to a one-byte type ID and to
+ * the functions writing and reading its body.
+ * The type IDs are assigned in registration order, so new types must always be registered last.
+ *
+ * @param <T> the base type of the family.
+ * @see BinaryCodec
+ */
+final class TypeRegistry<T> {
+
+    /**
+     * Writer interface writes the body of a value of a registered type.
+     */
+    interface Writer<V> {
+        void write(DataOutputStream out, V value) throws IOException;
+    }
+
+    /**
+     * Reader interface reads the body of a value of a registered type.
+     */
+    interface Reader<V> {
+        V read(DataInputStream in) throws IOException;
+    }
+
+    private final Map<Class<?>, Integer> ids = new HashMap<>();
+    private final List<Writer<?>> writers = new ArrayList<>();
+    private final List<Reader<? extends T>> readers = new ArrayList<>();
+
+    /**
+     * Method register adds a type to the registry, giving it the next type ID.
+     *
+     * @param type   the concrete class of the type.
+     * @param writer the function writing the body of a value.
+     * @param reader the function reading the body of a value.
+     * @return this registry, to chain the registrations.
+     */
+    <V extends T> TypeRegistry<T> register(Class<V> type, Writer<V> writer, Reader<V> reader) {
+        ids.put(type, writers.size());
+        writers.add(writer);
+        readers.add(reader);
+        return this;
+    }
+
+    /**
+     * Method idOf returns the type ID of a registered type.
+     *
+     * @param type the registered class.
+     * @return the type ID.
+     */
+    int idOf(Class<? extends T> type) {
+        return ids.get(type);
+    }
+
+    /**
+     * Method write writes the type ID of the value followed by its body.
+     *
+     * @param out   the output stream.
+     * @param value the value to be written.
+     * @throws NotSerializableException if the type of the value is not registered.
+     */
+    @SuppressWarnings("unchecked")
+    void write(DataOutputStream out, T value) throws IOException {
+        Integer id = value != null ? ids.get(value.getClass()) : null;
+        if (id == null) {
+            throw new NotSerializableException(value != null ? value.getClass().getName() : "null");
+        }
+        out.writeByte(id);
+        ((Writer<T>) writers.get(id)).write(out, value);
+    }
+
+    /**
+     * Method read reads a type ID and the body of the corresponding type.
+     *
+     * @param in the input stream.
+     * @return the value read.
+     * @throws StreamCorruptedException if the type ID is not registered.
+     */
+    T read(DataInputStream in) throws IOException {
+        int id = in.readUnsignedByte();
+        if (id >= readers.size()) {
+            throw new StreamCorruptedException("Unknown type " + id);
+        }
+        return readers.get(id).read(in);
+    }
+}
@@ -0,0 +1,165 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.constants.ErrorType;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.server.answers.GameError;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * ActionThrottle class limits the traffic of a single connection with two token buckets: one for the frames
+ * received, checked by the read loop before a frame is decoded, and one for the actions refused by the game. Once a
+ * client has spent its refused actions, its next actions are dropped before they reach the game, until the bucket
+ * is refilled, and answered with a shared, already encoded GameError.
+ * The dropped frames and actions are counted for the whole server, see the report method.
+ *
+ * @see TokenBucket
+ */
+class ActionThrottle {
+    public static final int DEFAULT_FRAME_RATE = 100;
+    public static final int DEFAULT_FRAME_BURST = 200;
+    public static final int DEFAULT_INVALID_RATE = 5;
+    public static final int DEFAULT_INVALID_BURST = 20;
+
+    /**
+     * Answer to the dropped actions, encoded once for all the clients.
+     */
+    static final EncodedAnswer SLOW_DOWN = new EncodedAnswer(
+            new GameError(ErrorType.INVALID_MOVE, Constants.SLOW_DOWN));
+
+    private static volatile int frameRate = DEFAULT_FRAME_RATE;
+    private static volatile int frameBurst = DEFAULT_FRAME_BURST;
+    private static volatile int invalidRate = DEFAULT_INVALID_RATE;
+    private static volatile int invalidBurst = DEFAULT_INVALID_BURST;
+
+    private static final LongAdder droppedFrames = new LongAdder();
+    private static final LongAdder droppedActions = new LongAdder();
+    private static final LongAdder refusedActions = new LongAdder();
+    private static final LongAdder throttledConnections = new LongAdder();
+
+    private static final Logger logger = Logger.getLogger(ActionThrottle.class.getName());
+
+    private final ClientConnection connection;
+    private final TokenBucket frames;
+    private final TokenBucket invalidActions;
+    private volatile boolean throttled;
+
+    /**
+     * Constructor ActionThrottle creates the throttle of a connection with the configured rates.
+     *
+     * @param connection the throttled connection.
+     */
+    ActionThrottle(ClientConnection connection) {
+        this.connection = connection;
+        frames = frameRate > 0 ? new TokenBucket(frameRate, frameBurst) : null;
+        invalidActions = invalidRate > 0 ? new TokenBucket(invalidRate, invalidBurst) : null;
+    }
+
+    /**
+     * Method configure sets the rates of the throttles created from now on, parsing the "--frame-rate=100",
+     * "--frame-burst=200", "--invalid-rate=5" and "--invalid-burst=20" arguments. A rate of 0 disables the
+     * corresponding limit.
+     *
+     * @param args the command line arguments, may be null.
+     */
+    static void configure(String[] args) {
+        if (args == null) {
+            return;
+        }
+        for (String arg : args) {
+            if (arg.startsWith("--frame-rate=")) {
+                frameRate = Math.max(0, Integer.parseInt(arg.substring("--frame-rate=".length())));
+            } else if (arg.startsWith("--frame-burst=")) {
+                frameBurst = Math.max(1, Integer.parseInt(arg.substring("--frame-burst=".length())));
+            } else if (arg.startsWith("--invalid-rate=")) {
+                invalidRate = Math.max(0, Integer.parseInt(arg.substring("--invalid-rate=".length())));
+            } else if (arg.startsWith("--invalid-burst=")) {
+                invalidBurst = Math.max(1, Integer.parseInt(arg.substring("--invalid-burst=".length())));
+            }
+        }
+    }
+
+    /**
+     * Method acceptFrame checks if a frame received from the client can be decoded and dispatched.
+     *
+     * @return true if the frame is within the limit, false if it must be dropped.
+     */
+    boolean acceptFrame() {
+        if (frames == null || frames.tryAcquire()) {
+            if (throttled) {
+                throttled = false;
+            }
+            return true;
+        }
+        droppedFrames.increment();
+        throttled("frames");
+        return false;
+    }
+
+    /**
+     * Method acceptAction checks if an action of the client can be submitted to the game, that is if the client
+     * has not spent its refused actions.
+     *
+     * @return true if the action can be performed, false if it must be dropped.
+     */
+    boolean acceptAction() {
+        if (invalidActions == null || invalidActions.hasToken()) {
+            if (throttled) {
+                throttled = false;
+            }
+            return true;
+        }
+        droppedActions.increment();
+        throttled("invalid actions");
+        return false;
+    }
+
+    /**
+     * Method actionRefused records an action of the client refused by the game.
+     */
+    void actionRefused() {
+        refusedActions.increment();
+        if (invalidActions != null) {
+            invalidActions.tryAcquire();
+        }
+    }
+
+    /**
+     * Method throttled logs the first drop of a throttling episode of the connection.
+     */
+    private void throttled(String reason) {
+        if (!throttled) {
+            throttled = true;
+            throttledConnections.increment();
+            logger.log(Level.WARNING, "Throttling client " + connection.getClientID() + ": too many " + reason);
+        }
+    }
+
+    /**
+     * Method report returns the throttling metrics of the server.
+     *
+     * @return a line with the dropped frames, the refused and dropped actions and the throttling episodes.
+     */
+    static String report() {
+        return "Throttling: " + droppedFrames.sum() + " frames dropped, " + refusedActions.sum()
+                + " actions refused, " + droppedActions.sum() + " actions dropped, " + throttledConnections.sum()
+                + " throttling episodes";
+    }
+
+    /**
+     * Method getDroppedFrames returns the number of frames dropped by all the connections.
+     */
+    static long getDroppedFrames() {
+        return droppedFrames.sum();
+    }
+
+    /**
+     * Method getDroppedActions returns the number of actions dropped by all the connections.
+     */
+    static long getDroppedActions() {
+        return droppedActions.sum();
+    }
+}
@@ -0,0 +1,560 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.client.messages.*;
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.constants.ErrorType;
+import it.polimi.ingsw.controller.actions.*;
+import it.polimi.ingsw.controller.actions.characters.*;
+import it.polimi.ingsw.exceptions.OutOfBoundException;
+import it.polimi.ingsw.network.BufferPool;
+import it.polimi.ingsw.network.Codec;
+import it.polimi.ingsw.network.Compression;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.network.FrameDeflater;
+import it.polimi.ingsw.server.answers.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * ClientConnection class is the transport independent part of a connection between client and server.
+ * It dispatches the client's messages and actions, and it handles the lobby setup and the ping-pong
+ * protocol, leaving the actual reading and writing to the transport implementations. The lobby setup is driven
+ * by the messages like the rest of the protocol, so no thread waits for a client choosing his match.
+ * The answers are queued in the connection's OutboundQueue and written by a writer task, so a slow client
+ * never stalls the thread which sends them. On framed connections, the answers written after the ConnectionMessage
+ * are compressed if the client asked for it at login.
+ * The frames and the refused actions of a client are rate limited by its ActionThrottle.
+ *
+ * @see SocketClientConnection
+ * @see NioClientConnection
+ */
+public abstract class ClientConnection {
+    protected final Server server;
+    protected Integer clientID;
+    private boolean pongReceived;
+    private boolean pingSent;
+    private volatile HeartbeatWheel.Timeout heartbeatTimeout;
+    private final OutboundQueue outbound = new OutboundQueue(this);
+    private final ActionThrottle throttle = new ActionThrottle(this);
+    private volatile Compression requestedCompression = Compression.NONE;
+    private volatile FrameDeflater deflater;
+    private volatile EncodedAnswer compressionStart;
+    private volatile boolean choosingMatch; // the client has been asked the kind of match and not placed yet
+
+    protected final Logger logger = Logger.getLogger(getClass().getName());
+
+    /**
+     * Constructor ClientConnection creates a new ClientConnection instance bound to the main server.
+     *
+     * @param server of type Server - the main server class.
+     */
+    protected ClientConnection(Server server) {
+        this.server = server;
+        clientID = -1;
+    }
+
+    /**
+     * Method isActive returns the active status of the connection.
+     *
+     * @return true if the underlying transport is still open, false otherwise.
+     */
+    public abstract boolean isActive();
+
+    /**
+     * Method sendSocketMessage allows dispatching the server's Answer to the correct client. The type
+     * SerializedMessage contains an Answer type object, which represents an interface for server
+     * answer, like the client Message one.
+     *
+     * @param serverAnswer of type SerializedAnswer - the serialized server answer (interface Answer).
+     */
+    public void sendSocketMessage(SerializedAnswer serverAnswer) {
+        send(new EncodedAnswer(serverAnswer));
+    }
+
+    /**
+     * Method send queues an answer to be written to the client, without waiting for the network. The answer is
+     * encoded for the connection first, by the calling thread, so that the model it describes can't change before
+     * it's written: only the writing is left to the writer task.
+     *
+     * @param answer of type EncodedAnswer - the answer to be sent.
+     * @see OutboundQueue
+     * @see EncodedAnswer#seal(Codec)
+     */
+    public void send(EncodedAnswer answer) {
+        try {
+            answer.seal(getCodec());
+        } catch (IOException e) {
+            // the writer task fails to encode the same answer, and closes the connection
+            logger.log(Level.SEVERE, e.getMessage(), e);
+        }
+        outbound.offer(answer);
+    }
+
+    /**
+     * Method write writes an answer on the transport, reusing its encoded frame if it has already been
+     * encoded for another client with the same codec. It's called by the writer task of the connection.
+     *
+     * @param answer of type EncodedAnswer - the answer to be written.
+     * @throws IOException when the answer can't be written.
+     */
+    protected abstract void write(EncodedAnswer answer) throws IOException;
+
+    /**
+     * Method write writes the answers queued on the connection, in order. The transports writing on a
+     * GatheringByteChannel override it to write all of them with a single call.
+     *
+     * @param answers the answers to be written, in order.
+     * @throws IOException when the answers can't be written.
+     */
+    protected void write(List<EncodedAnswer> answers) throws IOException {
+        for (EncodedAnswer answer : answers) {
+            write(answer);
+        }
+    }
+
+    /**
+     * Method getCodec returns the codec of a framed connection.
+     *
+     * @return the codec chosen by the client, null if the connection doesn't use frames.
+     */
+    protected Codec getCodec() {
+        return null;
+    }
+
+    /**
+     * Method frame returns the frame of an answer to be written on the connection, compressing it once the
+     * ConnectionMessage granting the compression has been written. It's called by the writer task, which writes
+     * the answers in order.
+     *
+     * @param answer of type EncodedAnswer - the answer to be written.
+     * @param codec  of type Codec - the codec of the connection.
+     * @return the frame to be written.
+     * @throws IOException if the answer can't be encoded.
+     */
+    protected byte[] frame(EncodedAnswer answer, Codec codec) throws IOException {
+        FrameDeflater frameDeflater = deflaterFor(answer);
+        return frameDeflater == null ? answer.frame(codec) : frameDeflater.deflate(answer.frame(codec));
+    }
+
+    /**
+     * Method frameBuffer returns the frame of an answer to be written on the connection, like frame does: the
+     * shared frames are wrapped as they are, while the compressed ones are built in a pooled direct buffer, which
+     * must be given back with recycle once it has been written.
+     *
+     * @param answer of type EncodedAnswer - the answer to be written.
+     * @param codec  of type Codec - the codec of the connection.
+     * @return the frame to be written.
+     * @throws IOException if the answer can't be encoded.
+     * @see BufferPool
+     */
+    protected ByteBuffer frameBuffer(EncodedAnswer answer, Codec codec) throws IOException {
+        FrameDeflater frameDeflater = deflaterFor(answer);
+        return frameDeflater == null ? answer.buffer(codec) : frameDeflater.deflate(answer.frame(codec), BufferPool.shared());
+    }
+
+    /**
+     * Method recycle gives a frame returned by frameBuffer back to the pool, once it has been written.
+     *
+     * @param frame the written frame, may be null.
+     */
+    protected static void recycle(ByteBuffer frame) {
+        BufferPool.shared().release(frame);
+    }
+
+    /**
+     * Method deflaterFor returns the deflate stream compressing the given answer, null if the answer is sent as
+     * it is.
+     */
+    private FrameDeflater deflaterFor(EncodedAnswer answer) {
+        FrameDeflater frameDeflater = deflater;
+        if (frameDeflater != null && compressionStart != null) {
+            // the client inflates the frames following the ConnectionMessage only
+            if (compressionStart == answer) {
+                compressionStart = null;
+            }
+            return null;
+        }
+        return frameDeflater;
+    }
+
+    /**
+     * Method sendConnectionMessage confirms the login to the client, issuing his resume token and granting him the
+     * compression he asked for, if the server allows it.
+     *
+     * @param message     the message to be printed on the client's terminal.
+     * @param resumeToken the resume token of the client.
+     */
+    void sendConnectionMessage(String message, String resumeToken) {
+        Codec codec = getCodec();
+        Compression compression = codec != null && deflater == null
+                ? server.getCompression().negotiate(requestedCompression)
+                : Compression.NONE;
+        EncodedAnswer answer = new EncodedAnswer(new ConnectionMessage(message, true, resumeToken, compression));
+        if (compression == Compression.DEFLATE) {
+            compressionStart = answer;
+            deflater = new FrameDeflater(codec);
+        }
+        send(answer);
+    }
+
+    /**
+     * Method hasBacklog checks if the transport is still writing the previous answers. A transport which
+     * returns true must call backlogWritten once its backlog has been written.
+     *
+     * @return true if the transport can't accept other answers at the moment, false otherwise.
+     */
+    protected boolean hasBacklog() {
+        return false;
+    }
+
+    /**
+     * Method backlogWritten restarts the writing of the queued answers after the transport backlog has been written.
+     */
+    protected void backlogWritten() {
+        outbound.resume();
+    }
+
+    /**
+     * Method closeTransport releases the transport resources (socket, channel, streams).
+     *
+     * @throws IOException when the transport can't be closed.
+     */
+    protected abstract void closeTransport() throws IOException;
+
+    /**
+     * Method close terminates the connection with the client, closing firstly the transport once the queued
+     * answers have been written, then invoking the game handler method called "unregisterPlayer", which will
+     * remove the active virtual client from the game.
+     *
+     * @see it.polimi.ingsw.server.GameHandler#unregisterPlayer for more details.
+     */
+    public synchronized void close() {
+        if (outbound.close()) {
+            closeTransportQuietly();
+        }
+
+        GameHandler game = clientID != null ? server.getGameByID(clientID) : null;
+        if (game != null) {
+            game.unregisterPlayer(clientID);
+        } else if (clientID != null && server.getClientByID(clientID) != null) {
+            // the client left before choosing a match
+            server.unregisterClient(clientID);
+        }
+    }
+
+    /**
+     * Method closeOnError terminates a connection which can't be used anymore, discarding the queued answers.
+     */
+    protected void closeOnError() {
+        outbound.abort();
+        close();
+    }
+
+    /**
+     * Method closeTransportQuietly closes the transport, logging the errors.
+     */
+    void closeTransportQuietly() {
+        try {
+            closeTransport();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, e.getMessage());
+        }
+        FrameDeflater frameDeflater = deflater;
+        if (frameDeflater != null) {
+            frameDeflater.end();
+        }
+    }
+
+    /**
+     * Method acceptFrame checks if a frame received from the client is within its rate limit. The read loops call
+     * it before decoding the frame, so that a flooding client costs as little as possible.
+     *
+     * @return true if the frame can be decoded and dispatched, false if it must be dropped.
+     * @see ActionThrottle#acceptFrame
+     */
+    protected boolean acceptFrame() {
+        return throttle.acceptFrame();
+    }
+
+    /**
+     * Method actionRefused records an action of the client refused by the game, which counts towards the limit of
+     * the refused actions.
+     */
+    void actionRefused() {
+        throttle.actionRefused();
+    }
+
+    /**
+     * Method dispatch forwards a message received from the client to the correct action handler.
+     *
+     * @param input the serialized message received from the client.
+     */
+    protected void dispatch(SerializedMessage input) {
+        synchronized (this) {
+            if (input.message != null) {
+                Message command = input.message;
+                actionHandler(command);
+            } else if (input.action != null) {
+                Action action = input.action;
+                actionHandler(action);
+            }
+        }
+    }
+
+    /**
+     * Method actionHandler handles an action by receiving a message from the client.
+     *
+     * @param command of type Message - the Message interface type command, which needs to be checked
+     *                in order to perform an action.
+     */
+    public void actionHandler(Message command) {
+        if (command instanceof LoginMessage) {
+            setupConnection((LoginMessage) command);
+        }
+        else if (command instanceof PongMessage) {
+            pongReceived = true;
+        }
+        else if (command instanceof SetupMessage) {
+            chooseMatch((SetupMessage) command);
+        }
+        else if (command instanceof ActionBatchMessage) {
+            actionHandler((ActionBatchMessage) command);
+        }
+        else if (command instanceof ResyncMessage) {
+            GameHandler gameHandler = server.getGameByID(clientID);
+            if (gameHandler != null) {
+                gameHandler.resync(clientID);
+            }
+        }
+    }
+
+    /**
+     * Method actionHandler handles an action by parsing from what it's received an action from the client.
+     * The actions of a client which has sent too many refused ones are dropped.
+     *
+     * @param action the generic action to be executed.
+     */
+    public void actionHandler(Action action) {
+        if (!throttle.acceptAction()) {
+            // the client has spent its refused actions: the move is dropped before it reaches the game
+            send(ActionThrottle.SLOW_DOWN);
+            return;
+        }
+        Performable move = toPerformable(server.getNicknameByID(clientID), action);
+        if (move == null) {
+            server.getClientByID(clientID).send(new GameError(ErrorType.INVALID_MOVE, "Specified move is badly formatted."));
+            return;
+        }
+        GameHandler gameHandler = server.getGameByID(clientID);
+        if (gameHandler != null) {
+            gameHandler.submitAction(move, server.getClientByID(clientID));
+        }
+    }
+
+    /**
+     * Method actionHandler handles a batch of actions, which the game executes all together or not at all.
+     * The whole batch counts as a single action for the throttling of the connection. The batches are refused on
+     * the legacy connections, which don't use frames, since their clients can't receive the ActionResultsMessage.
+     *
+     * @param batch the actions to be executed, in order.
+     */
+    private void actionHandler(ActionBatchMessage batch) {
+        if (getCodec() == null) {
+            server.getClientByID(clientID).send(new GameError(ErrorType.INVALID_MOVE,
+                    "Batches of moves need the framed protocol, send the moves one at a time."));
+            return;
+        }
+        if (!throttle.acceptAction()) {
+            send(ActionThrottle.SLOW_DOWN);
+            return;
+        }
+        if (batch.actions.isEmpty() || batch.actions.size() > Constants.MAX_BATCH_ACTIONS) {
+            server.getClientByID(clientID).send(new GameError(ErrorType.INVALID_MOVE,
+                    "A batch holds from 1 to " + Constants.MAX_BATCH_ACTIONS + " moves."));
+            return;
+        }
+        String nickname = server.getNicknameByID(clientID);
+        List<Performable> moves = new ArrayList<>(batch.actions.size());
+        for (Action action : batch.actions) {
+            Performable move = toPerformable(nickname, action);
+            if (move == null) {
+                server.getClientByID(clientID).send(new GameError(ErrorType.INVALID_MOVE, "Specified move is badly formatted."));
+                return;
+            }
+            moves.add(move);
+        }
+        GameHandler gameHandler = server.getGameByID(clientID);
+        if (gameHandler != null) {
+            gameHandler.submitActions(moves, server.getClientByID(clientID));
+        }
+    }
+
+    /**
+     * Method toPerformable creates the game action asked by a client.
+     *
+     * @param nickname the nickname of the client.
+     * @param action   the action received from the client.
+     * @return the Performable to be executed, null if the action is badly formatted.
+     */
+    private static Performable toPerformable(String nickname, Action action) {
+        if (action == null || action.actionType == null) {
+            return null;
+        }
+        return switch (action.actionType) {
+            case CHOOSE_MAGICIAN -> new ChooseMagician(nickname, action.int0);
+            case PLAY_CARD -> new PlayCard(nickname, action.int0);
+            case MOVE_MOTHER_NATURE -> new MoveMotherNature(nickname, action.int0);
+            case MOVE_STUDENT_ISLAND -> new MoveStudentFromEntryToIsland(nickname, action.color0, action.int0);
+            case MOVE_STUDENT_HALL -> new MoveStudentFromEntryToHall(nickname, action.color0);
+            case CHOOSE_CLOUD -> new ChooseCloud(nickname, action.int0);
+            case ACTIVATE_CARD -> new ActivateCard(nickname, action.int0);
+            case DEACTIVATE_CARD -> new DeactivateCard(nickname, action.int0);
+            case GRANDMA_BLOCK -> new GrandmaBlockIsland(nickname, action.int0);
+            case HERALD_CHOOSE -> new HeraldChooseIsland(nickname, action.int0);
+            case JOKER_SWAP -> new JokerSwapStudents(nickname, action.color0, action.color1);
+            case MINSTREL_SWAP -> new MinstrelSwapStudents(nickname, action.color0, action.color1);
+            case MONK_MOVE -> new MonkMoveToIsland(nickname, action.color0, action.int0);
+            case MUSHROOM_CHOOSE -> new MushroomChooseColor(nickname, action.color0);
+            case PRINCESS_MOVE -> new PrincessMoveToHall(nickname, action.color0);
+            case THIEF_CHOOSE -> new ThiefChooseColor(nickname, action.color0);
+            default -> null;
+        };
+    }
+
+    /**
+     * Method setupConnection checks the validity of the connection message received from the client. A client
+     * presenting a valid resume token gets his session back, otherwise he's registered or recovered by nickname.
+     *
+     * @param command of type SetupConnection - the connection command.
+     */
+    private void setupConnection(LoginMessage command) {
+        requestedCompression = command.getCompression();
+        if (command.getResumeToken() != null) {
+            Integer resumed = server.resumeConnection(command.getResumeToken(), command.getNickname(), this);
+            if (resumed != null) {
+                clientID = resumed;
+                return;
+            }
+        }
+        if (!server.isNicknameTaken(command.getNickname())) {
+            clientID = server.registerNewConnection(command.getNickname(), this);
+            if (clientID == null) {
+                return;
+            }
+            server.lobby(this);
+
+        } else {
+            clientID = server.recoverConnection(command.getNickname(), this);
+        }
+    }
+
+    /**
+     * Method setup is a setup method. It asks the user the kind of match he wants to play, sending the
+     * given ReqPlayersMessage; his SetupMessage is then handled by chooseMatch when it's received.
+     *
+     * @param message of type RequestPlayersNumber - the request sent to the user.
+     */
+    public void setup(ReqPlayersMessage message) {
+        choosingMatch = true;
+        SerializedAnswer ans = new SerializedAnswer();
+        ans.setServerAnswer(message);
+        sendSocketMessage(ans);
+    }
+
+    /**
+     * Method chooseMatch places the user in a lobby of the players number and game mode he has chosen, asking
+     * again if the choice is not valid. A SetupMessage received when the user hasn't been asked, or after he has
+     * been placed, is ignored; while the server is draining, the user is sent away instead.
+     *
+     * @param command the choice of the user.
+     * @see LobbyManager#join
+     */
+    private void chooseMatch(SetupMessage command) {
+        if (!choosingMatch) {
+            return;
+        }
+        if (server.isDraining()) {
+            choosingMatch = false;
+            server.lobby(this);
+            return;
+        }
+        try {
+            server.getLobbies().join(server.getClientByID(clientID), command.playersNumber, command.expertMode);
+            choosingMatch = false;
+        } catch (OutOfBoundException e) {
+            server.getClientByID(this.clientID).send(new CustomMessage("Error: not a valid " + "input! Please provide a value of 2 or 3."));
+            server.getClientByID(this.clientID).send(new ReqPlayersMessage("Choose the number" + " of players!\n setup [2/3] [?expert]"));
+        }
+    }
+
+    /**
+     * Method startHeartbeat schedules the ping-pong protocol of the connection on the server's heartbeat wheel.
+     */
+    protected void startHeartbeat() {
+        heartbeatTimeout = server.getHeartbeat().schedule(this::heartbeat, Constants.PING_TIMEOUT_MS);
+    }
+
+    /**
+     * Method stopHeartbeat cancels the next step of the ping-pong protocol.
+     */
+    protected void stopHeartbeat() {
+        HeartbeatWheel.Timeout timeout = heartbeatTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Method heartbeat runs one step of the ping-pong protocol: it checks the answer to the previous
+     * ping, which is due by now, then it pings the client again and schedules the next step after
+     * PING_TIMEOUT_MS.
+     */
+    private void heartbeat() {
+        if (pingSent && isActive()) {
+            checkPong();
+        }
+        boolean gameStarted = clientID != null && server.getGameByID(clientID) != null && server.getGameByID(clientID).isStarted();
+        pingSent = gameStarted && isActive();
+        if (pingSent) {
+            ping();
+        }
+        if (isActive()) {
+            startHeartbeat();
+        }
+    }
+
+    /**
+     * Method ping allows the server to check if a client is still connected.
+     */
+    public void ping() {
+        SerializedAnswer answer = new SerializedAnswer();
+        answer.setServerAnswer(new PingMessage());
+        sendSocketMessage(answer);
+    }
+
+    /**
+     * Method checkPong closes the connection if a pong response has not been received
+     */
+    protected synchronized void checkPong(){
+        if(pongReceived)
+            pongReceived = false;
+        else{
+            logger.log(Level.SEVERE, "PONG not received from clientID" + clientID);
+            close();
+        }
+    }
+
+    /**
+     * Method getClientID returns the clientID of this ClientConnection object.
+     *
+     * @return the clientID (type Integer) of this ClientConnection object.
+     */
+    public Integer getClientID() {
+        return clientID;
+    }
+}
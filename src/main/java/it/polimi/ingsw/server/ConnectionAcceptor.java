@@ -0,0 +1,27 @@
+package it.polimi.ingsw.server;
+
+/**
+ * ConnectionAcceptor interface is implemented by the server transports, which accept the clients'
+ * connections and bind them to the main server.
+ *
+ * @see SocketServer
+ * @see NioSocketServer
+ * @see WebSocketServer
+ */
+public interface ConnectionAcceptor extends Runnable {
+
+    /**
+     * Method setActive sets the active status of the acceptor; an inactive acceptor stops accepting connections.
+     *
+     * @param value the active status of the acceptor.
+     */
+    void setActive(boolean value);
+
+    /**
+     * Method stopAccepting stops accepting new connections, leaving the accepted ones open, as the server does
+     * while it's draining.
+     */
+    default void stopAccepting() {
+        setActive(false);
+    }
+}
@@ -5,32 +5,54 @@ import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.controller.actions.Performable;
 import it.polimi.ingsw.controller.*;
 import it.polimi.ingsw.exceptions.GameException;
+import it.polimi.ingsw.exceptions.InvalidBatchException;
 import it.polimi.ingsw.exceptions.InvalidPlayerException;
 import it.polimi.ingsw.exceptions.RoundOwnerException;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.network.EncodedAnswer;
 import it.polimi.ingsw.server.answers.*;
+import it.polimi.ingsw.server.answers.model.IslandsMessage;
+import it.polimi.ingsw.server.answers.model.SchoolMessage;
 
 import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * GameHandler class handles a single match, instantiating a Game and a main GameManager.
+ * Every change of the match runs on the game's mailbox, one at a time: the clients' actions, their
+ * disconnections and reconnections and the winning timer are queued there by the threads which receive them.
+ *
+ * @see GameMailbox
  */
 public class GameHandler {
 
     private static final String PLAYER = "Player";
+    private static final long COUNTDOWN_STEP_MS = 500;
+    private static volatile Long gameSeed; // the base seed of the games, null for a random seed per game
+    private static final AtomicLong SEEDED_GAMES = new AtomicLong(); // the games created from the base seed
     private final Server server;
     private final GameManager controller;
     private final Game game;
     private final PropertyChangeSupport controllerListener = new PropertyChangeSupport(this);
-    private boolean isStarted;
-    private boolean isEnded;
+    private volatile boolean isStarted;
+    private volatile boolean isEnded;
     private int playersNumber;
-    Timer timer = new Timer("WinningTimer"); // to decree victory in case of 1 player remaining
+    private Thread winningTimer; // to decree victory in case of 1 player remaining
+    private final Object winningTimerLock = new Object();
+    private final Object sharedLock = new Object();
+    private Object sharedEvent;
+    private EncodedAnswer sharedAnswer;
+    private final ThreadLocal<UpdateBatch> batch = new ThreadLocal<>();
+    private final GameMailbox mailbox = new GameMailbox();
+    private ReconnectSnapshot snapshot; // the last state sent to a rejoining player
+    private final CompletableFuture<Void> started = new CompletableFuture<>();
 
     /**
      * Constructor GameHandler creates a new GameHandler instance.
@@ -41,11 +63,31 @@ public class GameHandler {
         this.server = server;
         isStarted = false;
         isEnded = false;
-        game = new Game();
+        Long baseSeed = gameSeed;
+        game = baseSeed != null ? new Game(baseSeed + SEEDED_GAMES.getAndIncrement()) : new Game();
         controller = new GameManager(game, this);
         controllerListener.addPropertyChangeListener(controller);
     }
 
+    /**
+     * Method configure sets the base seed of the games created from now on, parsing the "--game-seed=42"
+     * argument, so that a game can be replayed: the games get the seeds 42, 43, 44 and so on, in the order they
+     * are created, and every game logs its seed when it starts. Without it every game gets a random seed.
+     *
+     * @param args the command line arguments, may be null.
+     */
+    static void configure(String[] args) {
+        if (args == null) {
+            return;
+        }
+        for (String arg : args) {
+            if (arg.startsWith("--game-seed=")) {
+                SEEDED_GAMES.set(0);
+                gameSeed = Long.parseLong(arg.substring("--game-seed=".length()));
+            }
+        }
+    }
+
     /**
      * Method createPlayer calls the Model player creator when a new player joins a game.
      *
@@ -57,14 +99,34 @@ public class GameHandler {
     }
 
     /**
-     * Method reEnterPlay lets a player join a game that he has previously left.
+     * Method execute queues a task on the game's mailbox. A task queued while the mailbox is running another
+     * task of the same game is run at once.
+     *
+     * @param task the task to be run.
+     */
+    public void execute(Runnable task) {
+        mailbox.execute(task);
+    }
+
+    /**
+     * Method reEnterPlay lets a player join a game that he has previously left, sending the whole game state
+     * to him only, in a single frame. It runs on the game's mailbox.
      *
      * @param nickname the name of the player that has joined.
+     * @see ReconnectSnapshot
      */
     public void reEnterPlayer(String nickname) {
+        execute(() -> reEnter(nickname));
+    }
+
+    private void reEnter(String nickname) {
+        VirtualClient client = server.getClientByID(server.getIDByNickname(nickname));
         game.addPlayerToBeReconnected(nickname);
-        game.createListeners(server.getClientByID(server.getIDByNickname(nickname)));
-        game.fireInitialState();
+        game.createListeners(client);
+        if (snapshot == null || !snapshot.isCurrent()) {
+            snapshot = new ReconnectSnapshot(game);
+        }
+        game.getPlayerByNickname(nickname).ifPresent(player -> client.sendNow(snapshot.forPlayer(player)));
         if (game.numActivePlayers() == 1) {
             reEnterWaitingPlayers();
         }
@@ -85,8 +147,33 @@ public class GameHandler {
      * @param message the message to forward to all the players.
      */
     public void sendAll(Answer message) {
+        EncodedAnswer answer = new EncodedAnswer(message);
         for (Player p : game.getPlayers()) {
-            server.getClientByID(p.getID()).send(message);
+            server.getClientByID(p.getID()).send(answer);
+        }
+    }
+
+    /**
+     * Method sendAll sends a delta to all the clients connected to the game, and the whole snapshot it changes
+     * to the legacy clients, which can't apply the deltas.
+     *
+     * @param delta    the change to forward to the players.
+     * @param snapshot the whole property changed by the delta.
+     * @see VirtualClient#receivesDeltas()
+     */
+    public void sendAll(Answer delta, Answer snapshot) {
+        EncodedAnswer deltaAnswer = new EncodedAnswer(delta);
+        EncodedAnswer snapshotAnswer = null;
+        for (Player p : game.getPlayers()) {
+            VirtualClient client = server.getClientByID(p.getID());
+            if (client.receivesDeltas()) {
+                client.send(deltaAnswer);
+            } else {
+                if (snapshotAnswer == null) {
+                    snapshotAnswer = new EncodedAnswer(snapshot);
+                }
+                client.send(snapshotAnswer);
+            }
         }
     }
 
@@ -97,13 +184,32 @@ public class GameHandler {
      * @param message the message to forward to all but one player.
      */
     public void sendAllExcept(Answer message, int excludedID) {
+        EncodedAnswer answer = new EncodedAnswer(message);
         for (Player p : game.getActivePlayers()) {
-            if (server.getIDByNickname(p.getNickname()) != excludedID) {
-                server.getClientByID(p.getID()).send(message);
+            if (p.getID() != excludedID) {
+                server.getClientByID(p.getID()).send(answer);
             }
         }
     }
 
+    /**
+     * Method share returns the shared encoding of the answer generated by a model event. The model notifies
+     * the same event to the listeners of every client, so only the first one of them creates the encoding.
+     *
+     * @param event   the model event which generated the answer.
+     * @param message the answer built from the event.
+     * @return the answer to be sent, shared by all the listeners of the event.
+     */
+    public EncodedAnswer share(Object event, Answer message) {
+        synchronized (sharedLock) {
+            if (sharedEvent != event) {
+                sharedEvent = event;
+                sharedAnswer = new EncodedAnswer(message);
+            }
+            return sharedAnswer;
+        }
+    }
+
     /**
      * Method setPlayersNumber assigns the game's player number (decided at the game setup phase).
      *
@@ -136,7 +242,7 @@ public class GameHandler {
      *
      * @return true if the game has ended, false otherwise.
      */
-    public synchronized boolean isEnded() {
+    public boolean isEnded() {
         return isEnded;
     }
 
@@ -161,33 +267,77 @@ public class GameHandler {
     /**
      * Method setEnded ends a currently not ended game to the ended status.
      */
-    public synchronized void setEnded() {
+    public void setEnded() {
         isEnded = true;
     }
 
     /**
      * Method startGame initializes the main controller class, which in turn initializes the model class.
-     * This method is needed for a game to begin.
+     * This method is needed for a game to begin, and logs the seed of the game to replay it. The countdown and
+     * then the initialization run on the game's mailbox, one step after the other, so the calling thread is never
+     * held up; the countdown waits between its steps without keeping a worker of the mailboxes.
+     * The game is initialized and marked as started by the same task, so no move can be played before the game
+     * has started; a game ended during the countdown, because a player has left, is not initialized at all.
      */
-    public void startGame() throws InterruptedException {
+    public void startGame() {
+        Executor countdown = CompletableFuture.delayedExecutor(COUNTDOWN_STEP_MS, TimeUnit.MILLISECONDS, mailbox);
+        CompletableFuture<Void> steps = CompletableFuture.completedFuture(null);
+        for (int i = 3; i > 0; i--) {
+            String message = "Match starting in " + i;
+            steps = steps.thenRunAsync(() -> {
+                if (!isEnded()) {
+                    sendAll(new CustomMessage(message));
+                }
+            }, i == 3 ? mailbox : countdown);
+        }
+        steps.thenRunAsync(this::begin, countdown).whenComplete((ignored, e) -> {
+            if (e != null) {
+                System.err.println(Constants.getErr() + "The game could not be started: " + e.getMessage());
+            }
+            started.complete(null);
+        });
+    }
+
+    /**
+     * Method begin initializes the game at the end of the countdown, unless it has already ended, and marks it as
+     * started. It runs on the game's mailbox.
+     */
+    private void begin() {
+        if (isEnded()) {
+            return;
+        }
         // add listeners for all players to the model
         for (Player p : game.getPlayers()) {
             game.createListeners(server.getClientByID(p.getID()));
         }
-        controller.initGame();
-        for (int i = 3; i > 0; i--) {
-            sendAll(new CustomMessage("Match starting in " + i));
-            TimeUnit.MILLISECONDS.sleep(500);
+        System.out.println(Constants.getInfo() + "Starting a game of " + game.getPlayers().size()
+                + " players with seed " + game.getSeed());
+        beginBatch();
+        try {
+            controller.initGame();
+            sendAll(new CustomMessage("The match has started!"));
+        } finally {
+            commitBatch();
         }
-        sendAll(new CustomMessage("The match has started!"));
         isStarted = true;
     }
 
+    /**
+     * Method whenStarted returns a future completed once the countdown of the game is over, after the game
+     * has started, has ended during the countdown or has failed to start.
+     *
+     * @return a copy of the future completed at the end of the start of the game.
+     */
+    CompletableFuture<Void> whenStarted() {
+        return started.copy();
+    }
+
     /**
      * Method endGame sets a game to the ended status, terminating connections to all the connected clients.
      * This method is needed for a game to end.
      */
     public void endGame() {
+        flushBatch();
         setEnded();
         game.setGameState(GameState.GAME_ENDED);
         while (!game.getActivePlayers().isEmpty()) {
@@ -202,10 +352,13 @@ public class GameHandler {
      * @param leftNickname the name of the player that has left.
      * @see GameHandler#reEnterPlayer(String)
      */
-    public synchronized void endGame(String leftNickname) {
+    public void endGame(String leftNickname) {
+        setEnded();
+        server.getLobbies().close(this);
         stopWinningTimer();
         sendAll(new ConnectionMessage(PLAYER + " " + leftNickname + " left the game, the match will now end." +
                 "\nThanks for playing!", false));
+        flushBatch();
 
         while (!game.getActivePlayers().isEmpty()) {
             server.getClientByID(game.getActivePlayers().get(0).getID()).getConnection().close();
@@ -215,12 +368,38 @@ public class GameHandler {
         }
     }
 
+    /**
+     * Method shutdown ends a running game because the server is stopping, telling the players why and closing their
+     * connections once the answers queued for them have been written. It runs on the game's mailbox.
+     *
+     * @param reason the message shown to the players.
+     */
+    public void shutdown(String reason) {
+        execute(() -> {
+            if (isEnded()) {
+                return;
+            }
+            setEnded();
+            stopWinningTimer();
+            sendAll(new ConnectionMessage(reason, false));
+            flushBatch();
+            while (!game.getActivePlayers().isEmpty()) {
+                server.getClientByID(game.getActivePlayers().get(0).getID()).getConnection().close();
+            }
+        });
+    }
+
     /**
      * Method unregisterPlayer lets a player leave the game. If the game is set to the setup phase, the game then ends.
+     * It runs on the game's mailbox.
      *
      * @param id the ID of the player that is leaving.
      */
-    public synchronized void unregisterPlayer(int id) {
+    public void unregisterPlayer(int id) {
+        execute(() -> unregister(id));
+    }
+
+    private void unregister(int id) {
         game.setPlayerConnected(id, false);
         boolean isGameEnded = isEnded() || !isStarted() || isSetupPhase() || getActivePlayers().size() == 0
                 || game.getGameState() == GameState.SETUP_CHOOSE_MAGICIAN;
@@ -234,6 +413,34 @@ public class GameHandler {
         }
     }
 
+    /**
+     * Method resync sends the whole islands and schools to a client which has missed some of their changes,
+     * in a single batch. It runs on the game's mailbox.
+     *
+     * @param id the ID of the client to be updated.
+     */
+    public void resync(int id) {
+        execute(() -> sendSnapshot(id));
+    }
+
+    private void sendSnapshot(int id) {
+        VirtualClient client = server.getClientByID(id);
+        if (client == null || game.getIslandContainer() == null) {
+            return;
+        }
+        beginBatch();
+        try {
+            client.send(new IslandsMessage(game.getIslandContainer()));
+            for (Player player : game.getPlayers()) {
+                if (player.getSchool() != null) {
+                    client.send(new SchoolMessage(player.getNickname(), player.getSchool()));
+                }
+            }
+        } finally {
+            commitBatch();
+        }
+    }
+
     /**
      * Method sendVictory send the win message to the player that has won, and to the other players that they have lost.
      *
@@ -247,21 +454,41 @@ public class GameHandler {
     /**
      * Method startWinningTimer starts a timer when a game is left with only one player.
      * When the timer ends with no reconnection by any player, the last connected player wins.
+     * The timer is a sleeping thread (virtual in virtual threads mode), cancelled by interrupting it.
      */
     private void startWinningTimer() {
         if (game.numActivePlayers() == 1 && !isEnded()) {
-            TimerTask timerTask = new TimerTask() {
-                @Override
-                public void run() {
-                    if (game.getActivePlayers().size() > 0) {
-                        sendAll(new CustomMessage("You WON, you are the only player and are passed " + Constants.DELAY_WINNING_TIMER + " seconds"));
-                        sendAll(new WinMessage(game.getPlayers().stream().filter(Player::isActive).findFirst().get().getNickname()));
-                        endGame();
-                    }
+            synchronized (winningTimerLock) {
+                if (winningTimer == null) {
+                    winningTimer = ServerThreads.start("WinningTimer", this::runWinningTimer);
                 }
-            };
-            timer.schedule(timerTask, Constants.DELAY_WINNING_TIMER * 1000);
+            }
+        }
+    }
+
+    /**
+     * Method runWinningTimer waits for the winning delay, then decrees the last connected player as the winner,
+     * unless the timer has been stopped in the meantime.
+     */
+    private void runWinningTimer() {
+        try {
+            TimeUnit.SECONDS.sleep(Constants.DELAY_WINNING_TIMER);
+        } catch (InterruptedException e) {
+            return;
+        }
+        synchronized (winningTimerLock) {
+            if (winningTimer != Thread.currentThread()) {
+                return;
+            }
+            winningTimer = null;
         }
+        execute(() -> {
+            if (!isEnded() && game.getActivePlayers().size() > 0) {
+                sendAll(new CustomMessage("You WON, you are the only player and are passed " + Constants.DELAY_WINNING_TIMER + " seconds"));
+                sendAll(new WinMessage(game.getPlayers().stream().filter(Player::isActive).findFirst().get().getNickname()));
+                endGame();
+            }
+        });
     }
 
     /**
@@ -269,12 +496,65 @@ public class GameHandler {
      * is joined by a previously disconnected one.
      */
     private void stopWinningTimer() {
-        timer.cancel();
-        timer = new Timer("winningTimer");
+        synchronized (winningTimerLock) {
+            if (winningTimer != null) {
+                winningTimer.interrupt();
+                winningTimer = null;
+            }
+        }
+    }
+
+    /**
+     * Method submitAction queues an action of a client on the game's mailbox; the client receives a GameError
+     * if the action is refused, which counts towards the throttling of his connection.
+     *
+     * @param action of type Performable. The action that needs to be executed.
+     * @param sender the client which has sent the action.
+     */
+    public void submitAction(Performable action, VirtualClient sender) {
+        execute(() -> {
+            try {
+                performAction(action);
+            } catch (GameException | InvalidPlayerException | RoundOwnerException e) {
+                sender.getConnection().actionRefused();
+                sender.send(new GameError(e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Method submitActions queues a batch of actions of a client on the game's mailbox. The actions are executed
+     * all together or not at all, their updates are sent in a single frame and the client receives an
+     * ActionResultsMessage with the result of each action; a refused batch counts towards the throttling of his
+     * connection as a single refused action.
+     *
+     * @param actions the actions that need to be executed, in order.
+     * @param sender  the client which has sent the actions.
+     * @see ActionResultsMessage
+     */
+    public void submitActions(List<Performable> actions, VirtualClient sender) {
+        execute(() -> {
+            List<String> results = new ArrayList<>(Collections.nCopies(actions.size(), (String) null));
+            beginBatch();
+            try {
+                try {
+                    controller.performActions(actions);
+                } catch (InvalidBatchException e) {
+                    sender.getConnection().actionRefused();
+                    for (int i = 0; i < results.size(); i++) {
+                        results.set(i, i == e.getIndex() ? e.getMessage() : ActionResultsMessage.NOT_PERFORMED);
+                    }
+                }
+                sender.send(new ActionResultsMessage(results));
+            } finally {
+                commitBatch();
+            }
+        });
     }
 
     /**
      * Method performAction calls the homonym method on the controller and executes a given action on the controller.
+     * It must be called by the game's mailbox.
      *
      * @param action of type Performable. The action that needs to be executed.
      * @throws InvalidPlayerException if the action's player is not in the current game.
@@ -282,6 +562,66 @@ public class GameHandler {
      * @throws GameException          if there is no round owner, or you are the only player left in the game (the game is frozen).
      */
     public void performAction(Performable action) throws InvalidPlayerException, RoundOwnerException, GameException {
-        controller.performAction(action);
+        beginBatch();
+        try {
+            controller.performAction(action);
+        } finally {
+            commitBatch();
+        }
+    }
+
+    /**
+     * Method beginBatch opens an update batch scope on the current thread: until it's committed, the answers
+     * sent to the game's clients by this thread are collected instead of being written.
+     * Scopes can be nested, only the outermost commit sends the answers.
+     *
+     * @see UpdateBatch
+     */
+    public void beginBatch() {
+        UpdateBatch currentBatch = batch.get();
+        if (currentBatch == null) {
+            currentBatch = new UpdateBatch();
+            batch.set(currentBatch);
+        }
+        currentBatch.begin();
+    }
+
+    /**
+     * Method commitBatch closes the current update batch scope; closing the outermost one sends every
+     * collected answer, in a single frame for each client.
+     */
+    public void commitBatch() {
+        UpdateBatch currentBatch = batch.get();
+        if (currentBatch != null && currentBatch.end()) {
+            batch.remove();
+            currentBatch.flush();
+        }
+    }
+
+    /**
+     * Method flushBatch sends the answers collected so far by the current thread, keeping the batch open.
+     * It's needed before closing the clients' connections.
+     */
+    private void flushBatch() {
+        UpdateBatch currentBatch = batch.get();
+        if (currentBatch != null) {
+            currentBatch.flush();
+        }
+    }
+
+    /**
+     * Method collect adds an answer to the current thread's update batch, if there is one.
+     *
+     * @param client the recipient of the answer.
+     * @param answer the answer to be sent.
+     * @return true if the answer has been collected, false if it must be sent at once.
+     */
+    boolean collect(VirtualClient client, EncodedAnswer answer) {
+        UpdateBatch currentBatch = batch.get();
+        if (currentBatch == null) {
+            return false;
+        }
+        currentBatch.add(client, answer);
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package it.polimi.ingsw.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * GameMailbox class is the mailbox of a game: every task touching the game state is queued here and the tasks
+ * are run one at a time, in order, so the game state is only used by one thread at a time without any lock.
+ * The mailboxes of all the games are drained by a fixed pool of workers, one for each processor: a worker runs
+ * a bounded number of tasks of a mailbox and then leaves room to the other games, so the games are spread over
+ * the cores and a busy game can't starve the others.
+ *
+ * @see GameHandler#execute
+ */
+class GameMailbox implements Executor {
+
+    /**
+     * Number of tasks run before the worker leaves room to the other mailboxes.
+     */
+    static final int THROUGHPUT = 32;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile Thread drainer;
+
+    private static final Logger LOGGER = Logger.getLogger(GameMailbox.class.getName());
+
+    /**
+     * Workers class holds the pool draining the mailboxes, created when the first task is queued.
+     */
+    private static final class Workers {
+        private static final AtomicInteger COUNT = new AtomicInteger();
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(), r -> {
+                    Thread thread = new Thread(r, "game-worker-" + COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Method execute queues a task on the mailbox. A task queued by a task of the same mailbox is run at once,
+     * as the calling thread already owns the game.
+     *
+     * @param task the task to be run.
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (isOwner()) {
+            task.run();
+            return;
+        }
+        tasks.add(task);
+        schedule();
+    }
+
+    /**
+     * Method isOwner checks if the current thread is the one running the tasks of the mailbox.
+     *
+     * @return true if the current thread is draining the mailbox, false otherwise.
+     */
+    boolean isOwner() {
+        return drainer == Thread.currentThread();
+    }
+
+    /**
+     * Method schedule hands the mailbox to a worker, unless it's already scheduled.
+     */
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            Workers.EXECUTOR.execute(this::drain);
+        }
+    }
+
+    /**
+     * Method drain runs up to THROUGHPUT tasks, then schedules the mailbox again if there are other tasks.
+     */
+    private void drain() {
+        drainer = Thread.currentThread();
+        try {
+            Runnable task;
+            for (int i = 0; i < THROUGHPUT && (task = tasks.poll()) != null; i++) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.SEVERE, e.getMessage(), e);
+                }
+            }
+        } finally {
+            drainer = null;
+            scheduled.set(false);
+        }
+        if (!tasks.isEmpty()) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package it.polimi.ingsw.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * HeartbeatWheel class is the server-wide hashed timer wheel which schedules the pings and the pong deadlines of
+ * every connection.
+ * The wheel is an array of buckets, each one covering a tick: a timeout is put in the bucket of its deadline, with
+ * the number of full rounds left before it expires. Scheduling and cancelling a timeout cost O(1), and every tick
+ * only visits the timeouts of its bucket, so thousands of connections are checked by a single ticker thread and a
+ * handful of workers instead of a sleeping thread each.
+ * The expired tasks run on the workers, so a slow task never delays the following ticks.
+ */
+public class HeartbeatWheel {
+
+    public static final long DEFAULT_TICK_MS = 100;
+    public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger state = new AtomicInteger(INIT);
+    private final ExecutorService workers;
+    private Thread ticker;
+    private volatile long startTime;
+
+    private static final int INIT = 0;
+    private static final int STARTED = 1;
+    private static final int STOPPED = 2;
+
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /**
+     * Constructor HeartbeatWheel creates a wheel with the default tick duration and size.
+     */
+    public HeartbeatWheel() {
+        this(DEFAULT_TICK_MS, DEFAULT_TICKS_PER_WHEEL, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Constructor HeartbeatWheel creates a new HeartbeatWheel instance. The ticker thread is started by the first
+     * scheduled timeout.
+     *
+     * @param tickMs        the duration of a tick, that is the precision of the timeouts, in milliseconds.
+     * @param ticksPerWheel the number of buckets, rounded up to a power of two.
+     * @param workers       the number of threads running the expired tasks.
+     */
+    public HeartbeatWheel(long tickMs, int ticksPerWheel, int workers) {
+        if (tickMs <= 0 || ticksPerWheel <= 0 || workers <= 0) {
+            throw new IllegalArgumentException("The wheel parameters must be positive");
+        }
+        tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        wheel = new Bucket[Math.max(1, size)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = wheel.length - 1;
+        this.workers = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "heartbeat-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method schedule runs the task once, after the given delay.
+     *
+     * @param task    the task to be run.
+     * @param delayMs the delay in milliseconds, rounded up to the next tick.
+     * @return the handle which cancels the timeout.
+     * @throws IllegalStateException when the wheel has been stopped.
+     */
+    public Timeout schedule(Runnable task, long delayMs) {
+        start();
+        long deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        Timeout timeout = new Timeout(task, deadline);
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Method start starts the ticker thread, if it's not running yet.
+     */
+    private void start() {
+        switch (state.get()) {
+            case INIT -> {
+                synchronized (this) {
+                    if (state.get() == INIT) {
+                        startTime = System.nanoTime();
+                        ticker = new Thread(this::tick, "heartbeat-wheel");
+                        ticker.setDaemon(true);
+                        // the ticker runs while the state is STARTED, so it must be set before it starts
+                        state.set(STARTED);
+                        ticker.start();
+                    }
+                }
+            }
+            case STOPPED -> throw new IllegalStateException("The heartbeat wheel has been stopped");
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Method stop stops the ticker thread and the workers; the pending timeouts are discarded.
+     */
+    public void stop() {
+        synchronized (this) {
+            if (state.getAndSet(STOPPED) == STARTED) {
+                ticker.interrupt();
+            }
+        }
+        workers.shutdownNow();
+    }
+
+    /**
+     * Method tick is the loop of the ticker thread: at every tick it moves the new timeouts to their buckets,
+     * removes the cancelled ones and expires the current bucket.
+     */
+    private void tick() {
+        long tick = 0;
+        while (state.get() == STARTED) {
+            long sleepNanos = (tick + 1) * tickNanos - (System.nanoTime() - startTime);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+            removeCancelled();
+            transferAdded(tick);
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    /**
+     * Method transferAdded puts the new timeouts in the buckets of their deadlines. A timeout whose deadline has
+     * already passed goes in the current bucket.
+     */
+    private void transferAdded(long tick) {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.state.get() == Timeout.CANCELLED) {
+                continue;
+            }
+            long ticks = Math.max(tick, (timeout.deadline + tickNanos - 1) / tickNanos - 1);
+            timeout.rounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Method removeCancelled unlinks the cancelled timeouts from their buckets.
+     */
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Timeout class is the handle of a scheduled task.
+     */
+    public final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        // the following fields are only used by the ticker thread
+        private long rounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Method cancel prevents the task from running, if it has not expired yet.
+         *
+         * @return true if the timeout has been cancelled, false if it had already expired or been cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            cancelled.add(this);
+            return true;
+        }
+
+        /**
+         * Method isCancelled checks if the timeout has been cancelled.
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        /**
+         * Method isExpired checks if the task of the timeout has been submitted to the workers.
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (state.compareAndSet(PENDING, EXPIRED)) {
+                try {
+                    workers.execute(task);
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Heartbeat task rejected: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Bucket class is the doubly linked list of the timeouts of a tick, used only by the ticker thread.
+     */
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /**
+         * Method expire runs the timeouts of the bucket whose rounds are over, and counts down the others.
+         */
+        private void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.rounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.rounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.exceptions.OutOfBoundException;
+import it.polimi.ingsw.server.answers.CustomMessage;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LobbyManager class keeps the open lobbies of the server, one for each kind of match, that is for each players
+ * number and game mode. A player is placed in the open lobby of the match he has chosen, or he becomes the host of
+ * a new one if there is none, in O(1); a full lobby leaves the open ones and its game starts, so any number of
+ * games can run at the same time.
+ * The lobbies of different kinds of match never wait for each other, and the game of a full lobby is started
+ * outside any lock. The players are added to the game on its mailbox.
+ *
+ * @see GameHandler
+ */
+public class LobbyManager {
+
+    private final Server server;
+    private final Map<LobbyKey, Lobby> open = new ConcurrentHashMap<>();
+
+    /**
+     * LobbyKey class identifies a kind of match.
+     */
+    private static final class LobbyKey {
+        private final int playersNumber;
+        private final boolean expertMode;
+
+        private LobbyKey(int playersNumber, boolean expertMode) {
+            this.playersNumber = playersNumber;
+            this.expertMode = expertMode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LobbyKey key && key.playersNumber == playersNumber && key.expertMode == expertMode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(playersNumber, expertMode);
+        }
+    }
+
+    /**
+     * Lobby class is an open lobby, that is a game waiting for its players.
+     */
+    private static final class Lobby {
+        private final GameHandler game;
+        private final int playersNumber;
+        private int joined;
+
+        private Lobby(GameHandler game, int playersNumber) {
+            this.game = game;
+            this.playersNumber = playersNumber;
+        }
+    }
+
+    /**
+     * Constructor LobbyManager creates a new LobbyManager instance with no open lobbies.
+     *
+     * @param server the main server instance.
+     */
+    public LobbyManager(Server server) {
+        this.server = server;
+    }
+
+    /**
+     * Method join places a client in the open lobby of the chosen match, creating it if there is none, and starts
+     * the game once the lobby is full. The game starts on its own mailbox, so the calling thread doesn't wait
+     * for it.
+     *
+     * @param client        the client to be placed, not yet in any game.
+     * @param playersNumber the number of players of the chosen match.
+     * @param expertMode    the game mode of the chosen match.
+     * @return the game the client has joined.
+     * @throws OutOfBoundException when the players number is not in the allowed range.
+     */
+    public GameHandler join(VirtualClient client, int playersNumber, boolean expertMode)
+            throws OutOfBoundException {
+        if (playersNumber < Constants.MIN_PLAYERS || playersNumber > Constants.MAX_PLAYERS) {
+            throw new OutOfBoundException();
+        }
+        Lobby[] placed = new Lobby[1];
+        int[] position = new int[1];
+        open.compute(new LobbyKey(playersNumber, expertMode), (key, lobby) -> {
+            if (lobby == null || lobby.game.isEnded()) {
+                lobby = new Lobby(new GameHandler(server), playersNumber);
+                lobby.game.setPlayersNumber(playersNumber);
+                lobby.game.setExpertMode(expertMode);
+            }
+            client.setGameHandler(lobby.game);
+            int joined = ++lobby.joined;
+            GameHandler game = lobby.game;
+            // queued while the key is locked, so the players are added in the order they are placed
+            game.execute(() -> welcome(game, client, joined, playersNumber, expertMode));
+            placed[0] = lobby;
+            position[0] = joined;
+            // a full lobby is not open anymore
+            return lobby.joined == lobby.playersNumber ? null : lobby;
+        });
+        Lobby lobby = placed[0];
+        if (position[0] == lobby.playersNumber) {
+            System.err.println(Constants.getInfo() + "Minimum player number reached. The match is starting.");
+            lobby.game.startGame();
+        }
+        return lobby.game;
+    }
+
+    /**
+     * Method welcome adds the placed client to the game and greets him, telling the other players that he has
+     * joined. It runs on the game's mailbox.
+     */
+    private void welcome(GameHandler game, VirtualClient client, int joined, int playersNumber, boolean expertMode) {
+        game.createPlayer(client.getNickname(), client.getClientID());
+        if (joined == 1) {
+            client.send(new CustomMessage("Success: you are the host of a new lobby for " + playersNumber
+                    + " players, game mode: " + (expertMode ? "expert" : "normal")));
+            client.send(new CustomMessage("Waiting for the other players..."));
+            return;
+        }
+        game.sendAllExcept(new CustomMessage("Client " + client.getNickname() + " joined the game"), client.getClientID());
+        if (joined < playersNumber) {
+            game.sendAll(new CustomMessage((playersNumber - joined) + " slots left."));
+        }
+    }
+
+    /**
+     * Method close removes the lobby of a game which has ended before starting, so that no one else joins it.
+     *
+     * @param game the game of the lobby.
+     */
+    public void close(GameHandler game) {
+        open.values().removeIf(lobby -> lobby.game == game);
+    }
+
+    /**
+     * Method openLobbies returns the number of lobbies waiting for players.
+     *
+     * @return the number of open lobbies.
+     */
+    public int openLobbies() {
+        return open.size();
+    }
+}
@@ -0,0 +1,307 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.network.Codec;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.network.Frames;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * NioClientConnection handles a non-blocking connection between client and server.
+ * The selector thread reads the frames and queues them in the connection's inbox, which is drained by a
+ * worker thread one message at a time, so that the messages of a client are handled in order.
+ * The answers are written directly by the writer task; when the channel can't accept them at once, the rest
+ * is written by the selector thread and the writer task waits until the backlog has been written. The queued
+ * frames are written together with gathering writes, and the pooled buffers of the compressed ones are given
+ * back once written.
+ *
+ * @see NioSocketServer
+ */
+public class NioClientConnection extends ClientConnection {
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final byte[] CLOSED = new byte[0];
+
+    private final SocketChannel channel;
+    private final NioSocketServer socketServer;
+    private volatile SelectionKey key;
+    private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private Codec codec;
+
+    private final BlockingQueue<byte[]> inbox = new LinkedBlockingQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Queue<ByteBuffer> outbound = new ArrayDeque<>();
+    private final ByteBuffer[] gather = new ByteBuffer[OutboundQueue.MAX_GATHER];
+
+    /**
+     * Constructor NioClientConnection binds the accepted channel to the main server.
+     *
+     * @param channel      of type SocketChannel - the non-blocking channel of the client.
+     * @param server       of type Server - the main server class.
+     * @param socketServer of type NioSocketServer - the server which accepted the client.
+     */
+    public NioClientConnection(SocketChannel channel, Server server, NioSocketServer socketServer) {
+        super(server);
+        this.channel = channel;
+        this.socketServer = socketServer;
+    }
+
+    /**
+     * Method register registers the channel for reading on the given selector and starts the heartbeat.
+     * It must be called by the selector thread.
+     *
+     * @param selector the selector of the loop which will serve this connection.
+     */
+    void register(Selector selector) {
+        try {
+            key = channel.register(selector, SelectionKey.OP_READ, this);
+            startHeartbeat();
+        } catch (ClosedChannelException e) {
+            close();
+        }
+    }
+
+    /**
+     * Method isActive returns the active of this NioClientConnection object.
+     *
+     * @return the active (type boolean) of this NioClientConnection object.
+     */
+    @Override
+    public boolean isActive() {
+        return channel.isOpen();
+    }
+
+    /**
+     * Method closeTransport closes the channel, stops the heartbeat and stops the drain of the inbox.
+     *
+     * @throws IOException when the channel can't be closed.
+     */
+    @Override
+    protected void closeTransport() throws IOException {
+        stopHeartbeat();
+        inbox.offer(CLOSED);
+        channel.close();
+        synchronized (outbound) {
+            ByteBuffer frame;
+            while ((frame = outbound.poll()) != null) {
+                recycle(frame);
+            }
+        }
+    }
+
+    /**
+     * Method onReadable reads the available bytes and queues every complete frame within the rate limit of the
+     * client. It's called by the selector thread.
+     */
+    void onReadable() {
+        try {
+            if (channel.read(readBuffer) < 0) {
+                throw new EOFException();
+            }
+            readBuffer.flip();
+            if (codec == null && !readPreamble()) {
+                readBuffer.compact();
+                return;
+            }
+            while (readBuffer.remaining() >= Frames.HEADER_SIZE) {
+                int length = readBuffer.getInt(readBuffer.position());
+                Frames.checkLength(length);
+                if (readBuffer.remaining() < Frames.HEADER_SIZE + length) {
+                    if (readBuffer.capacity() < Frames.HEADER_SIZE + length) {
+                        ByteBuffer bigger = ByteBuffer.allocate(Frames.HEADER_SIZE + length);
+                        bigger.put(readBuffer);
+                        readBuffer = bigger;
+                        return;
+                    }
+                    break;
+                }
+                readBuffer.getInt();
+                if (!acceptFrame()) {
+                    // over the rate limit: the frame is skipped without being copied or decoded
+                    readBuffer.position(readBuffer.position() + length);
+                    continue;
+                }
+                byte[] payload = new byte[length];
+                readBuffer.get(payload);
+                receive(payload);
+            }
+            readBuffer.compact();
+        } catch (IOException e) {
+            closeOnError();
+            System.err.println(Constants.getInfo() + e.getMessage());
+        }
+    }
+
+    /**
+     * Method readPreamble reads the framed protocol preamble, rejecting the clients which don't speak it.
+     *
+     * @return true if the preamble has been read, false if more bytes are needed.
+     * @throws IOException if the client is not using the framed protocol.
+     */
+    private boolean readPreamble() throws IOException {
+        if (readBuffer.remaining() < Frames.PREAMBLE_SIZE) {
+            return false;
+        }
+        if (readBuffer.getInt() != Frames.MAGIC) {
+            throw new StreamCorruptedException("Legacy client rejected: the NIO transport needs the framed protocol");
+        }
+        codec = Codec.of(readBuffer.get());
+        return true;
+    }
+
+    /**
+     * Method receive queues a frame in the inbox, scheduling the inbox drain if it's not running.
+     *
+     * @param payload the frame payload.
+     */
+    private void receive(byte[] payload) {
+        inbox.offer(payload);
+        if (draining.compareAndSet(false, true)) {
+            socketServer.getWorkers().execute(this::drain);
+        }
+    }
+
+    /**
+     * Method drain dispatches the queued frames, in order, on a worker thread.
+     */
+    private void drain() {
+        while (true) {
+            byte[] payload = inbox.poll();
+            if (payload == null) {
+                draining.set(false);
+                if (inbox.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            if (payload == CLOSED) {
+                return;
+            }
+            try {
+                dispatch(codec.decodeMessage(payload));
+            } catch (IOException e) {
+                closeOnError();
+                System.err.println(Constants.getInfo() + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Method getCodec returns the codec chosen by the client in the preamble.
+     */
+    @Override
+    protected Codec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Method write writes the shared encoded frame on the channel; what can't be written at once is
+     * left to the selector thread.
+     *
+     * @param answer of type EncodedAnswer - the answer to be written.
+     * @throws IOException when the channel is closed.
+     */
+    @Override
+    protected void write(EncodedAnswer answer) throws IOException {
+        write(List.of(answer));
+    }
+
+    /**
+     * Method write writes the frames of the queued answers on the channel, together; what can't be written
+     * at once is left to the selector thread.
+     *
+     * @param answers the answers to be written, in order.
+     * @throws IOException when the channel is closed.
+     */
+    @Override
+    protected void write(List<EncodedAnswer> answers) throws IOException {
+        synchronized (outbound) {
+            boolean idle = outbound.isEmpty();
+            for (EncodedAnswer answer : answers) {
+                outbound.add(frameBuffer(answer, codec));
+            }
+            if (idle && !flush()) {
+                key.interestOpsOr(SelectionKey.OP_WRITE);
+                key.selector().wakeup();
+            }
+        }
+    }
+
+    /**
+     * Method hasBacklog checks if some frames are still waiting for the selector thread.
+     */
+    @Override
+    protected boolean hasBacklog() {
+        synchronized (outbound) {
+            return !outbound.isEmpty();
+        }
+    }
+
+    /**
+     * Method onWritable writes the queued answers. It's called by the selector thread.
+     */
+    void onWritable() {
+        boolean written;
+        try {
+            synchronized (outbound) {
+                written = flush();
+                if (written) {
+                    key.interestOpsAnd(~SelectionKey.OP_WRITE);
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.INFO, e.getMessage());
+            closeOnError();
+            return;
+        }
+        if (written) {
+            backlogWritten();
+        }
+    }
+
+    /**
+     * Method flush writes the queued frames until the channel accepts them, up to MAX_GATHER frames with each
+     * gathering write.
+     *
+     * @return true if every queued frame has been written, false otherwise.
+     * @throws IOException when the channel is closed.
+     */
+    private boolean flush() throws IOException {
+        while (!outbound.isEmpty()) {
+            int count = 0;
+            for (ByteBuffer frame : outbound) {
+                if (count == gather.length) {
+                    break;
+                }
+                gather[count++] = frame;
+            }
+            channel.write(gather, 0, count);
+            boolean full = gather[count - 1].hasRemaining();
+            Arrays.fill(gather, 0, count, null);
+            ByteBuffer frame;
+            while ((frame = outbound.peek()) != null && !frame.hasRemaining()) {
+                recycle(outbound.poll());
+            }
+            if (full) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,205 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.constants.Constants;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * NioSocketServer class accepts the clients' connections and multiplexes them on a small number of
+ * selector threads, instead of dedicating a blocking thread to each of them.
+ * The decoded messages are dispatched on a worker pool, serially for each connection, into the same
+ * action handlers used by the blocking transport.
+ *
+ * @see ConnectionAcceptor
+ * @see NioClientConnection
+ */
+public class NioSocketServer implements ConnectionAcceptor {
+
+    private final int port;
+    private final Server server;
+    private final SelectorLoop[] loops;
+    private final ExecutorService workers;
+    private volatile boolean active;
+    private volatile boolean accepting = true;
+    private volatile ServerSocketChannel acceptingChannel;
+    private int nextLoop;
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /**
+     * Constructor NioSocketServer creates a new NioSocketServer instance.
+     *
+     * @param port            of type int - the port on which server will listen.
+     * @param server          of type Server - the main server object.
+     * @param selectorThreads of type int - the number of selector threads.
+     */
+    public NioSocketServer(int port, Server server, int selectorThreads) {
+        this.port = port;
+        this.server = server;
+        loops = new SelectorLoop[Math.max(1, selectorThreads)];
+        workers = Executors.newCachedThreadPool();
+        active = true;
+    }
+
+    /**
+     * Constructor NioSocketServer creates a new NioSocketServer instance with a selector thread for
+     * each available processor, up to four.
+     *
+     * @param port   of type int - the port on which server will listen.
+     * @param server of type Server - the main server object.
+     */
+    public NioSocketServer(int port, Server server) {
+        this(port, server, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Method setActive sets the active connection field of this NioSocketServer object.
+     *
+     * @param value the active connection value of the server.
+     */
+    @Override
+    public void setActive(boolean value) {
+        active = value;
+    }
+
+    /**
+     * Method stopAccepting closes the server channel, while the selector threads keep serving the accepted
+     * connections.
+     */
+    @Override
+    public void stopAccepting() {
+        accepting = false;
+        ServerSocketChannel channel = acceptingChannel;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Method getWorkers returns the pool dispatching the clients' messages.
+     */
+    ExecutorService getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Method acceptConnections accepts connections from clients and binds each of them to a selector
+     * loop, chosen in round-robin order.
+     *
+     * @param serverChannel of type ServerSocketChannel - the blocking server channel, which accepts connections.
+     */
+    public void acceptConnections(ServerSocketChannel serverChannel) {
+        while (active && accepting && serverChannel.isOpen()) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                SelectorLoop loop = loops[nextLoop];
+                nextLoop = (nextLoop + 1) % loops.length;
+                loop.register(new NioClientConnection(channel, server, this));
+            } catch (IOException e) {
+                if (active && accepting) {
+                    System.err.println("Error! " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Method run opens the server channel and starts the selector threads.
+     *
+     * @see Runnable#run()
+     */
+    @Override
+    public void run() {
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            serverChannel.bind(new InetSocketAddress(port));
+            acceptingChannel = serverChannel;
+            if (!accepting) {
+                // stopped before the channel was open
+                serverChannel.close();
+            }
+            for (int i = 0; i < loops.length; i++) {
+                loops[i] = new SelectorLoop(Selector.open());
+                Thread thread = new Thread(loops[i], "nio-selector-" + i);
+                thread.setDaemon(true);
+                thread.start();
+            }
+            System.out.println(
+                    Constants.getInfo()
+                            + "NIO Socket Server started with "
+                            + loops.length
+                            + " selector threads; listening on port "
+                            + port
+                            + ". Type "
+                            + "\"quit\" to exit");
+            acceptConnections(serverChannel);
+        } catch (IOException e) {
+            System.err.println(Constants.getErr() + "Error during Socket initialization, quitting...");
+            logger.log(Level.SEVERE, e.getMessage(), e);
+            System.exit(0);
+        }
+    }
+
+    /**
+     * SelectorLoop class is a selector thread, which reads and writes the non-blocking channels registered to it.
+     */
+    private class SelectorLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<NioClientConnection> registrations = new ConcurrentLinkedQueue<>();
+
+        SelectorLoop(Selector selector) {
+            this.selector = selector;
+        }
+
+        /**
+         * Method register hands a new connection to the selector thread.
+         *
+         * @param connection the accepted connection.
+         */
+        void register(NioClientConnection connection) {
+            registrations.add(connection);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (active) {
+                try {
+                    selector.select();
+                    NioClientConnection pending;
+                    while ((pending = registrations.poll()) != null) {
+                        pending.register(selector);
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        NioClientConnection connection = (NioClientConnection) key.attachment();
+                        try {
+                            if (key.isReadable()) {
+                                connection.onReadable();
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                connection.onWritable();
+                            }
+                        } catch (CancelledKeyException e) {
+                            // the connection has been closed by another thread
+                        }
+                    }
+                } catch (IOException e) {
+                    logger.log(Level.SEVERE, e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.network.EncodedAnswer;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * OutboundQueue class is the bounded queue of the answers waiting to be written to a client.
+ * The answers are written by a writer task, at most one at a time for each queue, so they keep their order and
+ * the threads handling the games never wait for the network. When the client can't keep up and the queue is
+ * full, the OverflowPolicy of the queue is applied.
+ *
+ * @see ClientConnection#send
+ */
+class OutboundQueue {
+    public static final int DEFAULT_CAPACITY = 256;
+    /**
+     * Maximum number of answers handed to the connection with a single write.
+     */
+    static final int MAX_GATHER = 64;
+
+    private static volatile int defaultCapacity = DEFAULT_CAPACITY;
+    private static volatile OverflowPolicy defaultPolicy = OverflowPolicy.DROP_SUPERSEDED;
+
+    private final ClientConnection connection;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Deque<EncodedAnswer> answers = new ArrayDeque<>();
+    private final List<EncodedAnswer> gathered = new ArrayList<>(MAX_GATHER);
+    private boolean writing;
+    private boolean closing;
+    private boolean closed;
+
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /**
+     * Writers class holds the executor running the writer tasks, created when the first answer is sent so that
+     * it follows the threads mode chosen at startup.
+     */
+    private static final class Writers {
+        private static final ExecutorService EXECUTOR = ServerThreads.newConnectionExecutor();
+    }
+
+    /**
+     * Constructor OutboundQueue creates a queue with the configured capacity and policy.
+     *
+     * @param connection the connection writing the answers.
+     */
+    OutboundQueue(ClientConnection connection) {
+        this(connection, defaultCapacity, defaultPolicy);
+    }
+
+    /**
+     * Constructor OutboundQueue creates a queue with the given capacity and policy.
+     *
+     * @param connection the connection writing the answers.
+     * @param capacity   the maximum number of queued answers.
+     * @param policy     what to do when the queue is full.
+     */
+    OutboundQueue(ClientConnection connection, int capacity, OverflowPolicy policy) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    /**
+     * Method configure sets the capacity and the policy of the queues created from now on, parsing the
+     * "--outbound-capacity=256" and "--overflow=drop_superseded" arguments.
+     *
+     * @param args the command line arguments, may be null.
+     */
+    static void configure(String[] args) {
+        defaultPolicy = OverflowPolicy.fromArgs(args);
+        if (args != null) {
+            for (String arg : args) {
+                if (arg.startsWith("--outbound-capacity=")) {
+                    defaultCapacity = Math.max(1, Integer.parseInt(arg.substring("--outbound-capacity=".length())));
+                }
+            }
+        }
+    }
+
+    /**
+     * Method offer queues an answer, starting the writer task if it's not running.
+     * The answers offered after the queue has been closed are ignored.
+     *
+     * @param answer the answer to be written.
+     */
+    void offer(EncodedAnswer answer) {
+        boolean start = false;
+        boolean overflow = false;
+        synchronized (this) {
+            if (closing || closed) {
+                return;
+            }
+            if (answers.size() >= capacity && policy == OverflowPolicy.DROP_SUPERSEDED) {
+                dropSuperseded(answer);
+            }
+            if (answers.size() < capacity || policy == OverflowPolicy.COALESCE) {
+                answers.add(answer);
+                if (answers.size() > capacity) {
+                    coalesce();
+                }
+                start = startWriter();
+            } else {
+                answers.clear();
+                closed = true;
+                overflow = true;
+            }
+        }
+        if (overflow) {
+            logger.log(Level.WARNING, "Client " + connection.getClientID() + " can't keep up with the game, disconnecting it");
+            Writers.EXECUTOR.execute(connection::close);
+        } else if (start) {
+            Writers.EXECUTOR.execute(this::write);
+        }
+    }
+
+    /**
+     * Method dropSuperseded removes the queued updates of the properties which have a newer snapshot, in the
+     * queue or in the given answer.
+     */
+    private void dropSuperseded(EncodedAnswer answer) {
+        Set<Object> newer = new HashSet<>();
+        addKeys(newer, answer);
+        Iterator<EncodedAnswer> iterator = answers.descendingIterator();
+        while (iterator.hasNext()) {
+            EncodedAnswer queued = iterator.next();
+            if (!queued.isBatch() && newer.contains(UpdateBatch.propertyOf(queued.getSerializedAnswer().getServerAnswer()))) {
+                iterator.remove();
+            } else {
+                addKeys(newer, queued);
+            }
+        }
+    }
+
+    private static void addKeys(Set<Object> keys, EncodedAnswer answer) {
+        for (EncodedAnswer part : answer.getParts()) {
+            Object key = UpdateBatch.keyOf(part.getSerializedAnswer().getServerAnswer());
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+    }
+
+    /**
+     * Method coalesce replaces the queued answers with a single batch, keeping only the last snapshot of every
+     * property.
+     */
+    private void coalesce() {
+        List<EncodedAnswer> parts = UpdateBatch.coalesce(answers);
+        answers.clear();
+        answers.add(parts.size() == 1 ? parts.get(0) : EncodedAnswer.batch(parts));
+    }
+
+    /**
+     * Method startWriter marks the writer task as running.
+     *
+     * @return true if the writer task must be started, false if it's already running.
+     */
+    private boolean startWriter() {
+        if (writing) {
+            return false;
+        }
+        writing = true;
+        return true;
+    }
+
+    /**
+     * Method write is the writer task: it writes the queued answers in order until the queue is empty or the
+     * connection is backed up, and it closes the transport once a closing queue has been emptied. The answers
+     * queued at the same time are handed to the connection together, up to MAX_GATHER at a time.
+     */
+    private void write() {
+        while (true) {
+            synchronized (this) {
+                if (connection.hasBacklog()) {
+                    // the connection calls resume once its backlog has been written
+                    writing = false;
+                    return;
+                }
+                while (gathered.size() < MAX_GATHER && !answers.isEmpty()) {
+                    gathered.add(answers.poll());
+                }
+                if (gathered.isEmpty()) {
+                    writing = false;
+                    if (!closing || closed) {
+                        return;
+                    }
+                    closed = true;
+                }
+            }
+            if (gathered.isEmpty()) {
+                connection.closeTransportQuietly();
+                return;
+            }
+            try {
+                connection.write(gathered);
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.INFO, e.getMessage());
+                connection.closeOnError();
+                return;
+            } finally {
+                gathered.clear();
+            }
+        }
+    }
+
+    /**
+     * Method resume restarts the writer task after the backlog of the connection has been written.
+     */
+    void resume() {
+        boolean start;
+        synchronized (this) {
+            start = !closed && (closing || !answers.isEmpty()) && startWriter();
+        }
+        if (start) {
+            Writers.EXECUTOR.execute(this::write);
+        }
+    }
+
+    /**
+     * Method close stops accepting answers; the queued ones are still written before closing the transport.
+     *
+     * @return true if the transport can be closed at once, false if the writer task will close it.
+     */
+    synchronized boolean close() {
+        if (closed) {
+            return true;
+        }
+        closing = true;
+        if (writing || !answers.isEmpty() || connection.hasBacklog()) {
+            return false;
+        }
+        closed = true;
+        return true;
+    }
+
+    /**
+     * Method abort discards the queued answers, so that the transport can be closed at once.
+     */
+    synchronized void abort() {
+        answers.clear();
+        closed = true;
+    }
+}
@@ -0,0 +1,32 @@
+package it.polimi.ingsw.server;
+
+/**
+ * OverflowPolicy enumeration lists what a client's outbound queue does when it's full, that is when the client
+ * can't keep up with the answers of its game.
+ * DROP_SUPERSEDED drops the queued updates which are replaced by a newer snapshot of the same property,
+ * COALESCE merges the whole queue in a single batch keeping only the last snapshot of every property,
+ * DISCONNECT closes the connection of the slow client. When DROP_SUPERSEDED can't make room, the client is
+ * disconnected too.
+ *
+ * @see OutboundQueue
+ */
+public enum OverflowPolicy {
+    DROP_SUPERSEDED, COALESCE, DISCONNECT;
+
+    /**
+     * Method fromArgs parses the policy from the command line arguments, in the "--overflow=coalesce" format.
+     *
+     * @param args the command line arguments, may be null.
+     * @return the chosen policy, DROP_SUPERSEDED if not specified.
+     */
+    public static OverflowPolicy fromArgs(String[] args) {
+        if (args != null) {
+            for (String arg : args) {
+                if (arg.startsWith("--overflow=")) {
+                    return valueOf(arg.substring("--overflow=".length()).toUpperCase().replace('-', '_'));
+                }
+            }
+        }
+        return DROP_SUPERSEDED;
+    }
+}
@@ -0,0 +1,113 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.constants.GameState;
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.model.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReconnectSnapshot class is the whole state of a game, as sent to a client which rejoins it, taken at a given
+ * version of the game state.
+ * The public part of the state is encoded for every codec when the snapshot is taken, so it describes the version
+ * of the snapshot even if it's sent later, and it's shared by all the clients rejoining the game until its state
+ * changes, while the hand and the balance of the rejoining player are added for him only. The snapshot is sent as
+ * a single batch, in the same order as Game#fireInitialState.
+ *
+ * @see Game#getStateVersion()
+ */
+class ReconnectSnapshot {
+
+    private final int version;
+    private final List<EncodedAnswer> head = new ArrayList<>();
+    private final Map<Integer, EncodedAnswer> schools = new HashMap<>();
+    private final Map<Integer, EncodedAnswer> playedCards = new HashMap<>();
+    private final List<EncodedAnswer> tail = new ArrayList<>();
+    private final Game game;
+
+    /**
+     * Constructor ReconnectSnapshot takes the public state of the game. It must be called by the game's mailbox.
+     *
+     * @param game the game to be taken.
+     */
+    ReconnectSnapshot(Game game) {
+        this.game = game;
+        version = game.getStateVersion();
+        head.add(sealed(new MagicianMessage(game.getMagicians())));
+        head.add(sealed(new ModeMessage(game.isExpertMode())));
+        head.add(sealed(new CharactersMessage(new ArrayList<>(game.getCharacterCards()))));
+        head.add(sealed(new ProfsMessage(new EnumMap<>(game.getProfessors()))));
+        head.add(sealed(new MotherMessage(game.getMotherNature().getPosition())));
+        head.add(sealed(new IslandsMessage(game.getIslandContainer())));
+        head.add(sealed(new CloudsMessage(new ArrayList<>(game.getClouds()))));
+        head.add(sealed(new RoundOwnerMessage(game.getRoundOwner() != null ? game.getRoundOwner().getNickname() : null)));
+        head.add(sealed(new PlayersStatusMessage(game.getPlayersStatus())));
+        for (Player player : game.getPlayers()) {
+            schools.put(player.getID(), sealed(new SchoolMessage(player.getNickname(), player.getSchool())));
+            playedCards.put(player.getID(), sealed(new PlayedCardMessage(player.getNickname(), player.getPlayedCard())));
+        }
+        tail.add(sealed(new GameStateMessage(GameState.INITIAL_FIRE_COMPLETED)));
+        tail.add(sealed(new GameStateMessage(game.getGameState())));
+    }
+
+    /**
+     * Method sealed wraps an answer of the snapshot, encoding it at once for every codec and copying it for the
+     * legacy connections: the answers refer to the live model, which changes before a later rejoin.
+     */
+    private static EncodedAnswer sealed(Answer answer) {
+        EncodedAnswer encoded = new EncodedAnswer(answer);
+        try {
+            encoded.sealAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return encoded;
+    }
+
+    /**
+     * Method isCurrent checks if the snapshot still describes the state of the game.
+     *
+     * @return true if the game state has not changed since the snapshot was taken, false otherwise.
+     */
+    boolean isCurrent() {
+        return version == game.getStateVersion();
+    }
+
+    /**
+     * Method getVersion returns the version of the game state described by the snapshot.
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Method forPlayer returns the snapshot for the given player, adding his hand and balance to the shared part.
+     *
+     * @param player the rejoining player.
+     * @return the whole snapshot, as a single batch.
+     */
+    EncodedAnswer forPlayer(Player player) {
+        List<EncodedAnswer> parts = new ArrayList<>(head);
+        for (Player p : game.getPlayers()) {
+            if (p.getID() == player.getID()) {
+                parts.add(new EncodedAnswer(new HandMessage(new ArrayList<>(player.getCards()))));
+            }
+            parts.add(schools.get(p.getID()));
+            if (p.getID() == player.getID()) {
+                parts.add(new EncodedAnswer(new BalanceMessage(player.getBalance())));
+            }
+            parts.add(playedCards.get(p.getID()));
+        }
+        parts.addAll(tail);
+        return EncodedAnswer.batch(parts);
+    }
+}
@@ -2,12 +2,19 @@ package it.polimi.ingsw.server;
 
 import it.polimi.ingsw.constants.Constants;
 import it.polimi.ingsw.constants.ErrorType;
-import it.polimi.ingsw.exceptions.OutOfBoundException;
+import it.polimi.ingsw.network.BufferPool;
+import it.polimi.ingsw.network.Compression;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.network.FrameDeflater;
 import it.polimi.ingsw.server.answers.*;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Server class is the main one of the server side, it allows clients to connect, play together and
@@ -15,87 +22,209 @@ import java.util.concurrent.Executors;
  *
  */
 public class Server {
-    private final SocketServer socketServer;
+    public static final int DEFAULT_DRAIN_SECONDS = 300;
+    private static final long DRAIN_POLL_MS = 500;
+    private static final long FLUSH_TIMEOUT_MS = 5000;
+    private static final String SHUTDOWN_MESSAGE = "The server is restarting, please connect again in a few moments." +
+            "\nThanks for playing!";
 
-    /**
-     * This map permits identifying a Virtual Client relying on his client ID, which was set at the join time.
-     * The client has to be connected to the server.
-     */
-    private final Map<Integer, VirtualClient> idMapClient;
-
-    /**
-     * This map permits finding client ID relying on his unique nickname.
-     * The client has to be connected to the server.
-     */
-    private final Map<String, Integer> nameMapId;
+    private final ConnectionAcceptor socketServer;
 
     /**
-     * This map permits finding client nickname relying on his ID.
-     * The client has to be connected to the server.
+     * Acceptors of the server's connections: the main transport and, if enabled, the WebSocket gateway.
      */
-    private final Map<Integer, String> idMapName;
+    private final List<ConnectionAcceptor> acceptors = new CopyOnWriteArrayList<>();
 
     /**
-     * This map permits identifying a VirtualClient relying on his active connection with the server.
-     * The client has to be connected to the server.
+     * True once the server has started draining: no one can join a lobby anymore.
      */
-    private final Map<VirtualClient, SocketClientConnection> clientToConnection;
+    private volatile boolean draining;
 
     /**
-     * Unique Client ID reference, which is used in the ID generation method.
+     * This registry permits identifying a Virtual Client relying on his client ID, which was set at the join time,
+     * on his unique nickname or on his resume token. The client has to be connected to the server.
      */
-    private int nextClientID;
+    private final SessionRegistry sessions = new SessionRegistry();
 
     /**
-     * Active lobby Game handler
+     * Open lobbies, one for each kind of match.
      */
-    private GameHandler currentGame;
+    private final LobbyManager lobbies = new LobbyManager(this);
 
     /**
-     * List of clients waiting in the lobby.
+     * Timer wheel running the ping-pong protocol of every connection.
      */
-    private final List<SocketClientConnection> waiting = new ArrayList<>();
+    private final HeartbeatWheel heartbeat = new HeartbeatWheel();
 
     /**
-     * Number of players, decided by the first connected user.
+     * Compression granted to the clients asking for it.
      */
-    private int totalPlayers;
+    private volatile Compression compression = Compression.DEFLATE;
 
     /**
-     * Method quit permits quitting from the server application, closing all active connections.
+     * Method quit permits quitting from the server application, closing all active connections. The "STATS"
+     * command prints the throttling metrics of the server and the usage of its buffer pool, while
+     * "DRAIN [seconds]" stops the server gracefully, giving the running games the chosen time to finish
+     * (DEFAULT_DRAIN_SECONDS if not specified).
+     *
+     * @see Server#drain
      */
     public void quit() {
         Scanner scanner = new Scanner(System.in);
         while (true) {
-            if (scanner.next().equalsIgnoreCase("QUIT")) {
+            String[] command = scanner.nextLine().trim().split("\\s+");
+            if (command[0].equalsIgnoreCase("QUIT")) {
                 getSocketServer().setActive(false);
                 System.exit(0);
                 break;
+            } else if (command[0].equalsIgnoreCase("STATS")) {
+                System.out.println(Constants.getInfo() + ActionThrottle.report());
+                System.out.println(Constants.getInfo() + BufferPool.shared().report());
+            } else if (command[0].equalsIgnoreCase("DRAIN") && !draining) {
+                try {
+                    long seconds = command.length > 1 ? Long.parseLong(command[1]) : DEFAULT_DRAIN_SECONDS;
+                    new Thread(() -> drainAndExit(Duration.ofSeconds(seconds)), "Drain").start();
+                } catch (NumberFormatException e) {
+                    System.err.println("Usage: drain [seconds]");
+                }
             }
         }
     }
 
+    /**
+     * Method drainAndExit drains the server, then it closes the application.
+     */
+    private void drainAndExit(Duration deadline) {
+        try {
+            drain(deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println(Constants.getInfo() + "Drain completed, the server will now close.");
+        System.exit(0);
+    }
+
+    /**
+     * Method drain stops the server gracefully, so that a restart doesn't force every game to start over: it stops
+     * accepting connections, sends away the clients which are not playing, lets the running games finish until
+     * the deadline, then ends the games still running and closes every connection once the answers queued for
+     * it have been written.
+     *
+     * @param deadline the time given to the running games to finish.
+     * @throws InterruptedException when the thread is interrupted while waiting.
+     */
+    public void drain(Duration deadline) throws InterruptedException {
+        draining = true;
+        acceptors.forEach(ConnectionAcceptor::stopAccepting);
+        for (VirtualClient client : sessions.clients()) {
+            GameHandler game = client.getGameHandler();
+            if (game == null || !game.isStarted()) {
+                client.sendNow(new EncodedAnswer(new ConnectionMessage(SHUTDOWN_MESSAGE, false)));
+                client.getConnection().close();
+            }
+        }
+        long end = System.nanoTime() + deadline.toNanos();
+        Set<GameHandler> running = runningGames();
+        System.out.println(Constants.getInfo() + "Draining: waiting up to " + deadline.toSeconds() + " seconds for "
+                + running.size() + " running games.");
+        while (!running.isEmpty() && System.nanoTime() < end) {
+            TimeUnit.MILLISECONDS.sleep(DRAIN_POLL_MS);
+            running = runningGames();
+        }
+        if (!running.isEmpty()) {
+            System.out.println(Constants.getInfo() + "Deadline reached: ending " + running.size() + " games.");
+            running.forEach(game -> game.shutdown(SHUTDOWN_MESSAGE));
+        }
+        long flushEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MS);
+        while (sessions.clients().stream().anyMatch(client -> client.getConnection().isActive())
+                && System.nanoTime() < flushEnd) {
+            TimeUnit.MILLISECONDS.sleep(DRAIN_POLL_MS / 10);
+        }
+    }
+
+    /**
+     * Method runningGames returns the games which have started and not ended yet.
+     */
+    private Set<GameHandler> runningGames() {
+        return sessions.clients().stream()
+                .map(VirtualClient::getGameHandler)
+                .filter(game -> game != null && game.isStarted() && !game.isEnded())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Method isDraining checks if the server is draining, that is if it's stopping gracefully.
+     *
+     * @return true if the server is draining, false otherwise.
+     */
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * Method addAcceptor adds an acceptor of connections, which stops accepting them when the server drains.
+     *
+     * @param acceptor of type ConnectionAcceptor - an additional transport, like the WebSocket gateway.
+     */
+    public void addAcceptor(ConnectionAcceptor acceptor) {
+        acceptors.add(acceptor);
+    }
+
     /**
      * Constructor Server creates the instance of the server, based on a socket and the mapping
      * between VirtualClient, nicknames and client ids. It also creates a new game session.
      */
     public Server() {
-        socketServer = new SocketServer(Constants.getPort(), this);
-        idMapClient = new HashMap<>();
-        nameMapId = new HashMap<>();
-        clientToConnection = new HashMap<>();
-        idMapName = new HashMap<>();
-        totalPlayers = -1;
+        this(Transport.BLOCKING);
+    }
+
+    /**
+     * Constructor Server creates the instance of the server, accepting the connections with the given transport.
+     *
+     * @param transport of type Transport - the connection handling strategy.
+     */
+    public Server(Transport transport) {
+        socketServer = transport == Transport.NIO
+                ? new NioSocketServer(Constants.getPort(), this)
+                : new SocketServer(Constants.getPort(), this);
+        acceptors.add(socketServer);
         Thread thread = new Thread(this::quit);
         thread.start();
     }
 
+    /**
+     * Method getHeartbeat returns the timer wheel shared by the connections for the ping-pong protocol.
+     *
+     * @return the heartbeat wheel (type HeartbeatWheel) of this Server object.
+     */
+    public HeartbeatWheel getHeartbeat() {
+        return heartbeat;
+    }
+
+    /**
+     * Method getCompression returns the compression granted to the clients asking for it.
+     *
+     * @return the allowed compression (type Compression) of this Server object.
+     */
+    public Compression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Method setCompression sets the compression granted to the clients asking for it from now on.
+     *
+     * @param compression of type Compression - the allowed compression, NONE to send every answer as it is.
+     */
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+
     /**
      * Method getSocketServer returns the socketServer of this Server object.
      *
-     * @return the socketServer (type SocketServer) of this Server object.
+     * @return the socketServer (type ConnectionAcceptor) of this Server object.
      */
-    public synchronized SocketServer getSocketServer() {
+    public synchronized ConnectionAcceptor getSocketServer() {
         return socketServer;
     }
 
@@ -107,25 +236,17 @@ public class Server {
      * @return GameHandler - the associated game handler.
      */
     public GameHandler getGameByID(int id) {
-        if(idMapClient.get(id) == null)
-            return null;
-        return idMapClient.get(id).getGameHandler();
+        VirtualClient client = sessions.get(id);
+        return client != null ? client.getGameHandler() : null;
     }
 
     /**
-     * Method setTotalPlayers sets the maximum number of player relying on the input provided by the
-     * first user who connects. He is also called the "lobby host".
+     * Method getLobbies returns the open lobbies of this Server object.
      *
-     * @param totalPlayers of type int - the number of players provided by the first user connected.
-     * @throws OutOfBoundException when the input is not in the correct player range.
-     * @see it.polimi.ingsw.constants.Constants for the max/min player parameters.
-     */
-    protected void setTotalPlayers(int totalPlayers) throws OutOfBoundException {
-        if (totalPlayers < Constants.MIN_PLAYERS || totalPlayers > Constants.MAX_PLAYERS) {
-            throw new OutOfBoundException();
-        } else {
-            this.totalPlayers = totalPlayers;
-        }
+     * @return the lobby manager (type LobbyManager) of this Server object.
+     */
+    public LobbyManager getLobbies() {
+        return lobbies;
     }
 
     /**
@@ -136,7 +257,7 @@ public class Server {
      * @return VirtualClient - the correct virtual client.
      */
     public VirtualClient getClientByID(int id) {
-        return idMapClient.get(id);
+        return sessions.get(id);
     }
 
     /**
@@ -146,7 +267,8 @@ public class Server {
      * @return String - the nickname of the associated player.
      */
     public String getNicknameByID(int id) {
-        return idMapName.get(id);
+        VirtualClient client = sessions.get(id);
+        return client != null ? client.getNickname() : null;
     }
 
     /**
@@ -156,49 +278,42 @@ public class Server {
      * @return int - his clientID inside the model class.
      */
     public int getIDByNickname(String nickname) {
-        return nameMapId.get(nickname);
+        return sessions.get(nickname).getClientID();
     }
 
     /**
-     * Method isNicknameTaken checks if a nickname is already taken by another user.
+     * Method isNicknameTaken checks if a nickname is already taken by another user, ignoring the case.
      *
      * @param nickname the name to be checked.
      * @return true if a player has the nickname, false otherwise.
      */
     public boolean isNicknameTaken(String nickname) {
-        return !(nameMapId.get(nickname) == null);
+        return sessions.get(nickname) != null;
     }
 
     /**
-     * Method lobby creates or handle a lobby, which is a common room used before a match. In this
-     * room, connected players are waiting for other ones, in order to reach the correct players'
-     * number for playing. If the waiting clients' queue is empty, the server creates a new lobby and
-     * ask the first player to choose the capacity. After that, when a client connects, it checks if
-     * the players number has been reached; if true, starts the match.
+     * Method lobby asks a new client which kind of match he wants to play, that is the number of players
+     * and the game mode, then places him in a lobby, which is a common room used before a match. In this
+     * room, connected players are waiting for other ones, in order to reach the correct players' number for
+     * playing; the match starts when the lobby is full.
+     * No lock is held and no thread waits while the client chooses, so the other clients are never held up.
+     * While the server is draining, the client is sent away instead.
      *
-     * @param c of type SocketClientConnection - a single client connection, which is used for common
+     * @param c of type ClientConnection - a single client connection, which is used for common
      *          operations(like sending/receiving commands, etc).
-     * @throws InterruptedException when TimeUnit throws it.
-     */
-    public synchronized void lobby(SocketClientConnection c) throws InterruptedException {
-        waiting.add(c);
-        if (waiting.size() == 1) {
-            c.setup(
-                    new ReqPlayersMessage(
-                            idMapClient.get(c.getClientID()).getNickname()
-                                    + ", you are"
-                                    + " the lobby host.\nChoose the number of players! \n" +
-                                    "setup [2/3] [?expert]"));
-        } else if (waiting.size() == totalPlayers) {
-            System.err.println(
-                    Constants.getInfo() + "Minimum player number reached. The match is starting.");
-
-            currentGame.startGame();
-            waiting.clear();
-        } else {
-            currentGame.sendAll(
-                    new CustomMessage((totalPlayers - waiting.size()) + " slots left."));
+     * @see LobbyManager#join
+     */
+    public void lobby(ClientConnection c) {
+        if (draining) {
+            c.send(new EncodedAnswer(new ConnectionMessage(SHUTDOWN_MESSAGE, false)));
+            c.close();
+            return;
         }
+        c.setup(
+                new ReqPlayersMessage(
+                        getClientByID(c.getClientID()).getNickname()
+                                + ", choose the match you want to join!\nChoose the number of players! \n" +
+                                "setup [2/3] [?expert]"));
     }
 
     /**
@@ -207,17 +322,14 @@ public class Server {
      *
      * @param clientID of type int - the ID of the virtual client to be removed.
      */
-    public synchronized void unregisterClient(int clientID) {
-        VirtualClient client = idMapClient.get(clientID);
-
-        idMapClient.remove(clientID);
-        nameMapId.remove(client.getNickname());
-        idMapName.remove(client.getClientID());
-        clientToConnection.remove(client);
+    public void unregisterClient(int clientID) {
+        VirtualClient client = sessions.get(clientID);
+        if (client == null || !sessions.unregister(client)) {
+            return;
+        }
 
         System.out.println(
                 Constants.getInfo() + "Unregistering client " + client.getNickname() + "...");
-        waiting.remove(clientToConnection.get(client));
 
         System.out.println(Constants.getInfo() + "Client has been successfully unregistered.");
     }
@@ -226,59 +338,41 @@ public class Server {
      * Method registerConnection registers a new connection between the client and the server, by
      * inserting him in the registry hashmaps. If the nickname has already been chosen, it simply
      * ignores this step and notify the client about this fact, asking him to provide a new nickname.
+     * The outcome is decided only by the atomic registration, so of two clients logging in with the same
+     * nickname at the same time exactly one is registered, and the other one never gets his client ID.
      *
      * @param nickname            the nickname chosen by the client.
-     * @param socketClientHandler the SocketClientConnection between server socket and client socket.
+     * @param socketClientHandler the ClientConnection between server and client.
      * @return Integer - the client ID if everything goes fine, null otherwise.
      */
-    public synchronized Integer registerNewConnection(String nickname, SocketClientConnection socketClientHandler) {
-        Integer clientID = nameMapId.get(nickname);
-
-        if (clientID == null) {
-            // Player has never connected to the server before.
-            if (waiting.isEmpty()) {
-                currentGame = new GameHandler(this);
-            }
-            if (nameMapId.keySet().stream().anyMatch(nickname::equalsIgnoreCase)) {
-                // Disconnection case
-                SerializedAnswer error = new SerializedAnswer();
-                error.setServerAnswer(new GameError(ErrorType.DUPLICATE_NICKNAME));
-                socketClientHandler.sendSocketMessage(error);
-                return null;
-            }
-            if (nickname.contains("-")) {
-                SerializedAnswer error = new SerializedAnswer();
-                error.setServerAnswer(new GameError(ErrorType.INVALID_NICKNAME));
-                socketClientHandler.sendSocketMessage(error);
-                return null;
-            }
-            clientID = createClientID();
-            currentGame.createPlayer(nickname, clientID);
-            VirtualClient client =
-                    new VirtualClient(clientID, nickname, socketClientHandler, currentGame);
-            if (totalPlayers != -1 && waiting.size() >= totalPlayers) {
-                return null;
-            }
-
-            idMapClient.put(clientID, client);
-            nameMapId.put(nickname, clientID);
-            idMapName.put(clientID, nickname);
-
-            clientToConnection.put(client, socketClientHandler);
-            System.out.println(
-                    Constants.getInfo()
-                            + "Client "
-                            + client.getNickname()
-                            + ", identified by ID "
-                            + client.getClientID()
-                            + ", has successfully connected!");
-            client.send(
-                    new ConnectionMessage("Connection was successfully set-up! You are now connected.", true));
-            if (waiting.size() > 1) {
-                currentGame.sendAll(
-                        new CustomMessage("Client " + client.getNickname() + " joined the game"));
-            }
+    public Integer registerNewConnection(String nickname, ClientConnection socketClientHandler) {
+        if (nickname.contains("-")) {
+            SerializedAnswer error = new SerializedAnswer();
+            error.setServerAnswer(new GameError(ErrorType.INVALID_NICKNAME));
+            socketClientHandler.sendSocketMessage(error);
+            return null;
+        }
+        int clientID = createClientID();
+        // the client joins a game once he has chosen the kind of match
+        VirtualClient client =
+                new VirtualClient(clientID, nickname, socketClientHandler, null);
+
+        if (!sessions.register(client)) {
+            // the nickname is taken, even if it's been registered after the check of the client
+            SerializedAnswer error = new SerializedAnswer();
+            error.setServerAnswer(new GameError(ErrorType.DUPLICATE_NICKNAME));
+            socketClientHandler.sendSocketMessage(error);
+            return null;
         }
+        System.out.println(
+                Constants.getInfo()
+                        + "Client "
+                        + client.getNickname()
+                        + ", identified by ID "
+                        + client.getClientID()
+                        + ", has successfully connected!");
+        socketClientHandler.sendConnectionMessage("Connection was successfully set-up! You are now connected.",
+                client.getResumeToken());
         return clientID;
     }
 
@@ -286,42 +380,78 @@ public class Server {
      * Method recoverConnection lets a player recover his lost connection and reconnect to the game.
      *
      * @param nickname            the nickname of the player that has reconnected.
-     * @param socketClientHandler the player's SocketClientConnection instance.
+     * @param socketClientHandler the player's ClientConnection instance.
      * @return The client's clientID if successful, null otherwise.
      */
-    public Integer recoverConnection(String nickname, SocketClientConnection socketClientHandler) {
-        Integer clientID = nameMapId.get(nickname);
+    public Integer recoverConnection(String nickname, ClientConnection socketClientHandler) {
+        VirtualClient client = sessions.get(nickname);
+        Integer clientID = client != null ? client.getClientID() : null;
         if (clientID != null) {
-            VirtualClient client = idMapClient.get(clientID);
-            if (client.isConnected()) {
+            if (!client.getNickname().equals(nickname) || !reattach(client, socketClientHandler)) {
                 SerializedAnswer ans = new SerializedAnswer();
                 ans.setServerAnswer(new GameError(ErrorType.DUPLICATE_NICKNAME));
                 socketClientHandler.sendSocketMessage(ans);
                 return null;
-            } else {
-                client.setSocketClientConnection(socketClientHandler);
-                client.getGameHandler().sendAllExcept(new CustomMessage(nickname + " has reconnected and is waiting to be re-entered in the game"), clientID);
-                client.getGameHandler().reEnterPlayer(nickname);
             }
         }
         return clientID;
     }
 
+    /**
+     * Method resumeConnection lets a player presenting his resume token get his session back, reattaching the
+     * connection to his virtual client and game in O(1).
+     *
+     * @param token               the resume token presented by the player.
+     * @param nickname            the nickname of the player, which must be the one the token was issued to.
+     * @param socketClientHandler the player's ClientConnection instance.
+     * @return The client's clientID if successful, null if the token is unknown or the session can't be resumed.
+     */
+    public Integer resumeConnection(String token, String nickname, ClientConnection socketClientHandler) {
+        VirtualClient client = sessions.getByToken(token);
+        if (client == null || !client.getNickname().equals(nickname) || !reattach(client, socketClientHandler)) {
+            return null;
+        }
+        return client.getClientID();
+    }
+
+    /**
+     * Method reattach replaces the lost connection of a player in a game with the new one, then re-enters him
+     * in the game, sending him his resume token again before the state of the game.
+     *
+     * @return true if the player has been reattached, false if he's not in a game or still connected.
+     */
+    private boolean reattach(VirtualClient client, ClientConnection socketClientHandler) {
+        GameHandler game = client.getGameHandler();
+        if (game == null || !client.replaceConnection(socketClientHandler)) {
+            return false;
+        }
+        System.out.println(Constants.getInfo() + "Client " + client.getNickname() + " has reconnected.");
+        socketClientHandler.sendConnectionMessage("Connection was successfully recovered! You are now connected.",
+                client.getResumeToken());
+        game.execute(() -> game.sendAllExcept(new CustomMessage(client.getNickname()
+                + " has reconnected and is waiting to be re-entered in the game"), client.getClientID()));
+        game.reEnterPlayer(client.getNickname());
+        return true;
+    }
+
     /**
      * Method createClientID returns a new client ID for a fresh-connected client. It's based on an
      * attribute which considers the number of people connected to this server since his startup.
      *
      * @return int - the generated client id.
      */
-    public synchronized int createClientID() {
-        int id = nextClientID;
-        nextClientID++;
-        return id;
+    public int createClientID() {
+        return sessions.nextClientID();
     }
 
     /**
      * The main class of the server. It simply creates a new server class, adding a server socket to
-     * an executor.
+     * an executor. The "--transport=nio" argument selects the selector-based transport, while the
+     * "--threads=virtual" one runs the blocking connections on virtual threads. The "--compression=none" argument
+     * disables the compression of the answers, "--compression-threshold=128" sets the smallest one compressed.
+     * The "--websocket-port=8080" argument also opens the WebSocket gateway on the given port, while the
+     * "--frame-rate=100", "--frame-burst=200", "--invalid-rate=5" and "--invalid-burst=20" ones set the rate limits
+     * of every connection.
      *
      * @param args of type String[] - the main args, like any Java application.
      */
@@ -339,13 +469,27 @@ public class Server {
         }
         if (port < 0 || (port > 0 && port < 1024)) {
             System.err.println("Error: ports accepted started from 1024! Please insert a new value.");
-            main(null);
+            main(args);
         }
         Constants.setPort(port);
         System.err.println(Constants.getInfo() + "Starting Socket Server");
-        Server server = new Server();
+        if (ServerThreads.configure(args)) {
+            System.out.println(Constants.getInfo() + "Virtual threads mode enabled");
+        }
+        OutboundQueue.configure(args);
+        ActionThrottle.configure(args);
+        FrameDeflater.configure(args);
+        GameHandler.configure(args);
+        Server server = new Server(Transport.fromArgs(args));
+        server.setCompression(Compression.fromArgs(args));
         ExecutorService executor = Executors.newCachedThreadPool();
         System.out.println(Constants.getInfo() + "Instantiating server class...");
         executor.submit(server.socketServer);
+        int webSocketPort = WebSocketServer.portFromArgs(args);
+        if (webSocketPort > 0) {
+            WebSocketServer gateway = new WebSocketServer(webSocketPort, server);
+            server.addAcceptor(gateway);
+            executor.submit(gateway);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.constants.Constants;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ServerThreads class creates the threads used by the blocking side of the server: the connection loops,
+ * their writer tasks and the games' winning timers.
+ * When the virtual threads mode is enabled and the running JVM supports them, every one of these threads is
+ * a virtual thread, which costs a few KB instead of a full platform stack. The virtual threads API is looked
+ * up reflectively, so the server still builds and runs on Java 17.
+ */
+public final class ServerThreads {
+
+    public static final String VIRTUAL_THREADS_ARG = "--threads=virtual";
+
+    private static final Method OF_VIRTUAL = lookup(Thread.class, "ofVirtual");
+    private static final Method BUILDER_NAME = lookup("java.lang.Thread$Builder", "name", String.class);
+    private static final Method BUILDER_START = lookup("java.lang.Thread$Builder", "start", Runnable.class);
+    private static final Method VIRTUAL_EXECUTOR = lookup(Executors.class, "newVirtualThreadPerTaskExecutor");
+
+    private static volatile boolean virtual;
+
+    private ServerThreads() {
+    }
+
+    /**
+     * Method lookup finds a public method by name, returning null if the running JVM doesn't have it.
+     */
+    private static Method lookup(Class<?> type, String name, Class<?>... parameters) {
+        try {
+            return type.getMethod(name, parameters);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Method lookup finds a public method by class and method name, returning null if the running JVM doesn't have it.
+     */
+    private static Method lookup(String type, String name, Class<?>... parameters) {
+        try {
+            return lookup(Class.forName(type), name, parameters);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Method isVirtualAvailable checks if the running JVM can start virtual threads.
+     *
+     * @return true if virtual threads are available, false otherwise.
+     */
+    public static boolean isVirtualAvailable() {
+        if (OF_VIRTUAL == null || BUILDER_NAME == null || BUILDER_START == null || VIRTUAL_EXECUTOR == null) {
+            return false;
+        }
+        try {
+            // on preview releases the API exists but fails unless preview features are enabled
+            OF_VIRTUAL.invoke(null);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Method configure enables the virtual threads mode if the "--threads=virtual" argument is given.
+     * When the running JVM doesn't support virtual threads, the server falls back to platform threads.
+     *
+     * @param args the command line arguments, may be null.
+     * @return true if the virtual threads mode has been enabled, false otherwise.
+     */
+    public static boolean configure(String[] args) {
+        boolean requested = false;
+        if (args != null) {
+            for (String arg : args) {
+                requested |= arg.equalsIgnoreCase(VIRTUAL_THREADS_ARG);
+            }
+        }
+        if (requested && !isVirtualAvailable()) {
+            System.err.println(Constants.getErr() + "Virtual threads are not available on this JVM, using platform threads.");
+        }
+        setVirtual(requested && isVirtualAvailable());
+        return virtual;
+    }
+
+    /**
+     * Method setVirtual enables or disables the virtual threads mode.
+     *
+     * @param value true to use virtual threads; it's ignored if the running JVM doesn't support them.
+     */
+    public static void setVirtual(boolean value) {
+        virtual = value && isVirtualAvailable();
+    }
+
+    /**
+     * Method isVirtual checks if the virtual threads mode is enabled.
+     *
+     * @return true if the server threads are virtual, false otherwise.
+     */
+    public static boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Method newConnectionExecutor creates the executor running the connection loops: a virtual thread
+     * per task executor in virtual threads mode, a cached thread pool otherwise.
+     *
+     * @return the connection executor.
+     */
+    public static ExecutorService newConnectionExecutor() {
+        if (virtual) {
+            try {
+                return (ExecutorService) VIRTUAL_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Method start starts a new named thread running the given task, virtual in virtual threads mode.
+     *
+     * @param name the name of the thread.
+     * @param task the task to be run.
+     * @return the started thread.
+     */
+    public static Thread start(String name, Runnable task) {
+        if (virtual) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name);
+                return (Thread) BUILDER_START.invoke(builder, task);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        Thread thread = new Thread(task, name);
+        thread.start();
+        return thread;
+    }
+}
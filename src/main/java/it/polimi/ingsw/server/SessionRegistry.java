@@ -0,0 +1,136 @@
+package it.polimi.ingsw.server;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SessionRegistry class keeps the clients connected to the server, indexed by ID, by nickname and by resume token.
+ * The nicknames are indexed in lower case, so the ones differing only by case are the same nickname.
+ * The lookups never lock and cost O(1), while registering and unregistering a client are atomic: the nickname is
+ * reserved first, so two clients can never register the same one, and a client is removed only by the session
+ * which registered it. Logins and disconnections of different clients never wait for each other.
+ * Each registered client is issued an opaque, random resume token, which lets him reattach to his session
+ * when he comes back.
+ *
+ * @see VirtualClient
+ */
+public class SessionRegistry {
+
+    private final Map<Integer, VirtualClient> byID = new ConcurrentHashMap<>();
+    private final Map<String, VirtualClient> byNickname = new ConcurrentHashMap<>();
+    private final Map<String, VirtualClient> byToken = new ConcurrentHashMap<>();
+    private final AtomicInteger nextClientID = new AtomicInteger();
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 16;
+
+    /**
+     * Method nextClientID returns a new client ID for a fresh-connected client.
+     *
+     * @return the generated client ID.
+     */
+    public int nextClientID() {
+        return nextClientID.getAndIncrement();
+    }
+
+    /**
+     * Method register adds a client to the registry and issues his resume token, unless his nickname is already
+     * taken, ignoring the case.
+     *
+     * @param client the client to be registered.
+     * @return true if the client has been registered, false if the nickname is taken.
+     */
+    public boolean register(VirtualClient client) {
+        if (byNickname.putIfAbsent(normalize(client.getNickname()), client) != null) {
+            return false;
+        }
+        String token = newToken();
+        client.setResumeToken(token);
+        byToken.put(token, client);
+        byID.put(client.getClientID(), client);
+        return true;
+    }
+
+    /**
+     * Method unregister removes a client from the registry.
+     *
+     * @param client the client to be removed.
+     * @return true if the client has been removed, false if it was not registered.
+     */
+    public boolean unregister(VirtualClient client) {
+        if (!byID.remove(client.getClientID(), client)) {
+            return false;
+        }
+        byNickname.remove(normalize(client.getNickname()), client);
+        byToken.remove(client.getResumeToken(), client);
+        return true;
+    }
+
+    /**
+     * Method get returns the client with the given ID.
+     *
+     * @param clientID the ID of the client.
+     * @return the client, null if there is none.
+     */
+    public VirtualClient get(int clientID) {
+        return byID.get(clientID);
+    }
+
+    /**
+     * Method get returns the client with the given nickname, ignoring the case.
+     *
+     * @param nickname the nickname of the client.
+     * @return the client, null if there is none.
+     */
+    public VirtualClient get(String nickname) {
+        return byNickname.get(normalize(nickname));
+    }
+
+    /**
+     * Method getByToken returns the client which has been issued the given resume token.
+     *
+     * @param token the resume token presented by the client.
+     * @return the client, null if the token is unknown.
+     */
+    public VirtualClient getByToken(String token) {
+        return token != null ? byToken.get(token) : null;
+    }
+
+    /**
+     * Method clients returns a live view of the registered clients, which can be iterated while clients join and
+     * leave.
+     *
+     * @return the registered clients.
+     */
+    public Collection<VirtualClient> clients() {
+        return byID.values();
+    }
+
+    /**
+     * Method size returns the number of registered clients.
+     */
+    public int size() {
+        return byID.size();
+    }
+
+    /**
+     * Method normalize returns the key of a nickname in the index, the same for the nicknames differing only by case.
+     */
+    private static String normalize(String nickname) {
+        return nickname.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Method newToken generates a random resume token, which can't be guessed from the client's ID or nickname.
+     */
+    private static String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
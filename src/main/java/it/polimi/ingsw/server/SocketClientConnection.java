@@ -1,67 +1,84 @@
 package it.polimi.ingsw.server;
 
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.*;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SocketChannel;
+import java.util.List;
 import java.util.logging.Level;
-import java.util.logging.Logger;
 
 import it.polimi.ingsw.client.messages.*;
 import it.polimi.ingsw.constants.Constants;
-import it.polimi.ingsw.constants.ErrorType;
-import it.polimi.ingsw.server.answers.*;
-import it.polimi.ingsw.controller.actions.*;
-import it.polimi.ingsw.controller.actions.characters.*;
-import it.polimi.ingsw.exceptions.GameException;
-import it.polimi.ingsw.exceptions.InvalidPlayerException;
-import it.polimi.ingsw.exceptions.RoundOwnerException;
+import it.polimi.ingsw.network.Codec;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.network.Frames;
 
 /**
- * SocketClientConnection handles a connection between client and server, permitting sending and
+ * SocketClientConnection handles a blocking connection between client and server, permitting sending and
  * receiving messages and doing other class-useful operations too.
+ * The connection speaks either the framed protocol or, for legacy clients, a plain ObjectOutputStream stream:
+ * the mode is detected from the first bytes sent by the client.
+ * On framed connections accepted through a channel, the queued frames are written together with a single
+ * gathering write, straight from the shared frames and the pooled buffers of the compressed ones.
  *
  * @see Runnable
+ * @see Frames
  */
-public class SocketClientConnection implements Runnable {
+public class SocketClientConnection extends ClientConnection implements Runnable {
     private final Socket socket;
-    private final Server server;
     private ObjectInputStream inputStream;
     private ObjectOutputStream outputStream;
-    private Integer clientID;
-    private boolean active;
-    private boolean pongReceived;
+    private DataInputStream frameInput;
+    private DataOutputStream frameOutput;
+    private SocketChannel frameChannel;
+    private ByteBuffer[] frames = new ByteBuffer[0];
+    private Codec codec;
     private final Object outputStreamLock = new Object();
 
-    private final Logger logger = Logger.getLogger(getClass().getName());
-
     /**
      * Method isActive returns the active of this SocketClientConnection object.
      *
      * @return the active (type boolean) of this SocketClientConnection object.
      */
+    @Override
     public boolean isActive() {
         return !getSocket().isClosed();
     }
 
     /**
-     * Constructor SocketClientConnection instantiates an input/output stream from the socket received
-     * as parameters, and adds the main server to his attributes too.
+     * Constructor SocketClientConnection binds the socket which accepted the client to the main server.
+     * The streams are opened by the connection's own thread, so that a slow client can't stall the acceptor.
      *
      * @param socket of type Socket - the socket which accepted the client connection.
      * @param server of type Server - the main server class.
      */
     public SocketClientConnection(Socket socket, Server server) {
-        this.server = server;
+        super(server);
         this.socket = socket;
-        try {
-            inputStream = new ObjectInputStream(socket.getInputStream());
+    }
+
+    /**
+     * Method openStreams reads the first bytes sent by the client and opens the streams of the
+     * corresponding protocol: framed if the client sent the protocol preamble, legacy otherwise.
+     *
+     * @throws IOException when the client is not online anymore.
+     */
+    private void openStreams() throws IOException {
+        PushbackInputStream in = new PushbackInputStream(new BufferedInputStream(socket.getInputStream()), 4);
+        byte[] magic = new byte[4];
+        int read = in.readNBytes(magic, 0, magic.length);
+        if (read == magic.length && new DataInputStream(new ByteArrayInputStream(magic)).readInt() == Frames.MAGIC) {
+            frameInput = new DataInputStream(in);
+            codec = Frames.readCodec(frameInput);
+            frameChannel = socket.getChannel();
+            if (frameChannel == null) {
+                frameOutput = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            }
+        } else {
+            in.unread(magic, 0, read);
+            inputStream = new ObjectInputStream(in);
             outputStream = new ObjectOutputStream(socket.getOutputStream());
-            clientID = -1;
-            active = true;
-        } catch (IOException e) {
-            System.err.println(Constants.getErr() + "Error socket-stream!");
-            System.err.println(e.getMessage());
         }
     }
 
@@ -75,41 +92,35 @@ public class SocketClientConnection implements Runnable {
     }
 
     /**
-     * Method close terminates the connection with the client, closing firstly input and output
-     * streams, then invoking the server method called "unregisterClient", which will remove the
-     * active virtual client from the list.
+     * Method closeTransport stops the heartbeat and closes the client's socket.
      *
-     * @see it.polimi.ingsw.server.Server#unregisterClient for more details.
+     * @throws IOException when the socket can't be closed.
      */
-    public synchronized void close() {
-        active = false;
-        try {
-            socket.close();
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, e.getMessage());
-        }
-
-        server.getGameByID(clientID).unregisterPlayer(clientID);
-
+    @Override
+    protected void closeTransport() throws IOException {
+        stopHeartbeat();
+        socket.close();
     }
 
     /**
-     * Method readFromStream reads a serializable object from the input stream, using
-     * ObjectInputStream library.
+     * Method readFromStream reads a serializable object from the input stream, then it dispatches it. The frames
+     * over the rate limit of the client are dropped before being decoded; the legacy stream can't be skipped
+     * without deserializing it, so its messages are dropped after.
      *
      * @throws IOException            when the client is not online anymore.
      * @throws ClassNotFoundException when the serializable object is not part of any class.
      */
     public void readFromStream() throws IOException, ClassNotFoundException {
-        SerializedMessage input = (SerializedMessage) inputStream.readObject();
-        synchronized (this) {
-            if (input.message != null) {
-                Message command = input.message;
-                actionHandler(command);
-            } else if (input.action != null) {
-                Action action = input.action;
-                actionHandler(action);
+        if (codec != null) {
+            byte[] payload = Frames.readFrame(frameInput);
+            if (acceptFrame()) {
+                dispatch(codec.decodeMessage(payload));
             }
+            return;
+        }
+        SerializedMessage message = (SerializedMessage) inputStream.readObject();
+        if (acceptFrame()) {
+            dispatch(message);
         }
     }
 
@@ -121,205 +132,95 @@ public class SocketClientConnection implements Runnable {
     @Override
     public void run() {
         try {
-            // ping thread
-            new Thread(() ->{
-                while(isActive()){
-                    try {
-                        boolean gameStarted = clientID != null && server.getGameByID(clientID) != null && server.getGameByID(clientID).isStarted();
-                        if(gameStarted)
-                            ping();
-                        Thread.sleep(Constants.PING_TIMEOUT_MS);
-                        if(gameStarted && isActive())
-                            checkPong();
-
-                    } catch (InterruptedException e) {
-                        throw new RuntimeException(e);
-                    }
-                }
-            }).start();
-
+            openStreams();
+            startHeartbeat();
 
             // read reading loop
             while (isActive()) {
                 readFromStream();
             }
         } catch (IOException e) {
-            close();
-            System.err.println(Constants.getInfo() + e.getMessage());
+            closeOnError();
+            // a socket closed under a channel read reports no message of its own
+            System.err.println(Constants.getInfo() + (e instanceof ClosedChannelException ? "Socket closed" : e.getMessage()));
         } catch (ClassNotFoundException e) {
             logger.log(Level.SEVERE, e.getMessage(), e);
         }
     }
 
     /**
-     * Method actionHandler handles an action by receiving a message from the client.
-     *
-     * @param command of type Message - the Message interface type command, which needs to be checked
-     *                in order to perform an action.
+     * Method getCodec returns the codec chosen by the client in the preamble.
      */
-    public void actionHandler(Message command) {
-        if (command instanceof LoginMessage) {
-            setupConnection((LoginMessage) command);
-        }
-        else if (command instanceof PongMessage) {
-            pongReceived = true;
-        }
+    @Override
+    protected Codec getCodec() {
+        return codec;
     }
 
     /**
-     * Method actionHandler handles an action by parsing from what it's received an action from the client.
+     * Method write writes the answer on the socket: the shared encoded frame on framed connections,
+     * the serialized answer object on legacy ones.
      *
-     * @param action the generic action to be executed.
+     * @param answer of type EncodedAnswer - the answer to be written.
+     * @throws IOException when the socket is closed.
      */
-    public void actionHandler(Action action) {
-        Performable move;
-        /*if (command instanceof LoginMessage) {
-            setupConnection((LoginMessage) command);
-        }*/
-        String nickname = server.getNicknameByID(clientID);
-        switch (action.actionType) {
-            case CHOOSE_MAGICIAN -> move = new ChooseMagician(nickname, action.int0);
-            case PLAY_CARD -> move = new PlayCard(nickname, action.int0);
-            case MOVE_MOTHER_NATURE -> move = new MoveMotherNature(nickname, action.int0);
-            case MOVE_STUDENT_ISLAND -> move = new MoveStudentFromEntryToIsland(nickname, action.color0, action.int0);
-            case MOVE_STUDENT_HALL -> move = new MoveStudentFromEntryToHall(nickname, action.color0);
-            case CHOOSE_CLOUD -> move = new ChooseCloud(nickname, action.int0);
-            case ACTIVATE_CARD -> move = new ActivateCard(nickname, action.int0);
-            case DEACTIVATE_CARD -> move = new DeactivateCard(nickname, action.int0);
-            case GRANDMA_BLOCK -> move = new GrandmaBlockIsland(nickname, action.int0);
-            case HERALD_CHOOSE -> move = new HeraldChooseIsland(nickname, action.int0);
-            case JOKER_SWAP -> move = new JokerSwapStudents(nickname, action.color0, action.color1);
-            case MINSTREL_SWAP -> move = new MinstrelSwapStudents(nickname, action.color0, action.color1);
-            case MONK_MOVE -> move = new MonkMoveToIsland(nickname, action.color0, action.int0);
-            case MUSHROOM_CHOOSE -> move = new MushroomChooseColor(nickname, action.color0);
-            case PRINCESS_MOVE -> move = new PrincessMoveToHall(nickname, action.color0);
-            case THIEF_CHOOSE -> move = new ThiefChooseColor(nickname, action.color0);
-            default -> {
-                server.getClientByID(clientID).send(new GameError(ErrorType.INVALID_MOVE, "Specified move is badly formatted."));
-                return;
-            }
-        }
-        try {
-            server.getGameByID(clientID).performAction(move);
-        } catch (GameException | InvalidPlayerException | RoundOwnerException e) {
-            server.getClientByID(clientID).send(new GameError(e.getMessage()));
-        }
+    @Override
+    protected void write(EncodedAnswer answer) throws IOException {
+        write(List.of(answer));
     }
 
     /**
-     * Method setupConnection checks the validity of the connection message received from the client.
+     * Method write writes the queued answers on the socket, with a single gathering write on framed
+     * connections backed by a channel.
      *
-     * @param command of type SetupConnection - the connection command.
+     * @param answers the answers to be written, in order.
+     * @throws IOException when the socket is closed.
      */
-    private void setupConnection(LoginMessage command) {
-        if (!server.isNicknameTaken(command.getNickname())) {
-            try {
-                clientID = server.registerNewConnection(command.getNickname(), this);
-                if (clientID == null) {
-                    active = false;
-                    return;
+    @Override
+    protected void write(List<EncodedAnswer> answers) throws IOException {
+        synchronized(outputStreamLock) {
+            if (frameChannel != null) {
+                writeFrames(answers);
+            } else if (codec != null) {
+                for (EncodedAnswer answer : answers) {
+                    frameOutput.write(frame(answer, codec));
                 }
-                server.lobby(this);
-            } catch (InterruptedException e) {
-                System.err.println(e.getMessage());
-                Thread.currentThread().interrupt();
-            }
-
-        } else {
-            clientID = server.recoverConnection(command.getNickname(), this);
-            if (clientID != null) {
-                return;
-            }
-        }
-    }
-
-
-    /**
-     * Method setPlayers is a setup method. It permits setting the number of the players in the match,
-     * which is decided by the first user connected to the server. It waits for a ReqPlayersMessage
-     * Message type, then extracts the information about the number of players, passing it as a
-     * parameter to the server function "setTotalPlayers".
-     *
-     * @param message of type RequestPlayersNumber - the action received from the user. This method
-     *                iterates on it until it finds a NumberOfPlayers type.
-     */
-    public void setup(ReqPlayersMessage message) {
-        SerializedAnswer ans = new SerializedAnswer();
-        ans.setServerAnswer(message);
-        sendSocketMessage(ans);
-        while (true) {
-            try {
-                SerializedMessage input = (SerializedMessage) inputStream.readObject();
-                Message command = input.message;
-                if (command instanceof SetupMessage) {
-                    try {
-                        int playerNumber = (((SetupMessage) command).playersNumber);
-                        boolean expertMode = (((SetupMessage) command).expertMode);
-                        server.setTotalPlayers(playerNumber);
-                        server.getGameByID(clientID).setPlayersNumber(playerNumber);
-                        server.getGameByID(clientID).setExpertMode(expertMode);
-                        server.getClientByID(this.clientID).send(new CustomMessage("Success: player number " + "set to " + playerNumber + ", game mode: " + (expertMode ? "expert" : "normal")));
-                        server.getClientByID(this.clientID).send(new CustomMessage("Waiting for the other players..."));
-                        break;
-                    } catch (Exception e) {
-                        server.getClientByID(this.clientID).send(new CustomMessage("Error: not a valid " + "input! Please provide a value of 2 or 3."));
-                        server.getClientByID(this.clientID).send(new ReqPlayersMessage("Choose the number" + " of players!\n setup [2/3] [?expert]"));
+                frameOutput.flush();
+            } else {
+                // legacy clients don't know the BatchMessage, so they receive the single answers
+                for (EncodedAnswer answer : answers) {
+                    for (EncodedAnswer part : answer.getParts()) {
+                        outputStream.reset();
+                        outputStream.writeObject(part.getSerializedAnswer());
                     }
                 }
-            } catch (ClassNotFoundException | IOException e) {
-                close();
-                System.err.println(e.getMessage());
-            }
-        }
-    }
-
-    /**
-     * Method sendSocketMessage allows dispatching the server's Answer to the correct client. The type
-     * SerializedMessage contains an Answer type object, which represents an interface for server
-     * answer, like the client Message one.
-     *
-     * @param serverAnswer of type SerializedAnswer - the serialized server answer (interface Answer).
-     */
-    public void sendSocketMessage(SerializedAnswer serverAnswer) {
-        synchronized(outputStreamLock) {
-            try {
-                outputStream.reset();
-                outputStream.writeObject(serverAnswer);
                 outputStream.flush();
-            } catch (Exception e) {
-                System.out.println(e.getMessage());
-                close();
             }
         }
     }
 
     /**
-     * Method ping allows the server to check if a client is still connected.
-     */
-    public void ping() {
-        SerializedAnswer answer = new SerializedAnswer();
-        answer.setServerAnswer(new PingMessage());
-        sendSocketMessage(answer);
-    }
-
-    /**
-     * Method checkPong closes the connection if a pong response has not been received
+     * Method writeFrames writes the frames of the answers on the channel, giving the pooled ones back once
+     * they have been written.
      */
-    private synchronized void checkPong(){
-        if(pongReceived)
-            pongReceived = false;
-        else{
-            logger.log(Level.SEVERE, "PONG not received from clientID" + clientID);
-            close();
+    private void writeFrames(List<EncodedAnswer> answers) throws IOException {
+        int count = answers.size();
+        if (frames.length < count) {
+            frames = new ByteBuffer[count];
+        }
+        try {
+            long remaining = 0;
+            for (int i = 0; i < count; i++) {
+                frames[i] = frameBuffer(answers.get(i), codec);
+                remaining += frames[i].remaining();
+            }
+            while (remaining > 0) {
+                remaining -= frameChannel.write(frames, 0, count);
+            }
+        } finally {
+            for (int i = 0; i < count; i++) {
+                recycle(frames[i]);
+                frames[i] = null;
+            }
         }
     }
-
-    /**
-     * Method getClientID returns the clientID of this SocketClientConnection object.
-     *
-     * @return the clientID (type Integer) of this SocketClientConnection object.
-     */
-    public Integer getClientID() {
-        return clientID;
-    }
-}
\ No newline at end of file
+}
@@ -3,9 +3,11 @@ package it.polimi.ingsw.server;
 import it.polimi.ingsw.constants.Constants;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -13,18 +15,20 @@ import java.util.logging.Logger;
  * SocketServer class creates a socket that accepts connections from clients, and creates a thread
  * containing them.
  *
- * @see Runnable
+ * @see ConnectionAcceptor
  */
-public class SocketServer implements Runnable {
+public class SocketServer implements ConnectionAcceptor {
 
     private final int port;
     private final ExecutorService executorService;
     private final Server server;
     private volatile boolean active;
+    private volatile ServerSocket serverSocket;
     private final Logger logger = Logger.getLogger(getClass().getName());
 
     /**
-     * Constructor SocketServer creates a new SocketServer instance.
+     * Constructor SocketServer creates a new SocketServer instance. The connections run on virtual
+     * threads if the virtual threads mode is enabled.
      *
      * @param port   of type int - the port on which server will listen.
      * @param server of type Server - the main server object.
@@ -32,17 +36,27 @@ public class SocketServer implements Runnable {
     public SocketServer(int port, Server server) {
         this.server = server;
         this.port = port;
-        executorService = Executors.newCachedThreadPool();
+        executorService = ServerThreads.newConnectionExecutor();
         active = true;
     }
 
     /**
-     * Method setActive sets the active connection field of this SocketServer object.
+     * Method setActive sets the active connection field of this SocketServer object; an inactive server closes its
+     * server socket, so it stops accepting connections at once, while the accepted ones stay open.
      *
      * @param value the active connection value of the socket.
      */
+    @Override
     public void setActive(boolean value) {
         active = value;
+        ServerSocket socket = serverSocket;
+        if (!value && socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, e.getMessage());
+            }
+        }
     }
 
     /**
@@ -52,13 +66,15 @@ public class SocketServer implements Runnable {
      * @param serverSocket of type ServerSocket - the server socket, which accepts connections.
      */
     public void acceptConnections(ServerSocket serverSocket) {
-        while (active) {
+        while (active && !serverSocket.isClosed()) {
             try {
                 SocketClientConnection socketClient =
                         new SocketClientConnection(serverSocket.accept(), server);
                 executorService.submit(socketClient);
             } catch (IOException e) {
-                System.err.println("Error! " + e.getMessage());
+                if (active) {
+                    System.err.println("Error! " + e.getMessage());
+                }
             }
         }
     }
@@ -71,14 +87,24 @@ public class SocketServer implements Runnable {
     @Override
     public void run() {
         try {
-            ServerSocket serverSocket = new ServerSocket(port);
+            // a server socket bound through its channel accepts sockets backed by a SocketChannel, which
+            // the connections use for their gathering writes
+            ServerSocketChannel channel = ServerSocketChannel.open();
+            channel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            channel.bind(new InetSocketAddress(port));
+            ServerSocket socket = channel.socket();
+            serverSocket = socket;
+            if (!active) {
+                // stopped before the socket was open
+                socket.close();
+            }
             System.out.println(
                     Constants.getInfo()
                             + "Socket Server started; listening on port "
                             + port
                             + ". Type "
                             + "\"quit\" to exit");
-            acceptConnections(serverSocket);
+            acceptConnections(socket);
         } catch (IOException e) {
             System.err.println(Constants.getErr() + "Error during Socket initialization, quitting...");
             logger.log(Level.SEVERE, e.getMessage(), e);
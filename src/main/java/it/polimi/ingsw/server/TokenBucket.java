@@ -0,0 +1,59 @@
+package it.polimi.ingsw.server;
+
+/**
+ * TokenBucket class is a rate limiter: it holds up to "burst" tokens, refilled at "rate" tokens per second, and
+ * every event allowed takes a token. The tokens are refilled lazily, when the bucket is used.
+ *
+ * @see ActionThrottle
+ */
+class TokenBucket {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final double tokensPerNano;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * Constructor TokenBucket creates a full bucket.
+     *
+     * @param rate  the tokens added every second.
+     * @param burst the maximum number of tokens, that is the longest burst allowed.
+     */
+    TokenBucket(double rate, double burst) {
+        this.tokensPerNano = rate / NANOS_PER_SECOND;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Method tryAcquire takes a token, if the bucket holds one.
+     *
+     * @return true if the event is allowed, false if the bucket is empty.
+     */
+    synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Method hasToken checks if the bucket holds a token, without taking it.
+     *
+     * @return true if the next event would be allowed, false otherwise.
+     */
+    synchronized boolean hasToken() {
+        refill();
+        return tokens >= 1;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,27 @@
+package it.polimi.ingsw.server;
+
+/**
+ * Transport enumeration lists the connection handling strategies available to the server.
+ * BLOCKING uses a thread per connection (and it also accepts legacy clients), NIO uses a few selector
+ * threads for all the connections, which must speak the framed protocol.
+ */
+public enum Transport {
+    BLOCKING, NIO;
+
+    /**
+     * Method fromArgs parses the transport from the command line arguments, in the "--transport=nio" format.
+     *
+     * @param args the command line arguments, may be null.
+     * @return the chosen transport, BLOCKING if not specified.
+     */
+    public static Transport fromArgs(String[] args) {
+        if (args != null) {
+            for (String arg : args) {
+                if (arg.startsWith("--transport=")) {
+                    return valueOf(arg.substring("--transport=".length()).toUpperCase());
+                }
+            }
+        }
+        return BLOCKING;
+    }
+}
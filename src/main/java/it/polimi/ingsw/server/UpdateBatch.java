@@ -0,0 +1,137 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.model.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UpdateBatch class collects the answers generated while the game handles an action, so that every client
+ * receives them in a single frame when the action is over.
+ * The model messages are snapshots of a property, so for each client only the last one of every property is
+ * kept, in the position of its last update, together with the deltas of that property which follow it;
+ * every other answer is kept as it is.
+ *
+ * @see GameHandler#performAction
+ */
+public class UpdateBatch {
+    private final Map<VirtualClient, Map<Object, EncodedAnswer>> updates = new LinkedHashMap<>();
+    private int depth;
+
+    /**
+     * Method keyOf returns the property updated by an answer: answers with the same key replace each other.
+     *
+     * @param answer the answer to be sent.
+     * @return the key of the updated property, or null if the answer is not a property snapshot.
+     */
+    public static Object keyOf(Answer answer) {
+        if (answer instanceof IslandDeltaMessage || answer instanceof SchoolDeltaMessage) {
+            // a delta only describes the difference from the previous version, so it can't replace anything
+            return null;
+        }
+        if (answer instanceof SchoolMessage message) {
+            return List.of(SchoolMessage.class, message.getPlayer());
+        }
+        if (answer instanceof PlayedCardMessage message) {
+            return List.of(PlayedCardMessage.class, message.getPlayer());
+        }
+        if (answer instanceof ModelMessage && !(answer instanceof GameStateMessage)) {
+            // the game state transitions drive the clients' prompts, so none of them is dropped
+            return answer.getClass();
+        }
+        return null;
+    }
+
+    /**
+     * Method propertyOf returns the property updated by an answer, either with a snapshot or with a delta.
+     *
+     * @param answer the answer to be sent.
+     * @return the key of the updated property, or null if the answer doesn't update a property.
+     */
+    static Object propertyOf(Answer answer) {
+        if (answer instanceof IslandDeltaMessage) {
+            return IslandsMessage.class;
+        }
+        if (answer instanceof SchoolDeltaMessage message) {
+            return List.of(SchoolMessage.class, message.getPlayer());
+        }
+        return keyOf(answer);
+    }
+
+    /**
+     * Method begin opens a (possibly nested) batch scope.
+     */
+    void begin() {
+        depth++;
+    }
+
+    /**
+     * Method end closes a batch scope.
+     *
+     * @return true if the outermost scope has been closed, false otherwise.
+     */
+    boolean end() {
+        return --depth == 0;
+    }
+
+    /**
+     * Method add collects an answer for a client. A snapshot replaces the previous snapshot and deltas of the
+     * same property.
+     *
+     * @param client the recipient of the answer.
+     * @param answer the answer to be sent.
+     */
+    void add(VirtualClient client, EncodedAnswer answer) {
+        put(updates.computeIfAbsent(client, c -> new LinkedHashMap<>()), answer);
+    }
+
+    /**
+     * Method put adds an answer to the ordered updates of a client, replacing the previous snapshot and deltas
+     * of the same property if it's a snapshot.
+     *
+     * @param clientUpdates the updates of the client, by property.
+     * @param answer        the answer to be added.
+     */
+    private static void put(Map<Object, EncodedAnswer> clientUpdates, EncodedAnswer answer) {
+        Object key = keyOf(answer.getSerializedAnswer().getServerAnswer());
+        if (key == null) {
+            // every other answer gets its own key
+            clientUpdates.put(new Object(), answer);
+            return;
+        }
+        clientUpdates.values().removeIf(update -> key.equals(propertyOf(update.getSerializedAnswer().getServerAnswer())));
+        clientUpdates.put(key, answer);
+    }
+
+    /**
+     * Method coalesce applies the batch rules to a sequence of answers, splitting the batches in their parts.
+     *
+     * @param answers the answers to be coalesced, in order.
+     * @return the answers left, in order.
+     */
+    static List<EncodedAnswer> coalesce(Collection<EncodedAnswer> answers) {
+        Map<Object, EncodedAnswer> clientUpdates = new LinkedHashMap<>();
+        for (EncodedAnswer answer : answers) {
+            for (EncodedAnswer part : answer.getParts()) {
+                put(clientUpdates, part);
+            }
+        }
+        return new ArrayList<>(clientUpdates.values());
+    }
+
+    /**
+     * Method flush sends every collected answer, one frame for each client, and empties the batch.
+     */
+    void flush() {
+        for (Map.Entry<VirtualClient, Map<Object, EncodedAnswer>> entry : updates.entrySet()) {
+            List<EncodedAnswer> answers = new ArrayList<>(entry.getValue().values());
+            entry.getKey().sendNow(answers.size() == 1 ? answers.get(0) : EncodedAnswer.batch(answers));
+        }
+        updates.clear();
+    }
+}
@@ -1,7 +1,7 @@
 package it.polimi.ingsw.server;
 
+import it.polimi.ingsw.network.EncodedAnswer;
 import it.polimi.ingsw.server.answers.Answer;
-import it.polimi.ingsw.server.answers.SerializedAnswer;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
@@ -16,21 +16,22 @@ import java.beans.PropertyChangeListener;
 public class VirtualClient {
     private int clientID;
     private String nickname;
-    private SocketClientConnection socketClientConnection;
-    private GameHandler gameHandler;
+    private volatile ClientConnection socketClientConnection;
+    private volatile GameHandler gameHandler;
+    private volatile String resumeToken;
 
     /**
      * Constructor VirtualClient creates a new VirtualClient instance.
      *
      * @param clientID               of type int - the client ID.
      * @param nickname               of type String - the player's nickname.
-     * @param socketClientConnection of type SocketClientConnection - the class linking client to server via socket.
-     * @param gameHandler            of type GameHandler - GameHandler reference.
+     * @param socketClientConnection of type ClientConnection - the class linking client to server.
+     * @param gameHandler            of type GameHandler - GameHandler reference, null until the client joins a lobby.
      */
     public VirtualClient(
             int clientID,
             String nickname,
-            SocketClientConnection socketClientConnection,
+            ClientConnection socketClientConnection,
             GameHandler gameHandler) {
         this.nickname = nickname;
         this.clientID = clientID;
@@ -41,19 +42,50 @@ public class VirtualClient {
     /**
      * Method send prepares the answer for sending it through the network, putting it in a serialized
      * package, called SerializedMessage, then sends the packaged answer to the transmission protocol,
-     * located in the socket-client handler.
+     * located in the socket-client handler. While the game is handling an action, the answer is
+     * collected in the game's update batch instead.
      *
      * @param serverAnswer of type Answer - the answer to be sent to the user.
-     * @see it.polimi.ingsw.server.SocketClientConnection for more details.
+     * @see it.polimi.ingsw.server.ClientConnection for more details.
      */
     public void send(Answer serverAnswer) {
+        send(new EncodedAnswer(serverAnswer));
+    }
+
+    /**
+     * Method send sends an answer which may be shared with other clients, so that it's encoded only once.
+     *
+     * @param serverAnswer of type EncodedAnswer - the answer to be sent to the user.
+     */
+    public void send(EncodedAnswer serverAnswer) {
+        if (gameHandler == null || !gameHandler.collect(this, serverAnswer)) {
+            sendNow(serverAnswer);
+        }
+    }
+
+    /**
+     * Method sendNow queues an answer on the client's connection, bypassing any open update batch.
+     *
+     * @param serverAnswer of type EncodedAnswer - the answer to be sent to the user.
+     * @see UpdateBatch
+     */
+    void sendNow(EncodedAnswer serverAnswer) {
         if (socketClientConnection.isActive()) {
-            SerializedAnswer message = new SerializedAnswer();
-            message.setServerAnswer(serverAnswer);
-            socketClientConnection.sendSocketMessage(message);
+            socketClientConnection.send(serverAnswer);
         }
     }
 
+    /**
+     * Method sendShared sends an answer built from a model event. Every client notified of the same event
+     * builds an equal answer, so the one encoded for the first client is reused for all the others.
+     *
+     * @param event        of type Object - the model event which generated the answer.
+     * @param serverAnswer of type Answer - the answer to be sent to the user.
+     */
+    public void sendShared(Object event, Answer serverAnswer) {
+        send(gameHandler.share(event, serverAnswer));
+    }
+
     /**
      * Method sendAll sends the message to all playing clients, thanks to the GameHandler sendAll
      * method. It's triggered from the model's listeners after a player action.
@@ -65,9 +97,31 @@ public class VirtualClient {
     }
 
     /**
-     * Method getConnection returns the VirtualClient's SocketClientConnection instance.
+     * Method sendAll sends a delta to all playing clients, and the whole snapshot it changes to the clients
+     * which can't apply the deltas.
+     *
+     * @param delta    of type Answer - the change to be sent.
+     * @param snapshot of type Answer - the whole property changed by the delta.
+     * @see #receivesDeltas()
+     */
+    public void sendAll(Answer delta, Answer snapshot) {
+        gameHandler.sendAll(delta, snapshot);
+    }
+
+    /**
+     * Method receivesDeltas checks if the client can apply the island and school deltas: the legacy clients,
+     * whose connection doesn't use frames, only know the whole snapshots.
+     *
+     * @return true if the client's connection uses frames, false otherwise.
      */
-    public SocketClientConnection getConnection() {
+    public boolean receivesDeltas() {
+        return socketClientConnection.getCodec() != null;
+    }
+
+    /**
+     * Method getConnection returns the VirtualClient's ClientConnection instance.
+     */
+    public ClientConnection getConnection() {
         return socketClientConnection;
     }
 
@@ -85,6 +139,23 @@ public class VirtualClient {
         return clientID;
     }
 
+    /**
+     * Method getResumeToken returns the token issued to the client when he was registered, null before.
+     */
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    /**
+     * Method setResumeToken sets the token issued to the client by the session registry.
+     *
+     * @param resumeToken of type String - the resume token.
+     * @see SessionRegistry#register
+     */
+    void setResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+
     /**
      * Method isConnected checks if a client is connected at the moment.
      *
@@ -95,10 +166,25 @@ public class VirtualClient {
     }
 
     /**
-     * Method setSocketClientConnection sets a SocketClientConnection to the VirtualClient instance.
+     * Method setSocketClientConnection sets a ClientConnection to the VirtualClient instance.
+     */
+    public void setSocketClientConnection(ClientConnection connection) {
+        socketClientConnection = connection;
+    }
+
+    /**
+     * Method replaceConnection binds a new connection to a client whose connection has been lost. Only one of
+     * the connections trying to recover the same client at the same time succeeds.
+     *
+     * @param connection the new connection of the client.
+     * @return true if the connection has been replaced, false if the client is still connected.
      */
-    public void setSocketClientConnection(SocketClientConnection connection) {
+    public synchronized boolean replaceConnection(ClientConnection connection) {
+        if (isConnected()) {
+            return false;
+        }
         socketClientConnection = connection;
+        return true;
     }
 
     /**
@@ -108,4 +194,13 @@ public class VirtualClient {
     public GameHandler getGameHandler() {
         return gameHandler;
     }
+
+    /**
+     * Method setGameHandler sets the game the client has joined.
+     *
+     * @param gameHandler of type GameHandler - the game of the client's lobby.
+     */
+    public void setGameHandler(GameHandler gameHandler) {
+        this.gameHandler = gameHandler;
+    }
 }
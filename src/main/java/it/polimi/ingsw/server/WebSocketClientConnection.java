@@ -0,0 +1,288 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.constants.Constants;
+import it.polimi.ingsw.network.BinaryCodec;
+import it.polimi.ingsw.network.Codec;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.network.Frames;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * WebSocketClientConnection handles a WebSocket connection between client and server, on a thread of its own.
+ * After the HTTP upgrade handshake, every binary WebSocket message carries one frame payload of the binary codec,
+ * without the length, which is given by the WebSocket framing: the messages are dispatched as the ones of the
+ * socket connections, and the answers, compressed if the client asked for it, go back as binary messages.
+ * The pings of the client are answered, and the connection is closed when the client closes it or sends a
+ * message which is not binary.
+ *
+ * @see WebSocketServer
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc6455">RFC 6455</a>
+ */
+public class WebSocketClientConnection extends ClientConnection implements Runnable {
+
+    private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int MAX_HEADER_SIZE = 8192;
+    private static final int OP_CONTINUATION = 0x0;
+    private static final int OP_BINARY = 0x2;
+    private static final int OP_CLOSE = 0x8;
+    private static final int OP_PING = 0x9;
+    private static final int OP_PONG = 0xA;
+    private static final int MAX_CONTROL_SIZE = 125;
+
+    private final Socket socket;
+    private final Codec codec = BinaryCodec.INSTANCE;
+    private DataInputStream input;
+    private DataOutputStream output;
+    private final Object outputLock = new Object();
+
+    /**
+     * Constructor WebSocketClientConnection binds the socket which accepted the client to the main server.
+     * The handshake is run by the connection's own thread, so that a slow client can't stall the gateway.
+     *
+     * @param socket of type Socket - the socket which accepted the client connection.
+     * @param server of type Server - the main server class.
+     */
+    public WebSocketClientConnection(Socket socket, Server server) {
+        super(server);
+        this.socket = socket;
+    }
+
+    /**
+     * Method isActive returns the active of this WebSocketClientConnection object.
+     *
+     * @return the active (type boolean) of this WebSocketClientConnection object.
+     */
+    @Override
+    public boolean isActive() {
+        return !socket.isClosed();
+    }
+
+    /**
+     * Method closeTransport stops the heartbeat and closes the client's socket.
+     *
+     * @throws IOException when the socket can't be closed.
+     */
+    @Override
+    protected void closeTransport() throws IOException {
+        stopHeartbeat();
+        socket.close();
+    }
+
+    /**
+     * Method getCodec returns the codec of the WebSocket messages.
+     */
+    @Override
+    protected Codec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Method handshake reads the HTTP upgrade request of the client and accepts it.
+     *
+     * @throws IOException when the client is not online anymore or the request is not a WebSocket upgrade.
+     */
+    private void handshake() throws IOException {
+        input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        String requestLine = readLine();
+        Map<String, String> headers = new HashMap<>();
+        for (String line = readLine(); !line.isEmpty(); line = readLine()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+        String key = headers.get("sec-websocket-key");
+        if (!requestLine.startsWith("GET ") || key == null
+                || !headers.getOrDefault("upgrade", "").toLowerCase(Locale.ROOT).contains("websocket")) {
+            output.write("HTTP/1.1 400 Bad Request\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+            output.flush();
+            throw new StreamCorruptedException("Not a WebSocket upgrade request");
+        }
+        String response = "HTTP/1.1 101 Switching Protocols\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + acceptKey(key) + "\r\n\r\n";
+        synchronized (outputLock) {
+            output.write(response.getBytes(StandardCharsets.ISO_8859_1));
+            output.flush();
+        }
+    }
+
+    /**
+     * Method readLine reads a line of the HTTP request, without the line terminator.
+     */
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = input.read()) != '\n') {
+            if (c < 0) {
+                throw new EOFException();
+            }
+            if (line.length() == MAX_HEADER_SIZE) {
+                throw new StreamCorruptedException("HTTP header too long");
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Method acceptKey computes the Sec-WebSocket-Accept value proving that the server understood the handshake.
+     *
+     * @param key the Sec-WebSocket-Key sent by the client.
+     * @return the value of the Sec-WebSocket-Accept header.
+     */
+    static String acceptKey(String key) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            return Base64.getEncoder().encodeToString(sha1.digest((key + ACCEPT_GUID).getBytes(StandardCharsets.ISO_8859_1)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Method readPayload reads the next binary WebSocket message, answering the control frames received
+     * in the meantime.
+     *
+     * @return the payload of the message, still encoded.
+     * @throws IOException when the client is not online anymore, has closed the connection or has sent a frame
+     *                     which is not valid.
+     */
+    private byte[] readPayload() throws IOException {
+        ByteArrayOutputStream fragments = null;
+        while (true) {
+            int first = input.readUnsignedByte();
+            int second = input.readUnsignedByte();
+            boolean fin = (first & 0x80) != 0;
+            int opcode = first & 0x0F;
+            if ((second & 0x80) == 0) {
+                throw new StreamCorruptedException("Unmasked WebSocket frame");
+            }
+            long length = second & 0x7F;
+            if (length == 126) {
+                length = input.readUnsignedShort();
+            } else if (length == 127) {
+                length = input.readLong();
+            }
+            if (length < 0 || length > Frames.MAX_FRAME_SIZE) {
+                throw new StreamCorruptedException("Invalid WebSocket frame length " + length);
+            }
+            byte[] mask = new byte[4];
+            input.readFully(mask);
+            byte[] payload = new byte[(int) length];
+            input.readFully(payload);
+            for (int i = 0; i < payload.length; i++) {
+                payload[i] ^= mask[i & 3];
+            }
+            switch (opcode) {
+                case OP_BINARY -> {
+                    if (fragments != null) {
+                        throw new StreamCorruptedException("Unfinished WebSocket message");
+                    }
+                    if (fin) {
+                        return payload;
+                    }
+                    fragments = new ByteArrayOutputStream();
+                    fragments.write(payload);
+                }
+                case OP_CONTINUATION -> {
+                    if (fragments == null) {
+                        throw new StreamCorruptedException("Unexpected WebSocket continuation");
+                    }
+                    fragments.write(payload);
+                    Frames.checkLength(fragments.size());
+                    if (fin) {
+                        return fragments.toByteArray();
+                    }
+                }
+                case OP_PING -> writeControl(OP_PONG, payload);
+                case OP_PONG -> {
+                    // unsolicited pongs are ignored
+                }
+                case OP_CLOSE -> {
+                    writeControl(OP_CLOSE, payload.length >= 2 ? new byte[]{payload[0], payload[1]} : new byte[0]);
+                    throw new EOFException("WebSocket closed by the client");
+                }
+                default -> throw new StreamCorruptedException("Unsupported WebSocket opcode " + opcode);
+            }
+        }
+    }
+
+    /**
+     * Method run is the overriding runnable class method, which is called on a new client connection.
+     *
+     * @see Runnable#run()
+     */
+    @Override
+    public void run() {
+        try {
+            handshake();
+            startHeartbeat();
+            while (isActive()) {
+                byte[] payload = readPayload();
+                if (acceptFrame()) {
+                    dispatch(codec.decodeMessage(payload));
+                }
+            }
+        } catch (IOException e) {
+            closeOnError();
+            System.err.println(Constants.getInfo() + e.getMessage());
+        }
+    }
+
+    /**
+     * Method write writes the answer as a binary WebSocket message, made of the frame payload.
+     *
+     * @param answer of type EncodedAnswer - the answer to be written.
+     * @throws IOException when the socket is closed.
+     */
+    @Override
+    protected void write(EncodedAnswer answer) throws IOException {
+        byte[] frame = frame(answer, codec);
+        synchronized (outputLock) {
+            writeHeader(OP_BINARY, frame.length - Frames.HEADER_SIZE);
+            output.write(frame, Frames.HEADER_SIZE, frame.length - Frames.HEADER_SIZE);
+            output.flush();
+        }
+    }
+
+    /**
+     * Method writeControl writes a control frame, answering a ping or a close of the client.
+     */
+    private void writeControl(int opcode, byte[] payload) throws IOException {
+        synchronized (outputLock) {
+            writeHeader(opcode, Math.min(payload.length, MAX_CONTROL_SIZE));
+            output.write(payload, 0, Math.min(payload.length, MAX_CONTROL_SIZE));
+            output.flush();
+        }
+    }
+
+    /**
+     * Method writeHeader writes the header of a final, unmasked server frame.
+     */
+    private void writeHeader(int opcode, int length) throws IOException {
+        output.writeByte(0x80 | opcode);
+        if (length < 126) {
+            output.writeByte(length);
+        } else if (length <= 0xFFFF) {
+            output.writeByte(126);
+            output.writeShort(length);
+        } else {
+            output.writeByte(127);
+            output.writeLong(length);
+        }
+    }
+}
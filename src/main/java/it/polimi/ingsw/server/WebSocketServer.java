@@ -0,0 +1,103 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.constants.Constants;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * WebSocketServer class is the WebSocket gateway of the server: it accepts the connections of the browsers and of
+ * the clients behind HTTP proxies on its own port, running each of them on a WebSocketClientConnection.
+ * The gateway is bound to the same main server as the socket transport, so its clients share the session
+ * registry, the lobbies and the game mailboxes with the socket clients, and they can play in the same games.
+ *
+ * @see WebSocketClientConnection
+ */
+public class WebSocketServer implements ConnectionAcceptor {
+
+    private final int port;
+    private final ExecutorService executorService;
+    private final Server server;
+    private volatile boolean active;
+    private volatile ServerSocket serverSocket;
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    /**
+     * Constructor WebSocketServer creates a new WebSocketServer instance. The connections run on virtual
+     * threads if the virtual threads mode is enabled.
+     *
+     * @param port   of type int - the port on which the gateway will listen.
+     * @param server of type Server - the main server object.
+     */
+    public WebSocketServer(int port, Server server) {
+        this.server = server;
+        this.port = port;
+        executorService = ServerThreads.newConnectionExecutor();
+        active = true;
+    }
+
+    /**
+     * Method portFromArgs parses the port of the gateway from the command line arguments, in the
+     * "--websocket-port=8080" format.
+     *
+     * @param args the command line arguments, may be null.
+     * @return the port of the gateway, -1 if the gateway is not enabled.
+     */
+    public static int portFromArgs(String[] args) {
+        if (args != null) {
+            for (String arg : args) {
+                if (arg.startsWith("--websocket-port=")) {
+                    return Integer.parseInt(arg.substring("--websocket-port=".length()));
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Method setActive sets the active field of this WebSocketServer object; an inactive gateway closes its
+     * server socket, so it stops accepting connections at once.
+     *
+     * @param value the active connection value of the socket.
+     */
+    @Override
+    public void setActive(boolean value) {
+        active = value;
+        ServerSocket socket = serverSocket;
+        if (!value && socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Method run opens the server socket of the gateway and accepts the connections until the gateway is stopped.
+     *
+     * @see Runnable#run()
+     */
+    @Override
+    public void run() {
+        try (ServerSocket socket = new ServerSocket(port)) {
+            serverSocket = socket;
+            System.out.println(Constants.getInfo() + "WebSocket gateway started; listening on port " + port);
+            while (active && !socket.isClosed()) {
+                try {
+                    executorService.submit(new WebSocketClientConnection(socket.accept(), server));
+                } catch (IOException e) {
+                    if (active) {
+                        System.err.println("Error! " + e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println(Constants.getErr() + "Error during WebSocket gateway initialization");
+            logger.log(Level.SEVERE, e.getMessage(), e);
+        }
+    }
+}
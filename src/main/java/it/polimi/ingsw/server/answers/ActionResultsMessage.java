@@ -0,0 +1,46 @@
+package it.polimi.ingsw.server.answers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Class ActionResultsMessage is a type of Answer used for telling the client the result of each action of an
+ * ActionBatchMessage: a null result means that the action has been executed, otherwise it's the reason why it
+ * has been refused.
+ *
+ * @see it.polimi.ingsw.client.messages.ActionBatchMessage
+ */
+public class ActionResultsMessage implements Answer {
+
+    /**
+     * Result of the actions which were valid but haven't been executed because another one was refused.
+     */
+    public static final String NOT_PERFORMED = "Not performed, another move of the batch was refused.";
+
+    private final List<String> message;
+
+    /**
+     * Constructor ActionResultsMessage creates a new ActionResultsMessage instance.
+     *
+     * @param results the result of each action, null for the executed ones.
+     */
+    public ActionResultsMessage(List<String> results) {
+        this.message = new ArrayList<>(results);
+    }
+
+    /**
+     * Method getMessage returns the result of each action, null for the executed ones.
+     */
+    @Override
+    public List<String> getMessage() {
+        return message;
+    }
+
+    /**
+     * Method isApplied returns true if every action of the batch has been executed.
+     */
+    public boolean isApplied() {
+        return message.stream().allMatch(Objects::isNull);
+    }
+}
@@ -0,0 +1,32 @@
+package it.polimi.ingsw.server.answers;
+
+import java.util.List;
+
+/**
+ * BatchMessage class is an Answer grouping all the answers generated by a single action, which the
+ * client handles in order.
+ *
+ * @see Answer
+ */
+public class BatchMessage implements Answer {
+    private final List<Answer> message;
+
+    /**
+     * Constructor BatchMessage creates a new BatchMessage instance.
+     *
+     * @param answers the answers to be sent together.
+     */
+    public BatchMessage(List<Answer> answers) {
+        this.message = answers;
+    }
+
+    /**
+     * Method getMessage returns the message of this Answer object.
+     *
+     * @return the grouped answers (type List) of this Answer object.
+     */
+    @Override
+    public List<Answer> getMessage() {
+        return message;
+    }
+}
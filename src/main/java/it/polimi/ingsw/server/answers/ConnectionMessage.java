@@ -1,5 +1,7 @@
 package it.polimi.ingsw.server.answers;
 
+import it.polimi.ingsw.network.Compression;
+
 /**
  * Class ConnectionMessage is a type of Answer used for player connection updates.
  *
@@ -9,6 +11,8 @@ public class ConnectionMessage implements Answer {
 
     private String message;
     private boolean validity;
+    private String resumeToken;
+    private Compression compression;
 
     /**
      * Constructor ConnectionMessage creates a new ConnectionMessage instance.
@@ -17,8 +21,23 @@ public class ConnectionMessage implements Answer {
      * @param validity the status of the player connection. True if open, false if closed.
      */
     public ConnectionMessage(String message, boolean validity) {
+        this(message, validity, null, Compression.NONE);
+    }
+
+    /**
+     * Constructor ConnectionMessage creates a new ConnectionMessage instance, issuing a resume token to the client
+     * and granting him the compression of the following answers.
+     *
+     * @param message the message to be printed on the client's terminal.
+     * @param validity the status of the player connection. True if open, false if closed.
+     * @param resumeToken the token the client can present to get his session back, null if there is none.
+     * @param compression the compression of the answers sent after this one.
+     */
+    public ConnectionMessage(String message, boolean validity, String resumeToken, Compression compression) {
         this.message = message;
         this.validity = validity;
+        this.resumeToken = resumeToken;
+        this.compression = compression;
     }
 
     /**
@@ -35,4 +54,18 @@ public class ConnectionMessage implements Answer {
     public boolean isValid() {
         return validity;
     }
+
+    /**
+     * Method getResumeToken returns the resume token issued to the client, null if there is none.
+     */
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    /**
+     * Method getCompression returns the compression of the answers sent after this one, NONE if there is none.
+     */
+    public Compression getCompression() {
+        return compression != null ? compression : Compression.NONE;
+    }
 }
\ No newline at end of file
@@ -24,6 +24,16 @@ public class CharactersMessage implements ModelMessage {
         ).toList();
     }
 
+    /**
+     * Constructor CharactersMessage creates a new CharactersMessage instance from already reduced cards.
+     * It's used when the message is decoded from the network.
+     *
+     * @param characterCards the reduced cards sent by the server.
+     */
+    public CharactersMessage(ReducedCharacterCard[] characterCards) {
+        this.message = List.of(characterCards);
+    }
+
     /**
      * Method getMessage returns the message of this Answer object.
      *
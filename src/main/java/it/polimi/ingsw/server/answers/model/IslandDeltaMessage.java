@@ -0,0 +1,34 @@
+package it.polimi.ingsw.server.answers.model;
+
+import it.polimi.ingsw.model.islands.IslandDelta;
+
+/**
+ * IslandDeltaMessage class is a ModelMessage used for sending a single change of the game's islands,
+ * to be applied on the islands previously received by the client.
+ *
+ * @see ModelMessage
+ * @see IslandsMessage
+ */
+public class IslandDeltaMessage implements ModelMessage {
+    private final IslandDelta message;
+
+    /**
+     * Constructor IslandDeltaMessage creates a new IslandDeltaMessage instance.
+     *
+     * @param delta the change of the islands.
+     */
+    public IslandDeltaMessage(IslandDelta delta) {
+        this.message = delta;
+    }
+
+    /**
+     * Method getMessage returns the message of this Answer object.
+     *
+     * @return the message (type Object) of this Answer object.
+     * @see ModelMessage#getMessage()
+     */
+    @Override
+    public IslandDelta getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,44 @@
+package it.polimi.ingsw.server.answers.model;
+
+import it.polimi.ingsw.model.SchoolDelta;
+
+/**
+ * SchoolDeltaMessage class is a ModelMessage used for sending a single change of a player's School,
+ * to be applied on the school previously received by the client.
+ *
+ * @see ModelMessage
+ * @see SchoolMessage
+ */
+public class SchoolDeltaMessage implements ModelMessage {
+    private final SchoolDelta message;
+    private final String player;
+
+    /**
+     * Constructor SchoolDeltaMessage creates a new SchoolDeltaMessage instance.
+     *
+     * @param player the name of the school owner.
+     * @param delta  the change of the school.
+     */
+    public SchoolDeltaMessage(String player, SchoolDelta delta) {
+        this.message = delta;
+        this.player = player;
+    }
+
+    /**
+     * Method getMessage returns the message of this Answer object.
+     *
+     * @return the message (type Object) of this Answer object.
+     * @see ModelMessage#getMessage()
+     */
+    @Override
+    public SchoolDelta getMessage() {
+        return message;
+    }
+
+    /**
+     * Method getPlayer returns the School owner.
+     */
+    public String getPlayer() {
+        return player;
+    }
+}
@@ -0,0 +1,78 @@
+package it.polimi.ingsw.controller;
+
+import it.polimi.ingsw.model.Cloud;
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.cards.characters.CharacterCard;
+import it.polimi.ingsw.model.islands.Island;
+import it.polimi.ingsw.server.GameHandler;
+import it.polimi.ingsw.server.Server;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameManagerTest class tests the initialization of the game by the GameManager class.
+ *
+ * @see GameManager
+ */
+class GameManagerTest {
+
+    /**
+     * Method newGame returns an expert game of 3 players initialized with the given seed.
+     */
+    private Game newGame(long seed) {
+        Game game = new Game(seed);
+        GameManager gameManager = new GameManager(game, new GameHandler(new Server()));
+        game.createPlayer(0, "Ale");
+        game.createPlayer(1, "Davide");
+        game.createPlayer(2, "Fede");
+        game.setExpertMode(true);
+        gameManager.initGame();
+        return game;
+    }
+
+    /**
+     * Method setup returns every random choice of the initialization: the position of mother nature, the
+     * students on the islands, the clouds and the entries, the characters and the students on them.
+     */
+    private List<Object> setup(Game game) {
+        List<Object> setup = new ArrayList<>();
+        setup.add(game.getMotherNature().getPosition());
+        for (Island island : game.getIslandContainer().getIslands()) {
+            setup.add(island.getStudents());
+        }
+        for (Cloud cloud : game.getClouds()) {
+            setup.add(cloud.getStudents());
+        }
+        for (Player player : game.getPlayers()) {
+            setup.add(player.getSchool().getStudentsEntry());
+        }
+        for (CharacterCard card : game.getCharacterCards()) {
+            setup.add(card.getCharacter());
+            setup.add(card.getStudents());
+        }
+        return setup;
+    }
+
+    /**
+     * Method seededGame tests that two games with the same seed are initialized the same way, including the
+     * students left in the bag, and that the game keeps its seed.
+     */
+    @Test
+    @DisplayName("Seeded game initialization test")
+    void seededGame() {
+        Game game = newGame(42);
+        Game replay = newGame(42);
+
+        assertEquals(42, game.getSeed());
+        assertEquals(3, game.getCharacterCards().size());
+        assertEquals(setup(game), setup(replay));
+        assertEquals(game.getBag().size(), replay.getBag().size());
+        assertEquals(game.getBag().extract(10), replay.getBag().extract(10));
+    }
+}
@@ -4,6 +4,7 @@ import it.polimi.ingsw.constants.Color;
 import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.controller.actions.*;
 import it.polimi.ingsw.controller.rules.Rules;
+import it.polimi.ingsw.exceptions.InvalidBatchException;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.Player;
 import it.polimi.ingsw.server.GameHandler;
@@ -12,6 +13,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -176,7 +180,7 @@ class RoundManagerTest {
         // ACTION PHASE - move students
         for (int i = 0; i < Rules.getStudentsPerTurn(game.numPlayers()); i++) {
             Player p = game.getRoundOwner();
-            Color studentToMove = p.getSchool().getStudentsEntry().entrySet().stream().filter(colorIntegerEntry -> colorIntegerEntry.getValue() > 0).findFirst().get().getKey();
+            Color studentToMove = p.getSchool().getStudentsEntryList().get(0);
             action = new MoveStudentFromEntryToHall(p.getNickname(), studentToMove);
             try {
                 gameManager.performAction(action);
@@ -228,4 +232,36 @@ class RoundManagerTest {
         game.fireInitialState();
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Method studentsBatch checks that a batch of student movements is executed as a whole, ending the phase,
+     * and that a batch holding an invalid movement changes nothing and reports its position.
+     */
+    @Test
+    @DisplayName("Student movements batch test")
+    void studentsBatch() throws InvalidBatchException {
+        game.setGameState(GameState.ACTION_MOVE_STUDENTS);
+        List<Color> entry = p1.getSchool().getStudentsEntryList();
+        int perTurn = Rules.getStudentsPerTurn(game.numPlayers());
+
+        List<Performable> tooMany = new ArrayList<>();
+        for (int i = 0; i <= perTurn; i++) {
+            tooMany.add(new MoveStudentFromEntryToIsland(p1.getNickname(), entry.get(i), 0));
+        }
+        InvalidBatchException refused = assertThrows(InvalidBatchException.class, () -> gameManager.performActions(tooMany));
+        assertEquals(perTurn, refused.getIndex());
+        assertEquals(entry, p1.getSchool().getStudentsEntryList());
+        assertEquals(GameState.ACTION_MOVE_STUDENTS, game.getGameState());
+
+        List<Performable> mixed = List.of(new MoveStudentFromEntryToHall(p1.getNickname(), entry.get(0)), new MoveMotherNature(p1.getNickname(), 1));
+        assertEquals(1, assertThrows(InvalidBatchException.class, () -> gameManager.performActions(mixed)).getIndex());
+
+        List<Performable> moves = new ArrayList<>();
+        for (int i = 0; i < perTurn; i++) {
+            moves.add(new MoveStudentFromEntryToHall(p1.getNickname(), entry.get(i)));
+        }
+        gameManager.performActions(moves);
+        assertEquals(perTurn, p1.getSchool().getStudentsHall().sum());
+        assertEquals(GameState.ACTION_MOVE_MOTHER, game.getGameState());
+    }
+}
@@ -8,6 +8,7 @@ import it.polimi.ingsw.constants.Color;
 import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.StudentCounts;
 import it.polimi.ingsw.server.GameHandler;
 import it.polimi.ingsw.server.Server;
 import org.junit.jupiter.api.BeforeEach;
@@ -101,15 +102,15 @@ class ChooseCloudTest {
     @Test
     void chooseCloud() {
         int studentsPerTurn = Rules.getStudentsPerTurn(game.numPlayers());
-        Map<Color, Integer> prevEntry = new EnumMap<>(p2.getSchool().getStudentsEntry());
+        StudentCounts prevEntry = p2.getSchool().getStudentsEntry();
         try {
             action.performMove(game, gameManager.getRules());
         } catch (Exception e) {
             fail(e.getMessage());
         }
-        Map<Color, Integer> postEntry = new EnumMap<>(p2.getSchool().getStudentsEntry());
-        int previousPlayerStudents = prevEntry.values().stream().reduce(0, Integer::sum);
-        int postPlayerStudents = postEntry.values().stream().reduce(0, Integer::sum);
+        StudentCounts postEntry = p2.getSchool().getStudentsEntry();
+        int previousPlayerStudents = prevEntry.sum();
+        int postPlayerStudents = postEntry.sum();
 
         assertEquals(previousPlayerStudents + studentsPerTurn, postPlayerStudents, "The correct number of student has been added");
     }
@@ -9,14 +9,13 @@ import it.polimi.ingsw.exceptions.GameException;
 import it.polimi.ingsw.exceptions.WrongStateException;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.StudentCounts;
 import it.polimi.ingsw.server.GameHandler;
 import it.polimi.ingsw.server.Server;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.util.EnumMap;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -87,29 +86,29 @@ class MoveStudentFromEntryToHallTest {
     @DisplayName("Move student to hall test")
     @Test
     void moveToHall() {
-        // Saving the previous maps, in order to assert the changes after the action
-        Map<Color, Integer> prevEntry = new EnumMap<Color, Integer>(p2.getSchool().getStudentsEntry());
-        Map<Color, Integer> prevHall = new EnumMap<Color, Integer>(p2.getSchool().getStudentsHall());
+        // Saving the previous counts, in order to assert the changes after the action
+        StudentCounts prevEntry = p2.getSchool().getStudentsEntry();
+        StudentCounts prevHall = p2.getSchool().getStudentsHall();
         try {
             action.performMove(game, gameManager.getRules());
         } catch (Exception e) {
             fail(e.getMessage());
         }
         // Checks that entry and hall have been modified only by the specified student
-        for (Map.Entry<Color, Integer> entry : prevEntry.entrySet()) {
-            int students = p2.getSchool().getStudentsEntry().get(entry.getKey());
-            if (entry.getKey() != student) {
-                assertEquals(entry.getValue(), students);
+        for (Color color : Color.values()) {
+            int students = p2.getSchool().getStudentsEntry().get(color);
+            if (color != student) {
+                assertEquals(prevEntry.get(color), students);
             } else {
-                assertEquals(entry.getValue(), students + 1);
+                assertEquals(prevEntry.get(color), students + 1);
             }
         }
-        for (Map.Entry<Color, Integer> entry : prevHall.entrySet()) {
-            int students = p2.getSchool().getStudentsHall().get(entry.getKey());
-            if (entry.getKey() != student) {
-                assertEquals(entry.getValue(), students);
+        for (Color color : Color.values()) {
+            int students = p2.getSchool().getStudentsHall().get(color);
+            if (color != student) {
+                assertEquals(prevHall.get(color), students);
             } else {
-                assertEquals(entry.getValue(), students - 1);
+                assertEquals(prevHall.get(color), students - 1);
             }
         }
     }
@@ -197,6 +196,6 @@ class MoveStudentFromEntryToHallTest {
      */
     private Color getStudentFromEntry(Player p) {
         // Get the first student of the player Entry
-        return p.getSchool().getStudentsEntry().entrySet().stream().filter((s) -> s.getValue() > 0).findFirst().get().getKey();
+        return p.getSchool().getStudentsEntryList().get(0);
     }
 }
\ No newline at end of file
@@ -6,14 +6,13 @@ import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.exceptions.InvalidIndexException;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.StudentCounts;
 import it.polimi.ingsw.server.GameHandler;
 import it.polimi.ingsw.server.Server;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.util.EnumMap;
-import java.util.Map;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -79,8 +78,8 @@ class MoveStudentFromEntryToIslandTest {
     @DisplayName("Move student to island test")
     @Test
     void moveToIsland() {
-        Map<Color, Integer> prevEntry = new EnumMap<>(p2.getSchool().getStudentsEntry());
-        Map<Color, Integer> prevIsland = new EnumMap<>(game.getIslandContainer().get(index).getStudents());
+        StudentCounts prevEntry = p2.getSchool().getStudentsEntry();
+        StudentCounts prevIsland = game.getIslandContainer().get(index).getStudents();
         try {
             action.performMove(game, gameManager.getRules());
         } catch (Exception e) {
@@ -88,20 +87,21 @@ class MoveStudentFromEntryToIslandTest {
         }
         // Checks if the number of students in the entry has correctly been modified
         int colorValue;
-        for (Map.Entry<Color, Integer> entry : prevEntry.entrySet()) {
-            colorValue = p2.getSchool().getStudentsEntry().get(entry.getKey());
-            if (entry.getKey() != student) {
-                assertEquals(entry.getValue(), colorValue);
+        for (Color color : Color.values()) {
+            colorValue = p2.getSchool().getStudentsEntry().get(color);
+            if (color != student) {
+                assertEquals(prevEntry.get(color), colorValue);
             } else {
-                assertEquals(entry.getValue() - 1, colorValue);
+                assertEquals(prevEntry.get(color) - 1, colorValue);
             }
         }
         // Checks if the number of students on the island has correctly been modified
-        for (Map.Entry<Color, Integer> islandStudents : game.getIslandContainer().get(index).getStudents().entrySet()) {
-            if (islandStudents.getKey() != student) {
-                assertEquals(prevIsland.getOrDefault(islandStudents.getKey(), 0), islandStudents.getValue());
+        StudentCounts islandStudents = game.getIslandContainer().get(index).getStudents();
+        for (Color color : Color.values()) {
+            if (color != student) {
+                assertEquals(prevIsland.get(color), islandStudents.get(color));
             } else {
-                assertEquals(prevIsland.getOrDefault(islandStudents.getKey(), 0) + 1, islandStudents.getValue());
+                assertEquals(prevIsland.get(color) + 1, islandStudents.get(color));
             }
         }
     }
@@ -113,6 +113,6 @@ class MoveStudentFromEntryToIslandTest {
      * @return The first student of the entry.
      */
     private Color getStudentFromEntry(Player p) {
-        return p.getSchool().getStudentsEntry().entrySet().stream().filter((s) -> s.getValue() > 0).findFirst().get().getKey();
+        return p.getSchool().getStudentsEntryList().get(0);
     }
 }
\ No newline at end of file
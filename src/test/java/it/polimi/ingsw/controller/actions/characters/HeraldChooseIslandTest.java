@@ -125,7 +125,7 @@ class HeraldChooseIslandTest {
         // Now Ale controls the BLUE professor
         // Next we will be adding some students to the island we're going to trigger the card on
         for (int i = 0; i < 5; i++) {
-            game.getIslandContainer().get(index).addStudent(profColor);
+            game.addIslandStudent(index, profColor);
         }
         // Card trigger
         action = new HeraldChooseIsland(p1.getNickname(), index);
@@ -139,7 +139,7 @@ class HeraldChooseIslandTest {
         // We now try to conquer another island in order to join it with the previous one
         action = new HeraldChooseIsland(p1.getNickname(), index);
         for (int i = 0; i < 5; i++) {
-            game.getIslandContainer().get(index).addStudent(profColor);
+            game.addIslandStudent(index, profColor);
         }
         // Card trigger, and the current islandIndex will be joined with the previous one
         try {
@@ -152,7 +152,7 @@ class HeraldChooseIslandTest {
         index = 0;
         action = new HeraldChooseIsland(p1.getNickname(), index);
         for (int i = 0; i < 5; i++) {
-            game.getIslandContainer().get(index).addStudent(profColor);
+            game.addIslandStudent(index, profColor);
         }
         // Card trigger, and the current islandIndex will be joined with the previous one
         try {
@@ -11,6 +11,7 @@ import it.polimi.ingsw.constants.Color;
 import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.StudentCounts;
 import it.polimi.ingsw.server.GameHandler;
 import it.polimi.ingsw.server.Server;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,7 +19,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.LinkedList;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -59,7 +59,7 @@ class JokerSwapStudentsTest {
         cardList = new LinkedList<>();
         studentCard = Color.BLUE;
         for (Color c : Color.values()) {
-            selectionValue = card.getStudentsMap().getOrDefault(c, 0);
+            selectionValue = card.getStudentCounts().get(c);
             if (selectionValue > 0) {
                 studentCard = c;
                 break;
@@ -67,7 +67,7 @@ class JokerSwapStudentsTest {
         }
         studentEntry = Color.BLUE;
         for (Color c : Color.values()) {
-            selectionValue = p1.getSchool().getStudentsEntry().getOrDefault(c, 0);
+            selectionValue = p1.getSchool().getStudentsEntry().get(c);
             if (selectionValue > 0) {
                 studentEntry = c;
                 break;
@@ -131,6 +131,8 @@ class JokerSwapStudentsTest {
         card.activate(gameManager.getRules(), game);
         for (int i = 0; i < 3; i++) {
             p1.getSchool().addStudentEntry(studentEntry);
+            // The swapped student leaves the card, so the next swap picks one of the students left on it
+            action = new JokerSwapStudents(p1.getNickname(), card.getStudentCounts().toList().get(0), studentEntry);
             try {
                 action.performMove(game, gameManager.getRules());
             } catch (Exception e) {
@@ -150,8 +152,8 @@ class JokerSwapStudentsTest {
     @DisplayName("Joker swap students test")
     @Test
     void jokerCard() {
-        Map<Color, Integer> entry = p1.getSchool().getStudentsEntry();
-        int initialStudents = entry.getOrDefault(studentCard, 0);
+        StudentCounts entry = p1.getSchool().getStudentsEntry();
+        int initialStudents = entry.get(studentCard);
         cardList.add(card);
         game.initCharacterCards(cardList);
         card.activate(gameManager.getRules(), game);
@@ -11,6 +11,7 @@ import it.polimi.ingsw.constants.Color;
 import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.StudentCounts;
 import it.polimi.ingsw.server.GameHandler;
 import it.polimi.ingsw.server.Server;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,7 +20,6 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.LinkedList;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -62,7 +62,7 @@ class MinstrelSwapStudentsTest {
         game.initCharacterCards(cardList);
         studentFromEntry = Color.BLUE;
         for (Color c : Color.values()) {
-            int selectionValue = p1.getSchool().getStudentsEntry().getOrDefault(c, 0);
+            int selectionValue = p1.getSchool().getStudentsEntry().get(c);
             if (selectionValue > 0) {
                 studentFromEntry = c;
                 break;
@@ -151,33 +151,33 @@ class MinstrelSwapStudentsTest {
     void minstrelCard() {
         int countEntry = 0, countHall = 0, countPrevEntry = 0, countPrevHall = 0;
         for (Color c : Color.values()) {
-            int selectionValue = p1.getSchool().getStudentsEntry().getOrDefault(c, 0);
+            int selectionValue = p1.getSchool().getStudentsEntry().get(c);
             if (selectionValue > 0) {
                 countPrevEntry += selectionValue;
             }
         }
         for (Color c : Color.values()) {
-            int selectionValue = p1.getSchool().getStudentsHall().getOrDefault(c, 0);
+            int selectionValue = p1.getSchool().getStudentsHall().get(c);
             if (selectionValue > 0) {
                 countPrevHall += selectionValue;
             }
         }
-        Map<Color, Integer> prevEntry = p1.getSchool().getStudentsEntry();
-        Map<Color, Integer> prevHall = p1.getSchool().getStudentsHall();
+        StudentCounts prevEntry = p1.getSchool().getStudentsEntry();
+        StudentCounts prevHall = p1.getSchool().getStudentsHall();
         try {
             action.performMove(game, gameManager.getRules());
         } catch (Exception e) {
             fail(e.getMessage());
         }
-        Map<Color, Integer> actualEntry = p1.getSchool().getStudentsEntry();
-        Map<Color, Integer> actualHall = p1.getSchool().getStudentsHall();
+        StudentCounts actualEntry = p1.getSchool().getStudentsEntry();
+        StudentCounts actualHall = p1.getSchool().getStudentsHall();
 
-        int nextEntry = prevEntry.getOrDefault(studentFromHall, 0) + 1;
-        int nextHall = prevHall.getOrDefault(studentFromEntry, 0) + 1;
+        int nextEntry = prevEntry.get(studentFromHall) + 1;
+        int nextHall = prevHall.get(studentFromEntry) + 1;
 
         if (studentFromHall == studentFromEntry) { //if equals doesn't change
-            nextEntry = prevEntry.getOrDefault(studentFromHall, 0);
-            nextHall = prevHall.getOrDefault(studentFromEntry, 0);
+            nextEntry = prevEntry.get(studentFromHall);
+            nextHall = prevHall.get(studentFromEntry);
             assertEquals(prevEntry, actualEntry);
             assertEquals(prevHall, actualHall);
         }
@@ -186,14 +186,14 @@ class MinstrelSwapStudentsTest {
         assertEquals(nextHall, actualHall.get(studentFromEntry), "correctness of swap");
 
         for (Color c : Color.values()) {
-            int selectionValue = p1.getSchool().getStudentsEntry().getOrDefault(c, 0);
+            int selectionValue = p1.getSchool().getStudentsEntry().get(c);
             if (selectionValue > 0) {
                 countEntry += selectionValue;
             }
         }
 
         for (Color c : Color.values()) {
-            int selectionValue = p1.getSchool().getStudentsHall().getOrDefault(c, 0);
+            int selectionValue = p1.getSchool().getStudentsHall().get(c);
             if (selectionValue > 0) {
                 countHall += selectionValue;
             }
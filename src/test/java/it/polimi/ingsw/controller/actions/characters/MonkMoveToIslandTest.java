@@ -9,7 +9,6 @@ import it.polimi.ingsw.model.cards.characters.Monk;
 import it.polimi.ingsw.constants.Color;
 import it.polimi.ingsw.constants.GameState;
 import it.polimi.ingsw.model.Game;
-import it.polimi.ingsw.model.islands.Island;
 import it.polimi.ingsw.model.Player;
 import it.polimi.ingsw.server.GameHandler;
 import it.polimi.ingsw.server.Server;
@@ -65,7 +64,7 @@ class MonkMoveToIslandTest {
         // We need to have at least 1 of a color on the card to activate it, so we cycle through the colors
         selection = Color.BLUE;
         for (Color c : Color.values()) {
-            selectionValue = card.getStudentsMap().getOrDefault(c, 0);
+            selectionValue = card.getStudentCounts().get(c);
             if (selectionValue > 0) {
                 selection = c;
                 break;
@@ -151,7 +150,7 @@ class MonkMoveToIslandTest {
         card.activate(gameManager.getRules(), game);
         Color missing = Color.BLUE;
         for (Color c : Color.values()) {
-            if (card.getStudentsMap().getOrDefault(c, 0) == 0) {
+            if (card.getStudentCounts().get(c) == 0) {
                 missing = c;
                 break;
             }
@@ -173,14 +172,13 @@ class MonkMoveToIslandTest {
         cardList.add(card);
         game.initCharacterCards(cardList);
         card.activate(gameManager.getRules(), game);
-        Island island = game.getIslandContainer().get(index);
-        int islValue = island.getStudents().getOrDefault(selection, 0);
+        int islValue = game.getIslandContainer().get(index).getStudents().get(selection);
         try {
             action.performMove(game, gameManager.getRules());
         } catch (Exception e) {
             fail(e.getMessage());
         }
-        assertEquals(islValue + 1, island.getStudents().get(selection));
+        assertEquals(islValue + 1, game.getIslandContainer().get(index).getStudents().get(selection));
         assertFalse(card.isActive());
     }
 }
\ No newline at end of file
@@ -63,7 +63,7 @@ class MushroomChooseColorTest {
         cardList.add(card);
         game.initCharacterCards(cardList);
         index = game.getIslandContainer().correctIndex(1, game.getMotherNature().getPosition());
-        student = game.getIslandContainer().get(index).getStudents().entrySet().stream().filter((s) -> s.getValue() > 0).findFirst().get().getKey();
+        student = game.getIslandContainer().get(index).getStudents().toList().get(0);
         action = new MushroomChooseColor(p1.getNickname(), student);
     }
 
@@ -62,7 +62,7 @@ public class PrincessMoveToHallTest {
         // We need to have at least 1 of a color on the card to activate it, so we cycle through the colors
         selectionColor = Color.BLUE;
         for (Color c : Color.values()) {
-            selectionValue = card.getStudentsMap().getOrDefault(c, 0);
+            selectionValue = card.getStudentCounts().get(c);
             if (selectionValue > 0) {
                 selectionColor = c;
                 break;
@@ -132,12 +132,12 @@ public class PrincessMoveToHallTest {
     @DisplayName("Princess move to entry test")
     @Test
     void princessCard() {
-        int prevHall = p1.getSchool().getStudentsHall().getOrDefault(selectionColor, 0);
+        int prevHall = p1.getSchool().getStudentsHall().get(selectionColor);
         try {
             action.performMove(game, gameManager.getRules());
         } catch (Exception e) {
             fail(e.getMessage());
         }
-        assertEquals(prevHall + 1, p1.getSchool().getStudentsHall().getOrDefault(selectionColor, 0));
+        assertEquals(prevHall + 1, p1.getSchool().getStudentsHall().get(selectionColor));
     }
 }
@@ -7,6 +7,7 @@ import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.islands.BaseIsland;
 import it.polimi.ingsw.model.islands.Island;
 import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.StudentCounts;
 import it.polimi.ingsw.server.GameHandler;
 import it.polimi.ingsw.server.Server;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,7 +15,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.EnumMap;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -61,8 +61,8 @@ class BaseRulesTest {
             assertNull(owner, "any player has a student in the all -> all professors must not have an owner");
         }
         // Add students to players
-        p1.getSchool().addStudentsHall(Map.of(Color.BLUE, 4, Color.YELLOW, 2));
-        p2.getSchool().addStudentsHall(Map.of(Color.BLUE, 3, Color.YELLOW, 1));
+        p1.getSchool().addStudentsHall(StudentCounts.of(Color.BLUE, 4).add(Color.YELLOW, 2));
+        p2.getSchool().addStudentsHall(StudentCounts.of(Color.BLUE, 3).add(Color.YELLOW, 1));
 
         EnumMap<Color, String> professorInfluence = baseRules.getProfessorInfluence(game);
 
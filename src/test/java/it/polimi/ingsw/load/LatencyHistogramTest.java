@@ -0,0 +1,49 @@
+package it.polimi.ingsw.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LatencyHistogramTest class tests the histogram of the load tool.
+ *
+ * @see LatencyHistogram
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Method buckets tests if every latency falls in a bucket whose bounds hold it within a 3% error.
+     */
+    @Test
+    @DisplayName("Buckets test")
+    void buckets() {
+        for (long micros = 0; micros < 1_000_000; micros += 1 + micros / 100) {
+            int index = LatencyHistogram.index(micros);
+            assertTrue(LatencyHistogram.highest(index) >= micros);
+            assertTrue(LatencyHistogram.highest(index) <= micros * 1.03 + 1);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highest(index - 1) < micros);
+            }
+        }
+        assertDoesNotThrow(() -> LatencyHistogram.index(Long.MAX_VALUE));
+    }
+
+    /**
+     * Method percentiles tests the percentiles of a known distribution.
+     */
+    @Test
+    @DisplayName("Percentiles test")
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(0.99));
+        for (int micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros);
+        }
+        histogram.record(-5);
+        assertEquals(1001, histogram.count());
+        assertEquals(500, histogram.percentile(0.5), 500 * 0.03);
+        assertEquals(990, histogram.percentile(0.99), 990 * 0.03);
+        assertTrue(histogram.percentile(1) >= 1000);
+    }
+}
@@ -4,7 +4,7 @@ import it.polimi.ingsw.constants.Color;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.util.Map;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -26,10 +26,10 @@ public class BagTest {
         int numStudents = 5 * Color.values().length;
         Bag myBag = new Bag(numStudents);
 
-        assertEquals(numStudents, myBag.getStudents().size(), "size check");
+        assertEquals(numStudents, myBag.size(), "size check");
 
         for (final Color color : Color.values()) {
-            assertEquals(numStudents / Color.values().length, myBag.getStudents().stream().filter(student -> student.equals(color)).count(), "color check");
+            assertEquals(numStudents / Color.values().length, myBag.count(color), "color check");
         }
     }
 
@@ -43,10 +43,10 @@ public class BagTest {
     public void extract() {
         int numStudents = 5 * Color.values().length;
         Bag myBag = new Bag(numStudents);
-        int initialSize = myBag.getStudents().size();
-        Map<Color, Integer> out = myBag.extract(8);
-        assertEquals(out.values().stream().reduce(0, Integer::sum).intValue(), 8, "control out dim");
-        assertEquals(myBag.getStudents().size(), initialSize - 8, "control bag dim");
+        int initialSize = myBag.size();
+        StudentCounts out = myBag.extract(8);
+        assertEquals(out.sum(), 8, "control out dim");
+        assertEquals(myBag.size(), initialSize - 8, "control bag dim");
     }
 
     /**
@@ -60,9 +60,9 @@ public class BagTest {
         // Point out that num students, 1 for each color
         int numStudents = Color.values().length;
         Bag myBag = new Bag(numStudents);
-        int initialSize = myBag.getStudents().size();
+        int initialSize = myBag.size();
         myBag.extract();
-        assertEquals(myBag.getStudents().size(), initialSize - 1, "control bag dim");
+        assertEquals(myBag.size(), initialSize - 1, "control bag dim");
     }
 
     /**
@@ -76,6 +76,30 @@ public class BagTest {
         Bag myBag = new Bag(numStudents);
         Bag myBag2 = new Bag(numStudents);
         myBag2.extendBag(extensionSize);
-        assertEquals(myBag.getStudents().size() + extensionSize, myBag2.getStudents().size(), "the diff of the bags should be the extensionSize ");
+        assertEquals(myBag.size() + extensionSize, myBag2.size(), "the diff of the bags should be the extensionSize ");
     }
-}
\ No newline at end of file
+
+    /**
+     * Method seededExtraction checks that two bags with the same seed extract the same students,
+     * and that emptying a bag extracts exactly the students it was filled with.
+     *
+     * @see Bag#Bag(int, SplittableRandom)
+     */
+    @Test
+    @DisplayName("Bag seeded extraction test")
+    public void seededExtraction() {
+        int numStudents = 26 * Color.values().length;
+        Bag myBag = new Bag(numStudents, new SplittableRandom(42));
+        Bag myBag2 = new Bag(numStudents, new SplittableRandom(42));
+        StudentCounts extracted = StudentCounts.EMPTY;
+        while (!myBag.isEmpty()) {
+            Color student = myBag.extract();
+            assertEquals(student, myBag2.extract(), "same seed, same students");
+            extracted = extracted.add(student);
+        }
+        for (Color color : Color.values()) {
+            assertEquals(numStudents / Color.values().length, extracted.get(color), "color check");
+        }
+        assertEquals(StudentCounts.EMPTY, myBag.extract(3), "nothing left to extract");
+    }
+}
@@ -5,8 +5,9 @@ import it.polimi.ingsw.constants.TowerColor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.util.EnumMap;
-import java.util.Map;
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,17 +24,15 @@ class SchoolTest {
     /**
      * Method getStudentsEntry tests if a School is correctly set to the initial students extracted from the bag.
      *
-     * @see School#School(int, TowerColor, Map)
+     * @see School#School(int, TowerColor, StudentCounts)
      */
     @Test
     @DisplayName("School entry creation test")
     void getStudentsEntry() {
         Bag bag = new Bag(50);
-        Map<Color, Integer> students = bag.extract(RANDOM.nextInt(50));
+        StudentCounts students = bag.extract(RANDOM.nextInt(50));
         School school = new School(8, TowerColor.BLACK, students);
-        for (Map.Entry<Color, Integer> student : students.entrySet()) {
-            assertEquals(student.getValue(), school.getStudentsEntry().get(student.getKey()));
-        }
+        assertEquals(students, school.getStudentsEntry());
     }
 
     /**
@@ -45,16 +44,16 @@ class SchoolTest {
     @DisplayName("Add a single student to the entry test")
     void addStudentEntry() {
         Bag bag = new Bag(50);
-        Map<Color, Integer> students = bag.extract(RANDOM.nextInt(50));
-        School school = new School(8, TowerColor.BLACK, new EnumMap<Color, Integer>(students));
+        StudentCounts students = bag.extract(RANDOM.nextInt(50));
+        School school = new School(8, TowerColor.BLACK, students);
 
         Color newStudent = Color.randomColor();
         school.addStudentEntry(newStudent);
-        for (Map.Entry<Color, Integer> student : students.entrySet()) {
-            if (!student.getKey().equals(newStudent)) {
-                assertEquals(student.getValue(), school.getStudentsEntry().get(student.getKey()));
+        for (Color color : Color.values()) {
+            if (!color.equals(newStudent)) {
+                assertEquals(students.get(color), school.getStudentsEntry().get(color));
             } else {
-                assertEquals(student.getValue() + 1, school.getStudentsEntry().get(student.getKey()));
+                assertEquals(students.get(color) + 1, school.getStudentsEntry().get(color));
             }
         }
     }
@@ -62,22 +61,20 @@ class SchoolTest {
     /**
      * Method addStudentsEntry tests if multiple students are correctly added to the School's entry.
      *
-     * @see School#addStudentsEntry(Map)
+     * @see School#addStudentsEntry(StudentCounts)
      */
     @Test
     @DisplayName("Add multiple students to the entry test")
     void addStudentsEntry() {
         Bag bag = new Bag(50);
-        Map<Color, Integer> initialStudents = bag.extract(RANDOM.nextInt(5));
-        Map<Color, Integer> addStudents = bag.extract(RANDOM.nextInt(5));
+        StudentCounts initialStudents = bag.extract(RANDOM.nextInt(5));
+        StudentCounts addStudents = bag.extract(RANDOM.nextInt(5));
         School school = new School(8, TowerColor.BLACK, initialStudents);
-        for (Map.Entry<Color, Integer> student : initialStudents.entrySet()) {
-            assertEquals(student.getValue(), school.getStudentsEntry().get(student.getKey()));
-        }
+        assertEquals(initialStudents, school.getStudentsEntry());
         school.addStudentsEntry(addStudents);
-        for (Map.Entry<Color, Integer> student : school.getStudentsEntry().entrySet()) {
-            int expected = initialStudents.getOrDefault(student.getKey(), 0) + addStudents.getOrDefault(student.getKey(), 0);
-            assertEquals(expected, student.getValue());
+        for (Color color : Color.values()) {
+            int expected = initialStudents.get(color) + addStudents.get(color);
+            assertEquals(expected, school.getStudentsEntry().get(color));
         }
     }
 
@@ -90,13 +87,12 @@ class SchoolTest {
     @Test
     @DisplayName("Hall creation test")
     void getStudentsHall() {
-        Map<Color, Integer> students = new EnumMap<Color, Integer>(Color.class);
         Color newStudent = Color.randomColor();
-        students.put(newStudent, 5);
-        School school = new School(8, TowerColor.BLACK, new EnumMap<Color, Integer>(students));
+        StudentCounts students = StudentCounts.of(newStudent, 5);
+        School school = new School(8, TowerColor.BLACK, students);
 
         assertNotNull(school.getStudentsHall());
-        assertEquals(0, school.getStudentsHall().size());
+        assertTrue(school.getStudentsHall().isEmpty());
 
         school.addStudentHall(newStudent);
         school.addStudentHall(newStudent);
@@ -112,22 +108,19 @@ class SchoolTest {
     @Test
     @DisplayName("Hall addition test")
     void addStudentHall() {
-        Map<Color, Integer> students = new EnumMap<Color, Integer>(Color.class);
         Color newStudent = Color.randomColor();
-        students.put(newStudent, 5);
-        School school = new School(8, TowerColor.BLACK, new EnumMap<Color, Integer>(students));
+        StudentCounts students = StudentCounts.of(newStudent, 5);
+        School school = new School(8, TowerColor.BLACK, students);
 
         assertNotNull(school.getStudentsHall());
-        assertEquals(0, school.getStudentsHall().size());
+        assertTrue(school.getStudentsHall().isEmpty());
 
         school.addStudentHall(newStudent);
         school.addStudentHall(newStudent);
         assertEquals(2, school.getStudentsHall().get(newStudent));
 
         // Checks if the entry has not been modified
-        for (Map.Entry<Color, Integer> student : students.entrySet()) {
-            assertEquals(student.getValue(), school.getStudentsEntry().get(student.getKey()));
-        }
+        assertEquals(students, school.getStudentsEntry());
     }
 
     /**
@@ -138,10 +131,9 @@ class SchoolTest {
     @Test
     @DisplayName("Move student from entry to hall test")
     void moveStudentFromEntryToHall() {
-        Map<Color, Integer> students = new EnumMap<Color, Integer>(Color.class);
         Color newStudent = Color.randomColor();
-        students.put(newStudent, 5);
-        School school = new School(8, TowerColor.BLACK, new EnumMap<Color, Integer>(students));
+        StudentCounts students = StudentCounts.of(newStudent, 5);
+        School school = new School(8, TowerColor.BLACK, students);
 
         school.moveStudentFromEntryToHall(newStudent);
         school.moveStudentFromEntryToHall(newStudent);
@@ -158,10 +150,9 @@ class SchoolTest {
     @Test
     @DisplayName("Remove a student from the entry test")
     void removeStudentFromEntry() {
-        Map<Color, Integer> students = new EnumMap<Color, Integer>(Color.class);
         Color newStudent = Color.randomColor();
-        students.put(newStudent, 5);
-        School school = new School(8, TowerColor.BLACK, new EnumMap<Color, Integer>(students));
+        StudentCounts students = StudentCounts.of(newStudent, 5);
+        School school = new School(8, TowerColor.BLACK, students);
 
         school.moveStudentFromEntryToHall(newStudent);
         school.moveStudentFromEntryToHall(newStudent);
@@ -174,4 +165,40 @@ class SchoolTest {
         assertEquals(2, school.getStudentsEntry().get(newStudent));
         assertEquals(2, school.getStudentsHall().get(newStudent));
     }
-}
\ No newline at end of file
+
+    /**
+     * Method applyDelta tests if the deltas fired by a School rebuild the same school on a copy,
+     * and if a missing delta is detected.
+     *
+     * @see School#apply(SchoolDelta)
+     */
+    @Test
+    @DisplayName("School delta replay test")
+    void applyDelta() {
+        StudentCounts students = StudentCounts.of(Color.RED, 2);
+        School school = new School(8, TowerColor.BLACK, students);
+        School copy = new School(8, TowerColor.BLACK, students);
+        List<SchoolDelta> deltas = new ArrayList<>();
+        school.addPlayerListener(new Player(0, "alice") {
+            @Override
+            public void propertyChange(PropertyChangeEvent evt) {
+                deltas.add((SchoolDelta) evt.getNewValue());
+            }
+        });
+
+        school.moveStudentFromEntryToHall(Color.RED);
+        school.addStudentEntry(Color.BLUE);
+        school.decreaseTowers();
+        school.swapStudents(Color.BLUE, Color.RED);
+        school.removeStudentFromHall(Color.BLUE);
+
+        assertFalse(copy.apply(deltas.get(1)));
+        for (SchoolDelta delta : deltas) {
+            assertTrue(copy.apply(delta));
+        }
+        assertEquals(school.getVersion(), copy.getVersion());
+        assertEquals(school.getNumTowers(), copy.getNumTowers());
+        assertEquals(school.getStudentsEntry(), copy.getStudentsEntry());
+        assertEquals(school.getStudentsHall(), copy.getStudentsHall());
+    }
+}
@@ -0,0 +1,74 @@
+package it.polimi.ingsw.model;
+
+import it.polimi.ingsw.constants.Color;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StudentCountsTest class tests the StudentCounts class.
+ *
+ * @see StudentCounts
+ */
+class StudentCountsTest {
+
+    /**
+     * Method counts tests that the changes return new counts, leaving the original ones untouched,
+     * and that the counts of every color are kept apart.
+     */
+    @Test
+    @DisplayName("Student counts update test")
+    void counts() {
+        StudentCounts students = StudentCounts.of(Color.RED, 3).add(Color.GREEN).add(Color.PINK, 127);
+        assertEquals(3, students.get(Color.RED));
+        assertEquals(1, students.get(Color.GREEN));
+        assertEquals(127, students.get(Color.PINK));
+        assertEquals(0, students.get(Color.BLUE));
+        assertEquals(131, students.sum());
+
+        StudentCounts removed = students.remove(Color.RED).remove(Color.BLUE);
+        assertEquals(2, removed.get(Color.RED));
+        assertEquals(0, removed.get(Color.BLUE));
+        assertEquals(3, students.get(Color.RED));
+
+        assertTrue(StudentCounts.EMPTY.isEmpty());
+        assertSame(StudentCounts.EMPTY, StudentCounts.of(Color.YELLOW).remove(Color.YELLOW));
+        assertThrows(IllegalArgumentException.class, () -> students.add(Color.PINK));
+    }
+
+    /**
+     * Method merge tests the sum of counts with a signed difference, as a SchoolDelta does,
+     * and the conversions used by the views.
+     */
+    @Test
+    @DisplayName("Student counts merge test")
+    void merge() {
+        StudentCounts entry = StudentCounts.of(Map.of(Color.RED, 2, Color.BLUE, 1));
+        StudentCounts delta = StudentCounts.of(Color.RED, -1).add(Color.YELLOW, 2);
+        StudentCounts merged = entry.merge(delta);
+
+        assertEquals(-1, delta.get(Color.RED));
+        assertEquals(StudentCounts.of(Color.RED).add(Color.BLUE).add(Color.YELLOW, 2), merged);
+        assertEquals(List.of(Color.YELLOW, Color.YELLOW, Color.BLUE, Color.RED), merged.toList());
+        assertEquals(Map.of(Color.RED, 1, Color.BLUE, 1, Color.YELLOW, 2), merged.toMap());
+        assertEquals(StudentCounts.EMPTY, merged.merge(StudentCounts.of(Map.of(Color.RED, -1, Color.BLUE, -1, Color.YELLOW, -2))));
+    }
+
+    /**
+     * Method shared tests that the changes leaving a single student, or a single student less, return the shared
+     * counts instead of new ones.
+     */
+    @Test
+    @DisplayName("Student counts sharing test")
+    void shared() {
+        assertSame(StudentCounts.of(Color.GREEN), StudentCounts.EMPTY.add(Color.GREEN));
+        assertSame(StudentCounts.of(Color.GREEN), StudentCounts.of(Color.GREEN, 1));
+        assertSame(StudentCounts.of(Color.BLUE, -1), StudentCounts.of(Color.BLUE).add(Color.BLUE, -2));
+        assertSame(StudentCounts.of(Color.PINK), StudentCounts.of(Color.PINK).add(Color.RED).remove(Color.RED));
+        assertNotSame(StudentCounts.of(Color.RED, 2), StudentCounts.of(Color.RED, 2));
+    }
+}
@@ -0,0 +1,41 @@
+package it.polimi.ingsw.model.cards.characters;
+
+import it.polimi.ingsw.constants.Color;
+import it.polimi.ingsw.model.Bag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Method JokerTest tests the Joker class.
+ *
+ * @see Joker
+ */
+public class JokerTest {
+
+    private Joker card;
+
+    /**
+     * Method init fills the card with the whole bag: two students of the first color and one of each other color.
+     */
+    @BeforeEach
+    void init() {
+        card = new Joker(new Bag(6));
+        card.init();
+    }
+
+    /**
+     * Method swapStudents tests if the picked student leaves the card and the given one is added to the ones
+     * already on it.
+     */
+    @Test
+    @DisplayName("Joker swap students test")
+    void swapStudents() {
+        card.swapStudents(Color.values()[1], Color.values()[0]);
+        assertEquals(0, card.getStudentCounts().get(Color.values()[1]));
+        assertEquals(3, card.getStudentCounts().get(Color.values()[0]));
+        assertEquals(6, card.getStudentCounts().sum());
+    }
+}
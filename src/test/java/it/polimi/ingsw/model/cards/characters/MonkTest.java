@@ -0,0 +1,46 @@
+package it.polimi.ingsw.model.cards.characters;
+
+import it.polimi.ingsw.constants.Color;
+import it.polimi.ingsw.model.Bag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Method MonkTest tests the Monk class.
+ *
+ * @see Monk
+ */
+public class MonkTest {
+
+    private Monk card;
+    private Bag bag;
+
+    /**
+     * Method init fills the card with the whole bag, a student of each of the first four colors.
+     */
+    @BeforeEach
+    void init() {
+        bag = new Bag(4);
+        card = new Monk(bag);
+        card.init();
+    }
+
+    /**
+     * Method moveStudent tests if a moved student leaves the card and the student extracted from the bag is added
+     * to the ones already on the card.
+     */
+    @Test
+    @DisplayName("Monk move student test")
+    void moveStudent() {
+        // the bag now holds a single student of the first color, which is already on the card
+        bag.extendBag(1);
+        card.moveStudent(Color.values()[1]);
+        assertEquals(0, card.getStudentCounts().get(Color.values()[1]));
+        assertEquals(2, card.getStudentCounts().get(Color.values()[0]));
+        assertEquals(4, card.getStudentCounts().sum());
+        assertEquals(0, bag.size());
+    }
+}
@@ -43,7 +43,7 @@ class BaseIslandTest {
             Color student = blueStudents.get(i);
             baseIsland.addStudent(student);
             assertEquals(i + 1, baseIsland.getStudents().get(Color.BLUE));
-            assertEquals(0, baseIsland.getStudents().getOrDefault(Color.YELLOW, 0));
+            assertEquals(0, baseIsland.getStudents().get(Color.YELLOW));
         }
         for (int i = 0; i < yellowStudents.size(); i++) {
             Color student = yellowStudents.get(i);
@@ -1,8 +1,10 @@
 package it.polimi.ingsw.model.islands;
 
+import it.polimi.ingsw.constants.Color;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -70,4 +72,74 @@ class IslandContainerTest {
         assertEquals(2, ((SuperIsland) islandContainer.get(2)).islands.size());
         assertTrue(((SuperIsland) islandContainer.get(2)).islands.containsAll(List.of(i2, i3)));
     }
-}
\ No newline at end of file
+
+    /**
+     * Method joinAcrossEndTest tests the joining of the last island with the first one, which moves the group to
+     * the end of the board, and the extension of an existing group.
+     */
+    @Test
+    @DisplayName("Join across the end of the board test")
+    void joinAcrossEndTest() {
+        Island i0 = new BaseIsland();
+        Island i1 = new BaseIsland();
+        Island i2 = new BaseIsland();
+        Island i3 = new BaseIsland();
+        Island i4 = new BaseIsland();
+        IslandContainer islandContainer = new IslandContainer(new LinkedList<>(List.of(i0, i1, i2, i3, i4)));
+        islandContainer.joinPrevIsland(0);
+
+        assertEquals(4, islandContainer.size());
+        assertEquals(List.of(i1, i2, i3), islandContainer.getIslands().subList(0, 3));
+        SuperIsland group = (SuperIsland) islandContainer.get(3);
+        assertEquals(List.of(i4, i0), group.getBaseIslands());
+
+        islandContainer.joinNextIsland(3);
+
+        assertEquals(3, islandContainer.size());
+        assertSame(group, islandContainer.get(2));
+        assertEquals(List.of(i4, i0, i1), group.getBaseIslands());
+        assertEquals(i2, islandContainer.nextIsland(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> islandContainer.get(3));
+    }
+
+    private static IslandContainer newContainer() {
+        LinkedList<Island> islands = new LinkedList<>();
+        for (int i = 0; i < 5; i++) {
+            islands.add(new BaseIsland());
+        }
+        return new IslandContainer(islands);
+    }
+
+    /**
+     * Method applyDeltaTest tests if replaying the deltas of a container on a copy gives the same islands,
+     * and if a missing delta is detected.
+     */
+    @Test
+    @DisplayName("Island delta replay test")
+    void applyDeltaTest() {
+        IslandContainer server = newContainer();
+        IslandContainer client = newContainer();
+        List<IslandDelta> deltas = new ArrayList<>();
+        deltas.add(server.addIslandStudent(1, Color.RED));
+        deltas.add(server.setOwner(1, "alice"));
+        deltas.add(server.setOwner(2, "alice"));
+        deltas.add(server.joinNextIsland(1));
+        deltas.add(server.setIslandBlocked(3, true));
+        deltas.add(server.addIslandStudent(1, Color.BLUE));
+
+        assertFalse(client.apply(deltas.get(1)));
+        for (IslandDelta delta : deltas) {
+            assertTrue(client.apply(delta));
+        }
+        assertTrue(client.apply(deltas.get(0)));
+
+        assertEquals(server.getVersion(), client.getVersion());
+        assertEquals(4, client.size());
+        for (int i = 0; i < server.size(); i++) {
+            assertEquals(server.get(i).getStudents(), client.get(i).getStudents());
+            assertEquals(server.get(i).getOwner(), client.get(i).getOwner());
+            assertEquals(server.get(i).isBlocked(), client.get(i).isBlocked());
+            assertEquals(server.get(i).size(), client.get(i).size());
+        }
+    }
+}
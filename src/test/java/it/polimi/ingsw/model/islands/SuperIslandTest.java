@@ -1,6 +1,7 @@
 package it.polimi.ingsw.model.islands;
 
 import it.polimi.ingsw.constants.Color;
+import it.polimi.ingsw.model.StudentCounts;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -64,16 +65,16 @@ class SuperIslandTest {
         BaseIsland baseIslandC = randomInitBaseIsland();
 
         SuperIsland s1 = new SuperIsland(List.of(baseIslandA, baseIslandB));
-        int totalBluStudents = baseIslandA.getStudents().getOrDefault(Color.BLUE, 0) + baseIslandB.getStudents().getOrDefault(Color.BLUE, 0);
-        int totalYellowStudents = baseIslandA.getStudents().getOrDefault(Color.YELLOW, 0) + baseIslandB.getStudents().getOrDefault(Color.YELLOW, 0);
-        assertEquals(totalBluStudents, s1.getStudents().getOrDefault(Color.BLUE, 0));
-        assertEquals(totalYellowStudents, s1.getStudents().getOrDefault(Color.YELLOW, 0));
+        int totalBluStudents = baseIslandA.getStudents().get(Color.BLUE) + baseIslandB.getStudents().get(Color.BLUE);
+        int totalYellowStudents = baseIslandA.getStudents().get(Color.YELLOW) + baseIslandB.getStudents().get(Color.YELLOW);
+        assertEquals(totalBluStudents, s1.getStudents().get(Color.BLUE));
+        assertEquals(totalYellowStudents, s1.getStudents().get(Color.YELLOW));
 
         SuperIsland s2 = new SuperIsland(List.of(s1, baseIslandC));
-        totalBluStudents += baseIslandC.getStudents().getOrDefault(Color.BLUE, 0);
-        totalYellowStudents += baseIslandC.getStudents().getOrDefault(Color.YELLOW, 0);
-        assertEquals(totalBluStudents, s2.getStudents().getOrDefault(Color.BLUE, 0));
-        assertEquals(totalYellowStudents, s2.getStudents().getOrDefault(Color.YELLOW, 0));
+        totalBluStudents += baseIslandC.getStudents().get(Color.BLUE);
+        totalYellowStudents += baseIslandC.getStudents().get(Color.YELLOW);
+        assertEquals(totalBluStudents, s2.getStudents().get(Color.BLUE));
+        assertEquals(totalYellowStudents, s2.getStudents().get(Color.YELLOW));
     }
 
     /**
@@ -91,6 +92,35 @@ class SuperIslandTest {
         assertEquals("Franco", s1.getOwner());
     }
 
+    /**
+     * Method totalsAfterChanges tests that the totals of a SuperIsland follow the students added to it, its joins
+     * and its changes of owner, and that they match the sum of its islands.
+     */
+    @Test
+    @DisplayName("SuperIsland totals update test")
+    void totalsAfterChanges() {
+        BaseIsland baseIslandA = randomInitBaseIsland();
+        BaseIsland baseIslandB = randomInitBaseIsland();
+        baseIslandB.setOwner("Giampiero");
+        SuperIsland s1 = new SuperIsland(List.of(baseIslandA, baseIslandB));
+        assertEquals(1, s1.getNumTower());
+
+        s1.addStudent(Color.RED);
+        s1.join(new BaseIsland(StudentCounts.of(Color.GREEN, 2), "Giampiero", false));
+        assertEquals(2, s1.getNumTower());
+        s1.setOwner("Franco");
+        assertEquals(3, s1.getNumTower());
+
+        StudentCounts sum = StudentCounts.EMPTY;
+        for (BaseIsland island : s1.getBaseIslands()) {
+            sum = sum.merge(island.getStudents());
+        }
+        assertEquals(sum, s1.getStudents());
+        assertEquals(baseIslandA.getStudents().get(Color.RED) + baseIslandB.getStudents().get(Color.RED),
+                s1.getStudents().get(Color.RED));
+        assertSame(s1.getStudents(), s1.getStudents());
+    }
+
     /**
      * Method superIslandTowers tests the number of towers returned by a SuperIsland.
      */
@@ -0,0 +1,156 @@
+package it.polimi.ingsw.network;
+
+import it.polimi.ingsw.client.messages.Action;
+import it.polimi.ingsw.client.messages.LoginMessage;
+import it.polimi.ingsw.client.messages.SerializedMessage;
+import it.polimi.ingsw.constants.ActionType;
+import it.polimi.ingsw.constants.Color;
+import it.polimi.ingsw.constants.ErrorType;
+import it.polimi.ingsw.constants.TowerColor;
+import it.polimi.ingsw.model.School;
+import it.polimi.ingsw.model.SchoolDelta;
+import it.polimi.ingsw.model.StudentCounts;
+import it.polimi.ingsw.model.islands.BaseIsland;
+import it.polimi.ingsw.model.islands.Island;
+import it.polimi.ingsw.model.islands.IslandContainer;
+import it.polimi.ingsw.model.islands.IslandDelta;
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.GameError;
+import it.polimi.ingsw.server.answers.SerializedAnswer;
+import it.polimi.ingsw.server.answers.model.IslandDeltaMessage;
+import it.polimi.ingsw.server.answers.model.IslandsMessage;
+import it.polimi.ingsw.server.answers.model.SchoolDeltaMessage;
+import it.polimi.ingsw.server.answers.model.SchoolMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.LinkedList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BinaryCodecTest class tests the BinaryCodec class.
+ *
+ * @see BinaryCodec
+ */
+class BinaryCodecTest {
+
+    private final BinaryCodec codec = BinaryCodec.INSTANCE;
+
+    private SerializedAnswer serialized(Answer answer) {
+        SerializedAnswer serializedAnswer = new SerializedAnswer();
+        serializedAnswer.setServerAnswer(answer);
+        return serializedAnswer;
+    }
+
+    /**
+     * Method schoolRoundTrip tests if a school is decoded with the same towers and students, and if it's
+     * encoded in a fraction of the Java serialization size.
+     */
+    @Test
+    @DisplayName("School message round trip test")
+    void schoolRoundTrip() throws IOException {
+        School school = new School(8, TowerColor.WHITE, StudentCounts.of(Color.RED, 3).add(Color.GREEN, 4));
+        school.addStudentHall(Color.BLUE);
+        SerializedAnswer answer = serialized(new SchoolMessage("alice", school));
+
+        byte[] payload = codec.encodeAnswer(answer);
+        SchoolMessage decoded = (SchoolMessage) codec.decodeAnswer(payload).getServerAnswer();
+
+        assertEquals("alice", decoded.getPlayer());
+        assertEquals(8, decoded.getMessage().getNumTowers());
+        assertEquals(TowerColor.WHITE, decoded.getMessage().getTowerColor());
+        assertEquals(school.getStudentsEntry(), decoded.getMessage().getStudentsEntry());
+        assertEquals(school.getStudentsHall(), decoded.getMessage().getStudentsHall());
+        assertEquals(school.getVersion(), decoded.getMessage().getVersion());
+        assertTrue(payload.length * 10 < JavaCodec.INSTANCE.encodeAnswer(answer).length);
+    }
+
+    /**
+     * Method islandsRoundTrip tests if the joined islands are decoded as a super island.
+     */
+    @Test
+    @DisplayName("Islands message round trip test")
+    void islandsRoundTrip() throws IOException {
+        LinkedList<Island> islands = new LinkedList<>();
+        for (int i = 0; i < 4; i++) {
+            islands.add(new BaseIsland());
+        }
+        IslandContainer container = new IslandContainer(islands);
+        container.addIslandStudent(2, Color.PINK);
+        container.setOwner(0, "bob");
+        container.setOwner(1, "bob");
+        container.joinNextIsland(0);
+        container.setIslandBlocked(2, true);
+
+        IslandContainer decoded = ((IslandsMessage) codec.decodeAnswer(
+                codec.encodeAnswer(serialized(new IslandsMessage(container)))).getServerAnswer()).getMessage();
+
+        assertEquals(container.getVersion(), decoded.getVersion());
+        assertEquals(3, decoded.size());
+        assertEquals(2, decoded.get(0).size());
+        assertEquals("bob", decoded.get(0).getOwner());
+        assertEquals(2, decoded.get(0).getNumTower());
+        assertEquals(1, decoded.get(1).getStudents().get(Color.PINK));
+        assertTrue(decoded.get(2).isBlocked());
+    }
+
+    /**
+     * Method deltasRoundTrip tests if the island and school deltas keep their version and their changes,
+     * including the negative ones.
+     */
+    @Test
+    @DisplayName("Delta messages round trip test")
+    void deltasRoundTrip() throws IOException {
+        IslandDelta islandDelta = ((IslandDeltaMessage) codec.decodeAnswer(codec.encodeAnswer(serialized(
+                new IslandDeltaMessage(new IslandDelta(9, IslandDelta.Type.OWNER, 4, null, "bob", false)))))
+                .getServerAnswer()).getMessage();
+        assertEquals(9, islandDelta.getVersion());
+        assertEquals(IslandDelta.Type.OWNER, islandDelta.getType());
+        assertEquals(4, islandDelta.getIsland());
+        assertEquals("bob", islandDelta.getOwner());
+
+        SchoolDeltaMessage schoolMessage = (SchoolDeltaMessage) codec.decodeAnswer(codec.encodeAnswer(serialized(
+                new SchoolDeltaMessage("alice", new SchoolDelta(5, StudentCounts.of(Color.RED, -1), StudentCounts.of(Color.RED), -1)))))
+                .getServerAnswer();
+        assertEquals("alice", schoolMessage.getPlayer());
+        assertEquals(5, schoolMessage.getMessage().getVersion());
+        assertEquals(StudentCounts.of(Color.RED, -1), schoolMessage.getMessage().getEntry());
+        assertEquals(StudentCounts.of(Color.RED), schoolMessage.getMessage().getHall());
+        assertEquals(-1, schoolMessage.getMessage().getTowers());
+    }
+
+    /**
+     * Method errorRoundTrip tests if an error keeps both its type and its message.
+     */
+    @Test
+    @DisplayName("Game error round trip test")
+    void errorRoundTrip() throws IOException {
+        GameError decoded = (GameError) codec.decodeAnswer(
+                codec.encodeAnswer(serialized(new GameError(ErrorType.INVALID_MOVE, "nope")))).getServerAnswer();
+        assertEquals(ErrorType.INVALID_MOVE, decoded.getError());
+        assertEquals("nope", decoded.getMessage());
+    }
+
+    /**
+     * Method messagesRoundTrip tests if the client messages and actions keep all their parameters.
+     */
+    @Test
+    @DisplayName("Client messages round trip test")
+    void messagesRoundTrip() throws IOException {
+        SerializedMessage login = codec.decodeMessage(codec.encodeMessage(new SerializedMessage(new LoginMessage("carl"))));
+        assertEquals("carl", ((LoginMessage) login.message).getNickname());
+        assertNull(((LoginMessage) login.message).getResumeToken());
+        SerializedMessage resume = codec.decodeMessage(codec.encodeMessage(new SerializedMessage(new LoginMessage("carl", "token", Compression.DEFLATE))));
+        assertEquals("token", ((LoginMessage) resume.message).getResumeToken());
+        assertEquals(Compression.DEFLATE, ((LoginMessage) resume.message).getCompression());
+
+        Action action = codec.decodeMessage(codec.encodeMessage(
+                new SerializedMessage(new Action(ActionType.MONK_MOVE, Color.YELLOW, 7)))).action;
+        assertEquals(ActionType.MONK_MOVE, action.actionType);
+        assertEquals(Color.YELLOW, action.color0);
+        assertEquals(7, action.int0);
+        assertNull(action.color1);
+    }
+}
@@ -0,0 +1,79 @@
+package it.polimi.ingsw.network;
+
+import it.polimi.ingsw.constants.Color;
+import it.polimi.ingsw.constants.TowerColor;
+import it.polimi.ingsw.model.School;
+import it.polimi.ingsw.model.StudentCounts;
+import it.polimi.ingsw.server.answers.CustomMessage;
+import it.polimi.ingsw.server.answers.SerializedAnswer;
+import it.polimi.ingsw.server.answers.model.SchoolMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EncodedAnswerTest class tests the EncodedAnswer class.
+ *
+ * @see EncodedAnswer
+ */
+class EncodedAnswerTest {
+
+    /**
+     * Method encodedOncePerCodec tests if the same frame is returned to every connection using the same codec.
+     */
+    @Test
+    @DisplayName("Frame encoded once per codec test")
+    void encodedOncePerCodec() throws IOException {
+        EncodedAnswer answer = new EncodedAnswer(new CustomMessage("hello"));
+        byte[] binary = answer.frame(BinaryCodec.INSTANCE);
+
+        assertSame(binary, answer.frame(BinaryCodec.INSTANCE));
+        assertNotSame(binary, answer.frame(JavaCodec.INSTANCE));
+
+        SerializedAnswer decoded = BinaryCodec.INSTANCE.decodeAnswer(
+                Frames.readFrame(new DataInputStream(new ByteArrayInputStream(binary))));
+        assertEquals("hello", decoded.getServerAnswer().getMessage());
+    }
+
+    /**
+     * Method independentBuffers tests if every buffer over the shared frame has its own position.
+     */
+    @Test
+    @DisplayName("Independent read-only buffers test")
+    void independentBuffers() throws IOException {
+        EncodedAnswer answer = new EncodedAnswer(new CustomMessage("hello"));
+        ByteBuffer first = answer.buffer(BinaryCodec.INSTANCE);
+        ByteBuffer second = answer.buffer(BinaryCodec.INSTANCE);
+
+        first.position(first.limit());
+        assertTrue(first.isReadOnly());
+        assertEquals(0, second.position());
+    }
+
+    /**
+     * Method sealedBeforeChanges tests that the changes made to the model after an answer has been sealed don't
+     * reach its frames nor the copy written to the connections which don't use frames.
+     */
+    @Test
+    @DisplayName("Sealed answer test")
+    void sealedBeforeChanges() throws IOException {
+        School school = new School(8, TowerColor.WHITE, StudentCounts.of(Color.RED));
+        EncodedAnswer answer = new EncodedAnswer(new SchoolMessage("alice", school));
+        answer.seal(BinaryCodec.INSTANCE);
+        answer.seal(null);
+        school.addStudentEntry(Color.BLUE);
+
+        SerializedAnswer decoded = BinaryCodec.INSTANCE.decodeAnswer(Frames.readFrame(
+                new DataInputStream(new ByteArrayInputStream(answer.frame(BinaryCodec.INSTANCE)))));
+        assertEquals(StudentCounts.of(Color.RED), ((School) decoded.getServerAnswer().getMessage()).getStudentsEntry());
+        School copy = (School) answer.getSerializedAnswer().getServerAnswer().getMessage();
+        assertNotSame(school, copy);
+        assertEquals(StudentCounts.of(Color.RED), copy.getStudentsEntry());
+    }
+}
@@ -0,0 +1,100 @@
+package it.polimi.ingsw.network;
+
+import it.polimi.ingsw.constants.Color;
+import it.polimi.ingsw.constants.TowerColor;
+import it.polimi.ingsw.model.School;
+import it.polimi.ingsw.model.StudentCounts;
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.CustomMessage;
+import it.polimi.ingsw.server.answers.model.SchoolMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FrameDeflaterTest class tests the compression of the answer frames.
+ *
+ * @see FrameDeflater
+ * @see FrameInflater
+ */
+class FrameDeflaterTest {
+
+    private SchoolMessage school(int red) {
+        return new SchoolMessage("alice", new School(8, TowerColor.BLACK, StudentCounts.of(Color.RED, red).add(Color.GREEN, 2)));
+    }
+
+    private Answer roundTrip(Codec codec, FrameDeflater deflater, FrameInflater inflater, byte[] frame) throws IOException {
+        byte[] deflated = deflater.deflate(frame);
+        byte[] payload = inflater.inflate(Arrays.copyOfRange(deflated, Frames.HEADER_SIZE, deflated.length));
+        return codec.decodeAnswer(payload).getServerAnswer();
+    }
+
+    /**
+     * Method roundTrip tests if the frames are restored in order by both codecs, the small ones being sent as
+     * they are.
+     */
+    @Test
+    @DisplayName("Compression round trip test")
+    void roundTrip() throws IOException {
+        for (Codec codec : new Codec[]{JavaCodec.INSTANCE, BinaryCodec.INSTANCE}) {
+            FrameDeflater deflater = new FrameDeflater(codec, 32);
+            FrameInflater inflater = new FrameInflater(codec);
+            for (int red = 0; red < 3; red++) {
+                Answer answer = roundTrip(codec, deflater, inflater, new EncodedAnswer(school(red)).frame(codec));
+                assertEquals(red, ((SchoolMessage) answer).getMessage().getStudentsEntry().get(Color.RED));
+            }
+            byte[] small = new EncodedAnswer(new CustomMessage("hi")).frame(BinaryCodec.INSTANCE);
+            if (codec == BinaryCodec.INSTANCE) {
+                assertEquals(FrameDeflater.RAW, deflater.deflate(small)[Frames.HEADER_SIZE]);
+                assertEquals("hi", roundTrip(codec, deflater, inflater, small).getMessage());
+            }
+        }
+    }
+
+    /**
+     * Method sharedContext tests if the dictionary and the previous frames shrink the compressed frames.
+     */
+    @Test
+    @DisplayName("Compression context test")
+    void sharedContext() throws IOException {
+        Codec codec = JavaCodec.INSTANCE;
+        FrameDeflater deflater = new FrameDeflater(codec, 0);
+        byte[] frame = new EncodedAnswer(school(1)).frame(codec);
+        byte[] first = deflater.deflate(frame);
+        byte[] second = deflater.deflate(new EncodedAnswer(school(2)).frame(codec));
+
+        assertTrue(first.length < frame.length / 2);
+        assertTrue(second.length < first.length);
+        deflater.end();
+        assertThrows(IOException.class, () -> deflater.deflate(frame));
+    }
+
+    /**
+     * Method pooledBuffers tests if the frames built in pooled buffers match the ones built in arrays, and if
+     * the released buffers are reused.
+     */
+    @Test
+    @DisplayName("Pooled compression test")
+    void pooledBuffers() throws IOException {
+        Codec codec = BinaryCodec.INSTANCE;
+        BufferPool pool = new BufferPool(BufferPool.BUFFER_SIZE, 4);
+        FrameDeflater arrays = new FrameDeflater(codec, 0);
+        FrameDeflater buffers = new FrameDeflater(codec, 0);
+        for (int red = 0; red < 3; red++) {
+            byte[] frame = new EncodedAnswer(school(red)).frame(codec);
+            ByteBuffer pooled = buffers.deflate(frame, pool);
+            assertTrue(pooled.isDirect());
+            byte[] bytes = new byte[pooled.remaining()];
+            pooled.get(bytes);
+            assertArrayEquals(arrays.deflate(frame), bytes);
+            pool.release(pooled);
+        }
+        assertEquals(1, pool.getAllocated());
+        assertEquals(2, pool.getReused());
+    }
+}
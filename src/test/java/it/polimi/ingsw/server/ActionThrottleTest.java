@@ -0,0 +1,115 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.load.LoadStats;
+import it.polimi.ingsw.load.SimulatedClient;
+import it.polimi.ingsw.network.Compression;
+import it.polimi.ingsw.network.EncodedAnswer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ActionThrottleTest class tests the rate limits of a connection.
+ *
+ * @see ActionThrottle
+ * @see TokenBucket
+ */
+class ActionThrottleTest {
+
+    private ActionThrottle throttle;
+
+    @BeforeEach
+    void init() {
+        throttle = new ActionThrottle(new ClientConnection(new Server()) {
+            @Override
+            public boolean isActive() {
+                return true;
+            }
+
+            @Override
+            protected void write(EncodedAnswer answer) {
+            }
+
+            @Override
+            protected void closeTransport() {
+            }
+        });
+    }
+
+    /**
+     * Method frames tests if a flood of frames is cut at the burst size, and the drops are counted.
+     */
+    @Test
+    @DisplayName("Frames limit test")
+    void frames() {
+        long dropped = ActionThrottle.getDroppedFrames();
+        int accepted = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (throttle.acceptFrame()) {
+                accepted++;
+            }
+        }
+        assertTrue(accepted >= ActionThrottle.DEFAULT_FRAME_BURST && accepted < 1000);
+        assertEquals(1000 - accepted, ActionThrottle.getDroppedFrames() - dropped);
+    }
+
+    /**
+     * Method refusedActions tests if the actions are dropped once the client has spent its refused actions, and
+     * accepted again when the bucket is refilled.
+     */
+    @Test
+    @DisplayName("Refused actions limit test")
+    void refusedActions() throws InterruptedException {
+        for (int i = 0; i < ActionThrottle.DEFAULT_INVALID_BURST; i++) {
+            assertTrue(throttle.acceptAction());
+            throttle.actionRefused();
+        }
+        long dropped = ActionThrottle.getDroppedActions();
+        assertFalse(throttle.acceptAction());
+        assertEquals(1, ActionThrottle.getDroppedActions() - dropped);
+        Thread.sleep(1000 / ActionThrottle.DEFAULT_INVALID_RATE + 50);
+        assertTrue(throttle.acceptAction());
+    }
+
+    /**
+     * Method throttledClients tests if the simulated players keep playing when the server drops their moves:
+     * with a tight limit on the refused moves, they must wait for the throttle instead of counting the drops as
+     * refused attempts and leaving their games as stuck.
+     */
+    @Test
+    @DisplayName("Throttled simulated players test")
+    void throttledClients() throws Exception {
+        long dropped = ActionThrottle.getDroppedActions();
+        ActionThrottle.configure(new String[]{"--invalid-rate=2", "--invalid-burst=2"});
+        int port;
+        try (ServerSocket free = new ServerSocket(0)) {
+            port = free.getLocalPort();
+        }
+        SocketServer socketServer = new SocketServer(port, new Server());
+        new Thread(socketServer).start();
+        LoadStats stats = new LoadStats();
+        List<SimulatedClient> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                SimulatedClient client = new SimulatedClient(i, port, 2, Compression.NONE, false, stats);
+                clients.add(client);
+                new Thread(client).start();
+            }
+            Thread.sleep(8000);
+        } finally {
+            clients.forEach(SimulatedClient::stop);
+            socketServer.setActive(false);
+            ActionThrottle.configure(new String[]{"--invalid-rate=" + ActionThrottle.DEFAULT_INVALID_RATE,
+                    "--invalid-burst=" + ActionThrottle.DEFAULT_INVALID_BURST});
+        }
+        assertTrue(ActionThrottle.getDroppedActions() > dropped);
+        assertTrue(stats.getActions() > 0);
+        assertEquals(0, stats.getFailures());
+    }
+}
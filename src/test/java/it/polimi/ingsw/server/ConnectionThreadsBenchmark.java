@@ -0,0 +1,129 @@
+package it.polimi.ingsw.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * ConnectionThreadsBenchmark compares the cost of the blocking connections on the cached thread pool
+ * and on virtual threads. Every connection gets a reading loop and a ping loop, like a
+ * SocketClientConnection, then the benchmark measures the setup time, a round of echoes over all the
+ * connections and the growth of the process memory.
+ * It's not a unit test, run it with
+ * "java -cp target/classes:target/test-classes it.polimi.ingsw.server.ConnectionThreadsBenchmark [connections]".
+ */
+public class ConnectionThreadsBenchmark {
+
+    private static final int PING_INTERVAL_MS = 100;
+
+    /**
+     * Method main runs the benchmark in both modes (the virtual one only if the JVM supports it).
+     *
+     * @param args the optional number of connections, 1000 by default.
+     */
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        System.out.printf("%-10s %12s %10s %12s %12s %10s%n",
+                "mode", "connections", "setup ms", "echo ms", "RSS KB/conn", "threads");
+        run(false, connections);
+        if (ServerThreads.isVirtualAvailable()) {
+            run(true, connections);
+        } else {
+            System.out.println("virtual    not available on Java " + Runtime.version());
+        }
+    }
+
+    /**
+     * Method run opens the connections with the given thread mode and prints the measurements.
+     */
+    private static void run(boolean virtual, int connections) throws Exception {
+        ServerThreads.setVirtual(virtual);
+        System.gc();
+        long rssBefore = residentKB();
+        List<Socket> clients = new ArrayList<>();
+        List<Socket> accepted = new ArrayList<>();
+        ExecutorService executor = ServerThreads.newConnectionExecutor();
+        long start = System.nanoTime();
+        try (ServerSocket serverSocket = new ServerSocket(0, connections, InetAddress.getLoopbackAddress())) {
+            for (int i = 0; i < connections; i++) {
+                clients.add(new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort()));
+                Socket socket = serverSocket.accept();
+                accepted.add(socket);
+                executor.submit(() -> connectionLoop(socket));
+            }
+            long setup = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (Socket client : clients) {
+                client.getOutputStream().write(1);
+            }
+            for (Socket client : clients) {
+                if (client.getInputStream().read() != 1) {
+                    throw new IllegalStateException("Wrong echo");
+                }
+            }
+            long echo = System.nanoTime() - start;
+
+            System.gc();
+            long rssPerConnection = (residentKB() - rssBefore) / connections;
+            int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+            System.out.printf("%-10s %12d %10d %12d %12d %10d%n", virtual ? "virtual" : "cached",
+                    connections, setup / 1_000_000, echo / 1_000_000, rssPerConnection, threads);
+        } finally {
+            for (Socket socket : clients) {
+                socket.close();
+            }
+            for (Socket socket : accepted) {
+                socket.close();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Method connectionLoop echoes every byte received, while a ping loop sleeps and wakes up beside it.
+     */
+    private static void connectionLoop(Socket socket) {
+        ServerThreads.start("Ping-" + socket.getPort(), () -> {
+            while (!socket.isClosed()) {
+                try {
+                    Thread.sleep(PING_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        try (InputStream in = socket.getInputStream(); OutputStream out = socket.getOutputStream()) {
+            int value;
+            while ((value = in.read()) >= 0) {
+                out.write(value);
+            }
+        } catch (IOException e) {
+            // the benchmark closed the connection
+        }
+    }
+
+    /**
+     * Method residentKB returns the resident set size of the process, or 0 where /proc is not available.
+     */
+    private static long residentKB() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(0);
+    }
+}
@@ -0,0 +1,79 @@
+package it.polimi.ingsw.server;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GameMailboxTest class tests the mailbox running the tasks of a game.
+ *
+ * @see GameMailbox
+ */
+class GameMailboxTest {
+
+    /**
+     * Method serialTasks tests if the tasks queued by many threads run one at a time, each thread's ones in order.
+     */
+    @Test
+    @DisplayName("Serial execution test")
+    void serialTasks() throws InterruptedException {
+        GameMailbox mailbox = new GameMailbox();
+        int threads = 4;
+        int tasks = 1000;
+        AtomicInteger running = new AtomicInteger();
+        List<List<Integer>> executed = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(threads * tasks);
+        for (int t = 0; t < threads; t++) {
+            executed.add(new ArrayList<>());
+        }
+        for (int t = 0; t < threads; t++) {
+            List<Integer> list = executed.get(t);
+            new Thread(() -> {
+                for (int i = 0; i < tasks; i++) {
+                    int value = i;
+                    mailbox.execute(() -> {
+                        assertEquals(1, running.incrementAndGet());
+                        list.add(value);
+                        running.decrementAndGet();
+                        done.countDown();
+                    });
+                }
+            }).start();
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (List<Integer> list : executed) {
+            for (int i = 0; i < tasks; i++) {
+                assertEquals(i, list.get(i));
+            }
+        }
+    }
+
+    /**
+     * Method nestedTask tests if a task queued by a task of the same mailbox runs at once.
+     */
+    @Test
+    @DisplayName("Nested task test")
+    void nestedTask() throws InterruptedException {
+        GameMailbox mailbox = new GameMailbox();
+        List<String> order = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        mailbox.execute(() -> {
+            assertTrue(mailbox.isOwner());
+            mailbox.execute(() -> order.add("nested"));
+            order.add("outer");
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("nested", "outer"), order);
+        assertFalse(mailbox.isOwner());
+    }
+}
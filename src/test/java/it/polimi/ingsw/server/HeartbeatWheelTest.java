@@ -0,0 +1,78 @@
+package it.polimi.ingsw.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HeartbeatWheelTest class tests the timer wheel running the ping-pong protocol.
+ *
+ * @see HeartbeatWheel
+ */
+class HeartbeatWheelTest {
+
+    private HeartbeatWheel wheel;
+
+    @BeforeEach
+    void init() {
+        // 8 buckets of 10 ms: a delay over 80 ms takes more than one round of the wheel
+        wheel = new HeartbeatWheel(10, 8, 2);
+    }
+
+    @AfterEach
+    void stop() {
+        wheel.stop();
+    }
+
+    /**
+     * Method expiresAfterDelay tests if the timeouts run after their delay, also when it's longer than a round.
+     */
+    @Test
+    @DisplayName("Timeout expiration test")
+    void expiresAfterDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        long start = System.nanoTime();
+        HeartbeatWheel.Timeout shortTimeout = wheel.schedule(latch::countDown, 20);
+        HeartbeatWheel.Timeout longTimeout = wheel.schedule(latch::countDown, 200);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertTrue(shortTimeout.isExpired());
+        assertTrue(longTimeout.isExpired());
+        assertFalse(longTimeout.cancel());
+    }
+
+    /**
+     * Method cancelledNeverRuns tests if a cancelled timeout is not run.
+     */
+    @Test
+    @DisplayName("Timeout cancellation test")
+    void cancelledNeverRuns() throws InterruptedException {
+        CountDownLatch cancelledRun = new CountDownLatch(1);
+        CountDownLatch laterRun = new CountDownLatch(1);
+        HeartbeatWheel.Timeout timeout = wheel.schedule(cancelledRun::countDown, 30);
+        wheel.schedule(laterRun::countDown, 100);
+
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertTrue(laterRun.await(5, TimeUnit.SECONDS));
+        assertEquals(1, cancelledRun.getCount());
+    }
+
+    /**
+     * Method stoppedWheel tests if a stopped wheel refuses new timeouts.
+     */
+    @Test
+    @DisplayName("Stopped wheel test")
+    void stoppedWheel() {
+        wheel.stop();
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(() -> {
+        }, 10));
+    }
+}
@@ -0,0 +1,173 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.client.messages.LoginMessage;
+import it.polimi.ingsw.client.messages.SerializedMessage;
+import it.polimi.ingsw.client.messages.SetupMessage;
+import it.polimi.ingsw.exceptions.OutOfBoundException;
+import it.polimi.ingsw.network.EncodedAnswer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LobbyManagerTest class tests the placement of the clients in the lobbies.
+ *
+ * @see LobbyManager
+ */
+class LobbyManagerTest {
+
+    private Server server;
+    private LobbyManager lobbies;
+
+    /**
+     * SilentConnection class is a connection which discards the answers.
+     */
+    private static class SilentConnection extends ClientConnection {
+        SilentConnection(Server server) {
+            super(server);
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+
+        @Override
+        public void send(EncodedAnswer answer) {
+        }
+
+        @Override
+        protected void write(EncodedAnswer answer) {
+        }
+
+        @Override
+        protected void closeTransport() {
+        }
+    }
+
+    @BeforeEach
+    void init() {
+        server = new Server();
+        lobbies = server.getLobbies();
+    }
+
+    private VirtualClient client(String nickname) {
+        return server.getClientByID(server.registerNewConnection(nickname, new SilentConnection(server)));
+    }
+
+    /**
+     * Method sameKindSharesLobby tests if the clients choosing the same kind of match join the same lobby,
+     * while the other kinds open their own one.
+     */
+    @Test
+    @DisplayName("Lobby placement test")
+    void sameKindSharesLobby() throws OutOfBoundException {
+        GameHandler first = lobbies.join(client("alice"), 3, true);
+        GameHandler second = lobbies.join(client("bob"), 3, true);
+        GameHandler normal = lobbies.join(client("carol"), 3, false);
+        GameHandler twoPlayers = lobbies.join(client("dave"), 2, true);
+
+        assertSame(first, second);
+        assertNotSame(first, normal);
+        assertNotSame(first, twoPlayers);
+        assertNotSame(normal, twoPlayers);
+        assertEquals(3, lobbies.openLobbies());
+    }
+
+    /**
+     * Method fullLobbyStarts tests if a full lobby is not open anymore and its game starts, so that the next
+     * client opens a new lobby.
+     */
+    @Test
+    @DisplayName("Full lobby test")
+    void fullLobbyStarts() throws Exception {
+        VirtualClient alice = client("alice");
+        VirtualClient bob = client("bob");
+        GameHandler game = lobbies.join(alice, 2, false);
+        assertSame(game, lobbies.join(bob, 2, false));
+
+        game.whenStarted().get(5, TimeUnit.SECONDS);
+        assertTrue(game.isStarted());
+        assertSame(game, alice.getGameHandler());
+        assertEquals(0, lobbies.openLobbies());
+        assertNotSame(game, lobbies.join(client("carol"), 2, false));
+    }
+
+    /**
+     * Method countdownBeforeStart tests if a full lobby's game is initialized only at the end of its countdown, so
+     * that no move can be played while the countdown is running.
+     */
+    @Test
+    @DisplayName("Countdown before start test")
+    void countdownBeforeStart() throws Exception {
+        GameHandler game = lobbies.join(client("alice"), 2, false);
+        lobbies.join(client("bob"), 2, false);
+        assertFalse(game.isStarted());
+        assertFalse(game.isSetupPhase());
+
+        game.whenStarted().get(5, TimeUnit.SECONDS);
+        assertTrue(game.isStarted());
+        assertTrue(game.isSetupPhase());
+    }
+
+    /**
+     * Method leftDuringCountdown tests if a game whose player leaves during the countdown ends without being
+     * initialized, and still completes its start.
+     */
+    @Test
+    @DisplayName("Player left during countdown test")
+    void leftDuringCountdown() throws Exception {
+        SilentConnection alice = new SilentConnection(server);
+        SilentConnection bob = new SilentConnection(server);
+        alice.dispatch(new SerializedMessage(new LoginMessage("alice")));
+        bob.dispatch(new SerializedMessage(new LoginMessage("bob")));
+        GameHandler game = lobbies.join(server.getClientByID(alice.getClientID()), 2, false);
+        lobbies.join(server.getClientByID(bob.getClientID()), 2, false);
+        alice.close();
+
+        game.whenStarted().get(5, TimeUnit.SECONDS);
+        assertTrue(game.isEnded());
+        assertFalse(game.isStarted());
+        assertFalse(game.isSetupPhase());
+        assertNull(server.getClientByID(bob.getClientID()));
+    }
+
+    /**
+     * Method invalidPlayersNumber tests if a players number out of range is refused.
+     */
+    @Test
+    @DisplayName("Invalid players number test")
+    void invalidPlayersNumber() {
+        assertThrows(OutOfBoundException.class, () -> lobbies.join(client("alice"), 4, false));
+        assertEquals(0, lobbies.openLobbies());
+    }
+
+    /**
+     * Method setupByMessages tests if a client logging in is asked the kind of match and placed in a lobby when
+     * his choice is dispatched like any other message, asking again after a choice which is not valid and
+     * ignoring the choices received once he's been placed.
+     */
+    @Test
+    @DisplayName("Setup by messages test")
+    void setupByMessages() {
+        SilentConnection connection = new SilentConnection(server);
+        connection.dispatch(new SerializedMessage(new LoginMessage("erin")));
+        VirtualClient erin = server.getClientByID(connection.getClientID());
+        assertNull(erin.getGameHandler());
+
+        connection.dispatch(new SerializedMessage(new SetupMessage(5, false)));
+        assertNull(erin.getGameHandler());
+        connection.dispatch(new SerializedMessage(new SetupMessage(3, true)));
+        GameHandler game = erin.getGameHandler();
+        assertNotNull(game);
+        assertEquals(1, lobbies.openLobbies());
+
+        connection.dispatch(new SerializedMessage(new SetupMessage(2, false)));
+        assertSame(game, erin.getGameHandler());
+        assertEquals(1, lobbies.openLobbies());
+    }
+}
@@ -0,0 +1,171 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.model.islands.IslandContainer;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.CustomMessage;
+import it.polimi.ingsw.server.answers.SerializedAnswer;
+import it.polimi.ingsw.server.answers.model.IslandsMessage;
+import it.polimi.ingsw.server.answers.model.MotherMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OutboundQueueTest class tests the overflow policies of the outbound queue, using a connection which is stuck
+ * writing the first answer.
+ *
+ * @see OutboundQueue
+ */
+class OutboundQueueTest {
+
+    private SlowConnection connection;
+
+    /**
+     * SlowConnection class is a connection which waits for the test before writing the first answer.
+     */
+    private static class SlowConnection extends ClientConnection {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingQueue<EncodedAnswer> written = new LinkedBlockingQueue<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        SlowConnection(Server server) {
+            super(server);
+        }
+
+        @Override
+        public boolean isActive() {
+            return closed.getCount() > 0;
+        }
+
+        @Override
+        protected void write(EncodedAnswer answer) throws java.io.IOException {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new java.io.IOException(e);
+            }
+            written.add(answer);
+        }
+
+        @Override
+        protected void closeTransport() {
+            closed.countDown();
+        }
+    }
+
+    @BeforeEach
+    void init() {
+        connection = new SlowConnection(new Server());
+    }
+
+    @AfterEach
+    void release() {
+        connection.release.countDown();
+    }
+
+    private static EncodedAnswer encoded(Answer answer) {
+        SerializedAnswer serializedAnswer = new SerializedAnswer();
+        serializedAnswer.setServerAnswer(answer);
+        return new EncodedAnswer(serializedAnswer);
+    }
+
+    private static List<Answer> answers(EncodedAnswer answer) {
+        return answer.getParts().stream().map(part -> part.getSerializedAnswer().getServerAnswer()).toList();
+    }
+
+    /**
+     * Method writtenAnswers waits for the given number of written answers, returning their single answers.
+     */
+    private List<Answer> writtenAnswers(int count) throws InterruptedException {
+        List<Answer> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            EncodedAnswer answer = connection.written.poll(5, TimeUnit.SECONDS);
+            assertNotNull(answer);
+            result.addAll(answers(answer));
+        }
+        return result;
+    }
+
+    /**
+     * Method fillQueue offers the first answer and waits until the writer task is stuck writing it.
+     */
+    private CustomMessage fillQueue(OutboundQueue queue) throws InterruptedException {
+        CustomMessage first = new CustomMessage("first");
+        queue.offer(encoded(first));
+        assertTrue(connection.writing.await(5, TimeUnit.SECONDS));
+        return first;
+    }
+
+    /**
+     * Method dropSuperseded tests if a full queue drops the snapshots replaced by a newer one, keeping the order
+     * of the other answers.
+     */
+    @Test
+    @DisplayName("Drop superseded policy test")
+    void dropSuperseded() throws InterruptedException {
+        OutboundQueue queue = new OutboundQueue(connection, 2, OverflowPolicy.DROP_SUPERSEDED);
+        CustomMessage first = fillQueue(queue);
+        MotherMessage mother = new MotherMessage(2);
+        IslandsMessage islands = new IslandsMessage(new IslandContainer());
+
+        queue.offer(encoded(new IslandsMessage(new IslandContainer())));
+        queue.offer(encoded(mother));
+        queue.offer(encoded(islands));
+        connection.release.countDown();
+
+        assertEquals(List.of(first, mother, islands), writtenAnswers(3));
+        assertEquals(1, connection.closed.getCount());
+    }
+
+    /**
+     * Method coalesce tests if a full queue is merged in a single batch with the last snapshot of every property.
+     */
+    @Test
+    @DisplayName("Coalesce policy test")
+    void coalesce() throws InterruptedException {
+        OutboundQueue queue = new OutboundQueue(connection, 2, OverflowPolicy.COALESCE);
+        CustomMessage first = fillQueue(queue);
+        CustomMessage custom = new CustomMessage("second");
+        IslandsMessage islands = new IslandsMessage(new IslandContainer());
+
+        queue.offer(encoded(new IslandsMessage(new IslandContainer())));
+        queue.offer(encoded(custom));
+        queue.offer(encoded(islands));
+        connection.release.countDown();
+
+        assertEquals(List.of(first, custom, islands), writtenAnswers(2));
+    }
+
+    /**
+     * Method disconnect tests if a full queue disconnects the slow client, ignoring the following answers.
+     */
+    @Test
+    @DisplayName("Disconnect policy test")
+    void disconnect() throws InterruptedException {
+        OutboundQueue queue = new OutboundQueue(connection, 1, OverflowPolicy.DISCONNECT);
+        fillQueue(queue);
+
+        queue.offer(encoded(new MotherMessage(1)));
+        queue.offer(encoded(new MotherMessage(2)));
+        assertTrue(connection.closed.await(5, TimeUnit.SECONDS));
+        connection.release.countDown();
+        queue.offer(encoded(new MotherMessage(3)));
+
+        assertEquals(1, writtenAnswers(1).size());
+        assertNull(connection.written.poll(200, TimeUnit.MILLISECONDS));
+    }
+}
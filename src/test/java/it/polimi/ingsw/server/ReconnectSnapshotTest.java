@@ -0,0 +1,112 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.constants.Color;
+import it.polimi.ingsw.constants.GameState;
+import it.polimi.ingsw.controller.GameManager;
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.Player;
+import it.polimi.ingsw.model.StudentCounts;
+import it.polimi.ingsw.network.BinaryCodec;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.network.Frames;
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.BatchMessage;
+import it.polimi.ingsw.server.answers.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReconnectSnapshotTest class tests the game state sent to a rejoining player.
+ *
+ * @see ReconnectSnapshot
+ */
+class ReconnectSnapshotTest {
+
+    private Game game;
+    private Player ale;
+    private Player davide;
+
+    @BeforeEach
+    void init() {
+        GameManager gameManager = new GameManager(new Game(), new GameHandler(new Server()));
+        game = gameManager.getGame();
+        game.createPlayer(0, "Ale");
+        game.createPlayer(1, "Davide");
+        ale = game.getPlayers().get(0);
+        davide = game.getPlayers().get(1);
+        gameManager.initGame();
+        game.setRoundOwner(ale);
+    }
+
+    private static List<Answer> answers(EncodedAnswer answer) {
+        return answer.getParts().stream().map(part -> part.getSerializedAnswer().getServerAnswer()).toList();
+    }
+
+    /**
+     * Method privateStateOnlyForPlayer tests if the snapshot has the whole public state, only the hand and the
+     * balance of the rejoining player, and ends with the game state.
+     */
+    @Test
+    @DisplayName("Snapshot content test")
+    void privateStateOnlyForPlayer() throws IOException {
+        ReconnectSnapshot snapshot = new ReconnectSnapshot(game);
+        EncodedAnswer answer = snapshot.forPlayer(davide);
+        List<Answer> parts = answers(answer);
+
+        assertTrue(answer.isBatch());
+        assertEquals(1, parts.stream().filter(HandMessage.class::isInstance).count());
+        assertEquals(1, parts.stream().filter(BalanceMessage.class::isInstance).count());
+        assertEquals(1, parts.stream().filter(MagicianMessage.class::isInstance).count());
+        assertEquals(2, parts.stream().filter(SchoolMessage.class::isInstance).count());
+        assertEquals(2, parts.stream().filter(PlayedCardMessage.class::isInstance).count());
+        assertEquals(GameState.INITIAL_FIRE_COMPLETED, ((GameStateMessage) parts.get(parts.size() - 2)).getMessage());
+        assertEquals(game.getGameState(), ((GameStateMessage) parts.get(parts.size() - 1)).getMessage());
+        byte[] frame = answer.frame(BinaryCodec.INSTANCE);
+        Answer decoded = BinaryCodec.INSTANCE.decodeAnswer(Arrays.copyOfRange(frame, Frames.HEADER_SIZE, frame.length)).getServerAnswer();
+        assertEquals(parts.size(), ((BatchMessage) decoded).getMessage().size());
+    }
+
+    /**
+     * Method sharedUntilChanged tests if the public part is shared by the rejoining players until the game
+     * state changes.
+     */
+    @Test
+    @DisplayName("Snapshot versioning test")
+    void sharedUntilChanged() {
+        ReconnectSnapshot snapshot = new ReconnectSnapshot(game);
+        assertTrue(snapshot.isCurrent());
+        assertSame(answers(snapshot.forPlayer(ale)).get(0), answers(snapshot.forPlayer(davide)).get(0));
+
+        ale.getSchool().addStudentEntry(Color.RED);
+
+        assertFalse(snapshot.isCurrent());
+        assertTrue(new ReconnectSnapshot(game).getVersion() > snapshot.getVersion());
+    }
+
+    /**
+     * Method takenAtVersion tests that the snapshot keeps describing the state of its version after the game
+     * state has changed, both in its frames and in the answers written to the legacy connections.
+     */
+    @Test
+    @DisplayName("Snapshot taken at its version test")
+    void takenAtVersion() throws IOException {
+        ReconnectSnapshot snapshot = new ReconnectSnapshot(game);
+        StudentCounts entry = ale.getSchool().getStudentsEntry();
+        ale.getSchool().addStudentEntry(Color.RED);
+
+        EncodedAnswer answer = snapshot.forPlayer(davide);
+        SchoolMessage legacy = (SchoolMessage) answers(answer).stream().filter(SchoolMessage.class::isInstance).findFirst().orElseThrow();
+        assertEquals(entry, legacy.getMessage().getStudentsEntry());
+        byte[] frame = answer.frame(BinaryCodec.INSTANCE);
+        BatchMessage decoded = (BatchMessage) BinaryCodec.INSTANCE.decodeAnswer(Arrays.copyOfRange(frame, Frames.HEADER_SIZE, frame.length)).getServerAnswer();
+        SchoolMessage school = (SchoolMessage) decoded.getMessage().stream().filter(SchoolMessage.class::isInstance).findFirst().orElseThrow();
+        assertEquals(entry, school.getMessage().getStudentsEntry());
+    }
+}
@@ -0,0 +1,166 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.client.messages.LoginMessage;
+import it.polimi.ingsw.client.messages.SerializedMessage;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.ConnectionMessage;
+import it.polimi.ingsw.server.answers.ReqPlayersMessage;
+import it.polimi.ingsw.server.answers.SerializedAnswer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ServerDrainTest class tests the graceful shutdown of the server.
+ *
+ * @see Server#drain
+ */
+class ServerDrainTest {
+
+    private Server server;
+
+    /**
+     * RecordingConnection class is a connection which keeps the answers sent to the client.
+     */
+    private static class RecordingConnection extends ClientConnection {
+        private final List<Answer> answers = new CopyOnWriteArrayList<>();
+        private volatile boolean active = true;
+
+        RecordingConnection(Server server) {
+            super(server);
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+
+        @Override
+        public void send(EncodedAnswer answer) {
+            answers.add(answer.getSerializedAnswer().getServerAnswer());
+        }
+
+        @Override
+        protected void write(EncodedAnswer answer) {
+        }
+
+        @Override
+        protected void closeTransport() {
+            active = false;
+        }
+
+        private boolean wasSentAway() {
+            return answers.stream().anyMatch(answer -> answer instanceof ConnectionMessage message && !message.isValid());
+        }
+    }
+
+    @BeforeEach
+    void init() {
+        server = new Server();
+    }
+
+    private RecordingConnection connect(String nickname) {
+        RecordingConnection connection = new RecordingConnection(server);
+        connection.clientID = server.registerNewConnection(nickname, connection);
+        return connection;
+    }
+
+    /**
+     * Method drain tests if the waiting clients are sent away at once, while the running game is ended only
+     * when the deadline is reached, and if no one can join a lobby while the server is draining.
+     */
+    @Test
+    @DisplayName("Drain test")
+    void drain() throws Exception {
+        RecordingConnection alice = connect("alice");
+        RecordingConnection bob = connect("bob");
+        RecordingConnection carol = connect("carol");
+        GameHandler game = server.getLobbies().join(server.getClientByID(bob.getClientID()), 2, false);
+        server.getLobbies().join(server.getClientByID(carol.getClientID()), 2, false);
+        game.whenStarted().get(5, TimeUnit.SECONDS);
+        assertTrue(game.isStarted());
+
+        long start = System.nanoTime();
+        server.drain(Duration.ofSeconds(1));
+        assertTrue(System.nanoTime() - start >= Duration.ofSeconds(1).toNanos());
+        assertTrue(server.isDraining());
+        assertTrue(game.isEnded());
+        for (RecordingConnection connection : List.of(alice, bob, carol)) {
+            assertTrue(connection.wasSentAway());
+            assertFalse(connection.isActive());
+        }
+
+        RecordingConnection dave = connect("dave");
+        server.lobby(dave);
+        assertTrue(dave.wasSentAway());
+        assertFalse(dave.isActive());
+    }
+
+    /**
+     * Method drainDuringSetup tests if a client connected over a socket and still choosing his match doesn't
+     * hold up the drain, which sends him away and closes his socket before the deadline.
+     */
+    @Test
+    @DisplayName("Drain with a client choosing his match test")
+    void drainDuringSetup() throws Exception {
+        int port;
+        try (ServerSocket free = new ServerSocket(0)) {
+            port = free.getLocalPort();
+        }
+        SocketServer socketServer = new SocketServer(port, server);
+        server.addAcceptor(socketServer);
+        new Thread(socketServer).start();
+        try (Socket socket = connectTo(port)) {
+            ObjectOutputStream output = new ObjectOutputStream(socket.getOutputStream());
+            output.writeObject(new SerializedMessage(new LoginMessage("erin")));
+            output.flush();
+            ObjectInputStream input = new ObjectInputStream(socket.getInputStream());
+            while (!(((SerializedAnswer) input.readObject()).getServerAnswer() instanceof ReqPlayersMessage)) {
+                // the login answers come before the request of the match
+            }
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> server.drain(Duration.ofSeconds(1)));
+            Answer last = null;
+            try {
+                while (true) {
+                    last = ((SerializedAnswer) input.readObject()).getServerAnswer();
+                }
+            } catch (EOFException e) {
+                // the server has closed the socket
+            }
+            assertTrue(last instanceof ConnectionMessage message && !message.isValid());
+        } finally {
+            socketServer.setActive(false);
+        }
+    }
+
+    private static Socket connectTo(int port) throws IOException, InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return new Socket(InetAddress.getLoopbackAddress(), port);
+            } catch (ConnectException e) {
+                // the server may still be opening its socket
+                if (attempt == 20) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+}
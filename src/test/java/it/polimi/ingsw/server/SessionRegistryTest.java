@@ -0,0 +1,187 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.constants.ErrorType;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.server.answers.GameError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SessionRegistryTest class tests the registry of the connected clients.
+ *
+ * @see SessionRegistry
+ */
+class SessionRegistryTest {
+
+    private final SessionRegistry registry = new SessionRegistry();
+
+    private VirtualClient client(String nickname) {
+        return new VirtualClient(registry.nextClientID(), nickname, null, null);
+    }
+
+    /**
+     * Method lookups tests if a registered client is found by ID, by nickname in any case and by resume token
+     * until he's unregistered.
+     */
+    @Test
+    @DisplayName("Register and lookup test")
+    void lookups() {
+        VirtualClient alice = client("alice");
+        assertTrue(registry.register(alice));
+        assertSame(alice, registry.get(alice.getClientID()));
+        assertSame(alice, registry.get("alice"));
+        assertSame(alice, registry.get("ALICE"));
+        assertFalse(registry.register(client("Alice")));
+        assertNotNull(alice.getResumeToken());
+        assertSame(alice, registry.getByToken(alice.getResumeToken()));
+        assertNull(registry.getByToken("alice"));
+
+        assertTrue(registry.unregister(alice));
+        assertFalse(registry.unregister(alice));
+        assertNull(registry.get(alice.getClientID()));
+        assertNull(registry.get("alice"));
+        assertNull(registry.getByToken(alice.getResumeToken()));
+        assertEquals(0, registry.size());
+    }
+
+    /**
+     * Method concurrentLogins tests if only one of many clients logging in with the same nickname at the same
+     * time is registered.
+     */
+    @Test
+    @DisplayName("Concurrent registration test")
+    void concurrentLogins() throws InterruptedException {
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger registered = new AtomicInteger();
+        List<Thread> logins = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            VirtualClient client = client("bob");
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (registry.register(client)) {
+                    registered.incrementAndGet();
+                }
+            });
+            thread.start();
+            logins.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : logins) {
+            thread.join();
+        }
+
+        assertEquals(1, registered.get());
+        assertEquals(1, registry.size());
+    }
+
+    /**
+     * LoginConnection class is a connection which counts the duplicate nickname errors it's sent.
+     */
+    private static class LoginConnection extends ClientConnection {
+        private final AtomicInteger duplicates;
+
+        LoginConnection(Server server, AtomicInteger duplicates) {
+            super(server);
+            this.duplicates = duplicates;
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+
+        @Override
+        public void send(EncodedAnswer answer) {
+            if (answer.getSerializedAnswer().getServerAnswer() instanceof GameError error
+                    && error.getError() == ErrorType.DUPLICATE_NICKNAME) {
+                duplicates.incrementAndGet();
+            }
+        }
+
+        @Override
+        protected void write(EncodedAnswer answer) {
+        }
+
+        @Override
+        protected void closeTransport() {
+        }
+    }
+
+    /**
+     * Method login registers the given nicknames on a server at the same time, one thread for each, and returns
+     * the client IDs given to the registered ones.
+     */
+    private List<Integer> login(Server server, List<String> nicknames, AtomicInteger duplicates)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Integer> ids = new ConcurrentLinkedQueue<>();
+        List<Thread> logins = new ArrayList<>();
+        for (String nickname : nicknames) {
+            LoginConnection connection = new LoginConnection(server, duplicates);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                Integer id = server.registerNewConnection(nickname, connection);
+                if (id != null) {
+                    ids.add(id);
+                }
+            });
+            thread.start();
+            logins.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : logins) {
+            thread.join();
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Method concurrentServerLogins tests if, of many clients logging in to the server with the same nickname at
+     * the same time, only the registered one gets a client ID, while the others are told the nickname is taken.
+     */
+    @Test
+    @DisplayName("Concurrent server login test")
+    void concurrentServerLogins() throws InterruptedException {
+        Server server = new Server();
+        AtomicInteger duplicates = new AtomicInteger();
+        List<Integer> ids = login(server, List.of("bob", "bob", "bob", "bob", "bob", "bob", "bob", "bob"), duplicates);
+
+        assertEquals(1, ids.size());
+        assertEquals(7, duplicates.get());
+        assertEquals("bob", server.getClientByID(ids.get(0)).getNickname());
+    }
+
+    /**
+     * Method concurrentLoginsIgnoringCase tests if the clients logging in to the server at the same time with
+     * nicknames differing only by case are refused like the same nickname, without getting the ID of the
+     * registered one.
+     */
+    @Test
+    @DisplayName("Concurrent server login ignoring case test")
+    void concurrentLoginsIgnoringCase() throws InterruptedException {
+        Server server = new Server();
+        AtomicInteger duplicates = new AtomicInteger();
+        List<Integer> ids = login(server, List.of("carol", "Carol", "CAROL", "cArOl"), duplicates);
+
+        assertEquals(1, ids.size());
+        assertEquals(3, duplicates.get());
+        assertEquals(ids.get(0), server.getIDByNickname("CaRoL"));
+    }
+}
@@ -0,0 +1,171 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.constants.Color;
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.islands.BaseIsland;
+import it.polimi.ingsw.model.islands.Island;
+import it.polimi.ingsw.model.islands.IslandContainer;
+import it.polimi.ingsw.model.islands.IslandDelta;
+import it.polimi.ingsw.network.BinaryCodec;
+import it.polimi.ingsw.network.Codec;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.server.answers.Answer;
+import it.polimi.ingsw.server.answers.CustomMessage;
+import it.polimi.ingsw.server.answers.model.IslandDeltaMessage;
+import it.polimi.ingsw.server.answers.model.IslandsMessage;
+import it.polimi.ingsw.server.answers.model.MotherMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UpdateBatchTest class tests the update batches opened by the GameHandler.
+ *
+ * @see UpdateBatch
+ */
+class UpdateBatchTest {
+
+    private GameHandler gameHandler;
+    private RecordingConnection connection;
+    private VirtualClient client;
+
+    /**
+     * RecordingConnection class is a connection which keeps the answers instead of sending them.
+     */
+    private static class RecordingConnection extends ClientConnection {
+        final List<EncodedAnswer> sent = new ArrayList<>();
+
+        RecordingConnection(Server server) {
+            super(server);
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+
+        @Override
+        public void send(EncodedAnswer answer) {
+            sent.add(answer);
+        }
+
+        @Override
+        protected void write(EncodedAnswer answer) {
+        }
+
+        @Override
+        protected void closeTransport() {
+        }
+    }
+
+    @BeforeEach
+    void init() {
+        Server server = new Server();
+        gameHandler = new GameHandler(server);
+        connection = new RecordingConnection(server);
+        client = new VirtualClient(0, "alice", connection, gameHandler);
+    }
+
+    private List<Answer> answers(EncodedAnswer answer) {
+        return answer.getParts().stream().map(part -> part.getSerializedAnswer().getServerAnswer()).toList();
+    }
+
+    /**
+     * Method lastValuePerProperty tests if a batch keeps only the last update of every property, in the
+     * position of its last update, and sends everything in one answer.
+     */
+    @Test
+    @DisplayName("Batch coalescing test")
+    void lastValuePerProperty() {
+        IslandsMessage lastIslands = new IslandsMessage(new IslandContainer());
+        CustomMessage custom = new CustomMessage("hi");
+        MotherMessage mother = new MotherMessage(3);
+
+        gameHandler.beginBatch();
+        client.send(new IslandsMessage(new IslandContainer()));
+        client.send(custom);
+        client.send(lastIslands);
+        client.send(mother);
+        assertTrue(connection.sent.isEmpty());
+        gameHandler.commitBatch();
+
+        assertEquals(1, connection.sent.size());
+        assertEquals(List.of(custom, lastIslands, mother), answers(connection.sent.get(0)));
+    }
+
+    /**
+     * Method nestedScopes tests if only the outermost commit sends the collected answers.
+     */
+    @Test
+    @DisplayName("Nested batch scopes test")
+    void nestedScopes() {
+        gameHandler.beginBatch();
+        gameHandler.beginBatch();
+        client.send(new CustomMessage("first"));
+        gameHandler.commitBatch();
+        assertTrue(connection.sent.isEmpty());
+        gameHandler.commitBatch();
+        assertEquals(1, connection.sent.size());
+
+        client.send(new CustomMessage("second"));
+        assertEquals(2, connection.sent.size());
+    }
+
+    /**
+     * Method snapshotSupersedesDeltas tests if a snapshot drops the deltas of the same property sent before it,
+     * while the following deltas are kept.
+     */
+    @Test
+    @DisplayName("Snapshot supersedes deltas test")
+    void snapshotSupersedesDeltas() {
+        IslandContainer islands = new IslandContainer();
+        IslandsMessage snapshot = new IslandsMessage(islands);
+        IslandDeltaMessage after = new IslandDeltaMessage(new IslandDelta(3, IslandDelta.Type.OWNER, 0, null, "alice", false));
+
+        gameHandler.beginBatch();
+        client.send(new IslandDeltaMessage(new IslandDelta(1, IslandDelta.Type.STUDENT, 0, Color.RED, null, false)));
+        client.send(new IslandDeltaMessage(new IslandDelta(2, IslandDelta.Type.STUDENT, 0, Color.RED, null, false)));
+        client.send(snapshot);
+        client.send(after);
+        gameHandler.commitBatch();
+
+        assertEquals(List.of(snapshot, after), answers(connection.sent.get(0)));
+    }
+
+    /**
+     * Method legacyClientsReceiveSnapshots tests if a change of the islands reaches the framed clients as a
+     * delta, and the legacy clients, which can't apply it, as the whole islands.
+     */
+    @Test
+    @DisplayName("Snapshots for legacy clients test")
+    void legacyClientsReceiveSnapshots() {
+        Server server = new Server();
+        RecordingConnection framedConnection = new RecordingConnection(server) {
+            @Override
+            protected Codec getCodec() {
+                return BinaryCodec.INSTANCE;
+            }
+        };
+        VirtualClient framed = new VirtualClient(1, "bob", framedConnection, gameHandler);
+        Game game = new Game();
+        LinkedList<Island> islands = new LinkedList<>();
+        for (int i = 0; i < 12; i++) {
+            islands.add(new BaseIsland());
+        }
+        game.initIslands(islands);
+        game.createListeners(client);
+        game.createListeners(framed);
+
+        game.addIslandStudent(0, Color.RED);
+
+        assertInstanceOf(IslandDeltaMessage.class, answers(framedConnection.sent.get(0)).get(0));
+        IslandsMessage legacy = (IslandsMessage) answers(connection.sent.get(0)).get(0);
+        assertEquals(1, legacy.getMessage().get(0).getStudents().get(Color.RED));
+    }
+}
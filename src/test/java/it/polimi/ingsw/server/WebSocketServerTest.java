@@ -0,0 +1,181 @@
+package it.polimi.ingsw.server;
+
+import it.polimi.ingsw.client.messages.LoginMessage;
+import it.polimi.ingsw.client.messages.Message;
+import it.polimi.ingsw.client.messages.SerializedMessage;
+import it.polimi.ingsw.client.messages.SetupMessage;
+import it.polimi.ingsw.constants.ErrorType;
+import it.polimi.ingsw.exceptions.OutOfBoundException;
+import it.polimi.ingsw.network.BinaryCodec;
+import it.polimi.ingsw.network.Compression;
+import it.polimi.ingsw.network.EncodedAnswer;
+import it.polimi.ingsw.network.FrameInflater;
+import it.polimi.ingsw.server.answers.*;
+import it.polimi.ingsw.server.answers.model.ModelMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WebSocketServerTest class tests the WebSocket gateway with the WebSocket client of the JDK.
+ *
+ * @see WebSocketServer
+ * @see WebSocketClientConnection
+ */
+class WebSocketServerTest {
+
+    private Server server;
+    private WebSocketServer gateway;
+    private int port;
+
+    /**
+     * SilentConnection class is a connection which discards the answers.
+     */
+    private static class SilentConnection extends ClientConnection {
+        SilentConnection(Server server) {
+            super(server);
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+
+        @Override
+        public void send(EncodedAnswer answer) {
+        }
+
+        @Override
+        protected void write(EncodedAnswer answer) {
+        }
+
+        @Override
+        protected void closeTransport() {
+        }
+    }
+
+    /**
+     * Recorder class collects the answers received by a WebSocket client, inflating them once the server has
+     * granted the compression.
+     */
+    private static class Recorder implements WebSocket.Listener {
+        private final BlockingQueue<Answer> answers = new LinkedBlockingQueue<>();
+        private final ByteArrayOutputStream message = new ByteArrayOutputStream();
+        private FrameInflater inflater;
+
+        @Override
+        public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+            byte[] bytes = new byte[data.remaining()];
+            data.get(bytes);
+            message.writeBytes(bytes);
+            if (last) {
+                try {
+                    byte[] payload = message.toByteArray();
+                    Answer answer = BinaryCodec.INSTANCE.decodeAnswer(inflater != null ? inflater.inflate(payload) : payload)
+                            .getServerAnswer();
+                    if (answer instanceof ConnectionMessage connection && connection.getCompression() == Compression.DEFLATE) {
+                        inflater = new FrameInflater(BinaryCodec.INSTANCE);
+                    }
+                    if (answer instanceof BatchMessage batch) {
+                        answers.addAll(batch.getMessage());
+                    } else {
+                        answers.add(answer);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                message.reset();
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private Answer next() throws InterruptedException {
+            Answer answer = answers.poll(5, TimeUnit.SECONDS);
+            assertNotNull(answer, "No answer received");
+            return answer;
+        }
+    }
+
+    @BeforeEach
+    void init() throws IOException {
+        server = new Server();
+        try (ServerSocket free = new ServerSocket(0)) {
+            port = free.getLocalPort();
+        }
+        gateway = new WebSocketServer(port, server);
+        new Thread(gateway).start();
+    }
+
+    @AfterEach
+    void stop() {
+        gateway.setActive(false);
+    }
+
+    private WebSocket connect(Recorder recorder) throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return HttpClient.newHttpClient().newWebSocketBuilder()
+                        .buildAsync(URI.create("ws://localhost:" + port + "/"), recorder).join();
+            } catch (CompletionException e) {
+                // the gateway may still be opening its socket
+                if (attempt == 20) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    private void send(WebSocket webSocket, Message message) throws IOException {
+        webSocket.sendBinary(ByteBuffer.wrap(BinaryCodec.INSTANCE.encodeMessage(new SerializedMessage(message))), true).join();
+    }
+
+    /**
+     * Method sharedLobby tests if a WebSocket client logs in with compression, joins the lobby of a socket client
+     * and receives the state of their game, while its nickname can't be taken again on any transport.
+     */
+    @Test
+    @DisplayName("WebSocket gateway test")
+    void sharedLobby() throws IOException, InterruptedException, OutOfBoundException {
+        Recorder alice = new Recorder();
+        WebSocket aliceSocket = connect(alice);
+        send(aliceSocket, new LoginMessage("alice", null, Compression.DEFLATE));
+        ConnectionMessage connection = (ConnectionMessage) alice.next();
+        assertTrue(connection.isValid());
+        assertEquals(Compression.DEFLATE, connection.getCompression());
+        assertNotNull(connection.getResumeToken());
+        assertTrue(alice.next() instanceof ReqPlayersMessage);
+        assertTrue(server.isNicknameTaken("ALICE"));
+
+        send(aliceSocket, new SetupMessage(2, false));
+        assertTrue(alice.next() instanceof CustomMessage);
+        VirtualClient bob = server.getClientByID(server.registerNewConnection("bob", new SilentConnection(server)));
+        assertSame(server.getGameByID(server.getIDByNickname("alice")), server.getLobbies().join(bob, 2, false));
+        Answer answer;
+        do {
+            answer = alice.next();
+        } while (!(answer instanceof ModelMessage));
+
+        Recorder copy = new Recorder();
+        send(connect(copy), new LoginMessage("Bob"));
+        assertEquals(ErrorType.DUPLICATE_NICKNAME, ((GameError) copy.next()).getError());
+        aliceSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").join();
+    }
+}